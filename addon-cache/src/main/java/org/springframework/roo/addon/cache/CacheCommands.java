@@ -1,5 +1,7 @@
 package org.springframework.roo.addon.cache;
 
+import static org.springframework.roo.shell.OptionContexts.PROJECT;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
@@ -9,6 +11,7 @@ import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.addon.cache.providers.CacheProvider;
+import org.springframework.roo.model.JavaType;
 import org.springframework.roo.shell.CliAvailabilityIndicator;
 import org.springframework.roo.shell.CliCommand;
 import org.springframework.roo.shell.CliOption;
@@ -18,6 +21,7 @@ import org.springframework.roo.shell.ShellContext;
 import org.springframework.roo.support.logging.HandlerUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -69,7 +73,7 @@ public class CacheCommands implements CommandMarker {
    * @return a List<String> with the possible and allowed values.
    */
   @CliOptionAutocompleteIndicator(command = "cache setup", param = "provider",
-      help = "'--provider' value should be a supported provider (GUAVA).")
+      help = "'--provider' value should be a supported provider (GUAVA, EHCACHE, CAFFEINE).")
   public List<String> getProviderPossibleValues(ShellContext shellContext) {
     List<String> possibleValues = new ArrayList<String>();
     for (CacheProvider provider : getCacheProviders()) {
@@ -96,7 +100,8 @@ public class CacheCommands implements CommandMarker {
       help = "Installs support for using intermediate memory in generated project by using Spring Cache abstraction. Users can specify different providers to use for managing it.")
   public void cacheSetup(@CliOption(key = "provider", mandatory = false,
       help = "Parameter that indicates the provider to use for managing intermediate memory. "
-          + "Possible values are: `GUAVA`.") String provider, ShellContext shellContext) {
+          + "Possible values are: `GUAVA`, `EHCACHE` and `CAFFEINE`. `EHCACHE` also installs the "
+          + "Hibernate second-level and query cache. `CAFFEINE` supports a spec for each cache.") String provider, ShellContext shellContext) {
 
     // Check for provider value
     CacheProvider selectedCacheProvider = null;
@@ -111,6 +116,139 @@ public class CacheCommands implements CommandMarker {
     cacheOperations.setupCache(selectedCacheProvider, shellContext.getProfile());
   }
 
+  /**
+   * Method that checks if cache entity operation is available or not.
+   * 
+   * "cache entity" command will be available only if the Hibernate 
+   * second-level cache has been installed.
+   * 
+   * @return true if the second-level cache has been installed.
+   */
+  @CliAvailabilityIndicator("cache entity")
+  public boolean isCacheEntityCommandAvailable() {
+    return cacheOperations.isCacheEntityAvailable();
+  }
+
+  /**
+   * This indicator returns the cache concurrency strategy possible values.
+   * 
+   * @param shellContext
+   * @return a List<String> with the possible and allowed values.
+   */
+  @CliOptionAutocompleteIndicator(command = "cache entity", param = "usage",
+      help = "'--usage' value should be a cache concurrency strategy.")
+  public List<String> getUsagePossibleValues(ShellContext shellContext) {
+    return Arrays.asList(CacheOperations.ENTITY_CACHE_USAGES);
+  }
+
+  /**
+   * Method that register "cache entity" command on Spring Roo Shell.
+   * 
+   * Stores an entity in the Hibernate second-level cache, so read-heavy 
+   * entities stop hitting the database.
+   * 
+   * @param entity the JavaType of the entity to cache.
+   * @param usage the String with the cache concurrency strategy.
+   * @param maxEntries the max number of entities kept in the cache region.
+   * @param timeToLive the seconds each entity is kept in the cache region.
+   */
+  @CliCommand(
+      value = "cache entity",
+      help = "Stores an entity in the Hibernate second-level cache and configures its cache region. "
+          + "Finders of cached entities also use the query cache.")
+  public void cacheEntity(
+      @CliOption(key = "entity", mandatory = true, optionContext = PROJECT,
+          help = "The entity to store in the second-level cache. "
+              + "Ex.: `--entity ~.domain.MyEntity` (where `~` is the base package).") JavaType entity,
+      @CliOption(key = "usage", mandatory = false,
+          help = "The cache concurrency strategy of the entity. Possible values are: "
+              + "`READ_ONLY`, `NONSTRICT_READ_WRITE`, `READ_WRITE` and `TRANSACTIONAL`. "
+              + "Default: `READ_ONLY` for read only entities and `READ_WRITE` for the others.") String usage,
+      @CliOption(key = "maxEntries", mandatory = false,
+          help = "The max number of entities kept in the heap by the cache region of the entity. "
+              + "Default if option not present: `1000` for new regions.") Integer maxEntries,
+      @CliOption(key = "timeToLive", mandatory = false,
+          help = "The number of seconds an entity is kept in its cache region. "
+              + "Default if option not present: `3600` for new regions.") Integer timeToLive) {
+    cacheOperations.addEntityCache(entity, usage, maxEntries, timeToLive);
+  }
+
+  /**
+   * Method that checks if cache add operation is available or not.
+   * 
+   * "cache add" command will be available only if the cache support has been 
+   * installed.
+   * 
+   * @return true if the cache support has been installed.
+   */
+  @CliAvailabilityIndicator("cache add")
+  public boolean isCacheAddCommandAvailable() {
+    return cacheOperations.isCacheAddAvailable();
+  }
+
+  /**
+   * This indicator returns the service methods which can be cached.
+   * 
+   * @param shellContext
+   * @return a List<String> with the possible and allowed values.
+   */
+  @CliOptionAutocompleteIndicator(command = "cache add", param = "method",
+      help = "'--method' value should be a service method which can be cached.")
+  public List<String> getMethodPossibleValues(ShellContext shellContext) {
+    return Arrays.asList(CacheOperations.SERVICE_CACHED_METHODS);
+  }
+
+  /**
+   * Method that register "cache add" command on Spring Roo Shell.
+   * 
+   * Caches the entities found by a service and evicts them when they are 
+   * saved or deleted. With the CAFFEINE provider, the cache can also have its 
+   * own size, expiry and refresh policies.
+   * 
+   * @param service the JavaType of the service to cache.
+   * @param method the String with the service method to cache.
+   * @param name the String with the name of the cache.
+   * @param maximumSize the max number of entries of the cache.
+   * @param expireAfterWrite the Caffeine duration after which the entries 
+   *            expire since written.
+   * @param expireAfterAccess the Caffeine duration after which the entries 
+   *            expire since read.
+   * @param refreshAfterWrite the Caffeine duration after which the entries 
+   *            are refreshed since written.
+   * @param shellContext
+   *            ShellContext used to know the profile of the cache spec.
+   */
+  @CliCommand(
+      value = "cache add",
+      help = "Caches the entities found by the `findOne` method of a service and evicts them from the "
+          + "cache when they are saved or deleted. With the `CAFFEINE` provider, the cache can also "
+          + "have its own size, expiry and refresh policies.")
+  public void cacheAdd(
+      @CliOption(key = "service", mandatory = true, optionContext = PROJECT,
+          help = "The service to cache. "
+              + "Ex.: `--service ~.service.api.MyEntityService` (where `~` is the base package).") JavaType service,
+      @CliOption(key = "method", mandatory = false,
+          help = "The service method to cache. Possible values are: `findOne`, `save` and "
+              + "`delete`. Default if option not present: all of them.") String method,
+      @CliOption(key = "name", mandatory = false,
+          help = "The name of the cache. Default if option not present: the current cache of the "
+              + "service or the entity name.") String name,
+      @CliOption(key = "maximumSize", mandatory = false,
+          help = "The max number of entries of the cache. Requires the `CAFFEINE` provider.") Integer maximumSize,
+      @CliOption(key = "expireAfterWrite", mandatory = false,
+          help = "The time after which an entry expires since it was written, as `10m`, `1h` or "
+              + "`1d`. Requires the `CAFFEINE` provider.") String expireAfterWrite,
+      @CliOption(key = "expireAfterAccess", mandatory = false,
+          help = "The time after which an entry expires since it was last read, as `10m`, `1h` "
+              + "or `1d`. Requires the `CAFFEINE` provider.") String expireAfterAccess,
+      @CliOption(key = "refreshAfterWrite", mandatory = false,
+          help = "The time after which an entry is refreshed since it was written, as `10m`, "
+              + "`1h` or `1d`. Requires the `CAFFEINE` provider.") String refreshAfterWrite,
+      ShellContext shellContext) {
+    cacheOperations.addServiceCache(service, method, name, maximumSize, expireAfterWrite,
+        expireAfterAccess, refreshAfterWrite, shellContext.getProfile());
+  }
+
   /**
    * Gets the right implementation of FieldCreatorProvider for a JavaType
    * 
@@ -1,6 +1,7 @@
 package org.springframework.roo.addon.cache;
 
 import org.springframework.roo.addon.cache.providers.CacheProvider;
+import org.springframework.roo.model.JavaType;
 
 /**
  * Interface to {@link CacheOperationsImpl}.
@@ -10,6 +11,17 @@ import org.springframework.roo.addon.cache.providers.CacheProvider;
  */
 public interface CacheOperations {
 
+  /**
+   * Hibernate second-level cache concurrency strategies
+   */
+  String[] ENTITY_CACHE_USAGES = {"READ_ONLY", "NONSTRICT_READ_WRITE", "READ_WRITE",
+      "TRANSACTIONAL"};
+
+  /**
+   * Service methods which can use the cache
+   */
+  String[] SERVICE_CACHED_METHODS = {"findOne", "save", "delete"};
+
   /**
    * Method that checks if cache setup operation is available or not.
    * 
@@ -31,4 +43,78 @@ public interface CacheOperations {
    */
   void setupCache(CacheProvider provider, String profile);
 
+  /**
+   * Method that checks if cache entity operation is available or not.
+   * 
+   * "cache entity" command will be available only if the Hibernate 
+   * second-level cache has been installed by the EHCACHE provider.
+   * 
+   * @return true if the second-level cache configuration exists.
+   */
+  boolean isCacheEntityAvailable();
+
+  /**
+   * Stores an entity in the Hibernate second-level cache, so its finders also 
+   * use the query cache, and configures the size and time to live of its 
+   * cache region.
+   * 
+   * @param entity the JavaType of the entity to cache (required).
+   * @param usage the String with the cache concurrency strategy. If null, 
+   *            `READ_ONLY` is used for read only entities and `READ_WRITE` 
+   *            for the others.
+   * @param maxEntries the max number of entities kept in the region heap. 
+   *            If null, the default cache settings are used.
+   * @param timeToLive the seconds an entity is kept in the region. If null, 
+   *            the default cache settings are used.
+   */
+  void addEntityCache(JavaType entity, String usage, Integer maxEntries, Integer timeToLive);
+
+  /**
+   * Method that checks if cache add operation is available or not.
+   * 
+   * "cache add" command will be available only if the cache support has been 
+   * installed with "cache setup".
+   * 
+   * @return true if some application class is annotated with @EnableCaching.
+   */
+  boolean isCacheAddAvailable();
+
+  /**
+   * Makes the `findOne` method of a service store the found entities in a 
+   * cache, and its `save` and `delete` methods evict the modified entities 
+   * from it. If the Caffeine provider is installed, the cache can also be 
+   * given its own size, expiry and refresh policies, which always record the 
+   * cache statistics.
+   * 
+   * @param service the JavaType of the service interface or implementation 
+   *            (required).
+   * @param method the name of the method to cache, one of 
+   *            {@link #SERVICE_CACHED_METHODS}. If null, all of them are cached.
+   * @param cacheName the name of the cache. If null, the current cache of the 
+   *            service or the uncapitalized entity name is used.
+   * @param maximumSize the max number of entries of the cache, if any.
+   * @param expireAfterWrite the Caffeine duration, as `10m`, after which the 
+   *            entries expire since created or updated, if any.
+   * @param expireAfterAccess the Caffeine duration after which the entries 
+   *            expire since last read, if any.
+   * @param refreshAfterWrite the Caffeine duration after which the entries 
+   *            are refreshed since created or updated, if any.
+   * @param profile the String with the profile for which the cache spec 
+   *            should be added, if any.
+   */
+  void addServiceCache(JavaType service, String method, String cacheName, Integer maximumSize,
+      String expireAfterWrite, String expireAfterAccess, String refreshAfterWrite, String profile);
+
+  /**
+   * Declares a cache in the Ehcache configuration file of a module, as 
+   * Ehcache only provides the declared caches. Does nothing if the module 
+   * doesn't use the Ehcache provider.
+   * 
+   * @param moduleName the name of the module
+   * @param cacheName the name of the cache
+   * @param timeToLive the seconds the entries are kept in the cache. If null, 
+   *            the current value of the cache or the default one is kept.
+   */
+  void declareEhCacheCache(String moduleName, String cacheName, Integer timeToLive);
+
 }
@@ -1,5 +1,8 @@
 package org.springframework.roo.addon.cache;
 
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.framework.BundleContext;
@@ -7,19 +10,34 @@ import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.addon.cache.providers.CacheProvider;
+import org.springframework.roo.addon.cache.providers.caffeine.CaffeineCacheProvider;
+import org.springframework.roo.addon.cache.providers.ehcache.EhCacheCacheProvider;
+import org.springframework.roo.application.config.ApplicationConfigService;
 import org.springframework.roo.classpath.ModuleFeatureName;
 import org.springframework.roo.classpath.TypeLocationService;
 import org.springframework.roo.classpath.TypeManagementService;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetailsBuilder;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.StringAttributeValue;
+import org.springframework.roo.model.JavaSymbolName;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
+import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.Dependency;
 import org.springframework.roo.project.FeatureNames;
+import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.util.XmlUtils;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import java.util.ArrayList;
@@ -40,9 +58,15 @@ public class CacheOperationsImpl implements CacheOperations {
   // ------------ OSGi component attributes ----------------
   private BundleContext context;
 
+  private static final String DEFAULT_REGION_MAX_ENTRIES = "1000";
+  private static final String DEFAULT_REGION_TIME_TO_LIVE = "3600";
+
   private ProjectOperations projectOperations;
   private TypeLocationService typeLocationService;
   private TypeManagementService typeManagementService;
+  private FileManager fileManager;
+  private PathResolver pathResolver;
+  private ApplicationConfigService applicationConfigService;
 
   protected void activate(final ComponentContext cContext) {
     this.context = cContext.getBundleContext();
@@ -93,6 +117,278 @@ public class CacheOperationsImpl implements CacheOperations {
     }
   }
 
+  @Override
+  public boolean isCacheEntityAvailable() {
+    if (!isCacheSetupAvailable()) {
+      return false;
+    }
+    for (Pom module : getTypeLocationService().getModules(ModuleFeatureName.APPLICATION)) {
+      if (getFileManager().exists(getHibernateCacheConfigPath(module.getModuleName()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void addEntityCache(JavaType entity, String usage, Integer maxEntries,
+      Integer timeToLive) {
+    Validate.notNull(entity, "Entity required");
+    final ClassOrInterfaceTypeDetails entityDetails =
+        getTypeLocationService().getTypeDetails(entity);
+    Validate.notNull(entityDetails, "Entity '%s' not found", entity);
+    final AnnotationMetadata entityAnnotation =
+        entityDetails.getAnnotation(RooJavaType.ROO_JPA_ENTITY);
+    Validate.notNull(entityAnnotation, "Class '%s' is not annotated with @RooJpaEntity", entity);
+
+    // Read only entities never change, so they don't need to be locked
+    String cacheUsage = usage;
+    if (StringUtils.isBlank(cacheUsage)) {
+      final AnnotationAttributeValue<?> readOnly = entityAnnotation.getAttribute("readOnly");
+      cacheUsage =
+          readOnly != null && Boolean.TRUE.equals(readOnly.getValue()) ? "READ_ONLY"
+              : "READ_WRITE";
+    }
+    Validate.isTrue(ArrayUtils.contains(ENTITY_CACHE_USAGES, cacheUsage),
+        "Cache usage '%s' is not valid. Possible values are: %s", cacheUsage,
+        StringUtils.join(ENTITY_CACHE_USAGES, ", "));
+
+    // Update @RooJpaEntity cacheUsage, which generates @Cacheable and @Cache
+    final AnnotationMetadataBuilder entityAnnotationBuilder =
+        new AnnotationMetadataBuilder(entityAnnotation);
+    entityAnnotationBuilder.addStringAttribute("cacheUsage", cacheUsage);
+    final ClassOrInterfaceTypeDetailsBuilder cidBuilder =
+        new ClassOrInterfaceTypeDetailsBuilder(entityDetails);
+    cidBuilder.updateTypeAnnotation(entityAnnotationBuilder);
+    getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
+
+    // Configure the region of the entity, which is named after its class
+    for (Pom module : getTypeLocationService().getModules(ModuleFeatureName.APPLICATION)) {
+      final String configPath = getHibernateCacheConfigPath(module.getModuleName());
+      if (!getFileManager().exists(configPath)) {
+        continue;
+      }
+      final Document document = XmlUtils.readXml(getFileManager().getInputStream(configPath));
+      final Element root = document.getDocumentElement();
+      final String regionName = entity.getFullyQualifiedTypeName();
+      Element region =
+          XmlUtils.findFirstElement(String.format("/ehcache/cache[@name = '%s']", regionName),
+              root);
+      if (region == null) {
+        region = document.createElement("cache");
+        region.setAttribute("name", regionName);
+        region.setAttribute("eternal", "false");
+        region.setAttribute("maxEntriesLocalHeap", DEFAULT_REGION_MAX_ENTRIES);
+        region.setAttribute("timeToLiveSeconds", DEFAULT_REGION_TIME_TO_LIVE);
+        root.appendChild(region);
+      }
+      if (maxEntries != null) {
+        region.setAttribute("maxEntriesLocalHeap", maxEntries.toString());
+      }
+      if (timeToLive != null) {
+        region.setAttribute("timeToLiveSeconds", timeToLive.toString());
+      }
+      getFileManager().createOrUpdateTextFileIfRequired(configPath,
+          XmlUtils.nodeToString(document), false);
+    }
+  }
+
+  @Override
+  public boolean isCacheAddAvailable() {
+    return isCacheSetupAvailable()
+        && !getTypeLocationService().findTypesWithAnnotation(SpringJavaType.ENABLE_CACHING)
+            .isEmpty();
+  }
+
+  @Override
+  public void addServiceCache(JavaType service, String method, String cacheName,
+      Integer maximumSize, String expireAfterWrite, String expireAfterAccess,
+      String refreshAfterWrite, String profile) {
+    Validate.notNull(service, "Service required");
+    Validate.isTrue(method == null || ArrayUtils.contains(SERVICE_CACHED_METHODS, method),
+        "Method '%s' can't be cached. Possible values are: %s", method,
+        StringUtils.join(SERVICE_CACHED_METHODS, ", "));
+
+    // Look for the implementation of the service
+    ClassOrInterfaceTypeDetails serviceImplDetails = null;
+    for (ClassOrInterfaceTypeDetails serviceImpl : getTypeLocationService()
+        .findClassesOrInterfaceDetailsWithAnnotation(RooJavaType.ROO_SERVICE_IMPL)) {
+      final AnnotationAttributeValue<?> serviceAttribute =
+          serviceImpl.getAnnotation(RooJavaType.ROO_SERVICE_IMPL).getAttribute("service");
+      if (serviceImpl.getType().equals(service)
+          || (serviceAttribute != null && service.equals(serviceAttribute.getValue()))) {
+        serviceImplDetails = serviceImpl;
+        break;
+      }
+    }
+    Validate.notNull(serviceImplDetails, "Service '%s' or its implementation not found", service);
+    final AnnotationMetadata serviceImplAnnotation =
+        serviceImplDetails.getAnnotation(RooJavaType.ROO_SERVICE_IMPL);
+
+    // Keep the current cache of the service, or name it after its entity
+    String name = cacheName;
+    if (StringUtils.isBlank(name)) {
+      final AnnotationAttributeValue<?> currentCacheName =
+          serviceImplAnnotation.getAttribute("cacheName");
+      if (currentCacheName != null && StringUtils.isNotBlank((String) currentCacheName.getValue())) {
+        name = (String) currentCacheName.getValue();
+      } else {
+        name = getServiceCacheName(serviceImplAnnotation);
+      }
+    }
+
+    // Add the method to the current cached ones
+    final List<String> cachedMethods = new ArrayList<String>();
+    final AnnotationAttributeValue<?> currentCachedMethods =
+        serviceImplAnnotation.getAttribute("cachedMethods");
+    if (currentCachedMethods != null) {
+      for (Object value : (List<?>) currentCachedMethods.getValue()) {
+        cachedMethods.add((String) ((AnnotationAttributeValue<?>) value).getValue());
+      }
+    }
+    for (String cachedMethod : SERVICE_CACHED_METHODS) {
+      if ((method == null || method.equals(cachedMethod))
+          && !cachedMethods.contains(cachedMethod)) {
+        cachedMethods.add(cachedMethod);
+      }
+    }
+
+    // The cache policies are only supported by the Caffeine provider, so
+    // check it before modifying the service
+    final String spec =
+        getCaffeineSpec(maximumSize, expireAfterWrite, expireAfterAccess, refreshAfterWrite);
+    final List<Pom> caffeineModules = new ArrayList<Pom>();
+    if (spec != null) {
+      for (Pom module : getTypeLocationService().getModules(ModuleFeatureName.APPLICATION)) {
+        if (module.hasDependencyExcludingVersion(CaffeineCacheProvider.CAFFEINE_DEPENDENCY)) {
+          caffeineModules.add(module);
+        }
+      }
+      Validate.isTrue(!caffeineModules.isEmpty(),
+          "Cache size, expiry and refresh policies require the CAFFEINE cache provider");
+    }
+
+    // Update @RooServiceImpl, which generates @Cacheable and @CacheEvict
+    final List<StringAttributeValue> cachedMethodValues = new ArrayList<StringAttributeValue>();
+    for (String cachedMethod : cachedMethods) {
+      cachedMethodValues.add(new StringAttributeValue(new JavaSymbolName("value"), cachedMethod));
+    }
+    final AnnotationMetadataBuilder serviceImplAnnotationBuilder =
+        new AnnotationMetadataBuilder(serviceImplAnnotation);
+    serviceImplAnnotationBuilder.addStringAttribute("cacheName", name);
+    serviceImplAnnotationBuilder.addAttribute(new ArrayAttributeValue<StringAttributeValue>(
+        new JavaSymbolName("cachedMethods"), cachedMethodValues));
+    final ClassOrInterfaceTypeDetailsBuilder cidBuilder =
+        new ClassOrInterfaceTypeDetailsBuilder(serviceImplDetails);
+    cidBuilder.updateTypeAnnotation(serviceImplAnnotationBuilder);
+    getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
+
+    // Ehcache only provides the declared caches
+    for (Pom module : getTypeLocationService().getModules(ModuleFeatureName.APPLICATION)) {
+      declareEhCacheCache(module.getModuleName(), name, null);
+    }
+
+    // Add the spec of the cache
+    for (Pom module : caffeineModules) {
+      getApplicationConfigService().addProperty(module.getModuleName(),
+          CaffeineCacheProvider.CACHE_SPECS_PROPERTY_PREFIX, name, spec, profile, true);
+    }
+  }
+
+  @Override
+  public void declareEhCacheCache(String moduleName, String cacheName, Integer timeToLive) {
+    final String configPath =
+        getPathResolver().getIdentifier(
+            LogicalPath.getInstance(Path.SRC_MAIN_RESOURCES, moduleName),
+            EhCacheCacheProvider.CACHE_CONFIG_FILE);
+    if (!getFileManager().exists(configPath)) {
+      return;
+    }
+    final Document document = XmlUtils.readXml(getFileManager().getInputStream(configPath));
+    final Element root = document.getDocumentElement();
+    Element cache =
+        XmlUtils.findFirstElement(String.format("/ehcache/cache[@name = '%s']", cacheName), root);
+    if (cache == null) {
+      cache = document.createElement("cache");
+      cache.setAttribute("name", cacheName);
+      cache.setAttribute("eternal", "false");
+      cache.setAttribute("maxEntriesLocalHeap", DEFAULT_REGION_MAX_ENTRIES);
+      cache.setAttribute("timeToLiveSeconds", DEFAULT_REGION_TIME_TO_LIVE);
+      root.appendChild(cache);
+    }
+    if (timeToLive != null) {
+      cache.setAttribute("timeToLiveSeconds", timeToLive.toString());
+    }
+    getFileManager().createOrUpdateTextFileIfRequired(configPath,
+        XmlUtils.nodeToString(document), false);
+  }
+
+  /**
+   * Gets the default cache name of a service, which is its uncapitalized
+   * entity name.
+   * 
+   * @param serviceImplAnnotation the @RooServiceImpl annotation of the service
+   * @return the cache name
+   */
+  private String getServiceCacheName(AnnotationMetadata serviceImplAnnotation) {
+    final JavaType serviceInterface =
+        (JavaType) serviceImplAnnotation.getAttribute("service").getValue();
+    final ClassOrInterfaceTypeDetails serviceDetails =
+        getTypeLocationService().getTypeDetails(serviceInterface);
+    Validate.notNull(serviceDetails, "Service '%s' not found", serviceInterface);
+    final AnnotationMetadata serviceAnnotation =
+        serviceDetails.getAnnotation(RooJavaType.ROO_SERVICE);
+    Validate.notNull(serviceAnnotation, "Class '%s' is not annotated with @RooService",
+        serviceInterface);
+    final JavaType entity = (JavaType) serviceAnnotation.getAttribute("entity").getValue();
+    return StringUtils.uncapitalize(entity.getSimpleTypeName());
+  }
+
+  /**
+   * Builds the Caffeine spec of a cache. Specs always record the cache
+   * statistics.
+   * 
+   * @param maximumSize
+   * @param expireAfterWrite
+   * @param expireAfterAccess
+   * @param refreshAfterWrite
+   * @return the spec, or null if no policy has been specified
+   */
+  private String getCaffeineSpec(Integer maximumSize, String expireAfterWrite,
+      String expireAfterAccess, String refreshAfterWrite) {
+    final List<String> policies = new ArrayList<String>();
+    if (maximumSize != null) {
+      policies.add("maximumSize=".concat(maximumSize.toString()));
+    }
+    if (StringUtils.isNotBlank(expireAfterWrite)) {
+      policies.add("expireAfterWrite=".concat(expireAfterWrite));
+    }
+    if (StringUtils.isNotBlank(expireAfterAccess)) {
+      policies.add("expireAfterAccess=".concat(expireAfterAccess));
+    }
+    if (StringUtils.isNotBlank(refreshAfterWrite)) {
+      policies.add("refreshAfterWrite=".concat(refreshAfterWrite));
+    }
+    if (policies.isEmpty()) {
+      return null;
+    }
+    policies.add("recordStats");
+    return StringUtils.join(policies, ",");
+  }
+
+  /**
+   * Gets the path of the Hibernate second-level cache configuration file of
+   * a module.
+   * 
+   * @param moduleName the name of the module
+   * @return the canonical path of the file
+   */
+  private String getHibernateCacheConfigPath(String moduleName) {
+    return getPathResolver().getIdentifier(
+        LogicalPath.getInstance(Path.SRC_MAIN_RESOURCES, moduleName),
+        EhCacheCacheProvider.HIBERNATE_CACHE_CONFIG_FILE);
+  }
+
   /**
    * Add Spring Cache starter to provided module.
    * 
@@ -163,6 +459,84 @@ public class CacheOperationsImpl implements CacheOperations {
     }
   }
 
+  /**
+   * Method to obtain fileManager service implementation
+   * 
+   * @return
+   */
+  public FileManager getFileManager() {
+    if (fileManager == null) {
+      // Get all Services implement FileManager interface
+      try {
+        ServiceReference<?>[] references =
+            context.getAllServiceReferences(FileManager.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          fileManager = (FileManager) context.getService(ref);
+          return fileManager;
+        }
+        return null;
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load FileManager on CacheOperationsImpl.");
+        return null;
+      }
+    } else {
+      return fileManager;
+    }
+  }
+
+  /**
+   * Method to obtain pathResolver service implementation
+   * 
+   * @return
+   */
+  public PathResolver getPathResolver() {
+    if (pathResolver == null) {
+      // Get all Services implement PathResolver interface
+      try {
+        ServiceReference<?>[] references =
+            context.getAllServiceReferences(PathResolver.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          pathResolver = (PathResolver) context.getService(ref);
+          return pathResolver;
+        }
+        return null;
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load PathResolver on CacheOperationsImpl.");
+        return null;
+      }
+    } else {
+      return pathResolver;
+    }
+  }
+
+  /**
+   * Method to obtain applicationConfigService service implementation
+   * 
+   * @return
+   */
+  public ApplicationConfigService getApplicationConfigService() {
+    if (applicationConfigService == null) {
+      // Get all Services implement ApplicationConfigService interface
+      try {
+        ServiceReference<?>[] references =
+            context.getAllServiceReferences(ApplicationConfigService.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          applicationConfigService = (ApplicationConfigService) context.getService(ref);
+          return applicationConfigService;
+        }
+        return null;
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load ApplicationConfigService on CacheOperationsImpl.");
+        return null;
+      }
+    } else {
+      return applicationConfigService;
+    }
+  }
+
   /**
    * Method to obtain typeManagementService service implementation
    * 
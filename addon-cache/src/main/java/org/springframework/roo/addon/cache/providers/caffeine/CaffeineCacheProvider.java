@@ -0,0 +1,147 @@
+package org.springframework.roo.addon.cache.providers.caffeine;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.Service;
+import org.springframework.roo.addon.cache.providers.CacheProvider;
+import org.springframework.roo.application.config.ApplicationConfigService;
+import org.springframework.roo.classpath.ModuleFeatureName;
+import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.process.manager.FileManager;
+import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
+import org.springframework.roo.project.ProjectOperations;
+import org.springframework.roo.project.maven.Pom;
+import org.springframework.roo.support.util.FileUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Provides implementation of {@link CacheProvider} interface by installing
+ * Caffeine as intermediate memory manager.
+ *
+ * Unlike the Spring Boot Caffeine support, which uses the same spec for every
+ * cache, the generated cache manager builds each cache with its own spec.
+ *
+ * @since 2.0
+ */
+@Component
+@Service
+public class CaffeineCacheProvider implements CacheProvider {
+
+  /**
+   * Prefix of the properties with the spec of each cache
+   */
+  public static final String CACHE_SPECS_PROPERTY_PREFIX = "cache.caffeine.specs";
+
+  /**
+   * Caffeine dependency, used to know if the provider has been installed
+   */
+  public static final Dependency CAFFEINE_DEPENDENCY = new Dependency(
+      "com.github.ben-manes.caffeine", "caffeine", null);
+
+  private static final String CAFFEINE_PROVIDER_NAME = "CAFFEINE";
+  private static final String CACHE_TYPE_PROPERTY_VALUE = "caffeine";
+  private static final String CACHE_SPEC_PROPERTY_KEY = "cache.caffeine.spec";
+  private static final String CACHE_SPEC_PROPERTY_VALUE =
+      "maximumSize=500,expireAfterWrite=10m,recordStats";
+  private static final String CONFIGURATION_CLASS_NAME = "CaffeineCacheConfiguration";
+
+  @Reference
+  private ProjectOperations projectOperations;
+  @Reference
+  private TypeLocationService typeLocationService;
+  @Reference
+  private ApplicationConfigService applicationConfigService;
+  @Reference
+  private FileManager fileManager;
+  @Reference
+  private PathResolver pathResolver;
+
+  List<Pom> applicationModules = null;
+
+  @Override
+  public String getName() {
+    return CAFFEINE_PROVIDER_NAME;
+  }
+
+  @Override
+  public boolean isInstalled() {
+    if (this.applicationModules == null) {
+      this.applicationModules =
+          (List<Pom>) typeLocationService.getModules(ModuleFeatureName.APPLICATION);
+    }
+
+    // Look if the Caffeine dependency has been installed
+    for (Pom module : applicationModules) {
+      if (module.hasDependencyExcludingVersion(CAFFEINE_DEPENDENCY)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public void setup(String profile) {
+    if (this.applicationModules == null) {
+      this.applicationModules =
+          (List<Pom>) typeLocationService.getModules(ModuleFeatureName.APPLICATION);
+    }
+
+    for (Pom module : applicationModules) {
+      final String moduleName = module.getModuleName();
+
+      // Add Caffeine dependency to each application module
+      projectOperations.addDependency(moduleName, CAFFEINE_DEPENDENCY);
+
+      // Add Caffeine specific application properties. The default spec
+      // records the cache statistics
+      applicationConfigService.addProperty(moduleName, CACHE_TYPE_PROPERTY_KEY,
+          CACHE_TYPE_PROPERTY_VALUE, profile, false);
+      applicationConfigService.addProperty(moduleName, CACHE_SPEC_PROPERTY_KEY,
+          CACHE_SPEC_PROPERTY_VALUE, profile, false);
+
+      // Add the cache manager which supports a spec for each cache
+      createConfigurationClass(module);
+    }
+  }
+
+  /**
+   * Creates the Caffeine cache manager configuration class from its template,
+   * if it doesn't exist yet.
+   *
+   * @param module the Pom of the module where the class is created
+   */
+  private void createConfigurationClass(Pom module) {
+    final String packageName =
+        projectOperations.getTopLevelPackage(module.getModuleName())
+            .getFullyQualifiedPackageName().concat(".config");
+    final JavaType type =
+        new JavaType(String.format("%s.%s", packageName, CONFIGURATION_CLASS_NAME),
+            module.getModuleName());
+    final String identifier =
+        pathResolver.getCanonicalPath(type.getModule(), Path.SRC_MAIN_JAVA, type);
+    if (fileManager.exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream =
+          FileUtils.getInputStream(getClass(), CONFIGURATION_CLASS_NAME.concat("-template._java"));
+      final String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      fileManager.createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+
+}
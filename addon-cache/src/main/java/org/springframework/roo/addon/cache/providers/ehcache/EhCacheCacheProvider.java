@@ -0,0 +1,147 @@
+package org.springframework.roo.addon.cache.providers.ehcache;
+
+import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.Service;
+import org.springframework.roo.addon.cache.providers.CacheProvider;
+import org.springframework.roo.application.config.ApplicationConfigService;
+import org.springframework.roo.classpath.ModuleFeatureName;
+import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.process.manager.FileManager;
+import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
+import org.springframework.roo.project.ProjectOperations;
+import org.springframework.roo.project.maven.Pom;
+import org.springframework.roo.support.util.FileUtils;
+import org.springframework.roo.support.util.XmlUtils;
+
+import java.util.List;
+
+/**
+ * Provides implementation of {@link CacheProvider} interface by installing
+ * Ehcache as intermediate memory manager and as Hibernate second-level cache.
+ *
+ * Spring Cache abstraction and Hibernate use different Ehcache configuration
+ * files, as each of them creates its own cache manager.
+ *
+ * @since 2.0
+ */
+@Component
+@Service
+public class EhCacheCacheProvider implements CacheProvider {
+
+  /**
+   * Ehcache configuration file of the Hibernate second-level cache regions
+   */
+  public static final String HIBERNATE_CACHE_CONFIG_FILE = "ehcache-hibernate.xml";
+
+  /**
+   * Ehcache configuration file of the Spring Cache abstraction caches
+   */
+  public static final String CACHE_CONFIG_FILE = "ehcache.xml";
+
+  private static final String EHCACHE_PROVIDER_NAME = "EHCACHE";
+  private static final Dependency EHCACHE_DEPENDENCY = new Dependency("net.sf.ehcache", "ehcache",
+      null);
+  private static final Dependency HIBERNATE_EHCACHE_DEPENDENCY = new Dependency("org.hibernate",
+      "hibernate-ehcache", null);
+  private static final String CACHE_TYPE_PROPERTY_VALUE = "ehcache";
+  private static final String EHCACHE_CONFIG_PROPERTY_KEY = "spring.cache.ehcache.config";
+  private static final String JPA_PROPERTIES_PREFIX = "spring.jpa.properties";
+  private static final String[][] HIBERNATE_CACHE_PROPERTIES = {
+      {"hibernate.cache.use_second_level_cache", "true"},
+      {"hibernate.cache.use_query_cache", "true"},
+      {"hibernate.cache.region.factory_class",
+          "org.hibernate.cache.ehcache.EhCacheRegionFactory"},
+      {"net.sf.ehcache.configurationResourceName", "/".concat(HIBERNATE_CACHE_CONFIG_FILE)},
+      {"javax.persistence.sharedCache.mode", "ENABLE_SELECTIVE"}};
+
+  @Reference
+  private ProjectOperations projectOperations;
+  @Reference
+  private TypeLocationService typeLocationService;
+  @Reference
+  private ApplicationConfigService applicationConfigService;
+  @Reference
+  private FileManager fileManager;
+  @Reference
+  private PathResolver pathResolver;
+
+  List<Pom> applicationModules = null;
+
+  @Override
+  public String getName() {
+    return EHCACHE_PROVIDER_NAME;
+  }
+
+  @Override
+  public boolean isInstalled() {
+    if (this.applicationModules == null) {
+      this.applicationModules =
+          (List<Pom>) typeLocationService.getModules(ModuleFeatureName.APPLICATION);
+    }
+
+    // Look if the Hibernate Ehcache dependency has been installed
+    for (Pom module : applicationModules) {
+      if (module.hasDependencyExcludingVersion(HIBERNATE_EHCACHE_DEPENDENCY)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public void setup(String profile) {
+    if (this.applicationModules == null) {
+      this.applicationModules =
+          (List<Pom>) typeLocationService.getModules(ModuleFeatureName.APPLICATION);
+    }
+
+    for (Pom module : applicationModules) {
+      final String moduleName = module.getModuleName();
+
+      // Add Ehcache dependencies to each application module
+      projectOperations.addDependency(moduleName, EHCACHE_DEPENDENCY);
+      projectOperations.addDependency(moduleName, HIBERNATE_EHCACHE_DEPENDENCY);
+
+      // Add Spring Cache application properties
+      applicationConfigService.addProperty(moduleName, CACHE_TYPE_PROPERTY_KEY,
+          CACHE_TYPE_PROPERTY_VALUE, profile, false);
+      applicationConfigService.addProperty(moduleName, EHCACHE_CONFIG_PROPERTY_KEY,
+          "classpath:".concat(CACHE_CONFIG_FILE), profile, false);
+
+      // Enable second-level and query cache only for @Cacheable entities
+      for (String[] property : HIBERNATE_CACHE_PROPERTIES) {
+        applicationConfigService.addProperty(moduleName, JPA_PROPERTIES_PREFIX, property[0],
+            property[1], profile, false);
+      }
+
+      // Add Ehcache configuration files
+      createConfigFile(moduleName, CACHE_CONFIG_FILE, "ehcache-template.xml");
+      createConfigFile(moduleName, HIBERNATE_CACHE_CONFIG_FILE, "ehcache-hibernate-template.xml");
+    }
+  }
+
+  /**
+   * Creates an Ehcache configuration file from a template, if it doesn't
+   * exist yet.
+   *
+   * @param moduleName the module where the file is created
+   * @param fileName the name of the configuration file
+   * @param templateName the name of the template
+   */
+  private void createConfigFile(String moduleName, String fileName, String templateName) {
+    final String configPath =
+        pathResolver.getIdentifier(LogicalPath.getInstance(Path.SRC_MAIN_RESOURCES, moduleName),
+            fileName);
+    if (fileManager.exists(configPath)) {
+      return;
+    }
+    fileManager.createOrUpdateTextFileIfRequired(configPath, XmlUtils.nodeToString(XmlUtils
+        .readXml(FileUtils.getInputStream(getClass(), templateName))), false);
+  }
+
+}
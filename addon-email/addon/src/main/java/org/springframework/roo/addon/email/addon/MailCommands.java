@@ -164,10 +164,19 @@ public class MailCommands implements CommandMarker {
           key = "service",
           mandatory = false,
           help = "The service where include an instance of JavaMailSender, which is a service that "
-              + "have methods to send emails.") final JavaType service, ShellContext shellContext) {
+              + "have methods to send emails. If `--async` is specified, an instance of "
+              + "AsyncMailSender is included instead.") final JavaType service,
+      @CliOption(key = "async", mandatory = false, specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Whether to send the emails out of the caller thread. Generates an "
+              + "AsyncMailSender which queues the emails in a bounded executor, sends them in "
+              + "batches which share the same connection to the mail server and retries the failed "
+              + "ones with an exponential backoff. "
+              + "Default if option present: `true`; default if option not present: `false`.") final boolean async,
+      ShellContext shellContext) {
 
     mailOperations.installSendEmailSupport(host, port, protocol, username, password, starttls,
-        jndiName, profile, module, service, shellContext.isForce());
+        jndiName, profile, module, service, async, shellContext.isForce());
   }
 
 
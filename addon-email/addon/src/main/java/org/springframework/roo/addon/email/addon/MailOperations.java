@@ -30,11 +30,13 @@ public interface MailOperations extends Feature {
    * @param profile Indicate the profile where the properties will be set
    * @param module Indicate the module where the properties will be set
    * @param service Service implementantion where create an instance of JavaMailSender
+   * @param async Indicate if the emails will be sent out of the caller thread, 
+   *            through a generated AsyncMailSender
    * @param force Indicate if the properties will be overwritten
    */
   void installSendEmailSupport(String host, String port, String protocol, String username,
       String password, Boolean starttls, String jndiName, String profile, Pom module,
-      JavaType service, boolean force);
+      JavaType service, boolean async, boolean force);
 
   /**
    * Add support to obtain emails received into the configured account
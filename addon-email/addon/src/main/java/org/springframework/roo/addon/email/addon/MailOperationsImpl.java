@@ -4,6 +4,7 @@ import static java.lang.reflect.Modifier.PRIVATE;
 import static org.springframework.roo.model.SpringJavaType.AUTOWIRED;
 
 import org.springframework.roo.project.Property;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
@@ -22,19 +23,29 @@ import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.model.SpringletsJavaType;
+import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.DependencyScope;
+import org.springframework.roo.project.DependencyType;
 import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.ServiceInstaceManager;
+import org.springframework.roo.support.util.FileUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,6 +76,15 @@ public class MailOperationsImpl implements MailOperations {
   private static final Dependency DEPENDENCY_SPRINGLETS_MAIL = new Dependency("io.springlets",
       "springlets-mail", "${springlets.version}");
 
+  private static final Dependency DEPENDENCY_JAVAX_MAIL = new Dependency("com.sun.mail",
+      "javax.mail", null);
+
+  private static final Dependency DEPENDENCY_JUNIT = new Dependency("junit", "junit", null,
+      DependencyType.JAR, DependencyScope.TEST);
+
+  private static final Dependency DEPENDENCY_GREENMAIL = new Dependency("com.icegreen",
+      "greenmail", "1.5.5", DependencyType.JAR, DependencyScope.TEST);
+
   // Properties
   private static final Property PROPERTY_SPRINGLETS_VERSION = new Property("springlets.version",
       "1.0.0.RELEASE");
@@ -73,6 +93,22 @@ public class MailOperationsImpl implements MailOperations {
 
   private static final String RECEIVE_MAIL_PREFIX = "springlets.mail.receiver";
 
+  private static final Map<String, String> ASYNC_MAIL_PROPERTIES =
+      new LinkedHashMap<String, String>();
+  static {
+    ASYNC_MAIL_PROPERTIES.put("mail.async.core-pool-size", "2");
+    ASYNC_MAIL_PROPERTIES.put("mail.async.max-pool-size", "8");
+    ASYNC_MAIL_PROPERTIES.put("mail.async.queue-capacity", "500");
+    ASYNC_MAIL_PROPERTIES.put("mail.async.batch-size", "50");
+    ASYNC_MAIL_PROPERTIES.put("mail.async.max-attempts", "3");
+    ASYNC_MAIL_PROPERTIES.put("mail.async.backoff-delay", "1000");
+
+    // Don't let a slow mail server block the executor threads
+    ASYNC_MAIL_PROPERTIES.put("spring.mail.properties.mail.smtp.connectiontimeout", "5000");
+    ASYNC_MAIL_PROPERTIES.put("spring.mail.properties.mail.smtp.timeout", "5000");
+    ASYNC_MAIL_PROPERTIES.put("spring.mail.properties.mail.smtp.writetimeout", "5000");
+  }
+
   private BundleContext context;
 
   private ServiceInstaceManager serviceInstaceManager = new ServiceInstaceManager();
@@ -90,7 +126,7 @@ public class MailOperationsImpl implements MailOperations {
   @Override
   public void installSendEmailSupport(String host, String port, String protocol, String username,
       String password, Boolean starttls, String jndiName, String profile, Pom module,
-      JavaType service, boolean force) {
+      JavaType service, boolean async, boolean force) {
 
     // Include spring-boot-starter-mail in module
     getProjectOperations().addDependency(module.getModuleName(),
@@ -124,6 +160,15 @@ public class MailOperationsImpl implements MailOperations {
           propertiesFormattedToInsert, profile, force);
     }
 
+    // The emails are sent through the AsyncMailSender, generated in the module
+    // of the service which sends them
+    JavaType asyncMailSender = null;
+    if (async) {
+      asyncMailSender =
+          installAsyncSendEmailSupport(module.getModuleName(),
+              service != null ? service.getModule() : module.getModuleName(), profile, force);
+    }
+
     if (service != null) {
 
       // Add dependency spring-context-support to the module of the selected Service
@@ -142,12 +187,75 @@ public class MailOperationsImpl implements MailOperations {
       // Create the field
       cidBuilder.addField(new FieldMetadataBuilder(declaredByMetadataId, PRIVATE, Arrays
           .asList(new AnnotationMetadataBuilder(AUTOWIRED)), new JavaSymbolName("mailSender"),
-          SpringJavaType.JAVA_MAIL_SENDER));
+          asyncMailSender != null ? asyncMailSender : SpringJavaType.JAVA_MAIL_SENDER));
 
       getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
     }
   }
 
+  /**
+   * Generates the AsyncMailSender, its configuration and its GreenMail test,
+   * and sets the properties of the executor which sends the emails.
+   *
+   * @param applicationModuleName the module where the properties will be set
+   * @param moduleName the module where the classes will be generated
+   * @param profile the profile where the properties will be set
+   * @param force whether the properties will be overwritten
+   * @return the AsyncMailSender type
+   */
+  private JavaType installAsyncSendEmailSupport(String applicationModuleName, String moduleName,
+      String profile, boolean force) {
+    getProjectOperations().addDependency(moduleName, DEPENDENCY_SPRING_CONTEXT_SUPPORT);
+    getProjectOperations().addDependency(moduleName, DEPENDENCY_JAVAX_MAIL);
+    getProjectOperations().addDependency(moduleName, DEPENDENCY_JUNIT);
+    getProjectOperations().addDependency(moduleName, DEPENDENCY_GREENMAIL);
+
+    for (Entry<String, String> property : ASYNC_MAIL_PROPERTIES.entrySet()) {
+      getApplicationConfigService().addProperty(applicationModuleName, property.getKey(),
+          property.getValue(), profile, force);
+    }
+
+    final String packageName =
+        getProjectOperations().getTopLevelPackage(moduleName).getFullyQualifiedPackageName()
+            .concat(".mail");
+    createClassFromTemplate(moduleName, Path.SRC_MAIN_JAVA, packageName, "AsyncMailSender");
+    createClassFromTemplate(moduleName, Path.SRC_MAIN_JAVA, packageName,
+        "AsyncMailConfiguration");
+    createClassFromTemplate(moduleName, Path.SRC_TEST_JAVA, packageName, "AsyncMailSenderTest");
+
+    return new JavaType(packageName.concat(".AsyncMailSender"), moduleName);
+  }
+
+  /**
+   * Creates a class from its template, if it doesn't exist yet.
+   *
+   * @param moduleName the module where the class is created
+   * @param path the source path of the class
+   * @param packageName the package of the class
+   * @param className the simple name of the class, which is also the
+   *            prefix of the template name
+   */
+  private void createClassFromTemplate(String moduleName, Path path, String packageName,
+      String className) {
+    final JavaType type =
+        new JavaType(String.format("%s.%s", packageName, className), moduleName);
+    final String identifier = getPathResolver().getCanonicalPath(moduleName, path, type);
+    if (getFileManager().exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), className.concat("-template._java"));
+      final String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      getFileManager().createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+
   private Map<String, String> getSendEmailPropertiesFormattedToInsert(String host, String port,
       String protocol, String username, String password, Boolean starttls, String jndiName) {
     String starttlsStr = String.valueOf(starttls);
@@ -362,6 +470,14 @@ public class MailOperationsImpl implements MailOperations {
     return serviceInstaceManager.getServiceInstance(this, TypeManagementService.class);
   }
 
+  private FileManager getFileManager() {
+    return serviceInstaceManager.getServiceInstance(this, FileManager.class);
+  }
+
+  private PathResolver getPathResolver() {
+    return serviceInstaceManager.getServiceInstance(this, PathResolver.class);
+  }
+
   // FEATURE METHODS
 
   @Override
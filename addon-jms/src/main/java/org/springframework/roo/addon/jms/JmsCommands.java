@@ -124,11 +124,21 @@ public class JmsCommands implements CommandMarker {
           help = "The service where include the method that receives JMS messages.") final JavaType endpointService,
       @CliOption(key = {"jndiConnectionFactory"}, mandatory = true,
           help = "The jndi name for which the JMS receiver configuration has been defined.") final String jndiConnectionFactory,
+      @CliOption(key = {"concurrency"}, mandatory = false,
+          help = "The number of concurrent consumers of the JMS listeners, as a \"lower-upper\" "
+              + "range, which scales the consumers with the load, or a fixed number. "
+              + "Ex.: `--concurrency 3-10`.") final String concurrency,
+      @CliOption(key = {"transacted"}, mandatory = false,
+          help = "Whether the JMS listeners acknowledge the messages by committing a local "
+              + "transaction, so the messages are redelivered when the listener fails.") final Boolean transacted,
+      @CliOption(key = {"maxMessagesPerTask"}, mandatory = false,
+          help = "The number of messages received by a consumer before releasing its thread. "
+              + "Higher values avoid rescheduling the consumers when the load is high.") final Integer maxMessagesPerTask,
       @CliOption(key = {"profile"}, mandatory = false,
           help = "The profile where the properties will be set.") final String profile,
       ShellContext shellContext) {
-    jmsOperations.addJmsReceiver(destinationName, endpointService, jndiConnectionFactory, profile,
-        shellContext.isForce());
+    jmsOperations.addJmsReceiver(destinationName, endpointService, jndiConnectionFactory,
+        concurrency, transacted, maxMessagesPerTask, profile, shellContext.isForce());
   }
 
   @CliAvailabilityIndicator("jms sender")
@@ -171,12 +181,16 @@ public class JmsCommands implements CommandMarker {
           help = "The class where include a reference to the JMS which sends messages.") final JavaType classSelected,
       @CliOption(key = {"jndiConnectionFactory"}, mandatory = true,
           help = "The jndi name where the JMS sender configuration has been defined.") final String jndiConnectionFactory,
+      @CliOption(key = {"sessionCacheSize"}, mandatory = false,
+          help = "The number of JMS sessions, with their producers, cached by the connection "
+              + "factory of the JMS templates, so a new session isn't opened to send each "
+              + "message.") final Integer sessionCacheSize,
       @CliOption(key = {"profile"}, mandatory = false,
           help = "The profile where the properties will be set.") final String profile,
       ShellContext shellContext) {
 
-    jmsOperations.addJmsSender(destinationName, classSelected, jndiConnectionFactory, profile,
-        shellContext.isForce());
+    jmsOperations.addJmsSender(destinationName, classSelected, jndiConnectionFactory,
+        sessionCacheSize, profile, shellContext.isForce());
   }
 
 }
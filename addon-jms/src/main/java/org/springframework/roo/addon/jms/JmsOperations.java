@@ -19,11 +19,18 @@ public interface JmsOperations {
    * @param destinationName Name of the queue or topic
    * @param endpointService Service that has a method to get JMS messages of the destination
    * @param jndiConnectionFactory Name of the JNDI where is configured JMS connection
+   * @param concurrency Number of concurrent consumers, as a "lower-upper" range 
+   *            or a fixed number. Can be null.
+   * @param transacted Indicate if the messages are acknowledged by a local 
+   *            transaction. Can be null.
+   * @param maxMessagesPerTask Number of messages received by a consumer before 
+   *            releasing its thread. Can be null.
    * @param profile Indicate the profile where the properties will be set
    * @param force Indicate if the properties or service will be overwritten
    */
   void addJmsReceiver(String destinationName, JavaType endpointService,
-      String jndiConnectionFactory, String profile, boolean force);
+      String jndiConnectionFactory, String concurrency, Boolean transacted,
+      Integer maxMessagesPerTask, String profile, boolean force);
 
   /**
    * Creates a service to send JMS messages.
@@ -32,9 +39,12 @@ public interface JmsOperations {
    * @param destinationName Name of the queue or topic
    * @param classSelected Class where put the service that can send JMS messages
    * @param jndiConnectionFactory Name of the JNDI where is configured JMS connection
+   * @param sessionCacheSize Number of sessions cached by the connection factory
+   *            of the JMS templates. 
+   *            Can be null.
    * @param profile Indicate the profile where the properties will be set
    * @param force Indicate if the properties will be overwritten
    */
   void addJmsSender(String destinationName, JavaType classSelected, String jndiConnectionFactory,
-      String profile, boolean force);
+      Integer sessionCacheSize, String profile, boolean force);
 }
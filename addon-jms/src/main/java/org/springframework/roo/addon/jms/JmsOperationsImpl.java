@@ -1,5 +1,6 @@
 package org.springframework.roo.addon.jms;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
@@ -26,6 +27,8 @@ import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.model.SpringletsJavaType;
 import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.DependencyScope;
+import org.springframework.roo.project.DependencyType;
 import org.springframework.roo.project.Path;
 import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
@@ -33,7 +36,10 @@ import org.springframework.roo.project.Property;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.ServiceInstaceManager;
+import org.springframework.roo.support.util.FileUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -67,6 +73,16 @@ public class JmsOperationsImpl implements JmsOperations {
   private static final String JMS_VAR_DESTINATION_NAME_SUFIX = "JndiName";
   private static final String JMS_PROPERTY_JNDI_NAME = "spring.jms.jndi-name";
   private static final String JNDI_PREFIX = "java:comp/env/";
+  private static final String JMS_PROPERTY_LISTENER_CONCURRENCY = "spring.jms.listener.concurrency";
+  private static final String JMS_PROPERTY_LISTENER_MAX_CONCURRENCY =
+      "spring.jms.listener.max-concurrency";
+  private static final String JMS_PROPERTY_LISTENER_SESSION_TRANSACTED =
+      "jms.listener.session-transacted";
+  private static final String JMS_PROPERTY_LISTENER_MAX_MESSAGES_PER_TASK =
+      "jms.listener.max-messages-per-task";
+  private static final String JMS_PROPERTY_SESSION_CACHE_SIZE =
+      "jms.connection-factory.session-cache-size";
+  private static final String CONCURRENCY_PATTERN = "\\d+(-\\d+)?";
 
   // Dependencies
   private static final Dependency DEPENDENCY_JMS = new Dependency("org.springframework",
@@ -77,6 +93,13 @@ public class JmsOperationsImpl implements JmsOperations {
   private static final Dependency DEPENDENCY_SPRINGLETS_JMS = new Dependency("io.springlets",
       "springlets-jms", "${springlets.version}");
 
+  private static final Dependency DEPENDENCY_SPRING_BOOT_STARTER_TEST = new Dependency(
+      "org.springframework.boot", "spring-boot-starter-test", null, DependencyType.JAR,
+      DependencyScope.TEST);
+
+  private static final Dependency DEPENDENCY_ACTIVEMQ_BROKER = new Dependency(
+      "org.apache.activemq", "activemq-broker", null, DependencyType.JAR, DependencyScope.TEST);
+
   // Properties
   private static final Property PROPERTY_SPRINGLETS_VERSION = new Property("springlets.version",
       "1.0.0.RELEASE");
@@ -96,7 +119,12 @@ public class JmsOperationsImpl implements JmsOperations {
 
   @Override
   public void addJmsReceiver(String destinationName, JavaType endpointService,
-      String jndiConnectionFactory, String profile, boolean force) {
+      String jndiConnectionFactory, String concurrency, Boolean transacted,
+      Integer maxMessagesPerTask, String profile, boolean force) {
+
+    // Check the concurrency before making any change
+    Validate.isTrue(concurrency == null || concurrency.matches(CONCURRENCY_PATTERN),
+        "--concurrency must be a \"lower-upper\" range or a number. Ex.: 3-10");
 
     boolean isApplicationModule = false;
     // Check that the module of the service is type application
@@ -145,6 +173,27 @@ public class JmsOperationsImpl implements JmsOperations {
     // Add jms dependecy in module
     getProjectOperations().addDependency(endpointService.getModule(), DEPENDENCY_JMS);
 
+    // Set listener container throughput properties
+    if (concurrency != null) {
+      String[] consumers = concurrency.split("-");
+      getApplicationConfigService().addProperty(endpointService.getModule(),
+          JMS_PROPERTY_LISTENER_CONCURRENCY, consumers[0], profile, true);
+      getApplicationConfigService().addProperty(endpointService.getModule(),
+          JMS_PROPERTY_LISTENER_MAX_CONCURRENCY, consumers[consumers.length - 1], profile, true);
+    }
+    if (transacted != null) {
+      getApplicationConfigService().addProperty(endpointService.getModule(),
+          JMS_PROPERTY_LISTENER_SESSION_TRANSACTED, transacted.toString(), profile, true);
+    }
+    if (maxMessagesPerTask != null) {
+      getApplicationConfigService().addProperty(endpointService.getModule(),
+          JMS_PROPERTY_LISTENER_MAX_MESSAGES_PER_TASK, maxMessagesPerTask.toString(), profile,
+          true);
+    }
+    if (concurrency != null || transacted != null || maxMessagesPerTask != null) {
+      createJmsConfiguration(endpointService.getModule());
+    }
+
     // Add annotation @EnableJms to application class of the module
     Set<ClassOrInterfaceTypeDetails> applicationClasses =
         getTypeLocationService().findClassesOrInterfaceDetailsWithAnnotation(
@@ -235,7 +284,7 @@ public class JmsOperationsImpl implements JmsOperations {
 
   @Override
   public void addJmsSender(String destinationName, JavaType classSelected,
-      String jndiConnectionFactory, String profile, boolean force) {
+      String jndiConnectionFactory, Integer sessionCacheSize, String profile, boolean force) {
 
     // Check that module included in destionationName is an application module
     String module = "";
@@ -364,6 +413,60 @@ public class JmsOperationsImpl implements JmsOperations {
     setProperties(destination, destinationNamePropertyName.toString(), jndiConnectionFactory,
         module, profile, force);
 
+    // Cache the sessions used to send the messages
+    if (sessionCacheSize != null) {
+      getApplicationConfigService().addProperty(module, JMS_PROPERTY_SESSION_CACHE_SIZE,
+          sessionCacheSize.toString(), profile, true);
+      createJmsConfiguration(module);
+    }
+  }
+
+  /**
+   * Creates the JMS configuration class, which applies the throughput 
+   * properties to the listener containers and connection factory, and its 
+   * test against an embedded broker, if they don't exist yet.
+   *
+   * @param module Application module where the classes are created
+   */
+  private void createJmsConfiguration(String module) {
+    getProjectOperations().addDependency(module, DEPENDENCY_JMS);
+    getProjectOperations().addDependency(module, DEPENDENCY_SPRING_BOOT_STARTER_TEST);
+    getProjectOperations().addDependency(module, DEPENDENCY_ACTIVEMQ_BROKER);
+
+    final String packageName =
+        getProjectOperations().getTopLevelPackage(module).getFullyQualifiedPackageName()
+            .concat(".config");
+    createClassFromTemplate(module, Path.SRC_MAIN_JAVA, packageName, "JmsConfiguration");
+    createClassFromTemplate(module, Path.SRC_TEST_JAVA, packageName, "JmsConfigurationTest");
+  }
+
+  /**
+   * Creates a class from its template, if it doesn't exist yet.
+   *
+   * @param module Module where the class is created
+   * @param path Source path of the class
+   * @param packageName Package of the class
+   * @param className Simple name of the class, which is also the prefix of 
+   *            the template name
+   */
+  private void createClassFromTemplate(String module, Path path, String packageName,
+      String className) {
+    final JavaType type = new JavaType(String.format("%s.%s", packageName, className), module);
+    final String identifier = getPathResolver().getCanonicalPath(module, path, type);
+    if (getFileManager().exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), className.concat("-template._java"));
+      final String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      getFileManager().createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
   }
 
   /**
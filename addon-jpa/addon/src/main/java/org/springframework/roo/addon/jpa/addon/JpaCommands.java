@@ -8,6 +8,7 @@ import static org.springframework.roo.model.RooJavaType.ROO_SERIALIZABLE;
 import static org.springframework.roo.model.RooJavaType.ROO_TO_STRING;
 import static org.springframework.roo.shell.OptionContexts.APPLICATION_FEATURE_INCLUDE_CURRENT_MODULE;
 import static org.springframework.roo.shell.OptionContexts.INTERFACE;
+import static org.springframework.roo.shell.OptionContexts.PROJECT;
 import static org.springframework.roo.shell.OptionContexts.SUPERCLASS;
 import static org.springframework.roo.shell.OptionContexts.UPDATELAST_PROJECT;
 import static org.springframework.roo.shell.OptionContexts.UPDATE_PROJECT;
@@ -19,6 +20,7 @@ import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.addon.jpa.addon.entity.IdentifierStrategy;
+import org.springframework.roo.addon.jpa.annotations.entity.GlobalSearchType;
 import org.springframework.roo.addon.propfiles.PropFileOperations;
 import org.springframework.roo.classpath.ModuleFeatureName;
 import org.springframework.roo.classpath.TypeLocationService;
@@ -26,7 +28,9 @@ import org.springframework.roo.classpath.details.BeanInfoUtils;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
 import org.springframework.roo.classpath.operations.InheritanceType;
+import org.springframework.roo.model.EnumDetails;
 import org.springframework.roo.model.JavaPackage;
+import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.ReservedWords;
@@ -132,7 +136,7 @@ public class JpaCommands implements CommandMarker {
     return jpaOperations.isJpaInstallationPossible();
   }
 
-  @CliAvailabilityIndicator({"entity jpa", "embeddable"})
+  @CliAvailabilityIndicator({"entity jpa", "entity fetch", "embeddable"})
   public boolean isClassGenerationAvailable() {
     return jpaOperations.isJpaInstalled();
   }
@@ -214,6 +218,12 @@ public class JpaCommands implements CommandMarker {
     return true;
   }
 
+  @CliOptionVisibilityIndicator(command = "jpa setup", params = {"readReplica"},
+      help = "`--readReplica` parameter is not available if `--jndiDataSource` is specified.")
+  public boolean isReadReplicaVisible(ShellContext shellContext) {
+    return !shellContext.getParameters().containsKey("jndiDataSource");
+  }
+
   @CliOptionVisibilityIndicator(command = "jpa setup", params = "database",
       help = "'--database' option is not available if '--jndiDatasource' " + "is specified.")
   public boolean areProviderAndDatabaseVisible(ShellContext shellContext) {
@@ -292,6 +302,14 @@ public class JpaCommands implements CommandMarker {
       @CliOption(key = "password", mandatory = false, help = "The password to use. "
           + "This option is available if `--database` has already been specified and its value is"
           + " not `HYPERSONIC` or `H2_IN_MEMORY` and `--jndiDatasource` has not been specified.") final String password,
+      @CliOption(key = "readReplica", mandatory = false, specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Whether read-only transactions, as the generated service read methods, should use "
+              + "a read replica of the database. Its connection is configured with the "
+              + "`spring.datasource.replica.*` properties, which use the primary database until "
+              + "they are changed. "
+              + "This option is not available if `--jndiDataSource` has been specified. "
+              + "Default if option present: `true`; default if option not present: `false`.") final boolean readReplica,
       ShellContext shellContext) {
 
     if (jdbcDatabase != null && jdbcDatabase == JdbcDatabase.FIREBIRD && !isJdk6OrHigher()) {
@@ -300,7 +318,7 @@ public class JpaCommands implements CommandMarker {
     }
 
     jpaOperations.configureJpa(ormProvider, jdbcDatabase, module, jndi, hostName, databaseName,
-        userName, password, shellContext.getProfile(), shellContext.isForce());
+        userName, password, shellContext.getProfile(), shellContext.isForce(), readReplica);
   }
 
   /**
@@ -596,6 +614,10 @@ public class JpaCommands implements CommandMarker {
               + "`io.springlets.format.EntityFormat` annotation and creates a message in all message bundles "
               + "with the provided key. Message value should be  modified by developer. This kind of format "
               + "has more priority that 'expression' format added with `--entityFormatExpression`.") String formatMessage,
+      @CliOption(key = "globalSearch", mandatory = false, unspecifiedDefaultValue = "LIKE",
+          help = "The strategy used by the global search of the entity repository: `LIKE` "
+              + "conditions on every text field or `HIBERNATE_SEARCH` full-text index. "
+              + "Default: `LIKE`.") final GlobalSearchType globalSearch,
       ShellContext shellContext) {
 
     Validate.isTrue(!identifierType.isPrimitive(), "Identifier type cannot be a primitive");
@@ -694,7 +716,7 @@ public class JpaCommands implements CommandMarker {
     annotationBuilder.add(javaBeanAnnotationBuilder);
     annotationBuilder.add(ROO_TO_STRING_BUILDER);
     annotationBuilder.add(getEntityAnnotationBuilder(table, schema, catalog, inheritanceType,
-        mappedSuperclass, entityName, readOnly, formatExpression, formatMessage));
+        mappedSuperclass, entityName, readOnly, formatExpression, formatMessage, globalSearch));
 
     // Add @RooEquals only if it's superclass is not an entity
     ClassOrInterfaceTypeDetails superclassCid = typeLocationService.getTypeDetails(superclass);
@@ -720,6 +742,11 @@ public class JpaCommands implements CommandMarker {
         identifierType, identifierColumn, sequenceName, identifierStrategy, versionField,
         versionType, versionColumn, inheritanceType, annotationBuilder);
 
+    // Configure the full-text index used by global search
+    if (globalSearch == GlobalSearchType.HIBERNATE_SEARCH) {
+      jpaOperations.setupHibernateSearch(name.getModule());
+    }
+
     // Update entity identifier class if required (identifierClass should be
     // only an embeddable class)
     if (!(identifierType.getPackage().getFullyQualifiedPackageName().startsWith("java."))) {
@@ -727,6 +754,38 @@ public class JpaCommands implements CommandMarker {
     }
   }
 
+  @CliCommand(value = "entity fetch",
+      help = "Declares the relations of an entity which are fetched together with it by list and "
+          + "detail views, generating the `Entity.list` and `Entity.detail` entity graphs.")
+  public void fetchPlan(
+      @CliOption(key = "entity", mandatory = true, optionContext = PROJECT,
+          help = "The entity whose fetch plan is declared. "
+              + "Ex.: `--entity ~.domain.MyEntity` (where `~` is the base package).") final JavaType entity,
+      @CliOption(key = "list", mandatory = false,
+          help = "Comma separated `@ManyToOne` or `@OneToOne` relation fields fetched by the "
+              + "paged queries of list views. An empty value fetches none of them.") final String listRelations,
+      @CliOption(key = "detail", mandatory = false,
+          help = "Comma separated relation fields fetched by the `findOne` of detail views. "
+              + "An empty value fetches none of them.") final String detailRelations) {
+    Validate.isTrue(listRelations != null || detailRelations != null,
+        "At least one of --list or --detail options is required");
+    jpaOperations.updateEntityGraphs(entity, getFieldNames(listRelations),
+        getFieldNames(detailRelations));
+  }
+
+  private List<String> getFieldNames(final String fieldNames) {
+    if (fieldNames == null) {
+      return null;
+    }
+    final List<String> names = new ArrayList<String>();
+    for (String name : StringUtils.split(fieldNames, ',')) {
+      if (StringUtils.isNotBlank(name)) {
+        names.add(name.trim());
+      }
+    }
+    return names;
+  }
+
   /**
    * Returns a builder for the entity-related annotation to be added to a newly
    * created JPA entity
@@ -738,12 +797,14 @@ public class JpaCommands implements CommandMarker {
    * @param mappedSuperclass
    * @param entityName
    * @param readOnly
+   * @param globalSearch
    * @return a non-<code>null</code> builder
    */
   private AnnotationMetadataBuilder getEntityAnnotationBuilder(final String table,
       final String schema, final String catalog, final InheritanceType inheritanceType,
       final boolean mappedSuperclass, final String entityName, final boolean readOnly,
-      final String formatExpression, final String formatMessage) {
+      final String formatExpression, final String formatMessage,
+      final GlobalSearchType globalSearch) {
     final AnnotationMetadataBuilder entityAnnotationBuilder =
         new AnnotationMetadataBuilder(ROO_JPA_ENTITY);
 
@@ -780,6 +841,11 @@ public class JpaCommands implements CommandMarker {
       entityAnnotationBuilder.addBooleanAttribute("readOnly", true);
     }
 
+    if (globalSearch != null && globalSearch != GlobalSearchType.LIKE) {
+      entityAnnotationBuilder.addEnumAttribute("globalSearch", new EnumDetails(new JavaType(
+          GlobalSearchType.class), new JavaSymbolName(globalSearch.name())));
+    }
+
     return entityAnnotationBuilder;
   }
 
@@ -24,6 +24,12 @@ import java.util.SortedSet;
  */
 public interface JpaOperations extends Feature {
 
+  /**
+   * Statements sent in each JDBC batch, which is also the allocation size of
+   * the generated sequences so a batch of inserts needs a single sequence call
+   */
+  int JDBC_BATCH_SIZE = 50;
+
   /**
    * This method is responsible for managing all JPA related artifacts
    * (META-INF/persistence.xml, applicationContext.xml, database.properties
@@ -40,10 +46,12 @@ public interface JpaOperations extends Feature {
    * @param password the password to connect to the database
    * @param profile string with profile where current jpa persistence will be applied.
    * @param force boolean that forces configuration if exists some previous configuration
+   * @param readReplica boolean that indicates if read-only transactions should use a 
+   *            read replica of the database
    */
   void configureJpa(OrmProvider ormProvider, JdbcDatabase database, Pom module, String jndi,
       String hostName, String databaseName, String userName, String password, String profile,
-      boolean force);
+      boolean force, boolean readReplica);
 
   /**
    * Indicates whether JPA can be installed in the currently focused module.
@@ -93,6 +101,32 @@ public interface JpaOperations extends Feature {
       String versionField, JavaType versionType, String versionColumn,
       InheritanceType inheritanceType, List<AnnotationMetadataBuilder> annotations);
 
+  /**
+   * Configures Hibernate Search, which keeps the full-text index used by the
+   * global search of entities annotated with
+   * `@RooJpaEntity(globalSearch = GlobalSearchType.HIBERNATE_SEARCH)`.
+   * Adds its dependency to the entity module and, to every application 
+   * module, the index location, a component which rebuilds the index on 
+   * startup and a test of the index search.
+   *
+   * @param moduleName the module of the indexed entity
+   */
+  void setupHibernateSearch(String moduleName);
+
+  /**
+   * Declares the relations of an entity which are fetched together with it by
+   * list and detail views, to avoid loading them with a query per row.
+   *
+   * @param entity the entity to update (required)
+   * @param listRelations the relation fields fetched by list views. Must be
+   *            `@ManyToOne` or `@OneToOne` relations. If null, the list
+   *            views fetch plan isn't changed.
+   * @param detailRelations the relation fields fetched by detail views. If
+   *            null, the detail views fetch plan isn't changed.
+   */
+  void updateEntityGraphs(JavaType entity, List<String> listRelations,
+      List<String> detailRelations);
+
   /**
    * Updates an existing embeddable class to a JPA identifier class.
    *
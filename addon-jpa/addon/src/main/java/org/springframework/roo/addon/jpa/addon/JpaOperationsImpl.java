@@ -15,6 +15,7 @@ import static org.springframework.roo.model.RooJavaType.ROO_JAVA_BEAN;
 import static org.springframework.roo.model.RooJavaType.ROO_SERIALIZABLE;
 import static org.springframework.roo.model.RooJavaType.ROO_TO_STRING;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Pair;
@@ -37,7 +38,10 @@ import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetailsBuil
 import org.springframework.roo.classpath.details.FieldDetails;
 import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.FieldMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.StringAttributeValue;
 import org.springframework.roo.classpath.operations.InheritanceType;
 import org.springframework.roo.metadata.MetadataService;
 import org.springframework.roo.model.EnumDetails;
@@ -55,11 +59,14 @@ import org.springframework.roo.project.Property;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.ServiceInstaceManager;
+import org.springframework.roo.support.util.FileUtils;
 import org.springframework.roo.support.util.XmlUtils;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -101,9 +108,17 @@ public class JpaOperationsImpl implements JpaOperations {
   private static final String DATABASE_URL = "url";
   private static final String DATABASE_USERNAME = "username";
   private static final String JNDI_NAME = "jndi-name";
+  private static final String READ_REPLICA_DATASOURCE_PREFIX = "spring.datasource.replica";
   private static final String HIBERNATE_NAMING_STRATEGY = "spring.jpa.hibernate.naming.strategy";
   private static final String HIBERNATE_NAMING_STRATEGY_VALUE =
       "org.hibernate.cfg.ImprovedNamingStrategy";
+  private static final String HIBERNATE_PROPERTIES_PREFIX = "spring.jpa.properties.hibernate";
+
+  /**
+   * Rows read from the database in each round trip, so queries which iterate
+   * over their results (exports) don't load all of them at once
+   */
+  private static final int JDBC_FETCH_SIZE = 100;
   static final String POM_XML = "pom.xml";
 
   private ServiceInstaceManager serviceManager = new ServiceInstaceManager();
@@ -117,6 +132,13 @@ public class JpaOperationsImpl implements JpaOperations {
   private static final Dependency SPRINGLETS_CONTEXT_DEPENDENCY = new Dependency("io.springlets",
       "springlets-context", "${springlets.version}");
 
+  private static final Property HIBERNATE_SEARCH_VERSION_PROPERTY = new Property(
+      "hibernate-search.version", "5.5.8.Final");
+  private static final Dependency HIBERNATE_SEARCH_DEPENDENCY = new Dependency("org.hibernate",
+      "hibernate-search-orm", "${hibernate-search.version}");
+  private static final String HIBERNATE_SEARCH_PREFIX = "spring.jpa.properties.hibernate.search";
+  private static final String FULL_TEXT_INDEX_PREFIX = "search.index";
+
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
     this.serviceManager.activate(this.context);
@@ -125,13 +147,16 @@ public class JpaOperationsImpl implements JpaOperations {
   @Override
   public void configureJpa(final OrmProvider ormProvider, final JdbcDatabase jdbcDatabase,
       final Pom module, final String jndi, final String hostName, final String databaseName,
-      final String userName, final String password, final String profile, final boolean force) {
+      final String userName, final String password, final String profile, final boolean force,
+      final boolean readReplica) {
 
     Validate.notNull(module, "Module required");
     Validate.notNull(ormProvider, "ORM provider required");
     if (StringUtils.isBlank(jndi)) {
       Validate.notNull(jdbcDatabase, "JDBC database or JNDI data source required");
     }
+    Validate.isTrue(!readReplica || StringUtils.isBlank(jndi),
+        "Read replica is not available for JNDI data sources");
 
     // Parse the configuration.xml file
     final Element configuration = XmlUtils.getConfiguration(getClass());
@@ -152,6 +177,73 @@ public class JpaOperationsImpl implements JpaOperations {
     updateApplicationProperties(module.getModuleName(), ormProvider, jdbcDatabase, hostName,
         databaseName, userName, password, jndi, profile, force);
 
+    if (readReplica) {
+      configureReadReplica(module, profile);
+    }
+  }
+
+  /**
+   * Adds the read replica data source of a module, which is used by the
+   * read-only transactions. Its properties point to the primary database
+   * until they are changed, so the application works without a replica.
+   * Also adds a test of the data source routing, which uses two H2
+   * in-memory databases.
+   *
+   * @param module the module where the persistence is installed
+   * @param profile the profile of the replica properties
+   */
+  private void configureReadReplica(final Pom module, final String profile) {
+    final String moduleName = module.getModuleName();
+
+    Map<String, String> props = new HashMap<String, String>();
+    for (String property : Arrays.asList(DATABASE_URL, DATABASE_DRIVER, DATABASE_USERNAME,
+        DATABASE_PASSWORD)) {
+      props.put(property, String.format("${%s.%s}", DATASOURCE_PREFIX, property));
+    }
+    getApplicationConfigService().addProperties(moduleName, READ_REPLICA_DATASOURCE_PREFIX,
+        props, profile, false);
+
+    final String packageName =
+        getProjectOperations().getTopLevelPackage(moduleName).getFullyQualifiedPackageName()
+            .concat(".config");
+    createClassFromTemplate(moduleName, packageName, "ReadReplicaRoutingDataSource",
+        Path.SRC_MAIN_JAVA);
+    createClassFromTemplate(moduleName, packageName, "ReadReplicaDataSourceConfiguration",
+        Path.SRC_MAIN_JAVA);
+    createClassFromTemplate(moduleName, packageName, "ReadReplicaRoutingDataSourceTest",
+        Path.SRC_TEST_JAVA);
+    addTestScopedDependency(moduleName, JdbcDatabase.H2_IN_MEMORY.getConfigPrefix(),
+        XmlUtils.getConfiguration(getClass()));
+  }
+
+  /**
+   * Creates a class from its "-template._java" template, replacing its
+   * package, if it doesn't exist yet.
+   *
+   * @param moduleName the module where the class is created
+   * @param packageName the package of the class
+   * @param className the name of the class and its template
+   * @param path the source path of the class
+   */
+  private void createClassFromTemplate(final String moduleName, final String packageName,
+      final String className, final Path path) {
+    final JavaType type =
+        new JavaType(String.format("%s.%s", packageName, className), moduleName);
+    final String identifier = getPathResolver().getCanonicalPath(moduleName, path, type);
+    if (getFileManager().exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), className.concat("-template._java"));
+      final String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      getFileManager().createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
   }
 
   @Override
@@ -189,6 +281,90 @@ public class JpaOperationsImpl implements JpaOperations {
         new Dependency("org.springframework.boot", "spring-boot-starter-data-jpa", null));
   }
 
+  @Override
+  public void updateEntityGraphs(final JavaType entity, final List<String> listRelations,
+      final List<String> detailRelations) {
+    Validate.notNull(entity, "Entity required");
+    final ClassOrInterfaceTypeDetails entityDetails =
+        getTypeLocationService().getTypeDetails(entity);
+    Validate.notNull(entityDetails, "Entity '%s' not found", entity);
+    final AnnotationMetadata entityAnnotation =
+        entityDetails.getAnnotation(RooJavaType.ROO_JPA_ENTITY);
+    Validate.notNull(entityAnnotation, "Class '%s' is not annotated with @RooJpaEntity", entity);
+
+    final AnnotationMetadataBuilder entityAnnotationBuilder =
+        new AnnotationMetadataBuilder(entityAnnotation);
+    if (listRelations != null) {
+      for (String relation : listRelations) {
+        Validate.isTrue(
+            JpaEntityMetadata.isSingleValuedRelationField(getRelationField(entityDetails,
+                relation)),
+            "List views can only fetch @ManyToOne or @OneToOne relations: fetching collection "
+                + "'%s' would break the pagination of '%s'", relation,
+            entity.getSimpleTypeName());
+      }
+      entityAnnotationBuilder.addAttribute(getStringArrayAttribute("listEntityGraph",
+          listRelations));
+    }
+    if (detailRelations != null) {
+      for (String relation : detailRelations) {
+        getRelationField(entityDetails, relation);
+      }
+      entityAnnotationBuilder.addAttribute(getStringArrayAttribute("detailEntityGraph",
+          detailRelations));
+    }
+
+    final ClassOrInterfaceTypeDetailsBuilder cidBuilder =
+        new ClassOrInterfaceTypeDetailsBuilder(entityDetails);
+    cidBuilder.updateTypeAnnotation(entityAnnotationBuilder);
+    getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
+  }
+
+  private FieldMetadata getRelationField(final ClassOrInterfaceTypeDetails entityDetails,
+      final String fieldName) {
+    final FieldMetadata field = entityDetails.getDeclaredField(new JavaSymbolName(fieldName));
+    Validate.isTrue(field != null && JpaEntityMetadata.isRelationField(field),
+        "Field '%s' is not a relation of entity '%s'", fieldName, entityDetails.getType()
+            .getSimpleTypeName());
+    return field;
+  }
+
+  private ArrayAttributeValue<StringAttributeValue> getStringArrayAttribute(final String name,
+      final List<String> values) {
+    final List<StringAttributeValue> attributeValues = new ArrayList<StringAttributeValue>();
+    for (String value : values) {
+      attributeValues.add(new StringAttributeValue(new JavaSymbolName("value"), value));
+    }
+    return new ArrayAttributeValue<StringAttributeValue>(new JavaSymbolName(name),
+        attributeValues);
+  }
+
+  @Override
+  public void setupHibernateSearch(final String moduleName) {
+    getProjectOperations().addProperty("", HIBERNATE_SEARCH_VERSION_PROPERTY);
+    getProjectOperations().addDependency(moduleName, HIBERNATE_SEARCH_DEPENDENCY);
+
+    // Index is kept on the local file system of each application
+    for (String applicationModule : getTypeLocationService().getModuleNames(
+        ModuleFeatureName.APPLICATION)) {
+      getApplicationConfigService().addProperty(applicationModule, HIBERNATE_SEARCH_PREFIX,
+          "default.directory_provider", "filesystem", null, false);
+      getApplicationConfigService().addProperty(applicationModule, HIBERNATE_SEARCH_PREFIX,
+          "default.indexBase", "${java.io.tmpdir}/".concat(applicationModule.isEmpty() ? "app"
+              : applicationModule).concat("-index"), null, false);
+
+      // The index is rebuilt on startup, so the rows which were stored before
+      // it existed, or by other applications, can be found
+      getApplicationConfigService().addProperty(applicationModule, FULL_TEXT_INDEX_PREFIX,
+          "rebuild-on-startup", "true", null, false);
+      final String packageName =
+          getProjectOperations().getTopLevelPackage(applicationModule)
+              .getFullyQualifiedPackageName().concat(".config");
+      createClassFromTemplate(applicationModule, packageName, "FullTextIndexInitializer",
+          Path.SRC_MAIN_JAVA);
+    }
+  }
+
   @Override
   public void newEntity(final JavaType name, final boolean createAbstract,
       final JavaType superclass, final JavaType implementsType, final String identifierField,
@@ -497,6 +673,18 @@ public class JpaOperationsImpl implements JpaOperations {
     if (ormProvider.toString().equals(OrmProvider.HIBERNATE.toString())) {
       getApplicationConfigService().addProperty(moduleName, HIBERNATE_NAMING_STRATEGY,
           HIBERNATE_NAMING_STRATEGY_VALUE, profile, force);
+
+      // Group inserts and updates in JDBC batches. Entities with SEQUENCE
+      // identifiers allocate their ids by batches, as identity columns
+      // disable insert batching. Also read query results by chunks
+      Map<String, String> batchProps = new HashMap<String, String>();
+      batchProps.put("jdbc.batch_size", String.valueOf(JDBC_BATCH_SIZE));
+      batchProps.put("jdbc.batch_versioned_data", "true");
+      batchProps.put("order_inserts", "true");
+      batchProps.put("order_updates", "true");
+      batchProps.put("jdbc.fetch_size", String.valueOf(JDBC_FETCH_SIZE));
+      getApplicationConfigService().addProperties(moduleName, HIBERNATE_PROPERTIES_PREFIX,
+          batchProps, profile, false);
     }
 
     // Add dev properties
@@ -911,13 +1099,19 @@ public class JpaOperationsImpl implements JpaOperations {
         generatedValueBuilder.addEnumAttribute("strategy", new EnumDetails(GENERATION_TYPE,
             new JavaSymbolName(identifierStrategy.name())));
 
-        if (StringUtils.isNotBlank(sequenceName)) {
+        // Only the entities which use sequences allocate the ids of a whole
+        // JDBC batch at once. The generator of AUTO identifiers isn't changed
+        if (StringUtils.isNotBlank(sequenceName)
+            || IdentifierStrategy.SEQUENCE.name().equals(identifierStrategy.name())) {
           final String sequenceKey = StringUtils.uncapitalize(entity.getSimpleTypeName()) + "Gen";
           generatedValueBuilder.addStringAttribute("generator", sequenceKey);
           final AnnotationMetadataBuilder sequenceGeneratorBuilder =
               new AnnotationMetadataBuilder(SEQUENCE_GENERATOR);
           sequenceGeneratorBuilder.addStringAttribute("name", sequenceKey);
-          sequenceGeneratorBuilder.addStringAttribute("sequenceName", sequenceName);
+          if (StringUtils.isNotBlank(sequenceName)) {
+            sequenceGeneratorBuilder.addStringAttribute("sequenceName", sequenceName);
+          }
+          sequenceGeneratorBuilder.addIntegerAttribute("allocationSize", JDBC_BATCH_SIZE);
           annotations.add(sequenceGeneratorBuilder);
         }
         annotations.add(generatedValueBuilder);
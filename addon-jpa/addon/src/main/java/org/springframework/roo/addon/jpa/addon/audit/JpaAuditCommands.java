@@ -188,7 +188,24 @@ public class JpaAuditCommands implements CommandMarker {
           mandatory = true,
           help = "The DB column used for storing information about who modifies each record."
               + "This option is mandatory if `spring.roo.jpa.require.schema-object-name` configuration "
-              + "setting exists and it's `true`.") final String modifiedByColumn) {
+              + "setting exists and it's `true`.") final String modifiedByColumn,
+      @CliOption(
+          key = "lightweight",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Audits the entity in lightweight mode. The updates only write the modified columns "
+              + "and the generated Thymeleaf update flow compares the submitted version with the "
+              + "version the entity was read with, instead of reading the entity again. "
+              + "Default if option present: `true`; default if option not present: `false`.") final boolean lightweight,
+      @CliOption(
+          key = "log",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Writes the entity changes to the `audit_log` table. The entries are written in "
+              + "batches by a background thread after the transactions commit. "
+              + "Default if option present: `true`; default if option not present: `false`.") final boolean log) {
 
     // Check if entity exists
     final ClassOrInterfaceTypeDetails entityDetails =
@@ -200,7 +217,7 @@ public class JpaAuditCommands implements CommandMarker {
         "'%s' is not a valid entity. It should be annotated with @RooEntity", entity);
 
     getAuditOperations().addJpaAuditToEntity(entity, createdDateColumn, modifiedDateColumn,
-        createdByColumn, modifiedByColumn);
+        createdByColumn, modifiedByColumn, lightweight, log);
   }
 
   public TypeLocationService getTypeLocationService() {
@@ -9,8 +9,12 @@ import org.springframework.roo.classpath.PhysicalTypeIdentifierNamingUtils;
 import org.springframework.roo.classpath.PhysicalTypeMetadata;
 import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.ClassAttributeValue;
 import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.metadata.MetadataIdentificationUtils;
+import org.springframework.roo.model.HibernateJavaType;
+import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.SpringJavaType;
@@ -29,7 +33,11 @@ public class JpaAuditMetadata extends AbstractItdTypeDetailsProvidingMetadataIte
   private static final String PROVIDES_TYPE = MetadataIdentificationUtils
       .create(PROVIDES_TYPE_STRING);
 
+  public static final String AUDIT_LOG_PACKAGE = "audit";
+  public static final String AUDIT_LOG_LISTENER = "AuditLogListener";
+
   private List<FieldMetadata> auditFields = new ArrayList<FieldMetadata>();
+  private final boolean lightweight;
 
   public static String createIdentifier(final JavaType javaType, final LogicalPath path) {
     return PhysicalTypeIdentifierNamingUtils.createIdentifier(PROVIDES_TYPE_STRING, javaType, path);
@@ -54,15 +62,34 @@ public class JpaAuditMetadata extends AbstractItdTypeDetailsProvidingMetadataIte
         metadataIdentificationString);
   }
 
+  /**
+   * Gets the JPA listener which writes the changes of the entities to the 
+   * audit log table.
+   * 
+   * @param topLevelPackage the top level package of the module of the entities
+   * @param moduleName the module of the entities
+   * @return the listener type
+   */
+  public static JavaType getAuditLogListener(final String topLevelPackage,
+      final String moduleName) {
+    return new JavaType(String.format("%s.%s.%s", topLevelPackage, AUDIT_LOG_PACKAGE,
+        AUDIT_LOG_LISTENER), moduleName);
+  }
+
   /**
    * Constructor
    * 
    * @param identifier
    * @param aspectName
    * @param governorPhysicalTypeMetadata
+   * @param auditFields
+   * @param lightweight whether the entity is audited in lightweight mode
+   * @param auditLogListener the listener which writes the audit log, or 
+   *            null if the entity changes aren't logged
    */
   public JpaAuditMetadata(final String identifier, final JavaType aspectName,
-      final PhysicalTypeMetadata governorPhysicalTypeMetadata, List<FieldMetadata> auditFields) {
+      final PhysicalTypeMetadata governorPhysicalTypeMetadata, List<FieldMetadata> auditFields,
+      final boolean lightweight, final JavaType auditLogListener) {
     super(identifier, aspectName, governorPhysicalTypeMetadata);
     Validate
         .isTrue(
@@ -73,9 +100,15 @@ public class JpaAuditMetadata extends AbstractItdTypeDetailsProvidingMetadataIte
     // Saving audit fields to provide them to other components
     // that invoke this Metadata
     this.auditFields = auditFields;
+    this.lightweight = lightweight;
 
     // Add @EntityListeners annotation
-    ensureGovernorIsAnnotated(getEntityListenersAnnotation());
+    ensureGovernorIsAnnotated(getEntityListenersAnnotation(auditLogListener));
+
+    // Add @DynamicUpdate annotation to only update the modified columns
+    if (lightweight) {
+      ensureGovernorIsAnnotated(new AnnotationMetadataBuilder(HibernateJavaType.DYNAMIC_UPDATE));
+    }
 
     // Build ITD
     itdTypeDetails = builder.build();
@@ -91,15 +124,34 @@ public class JpaAuditMetadata extends AbstractItdTypeDetailsProvidingMetadataIte
   }
 
 
+  /**
+   * Returns true if the entity is audited in lightweight mode
+   * 
+   * @return
+   */
+  public boolean isLightweight() {
+    return lightweight;
+  }
+
   /**
    * Builds @EntityListeners annotation
    * 
+   * @param auditLogListener the listener which writes the audit log, if any
    * @return AnnotationMetadataBuilder with the prepared annotation
    */
-  private AnnotationMetadataBuilder getEntityListenersAnnotation() {
+  private AnnotationMetadataBuilder getEntityListenersAnnotation(final JavaType auditLogListener) {
     AnnotationMetadataBuilder annotation =
         new AnnotationMetadataBuilder(JpaJavaType.ENTITY_LISTENERS);
-    annotation.addClassAttribute("value", SpringJavaType.AUDITING_ENTITY_LISTENER);
+    if (auditLogListener == null) {
+      annotation.addClassAttribute("value", SpringJavaType.AUDITING_ENTITY_LISTENER);
+    } else {
+      List<ClassAttributeValue> listeners = new ArrayList<ClassAttributeValue>();
+      listeners.add(new ClassAttributeValue(new JavaSymbolName("value"),
+          SpringJavaType.AUDITING_ENTITY_LISTENER));
+      listeners.add(new ClassAttributeValue(new JavaSymbolName("value"), auditLogListener));
+      annotation.addAttribute(new ArrayAttributeValue<ClassAttributeValue>(new JavaSymbolName(
+          "value"), listeners));
+    }
 
     return annotation;
   }
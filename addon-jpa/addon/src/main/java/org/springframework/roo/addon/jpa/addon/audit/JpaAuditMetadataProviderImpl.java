@@ -13,6 +13,8 @@ import org.springframework.roo.classpath.PhysicalTypeMetadata;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.ItdTypeDetails;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.itd.AbstractMemberDiscoveringItdMetadataProvider;
 import org.springframework.roo.classpath.itd.ItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.metadata.MetadataDependencyRegistry;
@@ -21,6 +23,9 @@ import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.project.LogicalPath;
+import org.springframework.roo.project.ProjectOperations;
+import org.springframework.roo.project.maven.Pom;
+import org.springframework.roo.support.osgi.ServiceInstaceManager;
 
 /**
  * Implementation of {@link JpaAuditMetadataProvider}.
@@ -36,6 +41,8 @@ public class JpaAuditMetadataProviderImpl extends AbstractMemberDiscoveringItdMe
 
   protected MetadataDependencyRegistryTracker registryTracker = null;
 
+  private ServiceInstaceManager serviceInstaceManager = new ServiceInstaceManager();
+
   /**
    * This service is being activated so setup it:
    * <ul>
@@ -48,6 +55,7 @@ public class JpaAuditMetadataProviderImpl extends AbstractMemberDiscoveringItdMe
   @Override
   protected void activate(final ComponentContext cContext) {
     context = cContext.getBundleContext();
+    serviceInstaceManager.activate(this.context);
     this.registryTracker =
         new MetadataDependencyRegistryTracker(context, this,
             PhysicalTypeIdentifier.getMetadataIdentiferType(), getProvidesType());
@@ -111,11 +119,32 @@ public class JpaAuditMetadataProviderImpl extends AbstractMemberDiscoveringItdMe
     auditFields.addAll(entityDetails.getFieldsWithAnnotation(SpringJavaType.CREATED_BY));
     auditFields.addAll(entityDetails.getFieldsWithAnnotation(SpringJavaType.LAST_MODIFIED_BY));
 
+    // Check the audit options
+    AnnotationMetadata auditAnnotation = entityDetails.getAnnotation(ROO_JPA_AUDIT);
+    boolean lightweight = getBooleanAttribute(auditAnnotation, "lightweight");
+    JavaType auditLogListener = null;
+    if (getBooleanAttribute(auditAnnotation, "log")) {
+      Pom module = getProjectOperations().getPomFromModuleName(annotatedEntity.getModule());
+      auditLogListener =
+          JpaAuditMetadata.getAuditLogListener(
+              getTypeLocationService().getTopLevelPackageForModule(module),
+              annotatedEntity.getModule());
+    }
+
     return new JpaAuditMetadata(metadataIdentificationString, aspectName,
-        governorPhysicalTypeMetadata, auditFields);
+        governorPhysicalTypeMetadata, auditFields, lightweight, auditLogListener);
+  }
+
+  private boolean getBooleanAttribute(AnnotationMetadata annotation, String attributeName) {
+    AnnotationAttributeValue<?> attribute = annotation.getAttribute(attributeName);
+    return attribute != null && Boolean.TRUE.equals(attribute.getValue());
   }
 
   public String getProvidesType() {
     return JpaAuditMetadata.getMetadataIdentiferType();
   }
+
+  protected ProjectOperations getProjectOperations() {
+    return serviceInstaceManager.getServiceInstance(this, ProjectOperations.class);
+  }
 }
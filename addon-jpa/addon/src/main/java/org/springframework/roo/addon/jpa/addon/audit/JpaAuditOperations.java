@@ -48,7 +48,11 @@ public interface JpaAuditOperations extends Feature {
    * @param modifiedDateColumn
    * @param createdByColumn
    * @param modifiedByColumn
+   * @param lightweight updates only the modified columns and compares the
+   *            submitted version with the version the entity was read with,
+   *            instead of reading the entity again
+   * @param log writes the entity changes to the audit log table asynchronously
    */
   void addJpaAuditToEntity(JavaType entity, String createdDateColumn, String modifiedDateColumn,
-      String createdByColumn, String modifiedByColumn);
+      String createdByColumn, String modifiedByColumn, boolean lightweight, boolean log);
 }
@@ -1,11 +1,14 @@
 package org.springframework.roo.addon.jpa.addon.audit;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Logger;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
@@ -26,13 +29,19 @@ import org.springframework.roo.model.JdkJavaType;
 import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
+import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.DependencyScope;
+import org.springframework.roo.project.DependencyType;
 import org.springframework.roo.project.FeatureNames;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.project.Property;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.ServiceInstaceManager;
+import org.springframework.roo.support.util.FileUtils;
 
 /**
  * Implements {@link JpaAuditOperations} to be able to include
@@ -57,6 +66,12 @@ public class JpaAuditOperationsImpl implements JpaAuditOperations {
       "1.2.0.RC1");
   private static final Dependency SPRINGLETS_DATA_JPA_STARTER = new Dependency("io.springlets",
       "springlets-boot-starter-data-jpa", "${springlets.version}");
+  private static final Dependency SPRING_BOOT_STARTER_TEST = new Dependency(
+      "org.springframework.boot", "spring-boot-starter-test", null, DependencyType.JAR,
+      DependencyScope.TEST);
+  private static final String[] AUDIT_LOG_CLASSES = {"AuditLog",
+      JpaAuditMetadata.AUDIT_LOG_LISTENER, "AuditLogWriter"};
+  private static final String AUDIT_LOG_TEST = "AuditLogWriterTest";
 
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
@@ -90,7 +105,8 @@ public class JpaAuditOperationsImpl implements JpaAuditOperations {
 
   @Override
   public void addJpaAuditToEntity(JavaType entity, String createdDateColumn,
-      String modifiedDateColumn, String createdByColumn, String modifiedByColumn) {
+      String modifiedDateColumn, String createdByColumn, String modifiedByColumn,
+      boolean lightweight, boolean log) {
 
     // Getting entity details
     ClassOrInterfaceTypeDetails entityDetails = getTypeLocationService().getTypeDetails(entity);
@@ -103,13 +119,77 @@ public class JpaAuditOperationsImpl implements JpaAuditOperations {
     cidBuilder.addField(getCreatedByField(entityDetails, createdByColumn));
     cidBuilder.addField(getModifiedByField(entityDetails, modifiedByColumn));
 
-    // Add @RooJpaAudit annotation if needed
+    // Add @RooJpaAudit annotation if needed, including the audit options
+    AnnotationMetadataBuilder auditAnnotation =
+        new AnnotationMetadataBuilder(RooJavaType.ROO_JPA_AUDIT);
+    if (lightweight) {
+      auditAnnotation.addBooleanAttribute("lightweight", true);
+    }
+    if (log) {
+      auditAnnotation.addBooleanAttribute("log", true);
+    }
     if (entityDetails.getAnnotation(RooJavaType.ROO_JPA_AUDIT) == null) {
-      cidBuilder.addAnnotation(new AnnotationMetadataBuilder(RooJavaType.ROO_JPA_AUDIT).build());
+      cidBuilder.addAnnotation(auditAnnotation.build());
+    } else if (lightweight || log) {
+      cidBuilder.updateTypeAnnotation(auditAnnotation);
     }
 
     // Write changes on disk
     getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
+
+    // Generate the audit log writer in the module of the entity
+    if (log) {
+      createAuditLogSupport(entity.getModule());
+    }
+  }
+
+  /**
+   * Creates the audit log table entity, the JPA listener which logs the 
+   * entity changes, the component which writes them and its test, if they
+   * don't exist yet.
+   * 
+   * @param moduleName the module of the audited entities
+   */
+  private void createAuditLogSupport(String moduleName) {
+    final Pom module = getProjectOperations().getPomFromModuleName(moduleName);
+    final String topLevelPackage = getTypeLocationService().getTopLevelPackageForModule(module);
+    final String packageName =
+        JpaAuditMetadata.getAuditLogListener(topLevelPackage, moduleName).getPackage()
+            .getFullyQualifiedPackageName();
+    for (String className : AUDIT_LOG_CLASSES) {
+      createClassFromTemplate(moduleName, packageName, className, Path.SRC_MAIN_JAVA);
+    }
+    createClassFromTemplate(moduleName, packageName, AUDIT_LOG_TEST, Path.SRC_TEST_JAVA);
+    getProjectOperations().addDependency(moduleName, SPRING_BOOT_STARTER_TEST);
+  }
+
+  /**
+   * Creates a class from its template, if not exists.
+   * 
+   * @param moduleName the module of the class
+   * @param packageName the package of the class
+   * @param className the name of the class and its template
+   * @param path the source path of the class
+   */
+  private void createClassFromTemplate(String moduleName, String packageName, String className,
+      Path path) {
+    final JavaType type =
+        new JavaType(String.format("%s.%s", packageName, className), moduleName);
+    final String identifier = getPathResolver().getCanonicalPath(moduleName, path, type);
+    if (getFileManager().exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), className.concat("-template._java"));
+      String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      getFileManager().createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
   }
 
   /**
@@ -287,6 +367,14 @@ public class JpaAuditOperationsImpl implements JpaAuditOperations {
     return serviceInstaceManager.getServiceInstance(this, TypeManagementService.class);
   }
 
+  public FileManager getFileManager() {
+    return serviceInstaceManager.getServiceInstance(this, FileManager.class);
+  }
+
+  public PathResolver getPathResolver() {
+    return serviceInstaceManager.getServiceInstance(this, PathResolver.class);
+  }
+
   // FEATURE OPERATIONS
 
   @Override
@@ -2,12 +2,15 @@ package org.springframework.roo.addon.jpa.addon.dod;
 
 import static org.springframework.roo.model.JpaJavaType.ENTITY;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
@@ -15,6 +18,7 @@ import org.apache.felix.scr.annotations.Service;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata.RelationInfo;
 import org.springframework.roo.addon.test.providers.DataOnDemandCreatorProvider;
+import org.springframework.roo.application.config.ApplicationConfigService;
 import org.springframework.roo.classpath.PhysicalTypeCategory;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
 import org.springframework.roo.classpath.TypeLocationService;
@@ -31,14 +35,17 @@ import org.springframework.roo.metadata.MetadataService;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
+import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.Dependency;
 import org.springframework.roo.project.DependencyScope;
 import org.springframework.roo.project.DependencyType;
 import org.springframework.roo.project.LogicalPath;
 import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.Plugin;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.project.maven.Pom;
+import org.springframework.roo.support.util.FileUtils;
 import org.springframework.roo.support.util.XmlUtils;
 import org.w3c.dom.Element;
 
@@ -62,11 +69,21 @@ public class JpaDataOnDemandCreator implements DataOnDemandCreatorProvider {
 
   private static final String MAVEN_JAR_PLUGIN = "maven-jar-plugin";
 
+  private static final String SEED_PROFILE = "seed";
+  private static final String JPA_PROPERTIES_PREFIX = "spring.jpa.properties";
+  private static final String DATA_SEEDER_TEMPLATE = "DataSeeder-template._java";
+
+  @Reference
+  private ApplicationConfigService applicationConfigService;
+  @Reference
+  private FileManager fileManager;
   @Reference
   private MemberDetailsScanner memberDetailsScanner;
   @Reference
   private MetadataService metadataService;
   @Reference
+  private PathResolver pathResolver;
+  @Reference
   private ProjectOperations projectOperations;
   @Reference
   private TypeLocationService typeLocationService;
@@ -220,6 +237,54 @@ public class JpaDataOnDemandCreator implements DataOnDemandCreatorProvider {
     return currentEntityFactory;
   }
 
+  @Override
+  public JavaType createDataSeeder(JavaType entity, int rows, int batchSize, int threads,
+      String moduleName) {
+    Validate.notNull(entity, "Entity to produce a data seeder for is required");
+    Validate.isTrue(rows > 0, "Number of rows must be greater than 0");
+    Validate.isTrue(batchSize > 0, "Batch size must be greater than 0");
+    Validate.isTrue(threads > 0, "Number of threads must be greater than 0");
+
+    // The seeder persists the entities through the data on demand class
+    createDataOnDemand(entity);
+
+    // Enable JDBC batching for the seed profile. The inserts are ordered by
+    // entity, so related entities created by the factories don't break the
+    // batches
+    applicationConfigService.addProperty(moduleName, JPA_PROPERTIES_PREFIX,
+        "hibernate.jdbc.batch_size", String.valueOf(batchSize), SEED_PROFILE, true);
+    applicationConfigService.addProperty(moduleName, JPA_PROPERTIES_PREFIX,
+        "hibernate.order_inserts", "true", SEED_PROFILE, false);
+
+    final JavaType seederClass =
+        new JavaType(String.format("%s.dod.%sDataSeeder", entity.getPackage()
+            .getFullyQualifiedPackageName(), entity.getSimpleTypeName()), moduleName);
+    final String identifier =
+        pathResolver.getCanonicalPath(moduleName, Path.SRC_TEST_JAVA, seederClass);
+    if (fileManager.exists(identifier)) {
+      return seederClass;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), DATA_SEEDER_TEMPLATE);
+      final String input =
+          IOUtils.toString(inputStream)
+              .replace("__PACKAGE__", seederClass.getPackage().getFullyQualifiedPackageName())
+              .replace("__ENTITY__", entity.getSimpleTypeName())
+              .replace("__ROWS__", String.valueOf(rows))
+              .replace("__BATCH_SIZE__", String.valueOf(batchSize))
+              .replace("__THREADS__", String.valueOf(threads));
+      fileManager.createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+
+    return seederClass;
+  }
+
   @Override
   public JavaType getDataOnDemand(JavaType entity) {
     Set<ClassOrInterfaceTypeDetails> dataOnDemandCids =
@@ -154,6 +154,9 @@ public class JpaDataOnDemandMetadata extends AbstractItdTypeDetailsProvidingMeta
     // Add init method
     builder.addMethod(getInitMethod(annotationValues.getQuantity()));
 
+    // Add seed method
+    ensureGovernorHasMethod(getSeedMethod());
+
     itdTypeDetails = builder.build();
   }
 
@@ -503,6 +506,67 @@ public class JpaDataOnDemandMetadata extends AbstractItdTypeDetailsProvidingMeta
     return methodBuilder;
   }
 
+  /**
+   * Builds the "void seed(int from, int to)" method, which persists the
+   * entities created by the factory for a range of indexes without keeping
+   * them in memory. It is used to load large volumes of data, so every call
+   * flushes and clears the persistence context to let the JDBC driver send
+   * the inserts in batches.
+   *
+   * @return {@link MethodMetadataBuilder}
+   */
+  private MethodMetadataBuilder getSeedMethod() {
+    final JavaSymbolName methodName = new JavaSymbolName("seed");
+    final JavaType[] parameterTypes = {JavaType.INT_PRIMITIVE, JavaType.INT_PRIMITIVE};
+    final List<JavaSymbolName> parameterNames =
+        Arrays.asList(new JavaSymbolName("from"), new JavaSymbolName("to"));
+
+    // Locate user-defined method
+    final MethodMetadata userMethod = getGovernorMethod(methodName, parameterTypes);
+    if (userMethod != null) {
+      return new MethodMetadataBuilder(userMethod);
+    }
+
+    final JavaSymbolName entityManagerAccessor =
+        getAccessorMethod(getEntityManagerField().build()).getMethodName();
+    final InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // for (int i = from; i < to; i++) {
+    //   entityManager.persist(factory.create(i));
+    // }
+    bodyBuilder.appendFormalLine("for (int i = from; i < to; i++) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("%s().persist(%s().%s(i));", entityManagerAccessor,
+        getAccessorMethod(getEntityFactoryField().build()).getMethodName(),
+        this.entityFactoryMetadata.getCreateFactoryMethodName());
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // entityManager.flush();
+    // entityManager.clear();
+    bodyBuilder.appendFormalLine("%s().%s();", entityManagerAccessor, FLUSH_METHOD_NAME);
+    bodyBuilder.appendFormalLine("%s().clear();", entityManagerAccessor);
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, JavaType.VOID_PRIMITIVE,
+            AnnotatedJavaType.convertFromJavaTypes(parameterTypes), parameterNames, bodyBuilder);
+
+    CommentStructure comment = new CommentStructure();
+    List<String> paramsInfo = new ArrayList<String>();
+    paramsInfo.add("from the index of the first entity to create");
+    paramsInfo.add("to the index after the last entity to create");
+    JavadocComment javadocComment =
+        new JavadocComment(String.format(
+            "Persists the %s entities with an index in the given range, without".concat(
+                IOUtils.LINE_SEPARATOR).concat(
+                "keeping them in memory. The persistence context is cleared at the end."),
+            this.entity.getSimpleTypeName()), paramsInfo, null, null);
+    comment.addComment(javadocComment, CommentLocation.BEGINNING);
+    methodBuilder.setCommentStructure(comment);
+
+    return methodBuilder;
+  }
+
   private FieldMetadataBuilder getRndField() {
     int index = -1;
     while (true) {
@@ -1,5 +1,6 @@
 package org.springframework.roo.addon.jpa.addon.entity;
 
+import org.springframework.roo.addon.jpa.annotations.entity.GlobalSearchType;
 import org.springframework.roo.addon.jpa.annotations.entity.RooJpaEntity;
 import org.springframework.roo.classpath.details.annotations.populator.AbstractAnnotationValues;
 import org.springframework.roo.classpath.details.annotations.populator.AutoPopulate;
@@ -35,6 +36,14 @@ public class JpaEntityAnnotationValues extends AbstractAnnotationValues {
   private String entityFormatMessage = "";
   @AutoPopulate
   private String entityFormatExpression = "";
+  @AutoPopulate
+  private GlobalSearchType globalSearch = GlobalSearchType.LIKE;
+  @AutoPopulate
+  private String[] listEntityGraph = {};
+  @AutoPopulate
+  private String[] detailEntityGraph = {};
+  @AutoPopulate
+  private String cacheUsage = "";
 
   /**
    * Constructor for reading the values of the given annotation
@@ -87,4 +96,20 @@ public class JpaEntityAnnotationValues extends AbstractAnnotationValues {
     return entityFormatMessage;
   }
 
+  public GlobalSearchType getGlobalSearch() {
+    return globalSearch;
+  }
+
+  public String[] getListEntityGraph() {
+    return listEntityGraph;
+  }
+
+  public String[] getDetailEntityGraph() {
+    return detailEntityGraph;
+  }
+
+  public String getCacheUsage() {
+    return cacheUsage;
+  }
+
 }
@@ -16,6 +16,7 @@ import java.util.TreeMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.springframework.roo.addon.jpa.annotations.entity.GlobalSearchType;
 import org.springframework.roo.addon.jpa.annotations.entity.JpaRelationType;
 import org.springframework.roo.addon.jpa.annotations.entity.RooJpaEntity;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
@@ -24,6 +25,7 @@ import org.springframework.roo.classpath.PhysicalTypeMetadata;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.ConstructorMetadata;
 import org.springframework.roo.classpath.details.ConstructorMetadataBuilder;
+import org.springframework.roo.classpath.details.DeclaredFieldAnnotationDetails;
 import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.FieldMetadataBuilder;
 import org.springframework.roo.classpath.details.MethodMetadata;
@@ -32,6 +34,8 @@ import org.springframework.roo.classpath.details.annotations.AnnotatedJavaType;
 import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.NestedAnnotationAttributeValue;
 import org.springframework.roo.classpath.details.annotations.StringAttributeValue;
 import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
@@ -40,6 +44,7 @@ import org.springframework.roo.classpath.operations.InheritanceType;
 import org.springframework.roo.classpath.scanner.MemberDetails;
 import org.springframework.roo.metadata.MetadataItem;
 import org.springframework.roo.model.EnumDetails;
+import org.springframework.roo.model.HibernateJavaType;
 import org.springframework.roo.model.ImportRegistrationResolver;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
@@ -71,6 +76,12 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
 
   private static final JavaSymbolName MAPPEDBY_ATTRIBUTE = new JavaSymbolName("mappedBy");
 
+  /**
+   * Suffixes of the entity graph names declared for list and detail views
+   */
+  public static final String LIST_ENTITY_GRAPH_SUFFIX = "list";
+  public static final String DETAIL_ENTITY_GRAPH_SUFFIX = "detail";
+
 
   /**
    * prefix for add/remove method names
@@ -104,6 +115,12 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
 
   private final FieldMetadata compositionRelationField;
 
+  private final List<FieldMetadata> fullTextFields;
+
+  private final List<FieldMetadata> listEntityGraphFields;
+
+  private final List<FieldMetadata> detailEntityGraphFields;
+
   public static JavaType getJavaType(final String metadataIdentificationString) {
     return PhysicalTypeIdentifierNamingUtils.getJavaType(PROVIDES_TYPE_STRING,
         metadataIdentificationString);
@@ -181,6 +198,33 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     // Add @EntityFormat annotation
     builder.addAnnotation(getEntityFormatAnnotation());
 
+    // Index the text fields if global search uses Hibernate Search
+    if (getGlobalSearchType() == GlobalSearchType.HIBERNATE_SEARCH) {
+      builder.addAnnotation(getTypeAnnotation(HibernateJavaType.SEARCH_INDEXED));
+      this.fullTextFields = getFullTextFields(entityDetails);
+      for (FieldMetadata field : this.fullTextFields) {
+        if (field.getAnnotation(HibernateJavaType.SEARCH_FIELD) == null) {
+          builder.addFieldAnnotation(new DeclaredFieldAnnotationDetails(field,
+              new AnnotationMetadataBuilder(HibernateJavaType.SEARCH_FIELD).build()));
+        }
+      }
+    } else {
+      this.fullTextFields = Collections.emptyList();
+    }
+
+    // Store the entity in the second-level cache if required
+    if (isCacheable()) {
+      builder.addAnnotation(getTypeAnnotation(JpaJavaType.CACHEABLE));
+      builder.addAnnotation(getCacheAnnotation());
+    }
+
+    // Declare the entity graphs of list and detail views
+    this.listEntityGraphFields =
+        getRelationFields(entityDetails, annotationValues.getListEntityGraph());
+    this.detailEntityGraphFields =
+        getRelationFields(entityDetails, annotationValues.getDetailEntityGraph());
+    builder.addAnnotation(getNamedEntityGraphsAnnotation());
+
     // Ensure there's a no-arg constructor (explicit or default)
     builder.addConstructor(getNoArgConstructor());
 
@@ -323,6 +367,132 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     return null;
   }
 
+  /**
+   * Returns the relation fields declared by the entity with the given names,
+   * in the same order. Names which don't match a relation field are ignored.
+   *
+   * @param entityDetails
+   * @param fieldNames
+   * @return
+   */
+  private List<FieldMetadata> getRelationFields(final ClassOrInterfaceTypeDetails entityDetails,
+      final String[] fieldNames) {
+    if (fieldNames == null || fieldNames.length == 0) {
+      return Collections.emptyList();
+    }
+    List<FieldMetadata> fields = new ArrayList<FieldMetadata>();
+    for (String fieldName : fieldNames) {
+      FieldMetadata field = entityDetails.getDeclaredField(new JavaSymbolName(fieldName));
+      if (field != null && isRelationField(field) && !fields.contains(field)) {
+        fields.add(field);
+      }
+    }
+    return Collections.unmodifiableList(fields);
+  }
+
+  /**
+   * @param field
+   * @return true if the field is annotated with a JPA relationship annotation
+   */
+  public static boolean isRelationField(final FieldMetadata field) {
+    return isSingleValuedRelationField(field)
+        || field.getAnnotation(JpaJavaType.ONE_TO_MANY) != null
+        || field.getAnnotation(JpaJavaType.MANY_TO_MANY) != null;
+  }
+
+  /**
+   * @param field
+   * @return true if the field is a `@OneToOne` or `@ManyToOne` relationship,
+   *         which can be fetched by a join without multiplying result rows
+   */
+  public static boolean isSingleValuedRelationField(final FieldMetadata field) {
+    return field.getAnnotation(JpaJavaType.ONE_TO_ONE) != null
+        || field.getAnnotation(JpaJavaType.MANY_TO_ONE) != null;
+  }
+
+  /**
+   * Generates the JPA @NamedEntityGraphs annotation with the list and detail
+   * entity graphs
+   *
+   * @return null if no entity graph has been declared
+   */
+  private AnnotationMetadata getNamedEntityGraphsAnnotation() {
+    final List<AnnotationAttributeValue<?>> graphs = new ArrayList<AnnotationAttributeValue<?>>();
+    if (!listEntityGraphFields.isEmpty()) {
+      graphs.add(new NestedAnnotationAttributeValue(new JavaSymbolName("value"),
+          getNamedEntityGraphAnnotation(getListEntityGraphName(), listEntityGraphFields)));
+    }
+    if (!detailEntityGraphFields.isEmpty()) {
+      graphs.add(new NestedAnnotationAttributeValue(new JavaSymbolName("value"),
+          getNamedEntityGraphAnnotation(getDetailEntityGraphName(), detailEntityGraphFields)));
+    }
+    if (graphs.isEmpty()
+        || governorTypeDetails.getAnnotation(JpaJavaType.NAMED_ENTITY_GRAPHS) != null) {
+      return null;
+    }
+    final AnnotationMetadataBuilder graphsBuilder =
+        new AnnotationMetadataBuilder(JpaJavaType.NAMED_ENTITY_GRAPHS);
+    graphsBuilder.addAttribute(new ArrayAttributeValue<AnnotationAttributeValue<?>>(
+        new JavaSymbolName("value"), graphs));
+    return graphsBuilder.build();
+  }
+
+  private AnnotationMetadata getNamedEntityGraphAnnotation(final String name,
+      final List<FieldMetadata> fields) {
+    final List<AnnotationAttributeValue<?>> nodes = new ArrayList<AnnotationAttributeValue<?>>();
+    for (FieldMetadata field : fields) {
+      final AnnotationMetadataBuilder nodeBuilder =
+          new AnnotationMetadataBuilder(JpaJavaType.NAMED_ATTRIBUTE_NODE);
+      nodeBuilder.addStringAttribute("value", field.getFieldName().getSymbolName());
+      nodes.add(new NestedAnnotationAttributeValue(new JavaSymbolName("attributeNodes"),
+          nodeBuilder.build()));
+    }
+    final AnnotationMetadataBuilder graphBuilder =
+        new AnnotationMetadataBuilder(JpaJavaType.NAMED_ENTITY_GRAPH);
+    graphBuilder.addStringAttribute("name", name);
+    graphBuilder.addAttribute(new ArrayAttributeValue<AnnotationAttributeValue<?>>(
+        new JavaSymbolName("attributeNodes"), nodes));
+    return graphBuilder.build();
+  }
+
+  /**
+   * Returns the persistent text fields declared by the entity, which are the
+   * fields indexed for full-text global search
+   *
+   * @param entityDetails
+   * @return
+   */
+  private List<FieldMetadata> getFullTextFields(final ClassOrInterfaceTypeDetails entityDetails) {
+    List<FieldMetadata> fields = new ArrayList<FieldMetadata>();
+    for (FieldMetadata field : entityDetails.getDeclaredFields()) {
+      if (JavaType.STRING.equals(field.getFieldType())
+          && !Modifier.isStatic(field.getModifier())
+          && !Modifier.isTransient(field.getModifier())
+          && field.getAnnotation(JpaJavaType.TRANSIENT) == null) {
+        fields.add(field);
+      }
+    }
+    return Collections.unmodifiableList(fields);
+  }
+
+  /**
+   * Generates the Hibernate @Cache annotation which sets the concurrency
+   * strategy of the entity in the second-level cache. Its region is the
+   * entity class name.
+   *
+   * @return the annotation or null if governor already declares it
+   */
+  private AnnotationMetadata getCacheAnnotation() {
+    if (governorTypeDetails.getAnnotation(HibernateJavaType.CACHE) != null) {
+      return null;
+    }
+    final AnnotationMetadataBuilder cacheAnnotation =
+        new AnnotationMetadataBuilder(HibernateJavaType.CACHE);
+    cacheAnnotation.addEnumAttribute("usage", HibernateJavaType.CACHE_CONCURRENCY_STRATEGY,
+        getCacheUsage());
+    return cacheAnnotation.build();
+  }
+
   /**
    * Generates the JPA @Entity annotation to be applied to the entity
    *
@@ -1050,6 +1220,86 @@ public class JpaEntityMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     return (String) this.annotationValues.getEntityFormatMessage();
   }
 
+  /**
+   * @return the name used to refer to the entity in JPQL queries
+   */
+  public String getEntityName() {
+    if (StringUtils.isNotBlank(annotationValues.getEntityName())) {
+      return annotationValues.getEntityName();
+    }
+    return annotatedEntity.getSimpleTypeName();
+  }
+
+  /**
+   * @return `@RooJpaEntity` `cacheUsage` value
+   */
+  public String getCacheUsage() {
+    return this.annotationValues.getCacheUsage();
+  }
+
+  /**
+   * @return true if the entity is stored in the second-level cache
+   */
+  public boolean isCacheable() {
+    return StringUtils.isNotBlank(getCacheUsage());
+  }
+
+  /**
+   * @return `@RooJpaEntity` `globalSearch` value
+   */
+  public GlobalSearchType getGlobalSearchType() {
+    return this.annotationValues.getGlobalSearch();
+  }
+
+  /**
+   * @return relations fetched by list views. Empty if none has been declared
+   */
+  public List<FieldMetadata> getListEntityGraphFields() {
+    return this.listEntityGraphFields;
+  }
+
+  /**
+   * @return relations fetched by detail views. Empty if none has been
+   *         declared
+   */
+  public List<FieldMetadata> getDetailEntityGraphFields() {
+    return this.detailEntityGraphFields;
+  }
+
+  /**
+   * @return the name of the entity graph of list views, or null if no
+   *         relation is fetched by them
+   */
+  public String getListEntityGraphName() {
+    if (this.listEntityGraphFields.isEmpty()) {
+      return null;
+    }
+    return getEntityGraphName(LIST_ENTITY_GRAPH_SUFFIX);
+  }
+
+  /**
+   * @return the name of the entity graph of detail views, or null if no
+   *         relation is fetched by them
+   */
+  public String getDetailEntityGraphName() {
+    if (this.detailEntityGraphFields.isEmpty()) {
+      return null;
+    }
+    return getEntityGraphName(DETAIL_ENTITY_GRAPH_SUFFIX);
+  }
+
+  private String getEntityGraphName(final String suffix) {
+    return annotatedEntity.getSimpleTypeName().concat(".").concat(suffix);
+  }
+
+  /**
+   * @return text fields indexed for full-text global search. Empty unless
+   *         global search uses {@link GlobalSearchType#HIBERNATE_SEARCH}
+   */
+  public List<FieldMetadata> getFullTextFields() {
+    return this.fullTextFields;
+  }
+
   /**
    * = _RelationInfo_
    *
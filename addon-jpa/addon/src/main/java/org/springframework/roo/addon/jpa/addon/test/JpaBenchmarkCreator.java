@@ -0,0 +1,225 @@
+package org.springframework.roo.addon.jpa.addon.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.Service;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.test.providers.BenchmarkCreatorProvider;
+import org.springframework.roo.addon.test.providers.DataOnDemandCreatorProvider;
+import org.springframework.roo.addon.test.providers.DataOnDemandCreatorProviders;
+import org.springframework.roo.application.config.ApplicationConfigService;
+import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.RooJavaType;
+import org.springframework.roo.model.SpringJavaType;
+import org.springframework.roo.process.manager.FileManager;
+import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.DependencyScope;
+import org.springframework.roo.project.DependencyType;
+import org.springframework.roo.project.FeatureNames;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
+import org.springframework.roo.project.ProjectOperations;
+import org.springframework.roo.project.maven.Pom;
+import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.util.FileUtils;
+
+/**
+ * Creates JMH micro-benchmarks for JPA entities. They measure the generated
+ * repository queries, service batch saves and JSON (de)serialization against
+ * an embedded H2 database populated by the entity factories.
+ *
+ * The benchmarks are plain source files instead of ITDs, as the JMH
+ * annotation processor only sees the Java sources.
+ *
+ * @since 2.0
+ */
+@Component
+@Service
+public class JpaBenchmarkCreator implements BenchmarkCreatorProvider {
+
+  protected final static Logger LOGGER = HandlerUtils.getLogger(JpaBenchmarkCreator.class);
+
+  private static final String BENCHMARK_PROFILE = "benchmark";
+  private static final String BENCHMARK_RUNNER = "BenchmarkRunner";
+  private static final Dependency H2_DEPENDENCY = new Dependency("com.h2database", "h2", null,
+      DependencyType.JAR, DependencyScope.TEST);
+  private static final String[][] BENCHMARK_PROPERTIES = {
+      {"spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"},
+      {"spring.datasource.driver-class-name", "org.h2.Driver"},
+      {"spring.datasource.username", "sa"}, {"spring.jpa.hibernate.ddl-auto", "create-drop"},
+      {"spring.jpa.show-sql", "false"}};
+
+  private BundleContext context;
+
+  @Reference
+  private ApplicationConfigService applicationConfigService;
+  @Reference
+  private FileManager fileManager;
+  @Reference
+  private PathResolver pathResolver;
+  @Reference
+  private ProjectOperations projectOperations;
+  @Reference
+  private TypeLocationService typeLocationService;
+
+  protected void activate(final ComponentContext cContext) {
+    this.context = cContext.getBundleContext();
+  }
+
+  protected void deactivate(final ComponentContext context) {
+    this.context = null;
+  }
+
+  @Override
+  public boolean isValid(JavaType javaType) {
+    ClassOrInterfaceTypeDetails cid = typeLocationService.getTypeDetails(javaType);
+    return cid != null && cid.getAnnotation(RooJavaType.ROO_JPA_ENTITY) != null;
+  }
+
+  @Override
+  public boolean isBenchmarkCreationAvailable() {
+    return projectOperations.isFocusedProjectAvailable()
+        && projectOperations.isFeatureInstalled(FeatureNames.JPA);
+  }
+
+  @Override
+  public void createBenchmark(JavaType entity, Pom module) {
+    Validate.notNull(entity, "Entity to produce the benchmarks for is required");
+    Validate.notNull(module, "Module to create the benchmarks in is required");
+    final String moduleName = module.getModuleName();
+
+    // The benchmarks use the generated repository and service
+    final JavaType repository = getLayerType(RooJavaType.ROO_REPOSITORY_JPA, entity);
+    final JavaType service = getLayerType(RooJavaType.ROO_SERVICE, entity);
+    Validate.notNull(repository, "Entity '%s' must have a repository. Please, generate it "
+        + "with 'repository jpa' command", entity.getSimpleTypeName());
+    Validate.notNull(service, "Entity '%s' must have a service. Please, generate it "
+        + "with 'service' command", entity.getSimpleTypeName());
+    final JavaType application = getApplicationType(moduleName);
+    Validate.notNull(application, "Module '%s' must have a @SpringBootApplication class",
+        moduleName);
+
+    // The database is populated through the data on demand and factory
+    JavaType dataOnDemand = null;
+    JavaType entityFactory = null;
+    for (DataOnDemandCreatorProvider dodCreator : DataOnDemandCreatorProviders
+        .getValidProvidersForType(this.context, entity)) {
+      dataOnDemand = dodCreator.createDataOnDemand(entity);
+      entityFactory = dodCreator.getEntityFactory(entity);
+      if (entityFactory == null) {
+        entityFactory = dodCreator.createEntityFactory(entity);
+      }
+    }
+    Validate.notNull(dataOnDemand, "Unable to create the data on demand of '%s'",
+        entity.getSimpleTypeName());
+    Validate.notNull(entityFactory, "Unable to create the entity factory of '%s'",
+        entity.getSimpleTypeName());
+
+    // Embedded H2 database used by the benchmarks
+    projectOperations.addDependency(moduleName, H2_DEPENDENCY);
+    for (String[] property : BENCHMARK_PROPERTIES) {
+      applicationConfigService.addProperty(moduleName, property[0], property[1],
+          BENCHMARK_PROFILE, false);
+    }
+
+    final String packageName =
+        typeLocationService.getTopLevelPackageForModule(module).concat(".benchmark");
+    createClassFromTemplate(moduleName, packageName, BENCHMARK_RUNNER, BENCHMARK_RUNNER
+        .concat("-template._java"), new String[][] {});
+    createClassFromTemplate(moduleName, packageName,
+        entity.getSimpleTypeName().concat("Benchmark"), "EntityBenchmark-template._java",
+        new String[][] { {"__APPLICATION_TYPE__", application.getFullyQualifiedTypeName()},
+            {"__ENTITY_TYPE__", entity.getFullyQualifiedTypeName()},
+            {"__DOD_TYPE__", dataOnDemand.getFullyQualifiedTypeName()},
+            {"__DOD__", dataOnDemand.getSimpleTypeName()},
+            {"__FACTORY_TYPE__", entityFactory.getFullyQualifiedTypeName()},
+            {"__REPOSITORY_TYPE__", repository.getFullyQualifiedTypeName()},
+            {"__SERVICE_TYPE__", service.getFullyQualifiedTypeName()},
+            {"__APPLICATION__", application.getSimpleTypeName()},
+            {"__ENTITY__", entity.getSimpleTypeName()},
+            {"__REPOSITORY__", repository.getSimpleTypeName()},
+            {"__SERVICE__", service.getSimpleTypeName()},
+            {"__FACTORY__", entityFactory.getSimpleTypeName()}});
+  }
+
+  /**
+   * Creates a test class from a template, if it doesn't exist yet.
+   *
+   * @param moduleName the module where the class is created
+   * @param packageName the package of the class
+   * @param className the simple name of the class
+   * @param templateName the name of the template
+   * @param replacements the pairs of placeholder and value to replace in
+   *            the template, besides the package
+   */
+  private void createClassFromTemplate(String moduleName, String packageName, String className,
+      String templateName, String[][] replacements) {
+    final JavaType type =
+        new JavaType(String.format("%s.%s", packageName, className), moduleName);
+    final String identifier = pathResolver.getCanonicalPath(moduleName, Path.SRC_TEST_JAVA, type);
+    if (fileManager.exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), templateName);
+      String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      for (String[] replacement : replacements) {
+        input = input.replace(replacement[0], replacement[1]);
+      }
+      fileManager.createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+
+  /**
+   * Gets the type of a layer, such as the repository or service, of an
+   * entity.
+   *
+   * @param annotation the Roo annotation of the layer type, with an `entity`
+   *            attribute
+   * @param entity the entity
+   * @return the layer type or `null` if it doesn't exist
+   */
+  private JavaType getLayerType(JavaType annotation, JavaType entity) {
+    for (ClassOrInterfaceTypeDetails cid : typeLocationService
+        .findClassesOrInterfaceDetailsWithAnnotation(annotation)) {
+      AnnotationAttributeValue<?> entityAttribute =
+          cid.getAnnotation(annotation).getAttribute("entity");
+      if (entityAttribute != null && entity.equals(entityAttribute.getValue())) {
+        return cid.getType();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the @SpringBootApplication class of a module.
+   *
+   * @param moduleName the module name
+   * @return the application type or `null` if it doesn't exist
+   */
+  private JavaType getApplicationType(String moduleName) {
+    for (JavaType type : typeLocationService
+        .findTypesWithAnnotation(SpringJavaType.SPRING_BOOT_APPLICATION)) {
+      if (moduleName.equals(type.getModule())) {
+        return type;
+      }
+    }
+    return null;
+  }
+}
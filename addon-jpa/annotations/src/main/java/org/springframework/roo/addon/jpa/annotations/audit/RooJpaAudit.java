@@ -16,4 +16,24 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.SOURCE)
 public @interface RooJpaAudit {
 
+  /**
+   * Indicates if the entity is audited in lightweight mode. The entity is
+   * annotated with `@DynamicUpdate`, so the updates only write the modified
+   * columns, and the generated update flows rely on the version check of the
+   * update instead of reading the entity again before saving it.
+   * 
+   * @return true if lightweight mode is enabled
+   */
+  boolean lightweight() default false;
+
+  /**
+   * Indicates if the changes of the entity are written to the audit log
+   * table. The entries are queued when the transaction commits and are
+   * written in batches by a background thread, so they don't add latency to
+   * the writes of the entity.
+   * 
+   * @return true if the audit log is enabled
+   */
+  boolean log() default false;
+
 }
@@ -0,0 +1,27 @@
+package org.springframework.roo.addon.jpa.annotations.entity;
+
+/**
+ * = _GlobalSearchType_
+ *
+ * Strategy used by the generated repositories to filter a Roo JPA entity by
+ * the text of a global search
+ *
+ * * LIKE: case-insensitive `LIKE %text%` over every field of the entity.
+ *   Requires no index but it scans the whole table.
+ * * HIBERNATE_SEARCH: keyword query over a Lucene index of the entity
+ *   text fields, maintained by Hibernate Search.
+ *
+ * @since 2.0.0
+ * @see RooJpaEntity#globalSearch()
+ */
+public enum GlobalSearchType {
+  LIKE, HIBERNATE_SEARCH;
+
+  public static GlobalSearchType getGlobalSearchType(final String typeName) {
+    try {
+      return GlobalSearchType.valueOf(typeName);
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -87,4 +87,42 @@ public @interface RooJpaEntity {
    * @return the SpEL (defaults to "").
    */
   String entityFormatExpression() default "";
+
+  /**
+   * Specifies the strategy used by the generated repositories to filter this
+   * entity by the text of a global search. {@link GlobalSearchType#HIBERNATE_SEARCH}
+   * indexes the text fields of the entity.
+   * 
+   * @return the global search strategy (defaults to LIKE)
+   */
+  GlobalSearchType globalSearch() default GlobalSearchType.LIKE;
+
+  /**
+   * Specifies the relations fetched together with the entity by list views,
+   * which are declared as the `Entity.list` entity graph. Only single-valued
+   * relations are fetched by the paged queries of the repositories.
+   * 
+   * @return the names of the relation fields (defaults to none).
+   */
+  String[] listEntityGraph() default {};
+
+  /**
+   * Specifies the relations fetched together with the entity by detail
+   * views, which are declared as the `Entity.detail` entity graph and
+   * applied to the `findOne` method of its repository.
+   * 
+   * @return the names of the relation fields (defaults to none).
+   */
+  String[] detailEntityGraph() default {};
+
+  /**
+   * Specifies the concurrency strategy used to store this entity in the
+   * Hibernate second-level cache: `READ_ONLY`, `NONSTRICT_READ_WRITE`,
+   * `READ_WRITE` or `TRANSACTIONAL`. Finders of cached entities also use the
+   * query cache.
+   * 
+   * @return the cache concurrency strategy (defaults to "", which means the
+   *         entity isn't cached).
+   */
+  String cacheUsage() default "";
 }
@@ -75,7 +75,7 @@ public class RepositoryJpaCommands implements CommandMarker {
     this.context = null;
   }
 
-  @CliAvailabilityIndicator({"repository jpa"})
+  @CliAvailabilityIndicator({"repository jpa", "repository projection"})
   public boolean isRepositoryCommandAvailable() {
     return repositoryJpaOperations.isRepositoryInstallationPossible();
   }
@@ -351,7 +351,17 @@ public class RepositoryJpaCommands implements CommandMarker {
               + "the Roo Shell focused module will be used. "
               + "This option is not available if `--all` option has not been specified. "
               + "Default value if not present: `~.repository` package, or 'repository:~.' if multi-module "
-              + "project.") JavaPackage repositoriesPackage) {
+              + "project.") JavaPackage repositoriesPackage,
+      @CliOption(
+          key = "keysetPagination",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Indicates if the custom repositories should also provide a `findAllAfter` method "
+              + "which uses keyset pagination: results are ordered by the entity identifier and "
+              + "each slice starts after the last identifier of the previous one, without offset "
+              + "or count queries. Recommended for entities with a large number of rows. "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean keysetPagination) {
 
     if (all) {
 
@@ -382,12 +392,64 @@ public class RepositoryJpaCommands implements CommandMarker {
                   projectOperations.getFocusedModuleName());
         }
       }
-      repositoryJpaOperations.generateAllRepositories(repositoriesPackage);
+      repositoryJpaOperations.generateAllRepositories(repositoriesPackage, keysetPagination);
     } else {
-      repositoryJpaOperations.addRepository(interfaceType, domainType, defaultReturnType, true);
+      repositoryJpaOperations.addRepository(interfaceType, domainType, defaultReturnType, true,
+          keysetPagination);
     }
   }
 
+  @CliOptionAutocompleteIndicator(command = "repository projection", param = "entity",
+      help = "--entity option should be an entity with repository.")
+  public List<String> getEntityWithRepositoryPossibleResults(ShellContext shellContext) {
+
+    // Get current value of class
+    String currentText = shellContext.getParameters().get("entity");
+
+    List<String> allPossibleValues = new ArrayList<String>();
+
+    // Getting the entities managed by the existing repositories
+    Set<ClassOrInterfaceTypeDetails> repositories =
+        typeLocationService
+            .findClassesOrInterfaceDetailsWithAnnotation(RooJavaType.ROO_REPOSITORY_JPA);
+    for (ClassOrInterfaceTypeDetails repository : repositories) {
+      Object entity =
+          repository.getAnnotation(RooJavaType.ROO_REPOSITORY_JPA).getAttribute("entity")
+              .getValue();
+      ClassOrInterfaceTypeDetails entityDetails =
+          typeLocationService.getTypeDetails((JavaType) entity);
+      if (entityDetails != null) {
+        String name = replaceTopLevelPackageString(entityDetails, currentText);
+        if (!allPossibleValues.contains(name)) {
+          allPossibleValues.add(name);
+        }
+      }
+    }
+
+    return allPossibleValues;
+  }
+
+  @CliCommand(
+      value = "repository projection",
+      help = "Generates a projection with the fields shown by the list views of an entity and uses "
+          + "it as the default return type of the entity repository, so the list queries only "
+          + "select those columns.")
+  public void listProjection(
+      @CliOption(
+          key = "entity",
+          mandatory = true,
+          optionContext = PROJECT,
+          help = "The domain entity whose list queries should use the projection. When working on "
+              + "a single module project, simply specify the name of the entity. If you consider it "
+              + "necessary, you can also specify the package. Ex.: `--entity ~.domain.MyEntity` "
+              + "(where `~` is the base package). When working with multiple modules, you should "
+              + "specify the name of the entity and the module where it is. "
+              + "Ex.: `--entity model:~.domain.MyEntity`. If the module is not specified, it is "
+              + "assumed that the entity is in the module which has the focus. "
+              + "Possible values are: any of the entities with repository in the project.") final JavaType domainType) {
+    repositoryJpaOperations.addListProjection(domainType);
+  }
+
   /**
    * Replaces a JavaType fullyQualifiedName for a shorter name using '~' for TopLevelPackage
    *
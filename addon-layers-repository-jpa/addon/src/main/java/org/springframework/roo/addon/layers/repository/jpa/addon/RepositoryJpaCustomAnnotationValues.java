@@ -19,6 +19,12 @@ public class RepositoryJpaCustomAnnotationValues extends AbstractAnnotationValue
   @AutoPopulate
   private JavaType entity;
 
+  @AutoPopulate
+  private boolean keysetPagination;
+
+  @AutoPopulate
+  private boolean slice;
+
   /**
    * Constructor
    *
@@ -37,4 +43,22 @@ public class RepositoryJpaCustomAnnotationValues extends AbstractAnnotationValue
   public JavaType getEntity() {
     return entity;
   }
+
+  /**
+   * Returns whether keyset pagination methods must be generated
+   *
+   * @return true if keyset pagination is enabled
+   */
+  public boolean isKeysetPagination() {
+    return keysetPagination;
+  }
+
+  /**
+   * Returns whether the global search method must return slices
+   *
+   * @return true if slice results are enabled
+   */
+  public boolean isSlice() {
+    return slice;
+  }
 }
@@ -15,6 +15,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata.RelationInfo;
+import org.springframework.roo.addon.jpa.annotations.entity.GlobalSearchType;
 import org.springframework.roo.addon.jpa.annotations.entity.JpaRelationType;
 import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.FinderParameter;
 import org.springframework.roo.addon.layers.repository.jpa.addon.finder.parser.PartTree;
@@ -34,6 +35,7 @@ import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMeta
 import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
 import org.springframework.roo.classpath.operations.Cardinality;
 import org.springframework.roo.metadata.MetadataIdentificationUtils;
+import org.springframework.roo.model.HibernateJavaType;
 import org.springframework.roo.model.ImportRegistrationResolver;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
@@ -63,7 +65,17 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
   private static final JavaType QUERYDSL_PROJECTIONS = new JavaType(
       "com.querydsl.core.types.Projections");
   private static final JavaType QUERYDSL_JPQLQUERY = new JavaType("com.querydsl.jpa.JPQLQuery");
+  private static final JavaType QUERYDSL_CLOSEABLE_ITERATOR = new JavaType(
+      "com.mysema.commons.lang.CloseableIterator");
+  private static final JavaSymbolName FIND_IDS_BY_FULL_TEXT = new JavaSymbolName(
+      "findIdsByFullText");
 
+  /**
+   * Maximum number of ids read from the full-text index. The most relevant 
+   * matches are kept, so the IN condition which restricts the query to them 
+   * stays below the IN list limits of the databases (Oracle allows 1000).
+   */
+  private static final int MAX_FULL_TEXT_RESULTS = 1000;
 
   final private ImportRegistrationResolver importResolver;
   final private JavaType entity;
@@ -73,7 +85,8 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
   final private Map<JavaType, Boolean> typesAreProjections;
   final private JavaType entityQtype;
   final private JpaEntityMetadata entityMetadata;
-
+  final private FieldMetadata idField;
+  final private boolean fullTextSearch;
   private Map<String, FieldMetadata> constantsForFields;
 
   public static String createIdentifier(final JavaType javaType, final LogicalPath path) {
@@ -122,6 +135,10 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
    * @param idFields entity id fields
    * @param validFields entity fields to search for (excluded id, reference and collection fields)
    * @param findAllGlobalSearchMethod the findAll metadata
+   * @param findAllByIdsInGlobalSearchMethod the findAllByIdsIn metadata
+   * @param findAllAfterGlobalSearchMethod the keyset pagination findAllAfter
+   *            metadata. Can be null.
+   * @param streamAllGlobalSearchMethod the streamAll metadata
    * @param defaultReturnType to use in finders
    * @param allFindReferencedFieldsMethods the metadata for all findByReference methods.
    * @param referencedFieldsIdentifierNames
@@ -140,7 +157,9 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
       final RepositoryJpaCustomImplAnnotationValues annotationValues, final JavaType domainType,
       JpaEntityMetadata entityMetadata, final FieldMetadata idField,
       final List<FieldMetadata> validFields, final MethodMetadata findAllGlobalSearchMethod,
-      final MethodMetadata findAllByIdsInGlobalSearchMethod, final JavaType defaultReturnType,
+      final MethodMetadata findAllByIdsInGlobalSearchMethod,
+      final MethodMetadata findAllAfterGlobalSearchMethod,
+      final MethodMetadata streamAllGlobalSearchMethod, final JavaType defaultReturnType,
       final Map<FieldMetadata, MethodMetadata> allFindReferencedFieldsMethods,
       final Map<FieldMetadata, String> referencedFieldsIdentifierNames,
       final Map<JavaType, List<Pair<String, String>>> typesFieldMaps,
@@ -154,6 +173,10 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     this.importResolver = builder.getImportRegistrationResolver();
     this.entity = domainType;
     this.entityMetadata = entityMetadata;
+    this.idField = idField;
+    this.fullTextSearch =
+        entityMetadata.getGlobalSearchType() == GlobalSearchType.HIBERNATE_SEARCH
+            && !entityMetadata.getFullTextFields().isEmpty();
     this.typesFieldMaps = typesFieldMaps;
     this.typesFieldsMetadata = typesFieldsMetadata;
     this.typesAreProjections = typesAreProjections;
@@ -201,6 +224,11 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
       }
     }
 
+    // Generate the full-text index search used by global search
+    if (fullTextSearch) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(getFindIdsByFullTextMethod()));
+    }
+
     // Generate findAll implementation method
     if (findAllGlobalSearchMethod != null) {
       ensureGovernorHasMethod(new MethodMetadataBuilder(getFindAllImpl(findAllGlobalSearchMethod,
@@ -213,6 +241,18 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
           findAllByIdsInGlobalSearchMethod, idField, validFields)));
     }
 
+    // Generate findAllAfter implementation method
+    if (findAllAfterGlobalSearchMethod != null) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(getFindAllAfterImpl(
+          findAllAfterGlobalSearchMethod, idField)));
+    }
+
+    // Generate streamAll implementation method
+    if (streamAllGlobalSearchMethod != null) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(getStreamAllImpl(
+          streamAllGlobalSearchMethod, validFields)));
+    }
+
     // ROO-3765: Prevent ITD regeneration applying the same sort to provided map. If this sort is not applied, maybe some
     // method is not in the same order and ITD will be regenerated.
     Map<FieldMetadata, MethodMetadata> allFindByReferencedFieldsMethodsOrderedByFieldName =
@@ -345,7 +385,8 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     bodyBuilder.newLine();
 
 
-    buildQueryResult(bodyBuilder, pageable, entityVariable, projection, this.defaultReturnType);
+    buildQueryResult(bodyBuilder, pageable, entityVariable, projection, this.defaultReturnType,
+        isSlice(findAllGlobalSearchMethod.getReturnType()));
 
     // Sets body to generated method
     methodBuilder.setBodyBuilder(bodyBuilder);
@@ -458,7 +499,8 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     bodyBuilder.newLine();
 
 
-    buildQueryResult(bodyBuilder, pageable, entityVariable, projection, this.defaultReturnType);
+    buildQueryResult(bodyBuilder, pageable, entityVariable, projection, this.defaultReturnType,
+        false);
 
     // Sets body to generated method
     methodBuilder.setBodyBuilder(bodyBuilder);
@@ -467,6 +509,320 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     // instance
   }
 
+  /**
+   * Method that generates the findAllAfter implementation method, which uses
+   * keyset pagination: elements are ordered by identifier and the slice
+   * starts after the provided cursor, so neither an offset nor a count query
+   * are needed. One more element than requested is fetched to know if there
+   * is a next slice.
+   *
+   * @param findAllAfterGlobalSearchMethod
+   * @param idField the entity id field
+   *
+   * @return
+   */
+  private MethodMetadata getFindAllAfterImpl(MethodMetadata findAllAfterGlobalSearchMethod,
+      FieldMetadata idField) {
+
+    // Define method name
+    JavaSymbolName methodName = findAllAfterGlobalSearchMethod.getMethodName();
+
+    // Define method parameter types
+    List<AnnotatedJavaType> parameterTypes = findAllAfterGlobalSearchMethod.getParameterTypes();
+
+    // Define method parameter names
+    List<JavaSymbolName> parameterNames = findAllAfterGlobalSearchMethod.getParameterNames();
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Generate body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // Getting variable name to use in the code
+    JavaSymbolName globalSearch = parameterNames.get(0);
+    JavaSymbolName cursor = parameterNames.get(1);
+    JavaSymbolName size = parameterNames.get(2);
+    String entityVariable = StringUtils.uncapitalize(this.entity.getSimpleTypeName());
+    String idPath = entityVariable.concat(".").concat(idField.getFieldName().getSymbolName());
+
+    bodyBuilder.newLine();
+
+    // QEntity qEntity = QEntity.entity;
+    bodyBuilder.appendFormalLine(String.format("%1$s %2$s = %1$s.%2$s;",
+        getNameOfJavaType(entityQtype), entityVariable));
+    bodyBuilder.newLine();
+
+    // Construct query
+    buildQuery(bodyBuilder, entityVariable, globalSearch, null, null, null, null, null,
+        this.defaultReturnType, null, null);
+    bodyBuilder.newLine();
+
+    // if (cursor != null) {
+    //   query.where(entity.id.gt(cursor));
+    // }
+    bodyBuilder.appendFormalLine("// Continue after the last element of the previous slice");
+    bodyBuilder.appendFormalLine("if (%s != null) {", cursor);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("query.where(%s.gt(%s));", idPath, cursor);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // query.orderBy(entity.id.asc()).limit(size + 1);
+    bodyBuilder.appendFormalLine("query.orderBy(%s.asc()).limit(%s + 1);", idPath, size);
+    bodyBuilder.newLine();
+
+    buildSliceResult(bodyBuilder, size.getSymbolName(),
+        String.format("new %s(0, %s)", getNameOfJavaType(SpringJavaType.PAGE_REQUEST), size),
+        this.defaultReturnType);
+
+    // Use provided findAllAfter method to generate its implementation
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName,
+            findAllAfterGlobalSearchMethod.getReturnType(), parameterTypes, parameterNames,
+            bodyBuilder);
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Method that generates the streamAll implementation method. Results are
+   * read thru a database cursor with the configured JDBC fetch size while
+   * the returned iterator is traversed, and the persistence context is
+   * cleared every 100 elements, so memory use doesn't depend on the number
+   * of results. The iterator must be traversed and closed inside a
+   * transaction.
+   *
+   * @param streamAllGlobalSearchMethod
+   * @param fields the entity fields to sort by
+   *
+   * @return
+   */
+  private MethodMetadata getStreamAllImpl(MethodMetadata streamAllGlobalSearchMethod,
+      List<FieldMetadata> fields) {
+
+    // Define method name
+    JavaSymbolName methodName = streamAllGlobalSearchMethod.getMethodName();
+
+    // Define method parameter types
+    List<AnnotatedJavaType> parameterTypes = streamAllGlobalSearchMethod.getParameterTypes();
+
+    // Define method parameter names
+    List<JavaSymbolName> parameterNames = streamAllGlobalSearchMethod.getParameterNames();
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Generate body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // Getting variable name to use in the code
+    JavaSymbolName globalSearch = parameterNames.get(0);
+    JavaSymbolName sort = parameterNames.get(1);
+    String entityVariable = StringUtils.uncapitalize(this.entity.getSimpleTypeName());
+    String returnType = getNameOfJavaType(this.defaultReturnType);
+    boolean isProjection = this.typesAreProjections.get(this.defaultReturnType);
+
+    bodyBuilder.newLine();
+
+    // QEntity qEntity = QEntity.entity;
+    bodyBuilder.appendFormalLine(String.format("%1$s %2$s = %1$s.%2$s;",
+        getNameOfJavaType(entityQtype), entityVariable));
+    bodyBuilder.newLine();
+
+    // Construct query
+    buildQuery(bodyBuilder, entityVariable, globalSearch, null, null, null, null, null,
+        this.defaultReturnType, null, null);
+    bodyBuilder.newLine();
+
+    // AttributeMappingBuilder mapping = buildMapper()
+    StringBuffer mappingBuilderLine = new StringBuffer();
+    mappingBuilderLine.append(String.format("%s mapping = buildMapper()",
+        getNameOfJavaType(SpringletsJavaType.SPRINGLETS_QUERYDSL_REPOSITORY_SUPPORT_ATTRIBUTE_BUILDER)));
+    if (!isProjection) {
+      for (FieldMetadata field : fields) {
+        String fieldName = field.getFieldName().getSymbolName();
+        mappingBuilderLine.append(String.format("\n\t\t\t.map(%s, %s.%s)",
+            getConstantForField(fieldName).getFieldName(), entityVariable, fieldName));
+      }
+    } else {
+      for (Pair<String, String> entry : this.typesFieldMaps.get(this.defaultReturnType)) {
+        mappingBuilderLine.append(String.format("\n\t\t\t.map(%s, %s)",
+            getConstantForField(entry.getKey()).getFieldName(), entry.getValue()));
+      }
+    }
+    mappingBuilderLine.append(";");
+    bodyBuilder.appendFormalLine(mappingBuilderLine.toString());
+    bodyBuilder.newLine();
+
+    // applyPagination(new PageRequest(0, Integer.MAX_VALUE, sort), query, mapping);
+    bodyBuilder.appendFormalLine("// Only the sort is applied, the results are not limited");
+    bodyBuilder.appendFormalLine(
+        "applyPagination(new %s(0, Integer.MAX_VALUE, %s), query, mapping);",
+        getNameOfJavaType(SpringJavaType.PAGE_REQUEST), sort);
+    bodyBuilder.appendFormalLine("applyOrderById(query);");
+    bodyBuilder.newLine();
+
+    // final CloseableIterator<Entity> results = query.iterate();
+    final String queryIterator = getNameOfJavaType(QUERYDSL_CLOSEABLE_ITERATOR);
+    bodyBuilder.appendFormalLine("// Read the results thru a database cursor");
+    if (!isProjection) {
+      bodyBuilder.appendFormalLine("final %s<%s> results = query.iterate();", queryIterator,
+          returnType);
+    } else {
+      List<Pair<String, String>> projectionFields = this.typesFieldMaps.get(this.defaultReturnType);
+      bodyBuilder.appendFormalLine(
+          "final %s<%s> results = query.select(%s.constructor(%s.class, %s)).iterate();",
+          queryIterator, returnType, getNameOfJavaType(QUERYDSL_PROJECTIONS), returnType,
+          StringUtils.join(getListRightValueOfPair(projectionFields), ", "));
+    }
+    bodyBuilder.newLine();
+
+    // return new CloseableIterator<Entity>() {
+    bodyBuilder.appendFormalLine("return new %s<%s>() {",
+        getNameOfJavaType(SpringJavaType.CLOSEABLE_ITERATOR), returnType);
+    bodyBuilder.indent();
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("private int count;");
+    bodyBuilder.newLine();
+
+    // public boolean hasNext() {
+    bodyBuilder.appendFormalLine("public boolean hasNext() {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("return results.hasNext();");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.newLine();
+
+    // public Entity next() {
+    bodyBuilder.appendFormalLine("public %s next() {", returnType);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("// Detach the elements already returned, so the persistence "
+        + "context doesn't grow");
+    bodyBuilder.appendFormalLine("if (++count %% 100 == 0) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("getEntityManager().clear();");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.appendFormalLine("return results.next();");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.newLine();
+
+    // public void remove() {
+    bodyBuilder.appendFormalLine("public void remove() {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("throw new UnsupportedOperationException();");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.newLine();
+
+    // public void close() {
+    bodyBuilder.appendFormalLine("public void close() {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("results.close();");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("};");
+
+    // Use provided streamAll method to generate its implementation
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName,
+            streamAllGlobalSearchMethod.getReturnType(), parameterTypes, parameterNames,
+            bodyBuilder);
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Method that generates the search of the entity ids which match a text in
+   * the Hibernate Search (Lucene) index of the entity. Global search uses it
+   * instead of a LIKE condition per field, which can't use any index. Only
+   * the {@link #MAX_FULL_TEXT_RESULTS} most relevant ids are returned, and
+   * the database query pages over them.
+   *
+   * @return
+   */
+  private MethodMetadata getFindIdsByFullTextMethod() {
+
+    JavaSymbolName text = new JavaSymbolName("text");
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    parameterTypes.add(new AnnotatedJavaType(JavaType.STRING));
+    List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+    parameterNames.add(text);
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(FIND_IDS_BY_FULL_TEXT,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    JavaType idType = this.idField.getFieldType();
+    List<String> fieldNames = new ArrayList<String>();
+    for (FieldMetadata field : entityMetadata.getFullTextFields()) {
+      fieldNames.add("\"" + field.getFieldName().getSymbolName() + "\"");
+    }
+
+    // Generate body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // FullTextEntityManager fullTextEntityManager =
+    //     Search.getFullTextEntityManager(getEntityManager());
+    bodyBuilder.appendFormalLine("%s fullTextEntityManager = %s.getFullTextEntityManager("
+        + "getEntityManager());",
+        getNameOfJavaType(HibernateJavaType.SEARCH_FULL_TEXT_ENTITY_MANAGER),
+        getNameOfJavaType(HibernateJavaType.SEARCH));
+
+    // QueryBuilder queryBuilder = fullTextEntityManager.getSearchFactory()
+    //     .buildQueryBuilder().forEntity(Entity.class).get();
+    bodyBuilder.appendFormalLine("%s queryBuilder = fullTextEntityManager.getSearchFactory()"
+        + ".buildQueryBuilder().forEntity(%s.class).get();",
+        getNameOfJavaType(HibernateJavaType.SEARCH_QUERY_BUILDER), getNameOfJavaType(this.entity));
+    bodyBuilder.newLine();
+
+    // List<?> rows = fullTextEntityManager.createFullTextQuery(
+    //     queryBuilder.keyword().onFields("field1", "field2").matching(text).createQuery(),
+    //     Entity.class).setProjection(ProjectionConstants.ID).setMaxResults(1000)
+    //     .getResultList();
+    bodyBuilder.appendFormalLine("%s<?> rows = fullTextEntityManager.createFullTextQuery(",
+        getNameOfJavaType(JavaType.LIST));
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("queryBuilder.keyword().onFields(%s).matching(%s).createQuery(),",
+        StringUtils.join(fieldNames, ", "), text);
+    bodyBuilder.appendFormalLine(
+        "%s.class).setProjection(%s.ID).setMaxResults(%d).getResultList();",
+        getNameOfJavaType(this.entity),
+        getNameOfJavaType(HibernateJavaType.SEARCH_PROJECTION_CONSTANTS), MAX_FULL_TEXT_RESULTS);
+    bodyBuilder.indentRemove();
+    bodyBuilder.newLine();
+
+    // List<Long> ids = new ArrayList<Long>(rows.size());
+    bodyBuilder.appendFormalLine("%1$s<%2$s> ids = new %3$s<%2$s>(rows.size());",
+        getNameOfJavaType(JavaType.LIST), getNameOfJavaType(idType),
+        getNameOfJavaType(JavaType.ARRAY_LIST));
+    bodyBuilder.appendFormalLine("for (Object row : rows) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("ids.add((%s) ((Object[]) row)[0]);", getNameOfJavaType(idType));
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.appendFormalLine("return ids;");
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PRIVATE, FIND_IDS_BY_FULL_TEXT,
+            JavaType.listOf(idType), parameterTypes, parameterNames, bodyBuilder);
+
+    return methodBuilder.build();
+  }
 
   /**
    * This method returns the associated constant to the provided
@@ -523,11 +879,20 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
      * @param pageable the Page implementation variable name
      * @param entityVariable the name of the variable owning the query
      * @param projection the projection expression for returning the query
+     * @param slice whether the method returns a Slice instead of a Page
      */
   private void buildQueryResult(InvocableMemberBodyBuilder bodyBuilder, JavaSymbolName pageable,
-      String entityVariable, JavaType projection, JavaType returnType) {
+      String entityVariable, JavaType projection, JavaType returnType, boolean slice) {
 
-    if (!this.typesAreProjections.get(returnType)) {
+    if (slice) {
+
+      // Fetch one element more than the page size to know if there is a next
+      // slice without counting the results
+      // query.limit(pageable.getPageSize() + 1);
+      String pageSize = pageable.getSymbolName().concat(".getPageSize()");
+      bodyBuilder.appendFormalLine("query.limit(%s + 1);", pageSize);
+      buildSliceResult(bodyBuilder, pageSize, pageable.getSymbolName(), returnType);
+    } else if (!this.typesAreProjections.get(returnType)) {
 
       // return loadPage(query, pageable, myEntity);
       bodyBuilder.appendFormalLine(String.format("return loadPage(query, pageable, %s);",
@@ -544,6 +909,56 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     }
   }
 
+  /**
+   * Builds the sentences which fetch the content of a slice, whose query has
+   * been limited to one element more than the slice size, and return it.
+   *
+   * @param bodyBuilder ITD body builder
+   * @param size the expression of the slice size
+   * @param pageable the expression of the slice Pageable
+   * @param returnType the type of the slice elements
+   */
+  private void buildSliceResult(InvocableMemberBodyBuilder bodyBuilder, String size,
+      String pageable, JavaType returnType) {
+
+    // List<Entity> content = query.fetch();
+    final String returnTypeName = getNameOfJavaType(returnType);
+    if (!this.typesAreProjections.get(returnType)) {
+      bodyBuilder.appendFormalLine("%s<%s> content = query.fetch();",
+          getNameOfJavaType(JavaType.LIST), returnTypeName);
+    } else {
+
+      // List<Projection> content = query.select(Projections.constructor(...)).fetch();
+      List<Pair<String, String>> projectionFields = this.typesFieldMaps.get(returnType);
+      bodyBuilder.appendFormalLine(
+          "%s<%s> content = query.select(%s.constructor(%s.class, %s)).fetch();",
+          getNameOfJavaType(JavaType.LIST), returnTypeName,
+          getNameOfJavaType(QUERYDSL_PROJECTIONS), returnTypeName,
+          StringUtils.join(getListRightValueOfPair(projectionFields), ", "));
+    }
+
+    // boolean hasNext = content.size() > size;
+    bodyBuilder.appendFormalLine("boolean hasNext = content.size() > %s;", size);
+    bodyBuilder.appendFormalLine("if (hasNext) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("content = content.subList(0, %s);", size);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // return new SliceImpl<Entity>(content, pageable, hasNext);
+    bodyBuilder.appendFormalLine("return new %s<%s>(content, %s, hasNext);",
+        getNameOfJavaType(SpringJavaType.SLICE_IMPL), returnTypeName, pageable);
+  }
+
+  /**
+   * @param type a method return type
+   * @return true if the type is a Slice
+   */
+  private boolean isSlice(JavaType type) {
+    return SpringJavaType.SLICE.getFullyQualifiedTypeName().equals(
+        type.getFullyQualifiedTypeName());
+  }
+
   private List<String> getListRightValueOfPair(List<Pair<String, String>> projectionFields) {
     List<String> result = new ArrayList<String>(projectionFields.size());
     for (Pair<String, String> item : projectionFields) {
@@ -661,7 +1076,8 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     bodyBuilder.appendFormalLine("applyOrderById(query);");
     bodyBuilder.newLine();
 
-    buildQueryResult(bodyBuilder, pageable, entityVariable, projection, this.defaultReturnType);
+    buildQueryResult(bodyBuilder, pageable, entityVariable, projection, this.defaultReturnType,
+        false);
 
     // Sets body to generated method
     methodBuilder.setBodyBuilder(bodyBuilder);
@@ -764,7 +1180,8 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
     bodyBuilder.appendFormalLine("applyOrderById(query);");
     bodyBuilder.newLine();
 
-    buildQueryResult(bodyBuilder, pageable, entityVariable, QUERYDSL_PROJECTIONS, returnType);
+    buildQueryResult(bodyBuilder, pageable, entityVariable, QUERYDSL_PROJECTIONS, returnType,
+        isSlice(method.getReturnType()));
 
     // Use provided finder method to generate its implementation
     MethodMetadataBuilder methodBuilder =
@@ -909,16 +1326,32 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
 
     // Prepare leftJoin for compositions oneToOne
     StringBuilder fetchJoins = new StringBuilder();
+    List<String> fetchedFields = new ArrayList<String>();
     for (RelationInfo relationInfo : entityMetadata.getRelationInfos().values()) {
       if (relationInfo.type == JpaRelationType.COMPOSITION
           && relationInfo.cardinality == Cardinality.ONE_TO_ONE) {
-        fetchJoins.append(".leftJoin(");
-        fetchJoins.append(entityVariable);
-        fetchJoins.append(".");
-        fetchJoins.append(relationInfo.fieldName);
-        fetchJoins.append(").fetchJoin()");
+        fetchedFields.add(relationInfo.fieldName);
+      }
+    }
+
+    // Prepare leftJoin for the single-valued relations of the list entity
+    // graph. Collections aren't fetched, as they would break the pagination
+    if (!this.typesAreProjections.get(returnType)) {
+      for (FieldMetadata field : entityMetadata.getListEntityGraphFields()) {
+        String fieldName = field.getFieldName().getSymbolName();
+        if (JpaEntityMetadata.isSingleValuedRelationField(field)
+            && !fetchedFields.contains(fieldName)) {
+          fetchedFields.add(fieldName);
+        }
       }
     }
+    for (String fieldName : fetchedFields) {
+      fetchJoins.append(".leftJoin(");
+      fetchJoins.append(entityVariable);
+      fetchJoins.append(".");
+      fetchJoins.append(fieldName);
+      fetchJoins.append(").fetchJoin()");
+    }
 
     //JPQLQuery query = from(qEntity);
     bodyBuilder.appendFormalLine(String.format("%s query = from(%s)%s;",
@@ -987,6 +1420,11 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
       }
     }
 
+    if (fullTextSearch) {
+      buildFullTextGlobalSearch(bodyBuilder, entityVariable, globalSearch);
+      return;
+    }
+
     // Path<?>[] paths = new Path[] { .... };
     bodyBuilder.appendIndent();
     final String pathType = getNameOfJavaType(QUERYDSL_PATH);
@@ -1025,6 +1463,36 @@ public class RepositoryJpaCustomImplMetadata extends AbstractItdTypeDetailsProvi
 
   }
 
+  /**
+   * Builds the global search condition which restricts the query to the ids
+   * found in the full-text index of the entity
+   *
+   * @param bodyBuilder method body builder
+   * @param entityVariable name of the variable that contains the Q entity
+   * @param globalSearch global search variable name
+   */
+  private void buildFullTextGlobalSearch(InvocableMemberBodyBuilder bodyBuilder,
+      String entityVariable, JavaSymbolName globalSearch) {
+    JavaType idType = this.idField.getFieldType();
+    String idPath = entityVariable.concat(".").concat(this.idField.getFieldName().getSymbolName());
+
+    // if (globalSearch != null && StringUtils.isNotBlank(globalSearch.getText())) {
+    bodyBuilder.appendFormalLine("if (%s != null && %s.hasText(%s.getText())) {", globalSearch,
+        getNameOfJavaType(SpringJavaType.STRING_UTILS), globalSearch);
+    bodyBuilder.indent();
+
+    // List<Long> ids = findIdsByFullText(globalSearch.getText());
+    bodyBuilder.appendFormalLine("%s<%s> ids = %s(%s.getText());",
+        getNameOfJavaType(JavaType.LIST), getNameOfJavaType(idType), FIND_IDS_BY_FULL_TEXT,
+        globalSearch);
+
+    // query.where(ids.isEmpty() ? entity.id.isNull() : entity.id.in(ids));
+    bodyBuilder.appendFormalLine("query.where(ids.isEmpty() ? %1$s.isNull() : %1$s.in(ids));",
+        idPath);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+  }
+
   private String getValueOfPairFor(List<Pair<String, String>> list, String key) {
     for (Pair<String, String> item : list) {
       if (key.equals(item.getLeft())) {
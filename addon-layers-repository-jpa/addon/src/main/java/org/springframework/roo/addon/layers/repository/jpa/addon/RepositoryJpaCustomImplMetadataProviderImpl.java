@@ -356,6 +356,8 @@ public class RepositoryJpaCustomImplMetadataProviderImpl extends
         entityMetadata.getCurrentIndentifierField(), validFields,
         repositoryCustomMetadata.getCurrentFindAllGlobalSearchMethod(),
         repositoryCustomMetadata.getCurrentFindAllByIdsInGlobalSearchMethod(),
+        repositoryCustomMetadata.getCurrentFindAllAfterGlobalSearchMethod(),
+        repositoryCustomMetadata.getCurrentStreamAllGlobalSearchMethod(),
         repositoryCustomMetadata.getDefaultReturnType(), referencedFieldsMethods,
         referencedFieldsIdentifierNames, typesFieldMaps, customFinderMethods, customCountMethods,
         typesFieldsMetadataMap, typesAreProjections);
@@ -50,6 +50,9 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
       SpringJavaType.PAGEABLE);
   private static final AnnotatedJavaType GLOBAL_SEARCH_PARAMETER = AnnotatedJavaType
       .convertFromJavaType(SpringletsJavaType.SPRINGLETS_GLOBAL_SEARCH);
+  private static final JavaSymbolName CURSOR_PARAMETER_NAME = new JavaSymbolName("cursor");
+  private static final JavaSymbolName SIZE_PARAMETER_NAME = new JavaSymbolName("size");
+  private static final JavaSymbolName SORT_PARAMETER_NAME = new JavaSymbolName("sort");
   private static final String PROVIDES_TYPE_STRING = RepositoryJpaCustomMetadata.class.getName();
   private static final String PROVIDES_TYPE = MetadataIdentificationUtils
       .create(PROVIDES_TYPE_STRING);
@@ -63,6 +66,8 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
 
   private final MethodMetadata findAllGlobalSearchMethod;
   private final MethodMetadata findAllByIdsInGlobalSearchMethod;
+  private final MethodMetadata findAllAfterGlobalSearchMethod;
+  private final MethodMetadata streamAllGlobalSearchMethod;
 
   private Map<JavaSymbolName, MethodMetadata> finderMethodsAndCounts;
 
@@ -151,13 +156,24 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
 
     // Generate findAll method
     if (!composition) {
-      findAllGlobalSearchMethod = getFindAllGlobalSearchMethod();
+      findAllGlobalSearchMethod = getFindAllGlobalSearchMethod(annotationValues.isSlice());
       ensureGovernorHasMethod(new MethodMetadataBuilder(findAllGlobalSearchMethod));
       findAllByIdsInGlobalSearchMethod = getFindAllByIdsInGlobalSearchMethod();
       ensureGovernorHasMethod(new MethodMetadataBuilder(findAllByIdsInGlobalSearchMethod));
+      streamAllGlobalSearchMethod = getStreamAllGlobalSearchMethod();
+      ensureGovernorHasMethod(new MethodMetadataBuilder(streamAllGlobalSearchMethod));
     } else {
       findAllGlobalSearchMethod = null;
       findAllByIdsInGlobalSearchMethod = null;
+      streamAllGlobalSearchMethod = null;
+    }
+
+    // Generate keyset pagination method
+    if (!composition && annotationValues.isKeysetPagination()) {
+      findAllAfterGlobalSearchMethod = getFindAllAfterGlobalSearchMethod();
+      ensureGovernorHasMethod(new MethodMetadataBuilder(findAllAfterGlobalSearchMethod));
+    } else {
+      findAllAfterGlobalSearchMethod = null;
     }
 
     // Prepare a list of all finder and count methods already declared on
@@ -175,7 +191,8 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
         finderMethod = finderInfo.getKey();
         JavaType fromBean = finderMethod.getParameters().get(0).getType();
         MethodMetadata method =
-            getCustomFinder(finderMethod.getReturnType(), finderMethod.getMethodName(), fromBean);
+            getCustomFinder(finderMethod.getReturnType(), finderMethod.getMethodName(), fromBean,
+                finderMethod.isSlice());
         if (!isAlreadyDeclaredMethod(method, allFinderMethods)) {
           ensureGovernorHasMethod(new MethodMetadataBuilder(method));
           tmpCustomFinderMethods.add(Pair.of(method, finderInfo.getRight()));
@@ -183,8 +200,10 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
         allFinderMethods.add(method);
 
         // Generate a count method for each custom finder if they aren't count methods
+        // or slice finders
         MethodMetadata countMethod = null;
-        if (!StringUtils.startsWith(finderMethod.getMethodName().getSymbolName(), "count")) {
+        if (!finderMethod.isSlice()
+            && !StringUtils.startsWith(finderMethod.getMethodName().getSymbolName(), "count")) {
           countMethod = getCustomCount(fromBean, finderMethod.getMethodName());
           if (!isAlreadyDeclaredMethod(countMethod, allCountMethods)) {
             ensureGovernorHasMethod(new MethodMetadataBuilder(countMethod));
@@ -215,9 +234,10 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
   /**
    * Method that generates the findAll method on current interface.
    *
+   * @param slice whether the method returns a Slice instead of a Page
    * @return
    */
-  private MethodMetadata getFindAllGlobalSearchMethod() {
+  private MethodMetadata getFindAllGlobalSearchMethod(boolean slice) {
 
     // Define method parameter types and parameter names
     List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
@@ -236,7 +256,7 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
 
     // Return type
     JavaType returnType =
-        new JavaType("org.springframework.data.domain.Page", 0, DataType.TYPE, null,
+        new JavaType(getResultsType(slice).getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
             Arrays.asList(defaultReturnType));
 
     // Use the MethodMetadataBuilder for easy creation of MethodMetadata
@@ -287,6 +307,85 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
     return methodBuilder.build(); // Build and return a MethodMetadata
   }
 
+  /**
+   * Method that generates the findAllAfter method on current interface. This
+   * method returns the slice of elements whose identifier is greater than the
+   * provided cursor, so it doesn't need any offset or count query.
+   *
+   * @return
+   */
+  private MethodMetadata getFindAllAfterGlobalSearchMethod() {
+
+    // Define method parameter types and parameter names
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+
+    //Global search parameter
+    parameterTypes.add(GLOBAL_SEARCH_PARAMETER);
+    parameterNames.add(GOBAL_SEARCH_PARAMETER_NAME);
+
+    // Cursor parameter: identifier of the last element of the previous slice
+    parameterTypes.add(AnnotatedJavaType.convertFromJavaType(identifierType));
+    parameterNames.add(CURSOR_PARAMETER_NAME);
+
+    // Size parameter
+    parameterTypes.add(AnnotatedJavaType.convertFromJavaType(JavaType.INT_PRIMITIVE));
+    parameterNames.add(SIZE_PARAMETER_NAME);
+
+    // Method name
+    JavaSymbolName methodName = new JavaSymbolName("findAllAfter");
+
+    // Return type
+    JavaType returnType =
+        new JavaType(SpringJavaType.SLICE.getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
+            Arrays.asList(defaultReturnType));
+
+    // Use the MethodMetadataBuilder for easy creation of MethodMetadata
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT, methodName,
+            returnType, parameterTypes, parameterNames, null);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+  }
+
+  /**
+   * Method that generates the streamAll method on current interface. This
+   * method returns an iterator over all the elements which match the global
+   * search, read from the database while iterating, so they aren't loaded in
+   * memory at once.
+   *
+   * @return
+   */
+  private MethodMetadata getStreamAllGlobalSearchMethod() {
+
+    // Define method parameter types and parameter names
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+
+    //Global search parameter
+    parameterTypes.add(GLOBAL_SEARCH_PARAMETER);
+    parameterNames.add(GOBAL_SEARCH_PARAMETER_NAME);
+
+    // Sort parameter
+    parameterTypes.add(AnnotatedJavaType.convertFromJavaType(SpringJavaType.SORT));
+    parameterNames.add(SORT_PARAMETER_NAME);
+
+    // Method name
+    JavaSymbolName methodName = new JavaSymbolName("streamAll");
+
+    // Return type
+    JavaType returnType =
+        new JavaType(SpringJavaType.CLOSEABLE_ITERATOR.getFullyQualifiedTypeName(), 0,
+            DataType.TYPE, null, Arrays.asList(defaultReturnType));
+
+    // Use the MethodMetadataBuilder for easy creation of MethodMetadata
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT, methodName,
+            returnType, parameterTypes, parameterNames, null);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+  }
+
   /**
    * Method that generates the findAll method for provided referenced field on current interface.
    *
@@ -341,11 +440,12 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
    * @param finderReturnType
    * @param finderName
    * @param parameterType
+   * @param slice whether the finder returns a Slice instead of a Page
    *
    * @return
    */
   private MethodMetadata getCustomFinder(JavaType finderReturnType, JavaSymbolName finderName,
-      JavaType parameterType) {
+      JavaType parameterType, boolean slice) {
 
     // Define method parameter types and parameter names
     List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
@@ -360,7 +460,7 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
 
     // Return type
     JavaType returnType =
-        new JavaType(SpringJavaType.PAGE.getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
+        new JavaType(getResultsType(slice).getFullyQualifiedTypeName(), 0, DataType.TYPE, null,
             Arrays.asList(finderReturnType));
 
     // Use the MethodMetadataBuilder for easy creation of MethodMetadata
@@ -371,6 +471,16 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
     return methodBuilder.build(); // Build and return a MethodMetadata
   }
 
+  /**
+   * Returns the type which wraps the results of a paged method
+   *
+   * @param slice whether the results are returned without counting them
+   * @return Slice or Page
+   */
+  private JavaType getResultsType(boolean slice) {
+    return slice ? SpringJavaType.SLICE : SpringJavaType.PAGE;
+  }
+
   /**
    * Method that generates count methods for custom finders.
    *
@@ -474,4 +584,21 @@ public class RepositoryJpaCustomMetadata extends AbstractItdTypeDetailsProviding
   public MethodMetadata getCurrentFindAllByIdsInGlobalSearchMethod() {
     return findAllByIdsInGlobalSearchMethod;
   }
+
+  /**
+   *
+   * @return method findAllAfter declared for this repository, or null if
+   *         keyset pagination is not enabled
+   */
+  public MethodMetadata getCurrentFindAllAfterGlobalSearchMethod() {
+    return findAllAfterGlobalSearchMethod;
+  }
+
+  /**
+   *
+   * @return method streamAll declared for this repository
+   */
+  public MethodMetadata getCurrentStreamAllGlobalSearchMethod() {
+    return streamAllGlobalSearchMethod;
+  }
 }
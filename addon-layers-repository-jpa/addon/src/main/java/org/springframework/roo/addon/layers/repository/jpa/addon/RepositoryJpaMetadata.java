@@ -20,11 +20,14 @@ import org.springframework.roo.classpath.details.MethodMetadata;
 import org.springframework.roo.classpath.details.MethodMetadataBuilder;
 import org.springframework.roo.classpath.details.annotations.AnnotatedJavaType;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
+import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.NestedAnnotationAttributeValue;
 import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.classpath.operations.Cardinality;
 import org.springframework.roo.metadata.MetadataIdentificationUtils;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.model.SpringletsJavaType;
 import org.springframework.roo.project.LogicalPath;
@@ -48,6 +51,7 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
   private static final JavaSymbolName SAVE_METHOD_NAME = new JavaSymbolName("save");
   private static final JavaSymbolName FIND_ONE_METHOD_NAME = new JavaSymbolName("findOne");
   private static final JavaSymbolName FIND_ALL_ITERATOR_METHOD_NAME = new JavaSymbolName("findAll");
+  private static final String QUERY_CACHE_HINT = "org.hibernate.cacheable";
   private static final String PROVIDES_TYPE_STRING = RepositoryJpaMetadata.class.getName();
   private static final String PROVIDES_TYPE = MetadataIdentificationUtils
       .create(PROVIDES_TYPE_STRING);
@@ -65,6 +69,9 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
   private final List<MethodMetadata> countMethods;
   private final List<Pair<FinderMethod, PartTree>> findersToAddInCustom;
   private final List<String> declaredFinderNames;
+  private final String listEntityGraphName;
+  private final String detailEntityGraphName;
+  private final boolean queryCache;
 
   private Map<JavaSymbolName, MethodMetadata> finderMethodsAndCounts;
 
@@ -134,6 +141,9 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
     this.customRepository = customRepository;
     this.countMethodByReferencedFields = new HashMap<FieldMetadata, MethodMetadata>();
     this.declaredFinderNames = Collections.unmodifiableList(declaredFinderNames);
+    this.listEntityGraphName = entityMetadata.getListEntityGraphName();
+    this.detailEntityGraphName = entityMetadata.getDetailEntityGraphName();
+    this.queryCache = entityMetadata.isCacheable();
 
     this.finderMethodsAndCounts = new HashMap<JavaSymbolName, MethodMetadata>();
 
@@ -154,7 +164,6 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
             "Entity %s has defined more than one relations as child part whit type composition.",
             aspectName);
         composition = true;
-        ensureGovernorHasMethod(new MethodMetadataBuilder(getFindOneMethod(entity, identifierField)));
         ensureGovernorHasMethod(new MethodMetadataBuilder(getFindAllIteratorMethod(entity,
             identifierField)));
         ensureGovernorHasMethod(new MethodMetadataBuilder(getSaveMethod(entity)));
@@ -162,6 +171,11 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
         compositionFieldInfo = fieldInfo;
       }
     }
+    // findOne is redeclared to be available on compositions and to load the
+    // detail entity graph
+    if (composition || detailEntityGraphName != null) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(getFindOneMethod(entity, identifierField)));
+    }
     if (composition) {
       this.compositionField = compositionFieldInfo.getLeft();
       this.compositionInfo = compositionFieldInfo.getRight();
@@ -211,8 +225,11 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
       }
       findersTmp.add(method);
 
-      // Generate a count method for each finder if they aren't count methods
-      if (!StringUtils.startsWith(finderMethod.getMethodName().getSymbolName(), "count")) {
+      // Generate a count method for each finder if they aren't count methods.
+      // Slice finders don't need it, as they never count their results
+      if (finderMethod.isSlice()) {
+        countMethod = null;
+      } else if (!StringUtils.startsWith(finderMethod.getMethodName().getSymbolName(), "count")) {
         countMethod = getCountMethod(finderMethod).build();
         if (!isAlreadyDeclaredMethod(countMethod, countMethodsTmp)) {
           ensureGovernorHasMethod(new MethodMetadataBuilder(countMethod));
@@ -256,8 +273,50 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
     }
 
     // Use the MethodMetadataBuilder for easy creation of MethodMetadata
-    return new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT,
-        FIND_ONE_METHOD_NAME, entity, parameterTypes, parameterNames, null).build();
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT,
+            FIND_ONE_METHOD_NAME, entity, parameterTypes, parameterNames, null);
+
+    // Fetch the relations needed by detail views
+    if (detailEntityGraphName != null) {
+      methodBuilder.addAnnotation(getEntityGraphAnnotation(detailEntityGraphName));
+    }
+    return methodBuilder.build();
+  }
+
+  /**
+   * Builds the Spring Data `@EntityGraph` annotation which loads the given
+   * named entity graph
+   *
+   * @param entityGraphName
+   * @return
+   */
+  private AnnotationMetadataBuilder getEntityGraphAnnotation(String entityGraphName) {
+    AnnotationMetadataBuilder entityGraphAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.ENTITY_GRAPH);
+    entityGraphAnnotation.addStringAttribute("value", entityGraphName);
+    return entityGraphAnnotation;
+  }
+
+  /**
+   * Builds the Spring Data `@QueryHints` annotation which stores the query
+   * results in the Hibernate query cache
+   *
+   * @return
+   */
+  private AnnotationMetadataBuilder getQueryCacheHintsAnnotation() {
+    AnnotationMetadataBuilder queryHintAnnotation =
+        new AnnotationMetadataBuilder(JpaJavaType.QUERY_HINT);
+    queryHintAnnotation.addStringAttribute("name", QUERY_CACHE_HINT);
+    queryHintAnnotation.addStringAttribute("value", "true");
+    List<NestedAnnotationAttributeValue> hints = new ArrayList<NestedAnnotationAttributeValue>();
+    hints.add(new NestedAnnotationAttributeValue(new JavaSymbolName("value"),
+        queryHintAnnotation.build()));
+    AnnotationMetadataBuilder queryHintsAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.QUERY_HINTS);
+    queryHintsAnnotation.addAttribute(new ArrayAttributeValue<NestedAnnotationAttributeValue>(
+        new JavaSymbolName("value"), hints));
+    return queryHintsAnnotation;
   }
 
 
@@ -372,6 +431,18 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
             finderMethod.getMethodName(), finderMethod.getReturnType(), parameterTypes,
             parameterNames, null);
 
+    // Fetch the relations needed by list views when finder returns entities
+    List<JavaType> returnParameters = finderMethod.getReturnType().getParameters();
+    if (listEntityGraphName != null && returnParameters.size() == 1
+        && this.entity.equals(returnParameters.get(0))) {
+      methodBuilder.addAnnotation(getEntityGraphAnnotation(listEntityGraphName));
+    }
+
+    // Results of cached entities are stored in the query cache
+    if (queryCache) {
+      methodBuilder.addAnnotation(getQueryCacheHintsAnnotation());
+    }
+
     return methodBuilder; // Build and return a MethodMetadata
     // instance
   }
@@ -412,6 +483,10 @@ public class RepositoryJpaMetadata extends AbstractItdTypeDetailsProvidingMetada
         new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT, countMethodName,
             JavaType.LONG_PRIMITIVE, parameterTypes, parameterNames, null);
 
+    if (queryCache) {
+      methodBuilder.addAnnotation(getQueryCacheHintsAnnotation());
+    }
+
     return methodBuilder; // Build and return a MethodMetadata
     // instance
   }
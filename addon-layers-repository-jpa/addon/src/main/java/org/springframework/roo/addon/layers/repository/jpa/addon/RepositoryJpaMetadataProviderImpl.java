@@ -51,6 +51,7 @@ import org.springframework.roo.metadata.internal.MetadataDependencyRegistryTrack
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
+import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.project.LogicalPath;
 import org.springframework.roo.support.logging.HandlerUtils;
 
@@ -344,6 +345,10 @@ public class RepositoryJpaMetadataProviderImpl extends AbstractMemberDiscovering
             formBean = null;
           }
 
+          // Get finder result mode
+          Boolean slice = getNestedAttributeValue(finderAnnotation, "slice");
+          boolean isSlice = slice != null && slice;
+
           // Create FinderMethods
           PartTree finder = new PartTree(finderName, entityMemberDetails, this, finderReturnType);
 
@@ -356,6 +361,16 @@ public class RepositoryJpaMetadataProviderImpl extends AbstractMemberDiscovering
                           finderName));
 
           FinderMethod finderMethod = new FinderMethod(finder);
+          if (isSlice) {
+            Validate.isTrue(SpringJavaType.PAGE.getFullyQualifiedTypeName().equals(
+                finder.getReturnType().getFullyQualifiedTypeName()),
+                "ERROR: finder '%s' declares 'slice' but it doesn't return a list of results",
+                finderName);
+            finderMethod =
+                new FinderMethod(JavaType.wrapperOf(SpringJavaType.SLICE, finder.getReturnType()
+                    .getParameters().get(0)), finderMethod.getMethodName(),
+                    finderMethod.getParameters(), true);
+          }
 
           // Add dependencies between modules
           List<JavaType> types = new ArrayList<JavaType>();
@@ -417,7 +432,7 @@ public class RepositoryJpaMetadataProviderImpl extends AbstractMemberDiscovering
             finderMethod =
                 new FinderMethod(returnType, new JavaSymbolName(finderName),
                     Arrays.asList(new FinderParameter(formBean, new JavaSymbolName(StringUtils
-                        .uncapitalize(formBean.getSimpleTypeName())))));
+                        .uncapitalize(formBean.getSimpleTypeName())))), isSlice);
             findersToAddInCustom.add(Pair.of(finderMethod, finder));
 
           }
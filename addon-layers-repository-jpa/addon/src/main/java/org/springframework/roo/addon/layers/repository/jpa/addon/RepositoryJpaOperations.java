@@ -30,6 +30,19 @@ public interface RepositoryJpaOperations {
   void addRepository(JavaType interfaceType, JavaType domainType, JavaType defaultReturnType,
       boolean failOnComposition);
 
+  /**
+   * Add new repository related with some existing entity.
+   *
+   * @param interfaceType new JavaType representing the interface that will be generated.
+   * @param domainType the JavaType representing the domain entity this repository should expose.
+   * @param defaultReturnType the JavaType of the findAll search results.
+   * @param failOnComposition whatever should fail if a should-not-generate-repository-entity is received as parameter
+   * @param keysetPagination whether the custom repository should provide keyset
+   *            pagination methods
+   */
+  void addRepository(JavaType interfaceType, JavaType domainType, JavaType defaultReturnType,
+      boolean failOnComposition, boolean keysetPagination);
+
   /**
    * Add new repository for all existing entities.
    *
@@ -37,6 +50,24 @@ public interface RepositoryJpaOperations {
    */
   void generateAllRepositories(JavaPackage repositoriesPackage);
 
+  /**
+   * Add new repository for all existing entities.
+   *
+   * @param repositoriesPackage package where repositories will be generated
+   * @param keysetPagination whether the custom repositories should provide
+   *            keyset pagination methods
+   */
+  void generateAllRepositories(JavaPackage repositoriesPackage, boolean keysetPagination);
+
+  /**
+   * Generates a projection with the fields shown by the list views of an 
+   * entity and sets it as the default return type of the entity repository, 
+   * so the findAll queries only select and map those columns.
+   *
+   * @param domainType the entity whose list views should use the projection
+   */
+  void addListProjection(JavaType domainType);
+
   /**
    * Informs a DomainType (entity) should or shouldn't has a repository.
    *
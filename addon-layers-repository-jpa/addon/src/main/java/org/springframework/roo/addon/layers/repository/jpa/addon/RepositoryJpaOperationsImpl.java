@@ -3,14 +3,18 @@ package org.springframework.roo.addon.layers.repository.jpa.addon;
 import static java.lang.reflect.Modifier.PUBLIC;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.dto.addon.DtoOperations;
 import org.springframework.roo.addon.jpa.addon.JpaOperations;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata.RelationInfo;
+import org.springframework.roo.addon.layers.repository.jpa.annotations.RooJpaRepository;
+import org.springframework.roo.addon.layers.repository.jpa.annotations.RooJpaRepositoryCustom;
 import org.springframework.roo.classpath.PhysicalTypeCategory;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
 import org.springframework.roo.classpath.TypeLocationService;
@@ -28,6 +32,7 @@ import org.springframework.roo.metadata.MetadataService;
 import org.springframework.roo.model.JavaPackage;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.process.manager.FileManager;
@@ -48,6 +53,7 @@ import org.w3c.dom.Element;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -70,6 +76,16 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
 
   protected final static Logger LOGGER = HandlerUtils.getLogger(RepositoryJpaOperationsImpl.class);
 
+  /**
+   * Suffix of the projections generated for the list views
+   */
+  public static final String LIST_PROJECTION_SUFFIX = "ListProjection";
+
+  /**
+   * Number of entity fields shown by the generated list views
+   */
+  private static final int LIST_VIEW_FIELDS = 5;
+
   // ------------ OSGi component attributes ----------------
   private BundleContext context;
 
@@ -87,6 +103,11 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
 
   @Override
   public void generateAllRepositories(JavaPackage repositoriesPackage) {
+    generateAllRepositories(repositoriesPackage, false);
+  }
+
+  @Override
+  public void generateAllRepositories(JavaPackage repositoriesPackage, boolean keysetPagination) {
     // Getting all project entities
     Set<ClassOrInterfaceTypeDetails> entities =
         getTypeLocationService().findClassesOrInterfaceDetailsWithAnnotation(
@@ -107,7 +128,7 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
               repositoriesPackage.getModule());
 
       // Delegate on simple add repository method
-      addRepository(interfaceType, entity.getType(), null, false);
+      addRepository(interfaceType, entity.getType(), null, false, keysetPagination);
     }
 
   }
@@ -115,6 +136,12 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
   @Override
   public void addRepository(JavaType interfaceType, final JavaType domainType,
       JavaType defaultReturnType, boolean failOnComposition) {
+    addRepository(interfaceType, domainType, defaultReturnType, failOnComposition, false);
+  }
+
+  @Override
+  public void addRepository(JavaType interfaceType, final JavaType domainType,
+      JavaType defaultReturnType, boolean failOnComposition, boolean keysetPagination) {
     Validate.notNull(domainType, "ERROR: You must specify a valid Entity. ");
 
     if (getProjectOperations().isMultimoduleProject()) {
@@ -216,7 +243,7 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
     // By default, generate RepositoryCustom interface and its
     // implementation that allow developers to include its dynamic queries
     // using QueryDSL
-    addRepositoryCustom(domainType, interfaceType, interfaceType.getPackage());
+    addRepositoryCustom(domainType, interfaceType, interfaceType.getPackage(), keysetPagination);
 
     // Add dependencies between modules
     getProjectOperations().addModuleDependency(interfaceType.getModule(), domainType.getModule());
@@ -282,12 +309,12 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
    * @param domainType
    * @param repositoryType
    * @param repositoryPackage
-   * @param defaultReturnType
+   * @param keysetPagination whether to enable keyset pagination methods
    *
    * @return JavaType with new RepositoryCustom interface.
    */
   private JavaType addRepositoryCustom(JavaType domainType, JavaType repositoryType,
-      JavaPackage repositoryPackage) {
+      JavaPackage repositoryPackage, boolean keysetPagination) {
 
     // Getting RepositoryCustom interface JavaTYpe
     JavaType interfaceType =
@@ -317,6 +344,10 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
         new AnnotationMetadataBuilder(RooJavaType.ROO_REPOSITORY_JPA_CUSTOM);
     repositoryCustomAnnotationMetadata.addAttribute(new ClassAttributeValue(new JavaSymbolName(
         "entity"), domainType));
+    if (keysetPagination) {
+      repositoryCustomAnnotationMetadata.addBooleanAttribute(
+          RooJpaRepositoryCustom.KEYSET_PAGINATION_ATTRIBUTE, true);
+    }
 
     interfaceBuilder.addAnnotation(repositoryCustomAnnotationMetadata);
 
@@ -589,6 +620,100 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
 
   }
 
+  @Override
+  public void addListProjection(JavaType domainType) {
+    Validate.notNull(domainType, "ERROR: You must specify a valid Entity. ");
+
+    // Get the repository which manages the entity
+    ClassOrInterfaceTypeDetails repositoryDetails = null;
+    for (ClassOrInterfaceTypeDetails existingRepository : getTypeLocationService()
+        .findClassesOrInterfaceDetailsWithAnnotation(RooJavaType.ROO_REPOSITORY_JPA)) {
+      AnnotationAttributeValue<Object> relatedEntity =
+          existingRepository.getAnnotation(RooJavaType.ROO_REPOSITORY_JPA).getAttribute("entity");
+      if (relatedEntity.getValue().equals(domainType)) {
+        repositoryDetails = existingRepository;
+        break;
+      }
+    }
+    Validate.notNull(repositoryDetails,
+        "ERROR: The entity '%s' doesn't have a repository. Use 'repository jpa' command to "
+            + "generate it.", domainType.getSimpleTypeName());
+
+    // Don't replace the projections selected by the developers
+    final JavaType projectionType =
+        new JavaType(domainType.getFullyQualifiedTypeName().concat(LIST_PROJECTION_SUFFIX),
+            domainType.getModule());
+    final AnnotationMetadata repositoryAnnotation =
+        repositoryDetails.getAnnotation(RooJavaType.ROO_REPOSITORY_JPA);
+    final AnnotationAttributeValue<JavaType> currentReturnType =
+        repositoryAnnotation.getAttribute(RooJpaRepository.DEFAULT_RETURN_TYPE_ATTRIBUTE);
+    if (currentReturnType != null && !currentReturnType.getValue().equals(domainType)
+        && !currentReturnType.getValue().equals(projectionType)) {
+      LOGGER.log(Level.INFO, String.format(
+          "INFO: The repository '%s' already returns the projection '%s'.", repositoryDetails
+              .getType().getSimpleTypeName(), currentReturnType.getValue().getSimpleTypeName()));
+      return;
+    }
+
+    // Select the identifier and the fields shown by the list views. The 
+    // relation fields are excluded, so the queries don't join other tables
+    final List<String> identifierFields = new ArrayList<String>();
+    final List<String> listFields = new ArrayList<String>();
+    final List<FieldMetadata> entityFields =
+        getMemberDetailsScanner().getMemberDetails(getClass().getName(),
+            getTypeLocationService().getTypeDetails(domainType)).getFields();
+    for (FieldMetadata field : entityFields) {
+      final int modifier = field.getModifier();
+      if (Modifier.isStatic(modifier) || Modifier.isFinal(modifier)
+          || Modifier.isTransient(modifier) || field.getAnnotation(JpaJavaType.TRANSIENT) != null
+          || field.getAnnotation(JpaJavaType.VERSION) != null) {
+        continue;
+      }
+
+      final String fieldName = field.getFieldName().getSymbolName();
+      if (field.getAnnotation(JpaJavaType.ID) != null
+          || field.getAnnotation(JpaJavaType.EMBEDDED_ID) != null) {
+        identifierFields.add(fieldName);
+        continue;
+      }
+
+      final JavaType fieldType = field.getFieldType();
+      final ClassOrInterfaceTypeDetails fieldTypeDetails =
+          getTypeLocationService().getTypeDetails(fieldType);
+      if (fieldType.isCommonCollectionType()
+          || (fieldTypeDetails != null && fieldTypeDetails
+              .getAnnotation(RooJavaType.ROO_JPA_ENTITY) != null)) {
+        continue;
+      }
+
+      if (listFields.size() < LIST_VIEW_FIELDS) {
+        listFields.add(fieldName);
+      }
+    }
+    Validate.notEmpty(listFields, "ERROR: The entity '%s' doesn't have fields to show in a "
+        + "list view without joining other entities.", domainType.getSimpleTypeName());
+
+    // Generate the projection
+    final List<String> projectionFields = new ArrayList<String>(identifierFields);
+    projectionFields.addAll(listFields);
+    getDtoOperations().createProjection(domainType, projectionType,
+        StringUtils.join(projectionFields, ","), LIST_PROJECTION_SUFFIX, null, null);
+
+    // Use the projection as default return type of the repository
+    final ClassOrInterfaceTypeDetailsBuilder cidBuilder =
+        new ClassOrInterfaceTypeDetailsBuilder(repositoryDetails);
+    final AnnotationMetadataBuilder annotationBuilder =
+        new AnnotationMetadataBuilder(repositoryAnnotation);
+    annotationBuilder.addClassAttribute(RooJpaRepository.DEFAULT_RETURN_TYPE_ATTRIBUTE,
+        projectionType);
+    cidBuilder.updateTypeAnnotation(annotationBuilder);
+    getTypeManagementService().createOrUpdateTypeOnDisk(cidBuilder.build());
+
+    // Add dependencies between modules
+    getProjectOperations().addModuleDependency(repositoryDetails.getType().getModule(),
+        projectionType.getModule());
+  }
+
   private FileManager getFileManager() {
     return serviceInstaceManager.getServiceInstance(this, FileManager.class);
   }
@@ -626,6 +751,10 @@ public class RepositoryJpaOperationsImpl implements RepositoryJpaOperations {
     return serviceInstaceManager.getServiceInstance(this, JpaOperations.class);
   }
 
+  public DtoOperations getDtoOperations() {
+    return serviceInstaceManager.getServiceInstance(this, DtoOperations.class);
+  }
+
   @Override
   public boolean shouldGenerateRepository(JavaType domainType) {
     ClassOrInterfaceTypeDetails entityDetails = getTypeLocationService().getTypeDetails(domainType);
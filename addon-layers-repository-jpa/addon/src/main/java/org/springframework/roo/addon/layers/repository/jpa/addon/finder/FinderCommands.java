@@ -371,7 +371,16 @@ public class FinderCommands implements CommandMarker, FinderAutocomplete {
               + "This option is not available if `--entity` parameter has not been specified before or "
               + "if it does not exist any Projection class associated to the targeted entity. "
               + "Default if not present: the default return type of the repository related to the entity, "
-              + "which can be specified with `--defaultReturnType` parameter in `repository jpa` command.") JavaType returnType) {
+              + "which can be specified with `--defaultReturnType` parameter in `repository jpa` command.") JavaType returnType,
+      @CliOption(
+          key = "slice",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Whether the finder returns a `Slice` instead of a `Page`. Slices fetch one "
+              + "result more than the requested page size to know if there are more results, so "
+              + "the results are never counted. "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean slice) {
 
     // Check if specified finderName follows Spring Data nomenclature
     PartTree partTree = new PartTree(finderName.getSymbolName(), getEntityDetails(entity), this);
@@ -406,7 +415,7 @@ public class FinderCommands implements CommandMarker, FinderAutocomplete {
           "--formBean is requied when --returnType parameter is a projection.");
     }
 
-    finderOperations.installFinder(entity, finderName, formBean, returnType);
+    finderOperations.installFinder(entity, finderName, formBean, returnType, slice);
 
   }
 
@@ -25,6 +25,19 @@ public interface FinderOperations {
   void installFinder(JavaType typeName, JavaSymbolName finderName, JavaType formBean,
       JavaType returnType);
 
+  /**
+   * Creates a finder in an entity repository.
+   *
+   * @param typeName the entity for which the finders are generated.
+   * @param finderName the finder string defined as a Spring Data query
+   * @param formBean the finder's search parameter. Should be a DTO.
+   * @param returnType the finder's results return type. Should be a Projection.
+   * @param slice whether the finder returns a Slice, which avoids counting the
+   *            results, instead of a Page.
+   */
+  void installFinder(JavaType typeName, JavaSymbolName finderName, JavaType formBean,
+      JavaType returnType, boolean slice);
+
   boolean isFinderInstallationPossible();
 
   SortedSet<String> listFindersFor(JavaType typeName, Integer depth);
@@ -64,6 +64,11 @@ public class FinderOperationsImpl implements FinderOperations {
 
   public void installFinder(final JavaType entity, final JavaSymbolName finderName,
       JavaType formBean, JavaType returnType) {
+    installFinder(entity, finderName, formBean, returnType, false);
+  }
+
+  public void installFinder(final JavaType entity, final JavaSymbolName finderName,
+      JavaType formBean, JavaType returnType, boolean slice) {
     Validate.notNull(entity, "ERROR: Entity type required to generate finder.");
     Validate.notNull(finderName, "ERROR: Finder name required to generate finder.");
 
@@ -152,6 +157,11 @@ public class FinderOperationsImpl implements FinderOperations {
           formBean.getModule());
     }
 
+    // Add slice attribute
+    if (slice) {
+      singleFinderAnnotation.addBooleanAttribute("slice", true);
+    }
+
     NestedAnnotationAttributeValue newFinder =
         new NestedAnnotationAttributeValue(new JavaSymbolName("value"),
             singleFinderAnnotation.build());
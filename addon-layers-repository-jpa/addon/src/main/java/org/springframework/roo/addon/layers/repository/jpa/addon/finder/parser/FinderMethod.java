@@ -18,12 +18,26 @@ public class FinderMethod {
   private JavaType returnType;
   private JavaSymbolName methodName;
   private List<FinderParameter> parameters;
+  private boolean slice;
 
   public FinderMethod(JavaType returnType, JavaSymbolName methodName,
       List<FinderParameter> parameters) {
+    this(returnType, methodName, parameters, false);
+  }
+
+  /**
+   * @param returnType
+   * @param methodName
+   * @param parameters
+   * @param slice whether the finder returns a Slice, so it doesn't need any
+   *            count method
+   */
+  public FinderMethod(JavaType returnType, JavaSymbolName methodName,
+      List<FinderParameter> parameters, boolean slice) {
     this.returnType = returnType;
     this.methodName = methodName;
     this.parameters = Collections.unmodifiableList(new ArrayList<FinderParameter>(parameters));
+    this.slice = slice;
   }
 
   public FinderMethod(PartTree finder) {
@@ -45,5 +59,9 @@ public class FinderMethod {
     return parameters;
   }
 
+  public boolean isSlice() {
+    return slice;
+  }
+
 
 }
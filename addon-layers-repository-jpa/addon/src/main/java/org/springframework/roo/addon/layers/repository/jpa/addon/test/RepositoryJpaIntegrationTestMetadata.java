@@ -3,6 +3,8 @@ package org.springframework.roo.addon.layers.repository.jpa.addon.test;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -10,6 +12,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.springframework.roo.addon.layers.repository.jpa.annotations.test.RooRepositoryJpaIntegrationTest;
 import org.springframework.roo.classpath.PhysicalTypeIdentifierNamingUtils;
 import org.springframework.roo.classpath.PhysicalTypeMetadata;
+import org.springframework.roo.classpath.details.BeanInfoUtils;
 import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.FieldMetadataBuilder;
 import org.springframework.roo.classpath.details.MethodMetadata;
@@ -20,6 +23,7 @@ import org.springframework.roo.classpath.details.annotations.ClassAttributeValue
 import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
 import org.springframework.roo.metadata.MetadataIdentificationUtils;
+import org.springframework.roo.model.HibernateJavaType;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.JdkJavaType;
@@ -45,6 +49,8 @@ public class RepositoryJpaIntegrationTestMetadata extends
   private static final JavaSymbolName EXPECTED_EXCEPTION_FIELD_NAME = new JavaSymbolName("thrown");
   private static final JavaSymbolName REPOSITORY_FIELD_NAME = new JavaSymbolName("repository");
   private static final JavaSymbolName DATA_ON_DEMAND_FIELD_NAME = new JavaSymbolName("dod");
+  private static final JavaSymbolName ENTITY_MANAGER_FIELD_NAME = new JavaSymbolName(
+      "entityManager");
   private static final JavaSymbolName BEFORE_METHOD_NAME = new JavaSymbolName(
       "checkDataOnDemandHasInitializedCorrectly");
   private static final JavaSymbolName COUNT_TEST_METHOD_NAME = new JavaSymbolName(
@@ -60,6 +66,14 @@ public class RepositoryJpaIntegrationTestMetadata extends
       "org.junit.rules.ExpectedException");
   private static final JavaType ASSERT_THAT = new JavaType(
       "org.assertj.core.api.Assertions.assertThat");
+  private static final JavaType TEST_ENTITY_MANAGER = new JavaType(
+      "org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager");
+  private static final JavaType PERSISTENCE_UNIT_UTIL = new JavaType(
+      "javax.persistence.PersistenceUnitUtil");
+  private static final JavaType SESSION_FACTORY = new JavaType("org.hibernate.SessionFactory");
+  private static final JavaType STATISTICS = new JavaType("org.hibernate.stat.Statistics");
+  private static final JavaType TEST_PROPERTY_SOURCE = new JavaType(
+      "org.springframework.test.context.TestPropertySource");
 
   public static String createIdentifier(final JavaType javaType, final LogicalPath path) {
     return PhysicalTypeIdentifierNamingUtils.createIdentifier(PROVIDES_TYPE_STRING, javaType, path);
@@ -92,11 +106,14 @@ public class RepositoryJpaIntegrationTestMetadata extends
   private final String entityVar;
   private final FieldMetadata repositoryField;
   private final FieldMetadata dodField;
+  private final FieldMetadata entityManagerField;
   private final JavaSymbolName identifierAccessorMethodName;
   private final String getRandomMethodName;
   private final String entityPlural;
   private final JavaType defaultReturnType;
   private final boolean isReadOnly;
+  private final Map<FieldMetadata, JavaType> listFetchedRelations;
+  private final FieldMetadata fullTextField;
 
   /**
    * Constructor
@@ -114,13 +131,20 @@ public class RepositoryJpaIntegrationTestMetadata extends
    * @param defaultReturnType the repository default return type for default 
    *            queries
    * @param isReadOnly whether the entity is read only
+   * @param listFetchedRelations the relations fetched by the default
+   *            queries of list views, with the entity factory of the 
+   *            related entity, if any
+   * @param fullTextField the field whose value is looked for by the 
+   *            full-text global search, or null if the entity uses the 
+   *            LIKE global search
    */
   public RepositoryJpaIntegrationTestMetadata(final String identifier, final JavaType aspectName,
       final PhysicalTypeMetadata governorPhysicalTypeMetadata,
       final RepositoryJpaIntegrationTestAnnotationValues annotationValues,
       final JavaType jpaDetachableRepositoryClass, final JavaType identifierType,
       final JavaSymbolName identifierAccessorMethodName, final String entityPlural,
-      final JavaType entity, final JavaType defaultReturnType, final boolean isReadOnly) {
+      final JavaType entity, final JavaType defaultReturnType, final boolean isReadOnly,
+      final Map<FieldMetadata, JavaType> listFetchedRelations, final FieldMetadata fullTextField) {
     super(identifier, aspectName, governorPhysicalTypeMetadata);
     Validate.isTrue(isValid(identifier),
         "Metadata identification string '%s' does not appear to be a valid", identifier);
@@ -138,6 +162,8 @@ public class RepositoryJpaIntegrationTestMetadata extends
     this.entityPlural = entityPlural;
     this.defaultReturnType = defaultReturnType;
     this.isReadOnly = isReadOnly;
+    this.listFetchedRelations = listFetchedRelations;
+    this.fullTextField = fullTextField;
 
     // Add @RunWith(SpringRunner.class)
     ensureGovernorIsAnnotated(getRunWithAnnotation());
@@ -148,6 +174,11 @@ public class RepositoryJpaIntegrationTestMetadata extends
     // Add @Import
     ensureGovernorIsAnnotated(getImportAnnotation());
 
+    // Add @TestPropertySource, keeping the full-text index in memory
+    if (this.fullTextField != null) {
+      ensureGovernorIsAnnotated(getTestPropertySourceAnnotation());
+    }
+
     // Add fields
     ensureGovernorHasField(getExpectedExceptionField());
     this.repositoryField = getRepositoryField().build();
@@ -185,6 +216,29 @@ public class RepositoryJpaIntegrationTestMetadata extends
     // Add find all custom not filtered and paged test method 
     ensureGovernorHasMethod(new MethodMetadataBuilder(getFindAllCustomNotFilteredPagedTestMethod()));
 
+    boolean fetchesListRelations =
+        !this.listFetchedRelations.isEmpty() && this.entity.equals(this.defaultReturnType);
+    if (fetchesListRelations || this.fullTextField != null) {
+      this.entityManagerField = getEntityManagerField().build();
+      ensureGovernorHasField(getEntityManagerField());
+    } else {
+      this.entityManagerField = null;
+    }
+
+    // Add find all custom fetch plan test method
+    if (fetchesListRelations) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(
+          getFindAllCustomFetchesListRelationsTestMethod()));
+    }
+
+    // Add find all custom full-text filtered test methods
+    if (this.fullTextField != null) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(
+          getFindAllCustomFullTextFilteredTestMethod()));
+      ensureGovernorHasMethod(new MethodMetadataBuilder(
+          getFindAllCustomFullTextFilteredNotIndexedTestMethod()));
+    }
+
     // Add getRandomId method
     ensureGovernorHasMethod(new MethodMetadataBuilder(getRandomIdMethod()));
 
@@ -349,6 +403,22 @@ public class RepositoryJpaIntegrationTestMetadata extends
     return fieldBuilder;
   }
 
+  /**
+   * Builds and returns a `private` TestEntityManager field. 
+   * 
+   * @return {@link FieldMetadataBuilder}
+   */
+  private FieldMetadataBuilder getEntityManagerField() {
+    FieldMetadataBuilder fieldBuilder =
+        new FieldMetadataBuilder(this.getId(), Modifier.PRIVATE, ENTITY_MANAGER_FIELD_NAME,
+            TEST_ENTITY_MANAGER, null);
+
+    // Add @Autowired
+    fieldBuilder.addAnnotation(new AnnotationMetadataBuilder(SpringJavaType.AUTOWIRED));
+
+    return fieldBuilder;
+  }
+
   /**
    * Builds and returns a <code>public</code> ExpectedException field. 
    * 
@@ -418,6 +488,373 @@ public class RepositoryJpaIntegrationTestMetadata extends
     return methodBuilder.build();
   }
 
+  /**
+   * Builds a method to test that the find all custom method fetches the
+   * relations of list views without an extra query per row. A random entity
+   * gets its relations set, using the factories of the related entities, and
+   * the test checks they are loaded once the persistence context is cleared,
+   * counting the statements prepared by Hibernate.
+   * 
+   * @return {@link MethodMetadata}
+   */
+  private MethodMetadata getFindAllCustomFetchesListRelationsTestMethod() {
+    JavaSymbolName methodName =
+        new JavaSymbolName(String.format("findAllCustomShouldFetchListRelationsOf%s",
+            this.entityPlural));
+
+    // Check if method exists on governor
+    MethodMetadata method = getGovernorMethod(methodName);
+    if (method != null) {
+      return method;
+    }
+
+    // Build method body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    JavaSymbolName entityManagerAccessor =
+        getAccessorMethod(this.entityManagerField).getMethodName();
+
+    // Setup
+    bodyBuilder.appendFormalLine("// Setup");
+
+    // Pet pet = dod.getRandomPet();
+    bodyBuilder.appendFormalLine("%s %s = %s().%s();", getNameOfJavaType(this.entity),
+        this.entityVar, getAccessorMethod(this.dodField).getMethodName(),
+        this.getRandomMethodName);
+
+    // Owner owner = new OwnerFactory().create(0);
+    // entityManager.persist(owner);
+    // pet.setOwner(owner);
+    for (Entry<FieldMetadata, JavaType> relation : this.listFetchedRelations.entrySet()) {
+      if (relation.getValue() == null) {
+        continue;
+      }
+      String relationVar = relation.getKey().getFieldName().getSymbolName();
+      bodyBuilder.appendFormalLine("%s %s = new %s().create(0);",
+          getNameOfJavaType(relation.getKey().getFieldType()), relationVar,
+          getNameOfJavaType(relation.getValue()));
+      bodyBuilder.appendFormalLine("%s().persist(%s);", entityManagerAccessor, relationVar);
+      bodyBuilder.appendFormalLine("%s.%s(%s);", this.entityVar,
+          BeanInfoUtils.getMutatorMethodName(relation.getKey()), relationVar);
+    }
+
+    // Long id = pet.getId();
+    bodyBuilder.appendFormalLine("%s id = %s.%s();", getNameOfJavaType(this.identifierType),
+        this.entityVar, this.identifierAccessorMethodName);
+
+    // entityManager.flush();
+    // entityManager.clear();
+    bodyBuilder.appendFormalLine("%s().flush();", entityManagerAccessor);
+    bodyBuilder.appendFormalLine("%s().clear();", entityManagerAccessor);
+
+    // PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManager()
+    //     .getEntityManagerFactory().getPersistenceUnitUtil();
+    bodyBuilder.appendFormalLine("%s persistenceUnitUtil = %s().getEntityManager()",
+        getNameOfJavaType(PERSISTENCE_UNIT_UTIL), entityManagerAccessor);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine(".getEntityManagerFactory().getPersistenceUnitUtil();");
+    bodyBuilder.indentRemove();
+
+    // Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+    //     .unwrap(SessionFactory.class).getStatistics();
+    bodyBuilder.appendFormalLine(
+        "%s statistics = %s().getEntityManager().getEntityManagerFactory()",
+        getNameOfJavaType(STATISTICS), entityManagerAccessor);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine(".unwrap(%s.class).getStatistics();",
+        getNameOfJavaType(SESSION_FACTORY));
+    bodyBuilder.indentRemove();
+
+    // statistics.setStatisticsEnabled(true);
+    // statistics.clear();
+    bodyBuilder.appendFormalLine("statistics.setStatisticsEnabled(true);");
+    bodyBuilder.appendFormalLine("statistics.clear();");
+
+    // Exercise
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("// Exercise");
+
+    // Page<Pet> all = repository.findAll((GlobalSearch) null, new PageRequest(0, dod.getSize()));
+    bodyBuilder.appendFormalLine(
+        "%s<%s> all = %s().findAll((%s) null, new %s(0, %s().getSize()));",
+        getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(this.entity),
+        getAccessorMethod(this.repositoryField).getMethodName(),
+        getNameOfJavaType(SpringletsJavaType.SPRINGLETS_GLOBAL_SEARCH),
+        getNameOfJavaType(SpringJavaType.PAGE_REQUEST), getAccessorMethod(this.dodField)
+            .getMethodName());
+
+    // Verify
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("// Verify");
+
+    // boolean found = false;
+    bodyBuilder.appendFormalLine("boolean found = false;");
+
+    // for (Pet element : all) {
+    bodyBuilder.appendFormalLine("for (%s element : all) {", getNameOfJavaType(this.entity));
+    bodyBuilder.indent();
+
+    //   assertThat(persistenceUnitUtil.isLoaded(element, "owner"))
+    //       .as("Check 'findAll' fetches the '%s' relation", "owner").isTrue();
+    for (FieldMetadata relation : this.listFetchedRelations.keySet()) {
+      bodyBuilder.appendFormalLine("%s(persistenceUnitUtil.isLoaded(element, \"%s\"))",
+          getNameOfJavaType(ASSERT_THAT), relation.getFieldName());
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine(".as(\"Check 'findAll' fetches the '%s' relation\").isTrue();",
+          relation.getFieldName());
+      bodyBuilder.indentRemove();
+    }
+
+    //   if (id.equals(element.getId())) {
+    //     found = true;
+    //     assertThat(element.getOwner()).as("Check the 'owner' relation is stored").isNotNull();
+    //   }
+    bodyBuilder.appendFormalLine("if (id.equals(element.%s())) {",
+        this.identifierAccessorMethodName);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("found = true;");
+    for (Entry<FieldMetadata, JavaType> relation : this.listFetchedRelations.entrySet()) {
+      if (relation.getValue() == null) {
+        continue;
+      }
+      bodyBuilder.appendFormalLine(
+          "%s(element.%s()).as(\"Check the '%s' relation is stored\").isNotNull();",
+          getNameOfJavaType(ASSERT_THAT),
+          BeanInfoUtils.getAccessorMethodName(relation.getKey()), relation.getKey()
+              .getFieldName());
+    }
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // assertThat(found).as("Check 'findAll' returns the updated 'Pet'").isTrue();
+    bodyBuilder.appendFormalLine(
+        "%s(found).as(\"Check 'findAll' returns the updated '%s'\").isTrue();",
+        getNameOfJavaType(ASSERT_THAT), getNameOfJavaType(this.entity));
+
+    // assertThat(statistics.getPrepareStatementCount())
+    bodyBuilder.appendFormalLine("%s(statistics.getPrepareStatementCount())",
+        getNameOfJavaType(ASSERT_THAT));
+
+    //  .as("Check 'findAll' fetches list view relations with the page query")
+    //  .isLessThanOrEqualTo(2);
+    bodyBuilder.indent();
+    bodyBuilder
+        .appendFormalLine(".as(\"Check 'findAll' fetches list view relations with the page query\")");
+    bodyBuilder.appendFormalLine(".isLessThanOrEqualTo(2);");
+    bodyBuilder.indentRemove();
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, JavaType.VOID_PRIMITIVE,
+            bodyBuilder);
+
+    // Add @Test
+    methodBuilder.addAnnotation(new AnnotationMetadataBuilder(TEST));
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Builds a method to test the find all custom method filtered with the 
+   * full-text index of the entity. The index only contains a random entity, 
+   * so `findIdsByFullText` must find its id, and the page must only contain 
+   * the entity with that id.
+   * 
+   * @return {@link MethodMetadata}
+   */
+  private MethodMetadata getFindAllCustomFullTextFilteredTestMethod() {
+    JavaSymbolName methodName =
+        new JavaSymbolName(String.format("findAllCustomFullTextFilteredShouldReturnIndexed%s",
+            this.entityPlural));
+
+    // Check if method exists on governor
+    MethodMetadata method = getGovernorMethod(methodName);
+    if (method != null) {
+      return method;
+    }
+
+    // Build method body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // Setup
+    bodyBuilder.appendFormalLine("// Setup");
+
+    // Pet pet = dod.getRandomPet();
+    bodyBuilder.appendFormalLine("%s %s = %s().%s();", getNameOfJavaType(this.entity),
+        this.entityVar, getAccessorMethod(this.dodField).getMethodName(),
+        this.getRandomMethodName);
+
+    // String text = pet.getName();
+    bodyBuilder.appendFormalLine("%s text = %s.%s();", getNameOfJavaType(JavaType.STRING),
+        this.entityVar, BeanInfoUtils.getAccessorMethodName(this.fullTextField));
+
+    // assertThat(text).as("Check the random 'Pet' has a 'name' to look for").isNotEmpty();
+    bodyBuilder.appendFormalLine(
+        "%s(text).as(\"Check the random '%s' has a '%s' to look for\").isNotEmpty();",
+        getNameOfJavaType(ASSERT_THAT), getNameOfJavaType(this.entity),
+        this.fullTextField.getFieldName());
+
+    // FullTextEntityManager fullTextEntityManager = getEmptyFullTextIndex();
+    // fullTextEntityManager.index(pet);
+    // fullTextEntityManager.flushToIndexes();
+    appendEmptyFullTextIndex(bodyBuilder);
+    bodyBuilder.appendFormalLine("fullTextEntityManager.index(%s);", this.entityVar);
+    bodyBuilder.appendFormalLine("fullTextEntityManager.flushToIndexes();");
+
+    // Exercise
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("// Exercise");
+
+    // Page<Pet> all = repository.findAll(new GlobalSearch(text), new PageRequest(0, dod.getSize()));
+    appendFindAllFullTextFiltered(bodyBuilder);
+
+    // Verify
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("// Verify");
+
+    // assertThat(all.getTotalElements())
+    //  .as("Check 'findAll' only returns the 'Pet' found in the full-text index").isEqualTo(1);
+    bodyBuilder.appendFormalLine("%s(all.getTotalElements())", getNameOfJavaType(ASSERT_THAT));
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine(
+        ".as(\"Check 'findAll' only returns the '%s' found in the full-text index\").isEqualTo(1);",
+        getNameOfJavaType(this.entity));
+    bodyBuilder.indentRemove();
+
+    // assertThat(all.getContent().get(0).getId()).as("Check 'findAll' returns the indexed 'Pet'")
+    //  .isEqualTo(pet.getId());
+    if (this.entity.equals(this.defaultReturnType)) {
+      bodyBuilder.appendFormalLine("%s(all.getContent().get(0).%s())",
+          getNameOfJavaType(ASSERT_THAT), this.identifierAccessorMethodName);
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine(".as(\"Check 'findAll' returns the indexed '%s'\")",
+          getNameOfJavaType(this.entity));
+      bodyBuilder.appendFormalLine(".isEqualTo(%s.%s());", this.entityVar,
+          this.identifierAccessorMethodName);
+      bodyBuilder.indentRemove();
+    }
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, JavaType.VOID_PRIMITIVE,
+            bodyBuilder);
+
+    // Add @Test
+    methodBuilder.addAnnotation(new AnnotationMetadataBuilder(TEST));
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Builds a method to test the find all custom method filtered with the 
+   * full-text index of the entity, when the index doesn't contain any entity. 
+   * `findIdsByFullText` doesn't find any id, so the page must be empty 
+   * instead of containing every entity.
+   * 
+   * @return {@link MethodMetadata}
+   */
+  private MethodMetadata getFindAllCustomFullTextFilteredNotIndexedTestMethod() {
+    JavaSymbolName methodName =
+        new JavaSymbolName(String.format(
+            "findAllCustomFullTextFilteredShouldReturnAnEmptyPageIfNo%sIsIndexed",
+            this.entity.getSimpleTypeName()));
+
+    // Check if method exists on governor
+    MethodMetadata method = getGovernorMethod(methodName);
+    if (method != null) {
+      return method;
+    }
+
+    // Build method body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // Setup
+    bodyBuilder.appendFormalLine("// Setup");
+
+    // String text = dod.getRandomPet().getName();
+    bodyBuilder.appendFormalLine("%s text = %s().%s().%s();", getNameOfJavaType(JavaType.STRING),
+        getAccessorMethod(this.dodField).getMethodName(), this.getRandomMethodName,
+        BeanInfoUtils.getAccessorMethodName(this.fullTextField));
+
+    // FullTextEntityManager fullTextEntityManager = ...;
+    appendEmptyFullTextIndex(bodyBuilder);
+
+    // Exercise
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("// Exercise");
+
+    // Page<Pet> all = repository.findAll(new GlobalSearch(text), new PageRequest(0, dod.getSize()));
+    appendFindAllFullTextFiltered(bodyBuilder);
+
+    // Verify
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("// Verify");
+
+    // assertThat(all.getTotalElements())
+    //  .as("Check 'findAll' doesn't return any 'Pet' not found in the full-text index")
+    //  .isEqualTo(0);
+    bodyBuilder.appendFormalLine("%s(all.getTotalElements())", getNameOfJavaType(ASSERT_THAT));
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine(
+        ".as(\"Check 'findAll' doesn't return any '%s' not found in the full-text index\")",
+        getNameOfJavaType(this.entity));
+    bodyBuilder.appendFormalLine(".isEqualTo(0);");
+    bodyBuilder.indentRemove();
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, JavaType.VOID_PRIMITIVE,
+            bodyBuilder);
+
+    // Add @Test
+    methodBuilder.addAnnotation(new AnnotationMetadataBuilder(TEST));
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Appends the statements which remove every entity from the full-text 
+   * index, leaving a `fullTextEntityManager` variable to index new ones. 
+   * The index isn't rolled back with the test transaction, so it's emptied 
+   * before each test.
+   * 
+   * @param bodyBuilder the method body builder
+   */
+  private void appendEmptyFullTextIndex(InvocableMemberBodyBuilder bodyBuilder) {
+
+    // FullTextEntityManager fullTextEntityManager =
+    //     Search.getFullTextEntityManager(entityManager.getEntityManager());
+    bodyBuilder.appendFormalLine("%s fullTextEntityManager =",
+        getNameOfJavaType(HibernateJavaType.SEARCH_FULL_TEXT_ENTITY_MANAGER));
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("%s.getFullTextEntityManager(%s().getEntityManager());",
+        getNameOfJavaType(HibernateJavaType.SEARCH), getAccessorMethod(this.entityManagerField)
+            .getMethodName());
+    bodyBuilder.indentRemove();
+
+    // fullTextEntityManager.purgeAll(Pet.class);
+    // fullTextEntityManager.flushToIndexes();
+    bodyBuilder.appendFormalLine("fullTextEntityManager.purgeAll(%s.class);",
+        getNameOfJavaType(this.entity));
+    bodyBuilder.appendFormalLine("fullTextEntityManager.flushToIndexes();");
+  }
+
+  /**
+   * Appends the call to the find all custom method with a global search of 
+   * the `text` variable, which stores the result in an `all` variable.
+   * 
+   * @param bodyBuilder the method body builder
+   */
+  private void appendFindAllFullTextFiltered(InvocableMemberBodyBuilder bodyBuilder) {
+
+    // Page<Pet> all = repository.findAll(new GlobalSearch(text), new PageRequest(0, dod.getSize()));
+    bodyBuilder.appendFormalLine(
+        "%s<%s> all = %s().findAll(new %s(text), new %s(0, %s().getSize()));",
+        getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(this.defaultReturnType),
+        getAccessorMethod(this.repositoryField).getMethodName(),
+        getNameOfJavaType(SpringletsJavaType.SPRINGLETS_GLOBAL_SEARCH),
+        getNameOfJavaType(SpringJavaType.PAGE_REQUEST), getAccessorMethod(this.dodField)
+            .getMethodName());
+  }
+
   /**
    * Builds a method to test the find all custom method not filtered and not paged.
    * 
@@ -824,6 +1261,20 @@ public class RepositoryJpaIntegrationTestMetadata extends
     return fieldBuilder;
   }
 
+  /**
+   * Builds and returns `@TestPropertySource` annotation, which keeps the 
+   * full-text index of the tests in memory.
+   * 
+   * @return {@link AnnotationMetadataBuilder}
+   */
+  private AnnotationMetadataBuilder getTestPropertySourceAnnotation() {
+    AnnotationMetadataBuilder annotationBuilder =
+        new AnnotationMetadataBuilder(TEST_PROPERTY_SOURCE);
+    annotationBuilder.addStringAttribute("properties",
+        "spring.jpa.properties.hibernate.search.default.directory_provider=local-heap");
+    return annotationBuilder;
+  }
+
   /**
    * Builds and returns `@RunWith` annotation
    * 
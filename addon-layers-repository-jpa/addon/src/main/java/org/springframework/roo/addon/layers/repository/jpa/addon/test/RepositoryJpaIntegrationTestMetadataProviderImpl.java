@@ -2,6 +2,8 @@ package org.springframework.roo.addon.layers.repository.jpa.addon.test;
 
 import static org.springframework.roo.model.RooJavaType.ROO_REPOSITORY_JPA_INTEGRATION_TEST;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.Validate;
@@ -9,11 +11,13 @@ import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata;
+import org.springframework.roo.addon.jpa.annotations.entity.GlobalSearchType;
 import org.springframework.roo.addon.layers.repository.jpa.addon.RepositoryJpaMetadata;
 import org.springframework.roo.addon.plural.addon.PluralService;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
 import org.springframework.roo.classpath.PhysicalTypeMetadata;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.ItdTypeDetails;
 import org.springframework.roo.classpath.itd.AbstractMemberDiscoveringItdMetadataProvider;
 import org.springframework.roo.classpath.itd.ItdTypeDetailsProvidingMetadataItem;
@@ -152,10 +156,45 @@ public class RepositoryJpaIntegrationTestMetadataProviderImpl extends
     // Get repository default return type
     JavaType defaultReturnType = repositoryMetadata.getDefaultReturnType();
 
+    // Get the relations fetched by the list queries, with the entity factory
+    // of the related entity, if any
+    Map<FieldMetadata, JavaType> listFetchedRelations =
+        new LinkedHashMap<FieldMetadata, JavaType>();
+    for (FieldMetadata field : jpaEntityMetadata.getListEntityGraphFields()) {
+      if (JpaEntityMetadata.isSingleValuedRelationField(field)) {
+        listFetchedRelations.put(field, getEntityFactory(field.getFieldType()));
+      }
+    }
+
+    // Get the field whose value is looked for in the full-text index, if the
+    // global search of the entity uses it
+    FieldMetadata fullTextField = null;
+    if (jpaEntityMetadata.getGlobalSearchType() == GlobalSearchType.HIBERNATE_SEARCH
+        && !jpaEntityMetadata.getFullTextFields().isEmpty()) {
+      fullTextField = jpaEntityMetadata.getFullTextFields().get(0);
+    }
+
     return new RepositoryJpaIntegrationTestMetadata(metadataIdentificationString, aspectName,
         governorPhysicalTypeMetadata, annotationValues, jpaDetachableRepositoryClass,
         identifierType, identifierAccessorMethodName, entityPlural, entity, defaultReturnType,
-        isReadOnly);
+        isReadOnly, listFetchedRelations, fullTextField);
+  }
+
+  /**
+   * Returns the entity factory of the given entity.
+   * 
+   * @param entity
+   * @return the entity factory type or null if the entity has no factory
+   */
+  private JavaType getEntityFactory(final JavaType entity) {
+    for (ClassOrInterfaceTypeDetails entityFactory : getTypeLocationService()
+        .findClassesOrInterfaceDetailsWithAnnotation(RooJavaType.ROO_JPA_ENTITY_FACTORY)) {
+      if (entity.equals(entityFactory.getAnnotation(RooJavaType.ROO_JPA_ENTITY_FACTORY)
+          .getAttribute("entity").getValue())) {
+        return entityFactory.getType();
+      }
+    }
+    return null;
   }
 
   public String getProvidesType() {
@@ -0,0 +1,23 @@
+package org.springframework.roo.addon.layers.repository.jpa.addon;
+
+import org.springframework.roo.addon.layers.repository.jpa.annotations.RooJpaRepositoryCustom;
+import org.springframework.roo.classpath.details.annotations.populator.AnnotationValuesTestCase;
+
+/**
+ * Unit test of {@link RepositoryJpaCustomAnnotationValues}
+ * 
+ * @since 2.0
+ */
+public class RepositoryJpaCustomAnnotationValuesTest extends
+    AnnotationValuesTestCase<RooJpaRepositoryCustom, RepositoryJpaCustomAnnotationValues> {
+
+  @Override
+  protected Class<RooJpaRepositoryCustom> getAnnotationClass() {
+    return RooJpaRepositoryCustom.class;
+  }
+
+  @Override
+  protected Class<RepositoryJpaCustomAnnotationValues> getValuesClass() {
+    return RepositoryJpaCustomAnnotationValues.class;
+  }
+}
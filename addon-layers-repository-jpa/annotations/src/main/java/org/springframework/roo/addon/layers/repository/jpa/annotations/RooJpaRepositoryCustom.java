@@ -21,6 +21,15 @@ public @interface RooJpaRepositoryCustom {
    */
   String ENTITY_ATTRIBUTE = "entity";
 
+  /**
+   * The name of this annotation's attribute that enables keyset pagination.
+   */
+  String KEYSET_PAGINATION_ATTRIBUTE = "keysetPagination";
+
+  /**
+   * The name of this annotation's attribute that enables slice results.
+   */
+  String SLICE_ATTRIBUTE = "slice";
 
   /**
    * The entity managed by the annotated repository
@@ -29,4 +38,24 @@ public @interface RooJpaRepositoryCustom {
    */
   Class<?> entity(); // No default => mandatory
 
+  /**
+   * Whether to generate a <code>findAllAfter</code> method which pages the
+   * entity with keyset (seek) pagination: results are ordered by the
+   * identifier and each slice starts after the identifier of the last element
+   * of the previous one, so neither an offset nor a count query is used.
+   *
+   * @return true to generate keyset pagination methods
+   */
+  boolean keysetPagination() default false;
+
+  /**
+   * Whether the global search <code>findAll</code> method returns a
+   * <code>Slice</code> instead of a <code>Page</code>. Slices fetch one
+   * element more than the requested page size to know if there is a next
+   * slice, so no count query is executed.
+   *
+   * @return true to return slices from the global search method
+   */
+  boolean slice() default false;
+
 }
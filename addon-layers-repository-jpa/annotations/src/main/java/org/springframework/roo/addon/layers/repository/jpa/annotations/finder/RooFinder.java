@@ -33,4 +33,11 @@ public @interface RooFinder {
    */
   Class<?> formBean() default Class.class;
 
+  /**
+   * Whether the finder returns a <code>Slice</code> instead of a
+   * <code>Page</code>. Slices fetch one element more than the requested page
+   * size to know if there is a next slice, so no count query is executed.
+   */
+  boolean slice() default false;
+
 }
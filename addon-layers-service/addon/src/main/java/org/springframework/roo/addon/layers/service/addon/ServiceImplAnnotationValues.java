@@ -19,6 +19,12 @@ public class ServiceImplAnnotationValues extends AbstractAnnotationValues {
   @AutoPopulate
   private JavaType service;
 
+  @AutoPopulate
+  private String cacheName = "";
+
+  @AutoPopulate
+  private String[] cachedMethods = {};
+
   /**
    * Constructor
    * 
@@ -33,4 +39,12 @@ public class ServiceImplAnnotationValues extends AbstractAnnotationValues {
     return service;
   }
 
+  public String getCacheName() {
+    return cacheName;
+  }
+
+  public String[] getCachedMethods() {
+    return cachedMethods;
+  }
+
 }
@@ -4,6 +4,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.roo.addon.jpa.addon.JpaOperations;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata;
 import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata.RelationInfo;
 import org.springframework.roo.addon.layers.repository.jpa.addon.RepositoryJpaMetadata;
@@ -27,11 +28,13 @@ import org.springframework.roo.model.ImportRegistrationResolver;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.JdkJavaType;
+import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.project.LogicalPath;
 
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -59,6 +62,14 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
   private static final AnnotationMetadata LAZY_ANNOTATION = new AnnotationMetadataBuilder(
       SpringJavaType.LAZY).build();
   private static final JavaSymbolName FIND_ONE_DETACHED = new JavaSymbolName("findOneDetached");
+  private static final JavaSymbolName ENTITY_MANAGER_FIELD_NAME = new JavaSymbolName(
+      "entityManager");
+  private static final JavaSymbolName BATCH_SIZE_FIELD_NAME = new JavaSymbolName("batchSize");
+  private static final String BATCH_SIZE_PROPERTY = String.format(
+      "${spring.jpa.properties.hibernate.jdbc.batch_size:%d}", JpaOperations.JDBC_BATCH_SIZE);
+  private static final String FIND_ONE_CACHED_METHOD = "findOne";
+  private static final String SAVE_CACHED_METHOD = "save";
+  private static final String DELETE_CACHED_METHOD = "delete";
 
   private ImportRegistrationResolver importResolver;
 
@@ -73,6 +84,9 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
   private final JpaEntityMetadata entityMetadata;
   private final List<Pair<FieldMetadata, RelationInfo>> childRelationsInfo;
   private final JavaType entityIdentifierType;
+  private final String cacheName;
+  private final List<String> cachedMethods;
+  private final boolean bulkDelete;
 
   // Temporal arrays don't share
   private ArrayList<MethodMetadata> pendingTransactionalMethodToAdd;
@@ -118,13 +132,24 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
    * @param serviceMetadata
    * @param requiredServicesByEntity
    * @param childRelationsInfo
+   * @param cacheName
+   *            the cache used by the cached methods, or empty if the service
+   *            isn't cached
+   * @param cachedMethods
+   *            the names of the cached methods ("findOne", "save" and
+   *            "delete")
+   * @param bulkDelete
+   *            whether the "delete" batch method can remove the entities with
+   *            bulk statements, as the entity has no relations, entity
+   *            listeners or full-text index which require loading them
    */
   public ServiceImplMetadata(final String identifier, final JavaType aspectName,
       final PhysicalTypeMetadata governorPhysicalTypeMetadata, final JavaType serviceInterface,
       final JavaType repository, RepositoryJpaMetadata repositoryMetadata, final JavaType entity,
       JpaEntityMetadata entityMetadata, ServiceMetadata serviceMetadata,
       Map<JavaType, ServiceMetadata> requiredServicesByEntity,
-      List<Pair<FieldMetadata, RelationInfo>> childRelationsInfo) {
+      List<Pair<FieldMetadata, RelationInfo>> childRelationsInfo, final String cacheName,
+      final String[] cachedMethods, final boolean bulkDelete) {
     super(identifier, aspectName, governorPhysicalTypeMetadata);
 
     this.importResolver = builder.getImportRegistrationResolver();
@@ -139,6 +164,11 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     this.entityMetadata = entityMetadata;
     this.childRelationsInfo = childRelationsInfo;
     this.entityIdentifierType = serviceMetadata.getIdType();
+    this.cacheName = cacheName;
+    this.cachedMethods =
+        StringUtils.isBlank(cacheName) ? Collections.<String>emptyList() : Arrays
+            .asList(cachedMethods);
+    this.bulkDelete = bulkDelete;
 
     // All services should include @Service annotation
     AnnotationMetadataBuilder serviceAnnotation =
@@ -173,6 +203,13 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     // Add constructor
     ensureGovernorHasConstructor(getConstructor());
 
+    // Batch methods flush and clear the persistence context by chunks
+    if (serviceMetadata.getCurrentSaveBatchMethod() != null
+        || serviceMetadata.getCurrentDeleteBatchMethod() != null) {
+      ensureGovernorHasField(getEntityManagerField(), false, false);
+      ensureGovernorHasField(getBatchSizeField(), false, false);
+    }
+
     pendingTransactionalMethodToAdd =
         new ArrayList<MethodMetadata>(serviceMetadata.getTransactionalDefinedMethods());
     pendingNonTransactionalMethodToAdd =
@@ -566,6 +603,8 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     boolean isDelete = methodToBeImplemented.getMethodName().getSymbolName().equals("delete");
     boolean isSaveMethod =
         methodToBeImplemented.equals(this.serviceMetadata.getCurrentSaveMethod());
+    boolean isSaveBatchMethod =
+        methodToBeImplemented.equals(this.serviceMetadata.getCurrentSaveBatchMethod());
     boolean isFindOneForUpdate =
         methodToBeImplemented.getMethodName().getSymbolName().equals("findOneForUpdate");
 
@@ -574,6 +613,8 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
       bodyBuilder = builDeleteMethodBody(methodToBeImplemented, isBatch);
     } else if (isSaveMethod) {
       bodyBuilder = builSaveMethodBody(methodToBeImplemented);
+    } else if (isSaveBatchMethod) {
+      bodyBuilder = buildSaveBatchMethodBody(methodToBeImplemented);
     } else if (isFindOneForUpdate) {
       bodyBuilder = buildFindOneForUpdateBody(methodToBeImplemented);
     } else {
@@ -618,10 +659,72 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
       methodBuilder.addAnnotation(transactionalAnnotation);
     }
 
+    // Adding @Cacheable or @CacheEvict
+    methodBuilder.addAnnotation(getCacheAnnotation(methodToBeImplemented));
+
     // Build and return a MethodMetadata instance
     return methodBuilder.build();
   }
 
+  /**
+   * Builds the cache annotation of a method. "findOne" stores the found
+   * entities in the cache. The methods which modify an entity evict it from
+   * the cache, and batch methods evict all the entries of the cache.
+   *
+   * @param methodToBeImplemented
+   * @return the cache annotation, or null if the method isn't cached
+   */
+  private AnnotationMetadataBuilder getCacheAnnotation(final MethodMetadata methodToBeImplemented) {
+    if (cachedMethods.isEmpty()) {
+      return null;
+    }
+
+    final boolean isFindOne =
+        methodToBeImplemented.equals(serviceMetadata.getCurrentFindOneMethod());
+    final boolean isSave = methodToBeImplemented.equals(serviceMetadata.getCurrentSaveMethod());
+    final boolean isSaveBatch =
+        methodToBeImplemented.equals(serviceMetadata.getCurrentSaveBatchMethod());
+    final boolean isDelete = methodToBeImplemented.equals(serviceMetadata.getCurrentDeleteMethod());
+    final boolean isDeleteBatch =
+        methodToBeImplemented.equals(serviceMetadata.getCurrentDeleteBatchMethod());
+
+    // Relation methods save the entity received as first parameter
+    final boolean isRelation =
+        serviceMetadata.getAddToRelationMethods().containsValue(methodToBeImplemented)
+            || serviceMetadata.getRemoveFromRelationMethods().containsValue(methodToBeImplemented)
+            || serviceMetadata.getSetRelationMethods().containsValue(methodToBeImplemented);
+
+    if (isFindOne && cachedMethods.contains(FIND_ONE_CACHED_METHOD)) {
+      // @Cacheable(cacheNames = "pets")
+      AnnotationMetadataBuilder cacheableAnnotation =
+          new AnnotationMetadataBuilder(SpringJavaType.CACHEABLE);
+      cacheableAnnotation.addStringAttribute("cacheNames", cacheName);
+      return cacheableAnnotation;
+    }
+
+    AnnotationMetadataBuilder cacheEvictAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.CACHE_EVICT);
+    cacheEvictAnnotation.addStringAttribute("cacheNames", cacheName);
+    if (((isSave || isRelation) && cachedMethods.contains(SAVE_CACHED_METHOD))
+        || (isDelete && cachedMethods.contains(DELETE_CACHED_METHOD))) {
+
+      // @CacheEvict(cacheNames = "pets", key = "#p0.id", condition = "#p0.id != null")
+      final String key =
+          String.format("#p0.%s", entityMetadata.getCurrentIndentifierField().getFieldName());
+      cacheEvictAnnotation.addStringAttribute("key", key);
+      cacheEvictAnnotation.addStringAttribute("condition", key.concat(" != null"));
+      return cacheEvictAnnotation;
+    }
+    if ((isSaveBatch && cachedMethods.contains(SAVE_CACHED_METHOD))
+        || (isDeleteBatch && cachedMethods.contains(DELETE_CACHED_METHOD))) {
+
+      // @CacheEvict(cacheNames = "pets", allEntries = true)
+      cacheEvictAnnotation.addBooleanAttribute("allEntries", true);
+      return cacheEvictAnnotation;
+    }
+    return null;
+  }
+
   /**
    * Build method body which delegates on repository
    *
@@ -666,17 +769,10 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     final JavaSymbolName param0 = methodToBeImplemented.getParameterNames().get(0);
     final String entity = getNameOfJavaType(this.entity);
 
-    if (isBatch) {
-
-      // List<Entity> toDelete = repositoryField.FIND_ALL_METHOD(paramName);
-      bodyBuilder.appendFormalLine("%s<%s> toDelete = %s().%s(%s);",
-          getNameOfJavaType(JavaType.LIST), entity, getAccessorMethod(repositoryFieldMetadata)
-              .getMethodName(), this.findAllIterableMethod.getMethodName(), param0);
-
-      bodyBuilder.appendFormalLine("%s().deleteInBatch(toDelete);",
-          getAccessorMethod(repositoryFieldMetadata).getMethodName(),
-          methodToBeImplemented.getMethodName());
-
+    if (isBatch && this.bulkDelete) {
+      buildDeleteBatchMethodBody(bodyBuilder, param0);
+    } else if (isBatch) {
+      buildDeleteEachMethodBody(bodyBuilder, param0);
     } else {
       // Clear relations as child part
       for (Pair<FieldMetadata, RelationInfo> item : childRelationsInfo) {
@@ -786,6 +882,183 @@ public class ServiceImplMetadata extends AbstractItdTypeDetailsProvidingMetadata
     return bodyBuilder;
   }
 
+  /**
+   * Builds the "delete" batch method body, which removes the entities with
+   * bulk `DELETE ... WHERE id IN` statements of at most `batchSize` ids,
+   * without loading them.
+   *
+   * Bulk statements bypass cascades, orphan removal and entity listeners
+   * (auditing included), so it is only used for entities without them.
+   *
+   * @param bodyBuilder
+   * @param ids name of the parameter with the ids to delete
+   */
+  private void buildDeleteBatchMethodBody(final InvocableMemberBodyBuilder bodyBuilder,
+      final JavaSymbolName ids) {
+    final String idType = getNameOfJavaType(this.entityIdentifierType);
+    final String alias = StringUtils.uncapitalize(this.entity.getSimpleTypeName());
+
+    // Query query = entityManager.createQuery("DELETE FROM Pet pet WHERE pet.id IN :ids");
+    bodyBuilder.appendFormalLine(
+        "%s query = %s.createQuery(\"DELETE FROM %s %s WHERE %s.%s IN :ids\");",
+        getNameOfJavaType(JpaJavaType.QUERY), ENTITY_MANAGER_FIELD_NAME,
+        entityMetadata.getEntityName(), alias, alias, entityMetadata.getCurrentIndentifierField()
+            .getFieldName());
+
+    // Pending changes must be written before deleting
+    bodyBuilder.appendFormalLine("%s.flush();", ENTITY_MANAGER_FIELD_NAME);
+    bodyBuilder.newLine();
+
+    // List<Long> chunk = new ArrayList<Long>(batchSize);
+    // for (Iterator<Long> it = ids.iterator(); it.hasNext();) {
+    //   chunk.add(it.next());
+    //   if (chunk.size() == batchSize || !it.hasNext()) {
+    //     query.setParameter("ids", chunk).executeUpdate();
+    //     chunk = new ArrayList<Long>(batchSize);
+    //   }
+    // }
+    bodyBuilder.appendFormalLine("%s<%s> chunk = new %s<%s>(%s);",
+        getNameOfJavaType(JavaType.LIST), idType, getNameOfJavaType(JavaType.ARRAY_LIST), idType,
+        BATCH_SIZE_FIELD_NAME);
+    bodyBuilder.appendFormalLine("for (%s<%s> it = %s.iterator(); it.hasNext();) {",
+        getNameOfJavaType(JdkJavaType.ITERATOR), idType, ids);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("chunk.add(it.next());");
+    bodyBuilder.appendFormalLine("if (chunk.size() == %s || !it.hasNext()) {",
+        BATCH_SIZE_FIELD_NAME);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("query.setParameter(\"ids\", chunk).executeUpdate();");
+    bodyBuilder.appendFormalLine("chunk = new %s<%s>(%s);",
+        getNameOfJavaType(JavaType.ARRAY_LIST), idType, BATCH_SIZE_FIELD_NAME);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.newLine();
+
+    // Bulk deletes don't update the persistence context
+    bodyBuilder.appendFormalLine("// Bulk deletes don't update the persistence context");
+    bodyBuilder.appendFormalLine("%s.clear();", ENTITY_MANAGER_FIELD_NAME);
+  }
+
+  /**
+   * Builds the "delete" batch method body used when bulk deletes aren't
+   * allowed. It loads the entities and removes each one with the "delete"
+   * method, so their relations are updated and the cascades and entity
+   * listeners run, flushing and clearing the persistence context each
+   * `batchSize` entities.
+   *
+   * @param bodyBuilder
+   * @param ids name of the parameter with the ids to delete
+   */
+  private void buildDeleteEachMethodBody(final InvocableMemberBodyBuilder bodyBuilder,
+      final JavaSymbolName ids) {
+    final String entityName = getNameOfJavaType(this.entity);
+    final String entityVar = StringUtils.uncapitalize(this.entity.getSimpleTypeName());
+
+    // List<Pet> toDelete = repository.findAll(ids);
+    bodyBuilder.appendFormalLine("%s<%s> toDelete = %s().%s(%s);",
+        getNameOfJavaType(JavaType.LIST), entityName, getAccessorMethod(repositoryFieldMetadata)
+            .getMethodName(), this.findAllIterableMethod.getMethodName(), ids);
+
+    // int deleted = 0;
+    // for (Pet pet : toDelete) {
+    //   delete(pet);
+    //   if (++deleted % batchSize == 0) {
+    //     entityManager.flush();
+    //     entityManager.clear();
+    //   }
+    // }
+    bodyBuilder.appendFormalLine("int deleted = 0;");
+    bodyBuilder.appendFormalLine("for (%s %s : toDelete) {", entityName, entityVar);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("%s(%s);", this.serviceMetadata.getCurrentDeleteMethod()
+        .getMethodName(), entityVar);
+    bodyBuilder.appendFormalLine("if (++deleted %% %s == 0) {", BATCH_SIZE_FIELD_NAME);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("// Send the pending deletes as a JDBC batch");
+    bodyBuilder.appendFormalLine("%s.flush();", ENTITY_MANAGER_FIELD_NAME);
+    bodyBuilder.appendFormalLine("%s.clear();", ENTITY_MANAGER_FIELD_NAME);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+  }
+
+  /**
+   * Builds the "save" batch method body, which saves every entity and
+   * flushes and clears the persistence context each `batchSize` entities, so
+   * Hibernate sends the inserts as JDBC batches and the persistence context
+   * doesn't grow with the number of entities.
+   *
+   * @param methodToBeImplemented
+   * @return
+   */
+  private InvocableMemberBodyBuilder buildSaveBatchMethodBody(
+      final MethodMetadata methodToBeImplemented) {
+    final InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+    final JavaSymbolName param0 = methodToBeImplemented.getParameterNames().get(0);
+    final String entityName = getNameOfJavaType(this.entity);
+    final String entityVar = StringUtils.uncapitalize(this.entity.getSimpleTypeName());
+
+    // List<Pet> saved = new ArrayList<Pet>();
+    bodyBuilder.appendFormalLine("%s<%s> saved = new %s<%s>();",
+        getNameOfJavaType(JavaType.LIST), entityName, getNameOfJavaType(JavaType.ARRAY_LIST),
+        entityName);
+
+    // for (Pet pet : entities) {
+    //   saved.add(save(pet));
+    //   if (saved.size() % batchSize == 0) {
+    //     entityManager.flush();
+    //     entityManager.clear();
+    //   }
+    // }
+    bodyBuilder.appendFormalLine("for (%s %s : %s) {", entityName, entityVar, param0);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("saved.add(%s(%s));", this.serviceMetadata
+        .getCurrentSaveMethod().getMethodName(), entityVar);
+    bodyBuilder.appendFormalLine("if (saved.size() %% %s == 0) {", BATCH_SIZE_FIELD_NAME);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("// Send the pending inserts as a JDBC batch");
+    bodyBuilder.appendFormalLine("%s.flush();", ENTITY_MANAGER_FIELD_NAME);
+    bodyBuilder.appendFormalLine("%s.clear();", ENTITY_MANAGER_FIELD_NAME);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.appendFormalLine("return saved;");
+    return bodyBuilder;
+  }
+
+  /**
+   * Builds and returns the `EntityManager` field used by batch methods
+   *
+   * @return {@link FieldMetadataBuilder}
+   */
+  private FieldMetadataBuilder getEntityManagerField() {
+    FieldMetadataBuilder fieldBuilder =
+        new FieldMetadataBuilder(getId(), Modifier.PRIVATE, ENTITY_MANAGER_FIELD_NAME,
+            JpaJavaType.ENTITY_MANAGER, null);
+    fieldBuilder.addAnnotation(new AnnotationMetadataBuilder(JpaJavaType.PERSISTENCE_CONTEXT));
+    return fieldBuilder;
+  }
+
+  /**
+   * Builds and returns the field with the number of entities written by each
+   * chunk of batch methods. It takes the configured JDBC batch size.
+   *
+   * @return {@link FieldMetadataBuilder}
+   */
+  private FieldMetadataBuilder getBatchSizeField() {
+    FieldMetadataBuilder fieldBuilder =
+        new FieldMetadataBuilder(getId(), Modifier.PRIVATE, BATCH_SIZE_FIELD_NAME,
+            JavaType.INT_PRIMITIVE, null);
+    AnnotationMetadataBuilder valueAnnotation = new AnnotationMetadataBuilder(SpringJavaType.VALUE);
+    valueAnnotation.addStringAttribute("value", BATCH_SIZE_PROPERTY);
+    fieldBuilder.addAnnotation(valueAnnotation);
+    return fieldBuilder;
+  }
+
   /**
    * Build "findOneForUpdate" method body which delegates on repository
    * 
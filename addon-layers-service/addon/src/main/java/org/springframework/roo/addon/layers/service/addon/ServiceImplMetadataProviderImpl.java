@@ -42,6 +42,7 @@ import org.springframework.roo.metadata.MetadataIdentificationUtils;
 import org.springframework.roo.metadata.internal.MetadataDependencyRegistryTracker;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.JpaJavaType;
 import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.project.LogicalPath;
 import org.springframework.roo.support.logging.HandlerUtils;
@@ -233,7 +234,28 @@ public class ServiceImplMetadataProviderImpl extends AbstractMemberDiscoveringIt
     return new ServiceImplMetadata(metadataIdentificationString, aspectName,
         governorPhysicalTypeMetadata, serviceInterface, repositoryDetails.getType(),
         repositoryMetadata, entity, entityMetadata, serviceMetadata, requiredServicesByEntity,
-        childRelationsInfo);
+        childRelationsInfo, annotationValues.getCacheName(), annotationValues.getCachedMethods(),
+        isBulkDeleteAllowed(entityDetails, entityMetadata, childRelationsInfo));
+  }
+
+  /**
+   * Checks if the "delete" batch method can remove the entities with bulk
+   * statements. Bulk deletes bypass cascades, orphan removal, entity
+   * listeners (auditing included) and the full-text index, so they are only
+   * used when the entity has none of them.
+   * 
+   * @param entityDetails
+   * @param entityMetadata
+   * @param childRelationsInfo the relations where the entity is the child part
+   * @return true if bulk deletes are allowed
+   */
+  static boolean isBulkDeleteAllowed(final ClassOrInterfaceTypeDetails entityDetails,
+      final JpaEntityMetadata entityMetadata,
+      final List<Pair<FieldMetadata, RelationInfo>> childRelationsInfo) {
+    return entityMetadata.getRelationInfos().isEmpty() && childRelationsInfo.isEmpty()
+        && entityMetadata.getFullTextFields().isEmpty()
+        && entityDetails.getAnnotation(RooJavaType.ROO_JPA_AUDIT) == null
+        && entityDetails.getAnnotation(JpaJavaType.ENTITY_LISTENERS) == null;
   }
 
   /**
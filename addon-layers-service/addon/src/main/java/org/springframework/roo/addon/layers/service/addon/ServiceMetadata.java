@@ -55,6 +55,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
   private final List<MethodMetadata> finders;
   private final MethodMetadata findAllGlobalSearchMethod;
   private final MethodMetadata findAllByIdsInGlobalSearchMethod;
+  private final MethodMetadata findAllAfterGlobalSearchMethod;
+  private final MethodMetadata streamAllGlobalSearchMethod;
   private final List<MethodMetadata> transactionalDefinedMethod;
   private final List<MethodMetadata> notTransactionalDefinedMethod;
   private final Map<FieldMetadata, MethodMetadata> countByReferenceFieldDefinedMethod;
@@ -73,6 +75,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
   private final MethodMetadata countMethod;
   private final MethodMetadata findAllWithGlobalSearchMethod;
   private final MethodMetadata findAllByIdsInWithGlobalSearchMethod;
+  private final MethodMetadata findAllAfterWithGlobalSearchMethod;
+  private final MethodMetadata streamAllWithGlobalSearchMethod;
   private final Map<JavaType, JpaEntityMetadata> relatedEntitiesMetadata;
   private final Set<MethodMetadata> allMethods;
   private final Map<RelationInfo, MethodMetadata> addToRelationMethods;
@@ -125,6 +129,11 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
    * @param repositoryMetadata
    * @param finders list of finders added to current entity
    * @param findAllGlobalSearchMethod MethodMetadata with findAllGlobalSearch method
+   * @param findAllByIdsInGlobalSearchMethod
+   * @param findAllAfterGlobalSearchMethod MethodMetadata with the keyset
+   *            pagination findAllAfter method. Can be null.
+   * @param streamAllGlobalSearchMethod MethodMetadata with the streamAll
+   *            method
    * @param referencedFieldsFindAllMethods
    * @param countByReferencedFieldsMethods
    * @param customCountMethods
@@ -137,6 +146,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
       RepositoryJpaMetadata repositoryMetadata, final List<MethodMetadata> finders,
       final MethodMetadata findAllGlobalSearchMethod,
       final MethodMetadata findAllByIdsInGlobalSearchMethod,
+      final MethodMetadata findAllAfterGlobalSearchMethod,
+      final MethodMetadata streamAllGlobalSearchMethod,
       final Map<FieldMetadata, MethodMetadata> referencedFieldsFindAllMethods,
       final Map<FieldMetadata, MethodMetadata> countByReferencedFieldsMethods,
       final List<MethodMetadata> customCountMethods,
@@ -157,6 +168,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
     this.finders = finders;
     this.findAllGlobalSearchMethod = findAllGlobalSearchMethod;
     this.findAllByIdsInGlobalSearchMethod = findAllByIdsInGlobalSearchMethod;
+    this.findAllAfterGlobalSearchMethod = findAllAfterGlobalSearchMethod;
+    this.streamAllGlobalSearchMethod = streamAllGlobalSearchMethod;
     this.repositoryFindersAndCounts = repositoryFindersAndCounts;
     this.repositoryCustomFindersAndCounts = repositoryCustomFindersAndCounts;
 
@@ -224,6 +237,8 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
       this.countMethod = null;
       this.findAllWithGlobalSearchMethod = null;
       this.findAllByIdsInWithGlobalSearchMethod = null;
+      this.findAllAfterWithGlobalSearchMethod = null;
+      this.streamAllWithGlobalSearchMethod = null;
 
     } else {
       // Add standard finders methods
@@ -244,6 +259,25 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
       this.findAllByIdsInWithGlobalSearchMethod = getFindAllByIdsInGlobalSearchMethod();
       notTransactionalDefinedMethod.add(findAllByIdsInWithGlobalSearchMethod);
       ensureGovernorHasMethod(new MethodMetadataBuilder(findAllByIdsInWithGlobalSearchMethod));
+
+      // Generating findAllAfter method if repository uses keyset pagination
+      if (findAllAfterGlobalSearchMethod != null) {
+        this.findAllAfterWithGlobalSearchMethod =
+            getDelegateMethod(this.findAllAfterGlobalSearchMethod);
+        notTransactionalDefinedMethod.add(findAllAfterWithGlobalSearchMethod);
+        ensureGovernorHasMethod(new MethodMetadataBuilder(findAllAfterWithGlobalSearchMethod));
+      } else {
+        this.findAllAfterWithGlobalSearchMethod = null;
+      }
+
+      // Generating streamAll method
+      if (streamAllGlobalSearchMethod != null) {
+        this.streamAllWithGlobalSearchMethod = getDelegateMethod(this.streamAllGlobalSearchMethod);
+        notTransactionalDefinedMethod.add(streamAllWithGlobalSearchMethod);
+        ensureGovernorHasMethod(new MethodMetadataBuilder(streamAllWithGlobalSearchMethod));
+      } else {
+        this.streamAllWithGlobalSearchMethod = null;
+      }
     }
 
     // Add relation management methods
@@ -578,6 +612,39 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
     // instance
   }
 
+  /**
+   * Method that generates a service method with the same signature as the
+   * provided repository method.
+   *
+   * @param repositoryMethod
+   * @return MethodMetadata
+   */
+  private MethodMetadata getDelegateMethod(MethodMetadata repositoryMethod) {
+    // Define method name
+    JavaSymbolName methodName = repositoryMethod.getMethodName();
+
+    // Define method parameter types
+    List<AnnotatedJavaType> parameterTypes = repositoryMethod.getParameterTypes();
+
+    // Define method parameter names
+    List<JavaSymbolName> parameterNames = repositoryMethod.getParameterNames();
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    // Use the MethodMetadataBuilder for easy creation of MethodMetadata
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC + Modifier.ABSTRACT, methodName,
+            repositoryMethod.getReturnType(), parameterTypes, parameterNames, null);
+
+    return methodBuilder.build(); // Build and return a MethodMetadata
+    // instance
+  }
+
   /**
    * Method that generates method "findAll" method.
    *
@@ -1154,6 +1221,22 @@ public class ServiceMetadata extends AbstractItdTypeDetailsProvidingMetadataItem
     return this.findAllWithGlobalSearchMethod;
   }
 
+  /**
+   * @return method findAllAfter(GlobalSearch, cursor, size) implemented in
+   *         service, or null if its repository doesn't use keyset pagination
+   */
+  public MethodMetadata getCurrentFindAllAfterWithGlobalSearchMethod() {
+    return this.findAllAfterWithGlobalSearchMethod;
+  }
+
+  /**
+   * @return method streamAll(GlobalSearch, Sort) implemented in service, or
+   *         null if not available
+   */
+  public MethodMetadata getCurrentStreamAllWithGlobalSearchMethod() {
+    return this.streamAllWithGlobalSearchMethod;
+  }
+
   /**
    * @return method findAllByIdsIn(List<?> ids, GlobalSearch, Pageable) implemented in service
    */
@@ -304,6 +304,8 @@ public class ServiceMetadataProviderImpl extends AbstractMemberDiscoveringItdMet
         governorPhysicalTypeMetadata, entity, identifierType, entityMetadata, repositoryMetadata,
         finders, repositoryCustomMetadata.getCurrentFindAllGlobalSearchMethod(),
         repositoryCustomMetadata.getCurrentFindAllByIdsInGlobalSearchMethod(),
+        repositoryCustomMetadata.getCurrentFindAllAfterGlobalSearchMethod(),
+        repositoryCustomMetadata.getCurrentStreamAllGlobalSearchMethod(),
         repositoryCustomMetadata.getReferencedFieldsFindAllMethods(),
         countByReferencedFieldMethods, countMethods, relatedEntities, repositoryFindersAndCounts,
         repositoryCustomFindersAndCounts);
@@ -0,0 +1,95 @@
+package org.springframework.roo.addon.layers.service.addon;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata;
+import org.springframework.roo.addon.jpa.addon.entity.JpaEntityMetadata.RelationInfo;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.details.FieldMetadata;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
+import org.springframework.roo.model.JpaJavaType;
+import org.springframework.roo.model.RooJavaType;
+
+/**
+ * Unit test of {@link ServiceImplMetadataProviderImpl}
+ *
+ * @since 2.0
+ */
+public class ServiceImplMetadataProviderImplTest {
+
+  private ClassOrInterfaceTypeDetails entityDetails;
+
+  private JpaEntityMetadata entityMetadata;
+
+  private List<Pair<FieldMetadata, RelationInfo>> childRelationsInfo;
+
+  @Before
+  public void setUp() {
+    entityDetails = mock(ClassOrInterfaceTypeDetails.class);
+    entityMetadata = mock(JpaEntityMetadata.class);
+    when(entityMetadata.getRelationInfos()).thenReturn(
+        Collections.<String, RelationInfo>emptyMap());
+    when(entityMetadata.getFullTextFields()).thenReturn(Collections.<FieldMetadata>emptyList());
+    childRelationsInfo = Collections.emptyList();
+  }
+
+  @Test
+  public void testBulkDeleteAllowedForPlainEntity() {
+    assertTrue(ServiceImplMetadataProviderImpl.isBulkDeleteAllowed(entityDetails,
+        entityMetadata, childRelationsInfo));
+  }
+
+  @Test
+  public void testBulkDeleteNotAllowedForParentOfRelation() {
+    when(entityMetadata.getRelationInfos()).thenReturn(
+        Collections.singletonMap("orders", mock(RelationInfo.class)));
+
+    assertFalse(ServiceImplMetadataProviderImpl.isBulkDeleteAllowed(entityDetails,
+        entityMetadata, childRelationsInfo));
+  }
+
+  @Test
+  public void testBulkDeleteNotAllowedForChildOfRelation() {
+    childRelationsInfo =
+        Collections.singletonList(Pair.of(mock(FieldMetadata.class), mock(RelationInfo.class)));
+
+    assertFalse(ServiceImplMetadataProviderImpl.isBulkDeleteAllowed(entityDetails,
+        entityMetadata, childRelationsInfo));
+  }
+
+  @Test
+  public void testBulkDeleteNotAllowedForAuditedEntity() {
+    when(entityDetails.getAnnotation(RooJavaType.ROO_JPA_AUDIT)).thenReturn(
+        mock(AnnotationMetadata.class));
+
+    assertFalse(ServiceImplMetadataProviderImpl.isBulkDeleteAllowed(entityDetails,
+        entityMetadata, childRelationsInfo));
+  }
+
+  @Test
+  public void testBulkDeleteNotAllowedForEntityWithListeners() {
+    when(entityDetails.getAnnotation(JpaJavaType.ENTITY_LISTENERS)).thenReturn(
+        mock(AnnotationMetadata.class));
+
+    assertFalse(ServiceImplMetadataProviderImpl.isBulkDeleteAllowed(entityDetails,
+        entityMetadata, childRelationsInfo));
+  }
+
+  @Test
+  public void testBulkDeleteNotAllowedForIndexedEntity() {
+    when(entityMetadata.getFullTextFields()).thenReturn(
+        Collections.singletonList(mock(FieldMetadata.class)));
+
+    assertFalse(ServiceImplMetadataProviderImpl.isBulkDeleteAllowed(entityDetails,
+        entityMetadata, childRelationsInfo));
+  }
+}
@@ -28,4 +28,20 @@ public @interface RooServiceImpl {
    */
   Class<?> service();
 
+  /**
+   * Returns the name of the cache used by the cached methods of the service.
+   * 
+   * @return the cache name, or empty if the service isn't cached
+   */
+  String cacheName() default "";
+
+  /**
+   * Returns the names of the service methods which use the cache: "findOne"
+   * stores the found entities in the cache, while "save" and "delete" evict
+   * the modified entities from it.
+   * 
+   * @return the cached method names
+   */
+  String[] cachedMethods() default {};
+
 }
@@ -157,6 +157,55 @@ public class SecurityCommands implements CommandMarker {
 
   }
 
+  @CliAvailabilityIndicator("security performance")
+  public boolean isSecurityPerformanceAvailable() {
+    return projectOperations.isFeatureInstalled(FeatureNames.SECURITY);
+  }
+
+  @CliOptionVisibilityIndicator(command = "security performance", params = {"module"},
+      help = "Module parameter is not available if there is only one application module")
+  public boolean isModuleVisibleForPerformance(ShellContext shellContext) {
+    return isModuleVisible(shellContext);
+  }
+
+  @CliOptionMandatoryIndicator(params = "module", command = "security performance")
+  public boolean isModuleRequiredForPerformance(ShellContext shellContext) {
+    return isModuleRequired(shellContext);
+  }
+
+  @CliCommand(
+      value = "security performance",
+      help = "Reduces the cost of the authentication and authorization checks. The users loaded during "
+          + "the authentication are cached, the security expressions are compiled, the "
+          + "`@PostFilter` expressions which don't depend on the filtered elements are evaluated "
+          + "once per call and the repository queries can filter by the authenticated user. "
+          + "Requires the cache support installed by 'cache setup'.")
+  public void installSecurityPerformance(
+      @CliOption(
+          key = "module",
+          mandatory = true,
+          help = "The application module where the security support is installed. "
+              + "This option is mandatory if the focus is not set in an application module, that is, a "
+              + "module containing an `@SpringBootApplication` class. "
+              + "This option is available only if there are more than one application module and none of"
+              + " them is focused. "
+              + "Default if option not present: the unique 'application' module, or focused 'application'"
+              + " module.", unspecifiedDefaultValue = ".",
+          optionContext = APPLICATION_FEATURE_INCLUDE_CURRENT_MODULE) Pom module,
+      @CliOption(key = "userCacheName", mandatory = false, unspecifiedDefaultValue = "users",
+          help = "The name of the cache where the users loaded during the authentication are kept. "
+              + "Default if option not present: 'users'.") String userCacheName,
+      @CliOption(key = "userCacheTimeToLive", mandatory = false, unspecifiedDefaultValue = "300",
+          help = "The seconds a user is kept in the cache, so the changes of its roles and "
+              + "credentials are applied after this time. "
+              + "Default if option not present: '300'.") Integer userCacheTimeToLive,
+      ShellContext shellContext) {
+
+    securityOperations.installSecurityPerformance(module, userCacheName, userCacheTimeToLive,
+        shellContext.getProfile());
+
+  }
+
   @CliAvailabilityIndicator("security authorize")
   public boolean isAuthorizeOperationAvailable() {
     return projectOperations.isFeatureInstalled(FeatureNames.SECURITY);
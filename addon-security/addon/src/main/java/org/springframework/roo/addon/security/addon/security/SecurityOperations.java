@@ -85,4 +85,22 @@ public interface SecurityOperations extends Feature {
    */
   void generateAuthorizeAnnotations(JavaType klass, String methodName, String roles,
       String usernames);
+
+  /**
+   * Defines installSecurityPerformance operation that will be used by
+   * implementations to reduce the cost of the authentication and
+   * authorization checks: caching the users loaded during the authentication,
+   * compiling the security expressions, evaluating the filters which don't
+   * depend on the filtered elements once and allowing the repository queries
+   * to filter by the authenticated user.
+   *
+   * @param module Pom of the application module where Spring Security is installed
+   * @param userCacheName name of the cache of the users. It requires the cache
+   *            support installed by 'cache setup', and is declared in the
+   *            Ehcache configuration file when Ehcache is the provider
+   * @param userCacheTimeToLive seconds a user is kept in the cache
+   * @param profile the profile where the cache properties will be included
+   */
+  void installSecurityPerformance(Pom module, String userCacheName, Integer userCacheTimeToLive,
+      String profile);
 }
@@ -1,5 +1,6 @@
 package org.springframework.roo.addon.security.addon.security;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
@@ -8,10 +9,12 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.cache.CacheOperations;
 import org.springframework.roo.addon.pushin.PushInOperations;
 import org.springframework.roo.addon.security.addon.security.providers.SecurityProvider;
 import org.springframework.roo.addon.security.annotations.RooSecurityAuthorization;
 import org.springframework.roo.addon.security.annotations.RooSecurityFilter;
+import org.springframework.roo.application.config.ApplicationConfigService;
 import org.springframework.roo.classpath.TypeLocationService;
 import org.springframework.roo.classpath.TypeManagementService;
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
@@ -28,12 +31,20 @@ import org.springframework.roo.classpath.details.annotations.StringAttributeValu
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
+import org.springframework.roo.model.SpringJavaType;
+import org.springframework.roo.process.manager.FileManager;
+import org.springframework.roo.project.DependencyScope;
+import org.springframework.roo.project.DependencyType;
+import org.springframework.roo.project.Path;
 import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.util.FileUtils;
 import org.springframework.roo.project.Dependency;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -58,6 +69,16 @@ public class SecurityOperationsImpl implements SecurityOperations {
   private static final Dependency SPRING_SECURITY_CORE = new Dependency(
       "org.springframework.security", "spring-security-core", null);
 
+  private static final Dependency SPRING_SECURITY_DATA = new Dependency(
+      "org.springframework.security", "spring-security-data", null);
+
+  private static final Dependency SPRING_BOOT_STARTER_TEST = new Dependency(
+      "org.springframework.boot", "spring-boot-starter-test", null, DependencyType.JAR,
+      DependencyScope.TEST);
+
+  private static final String SECURITY_PERFORMANCE_CONFIGURATION =
+      "SecurityPerformanceConfiguration";
+
   // ------------ OSGi component attributes ----------------
   private BundleContext context;
 
@@ -66,6 +87,9 @@ public class SecurityOperationsImpl implements SecurityOperations {
   private TypeLocationService typeLocationService;
   private TypeManagementService typeManagementService;
   private PushInOperations pushInOperations;
+  private FileManager fileManager;
+  private ApplicationConfigService applicationConfigService;
+  private CacheOperations cacheOperations;
 
   private List<SecurityProvider> securityProviders = new ArrayList<SecurityProvider>();
 
@@ -507,6 +531,72 @@ public class SecurityOperationsImpl implements SecurityOperations {
     return value.trim();
   }
 
+  @Override
+  public void installSecurityPerformance(Pom module, String userCacheName,
+      Integer userCacheTimeToLive, String profile) {
+
+    Validate.notNull(module, "ERROR: You must provide a valid module.");
+    Validate.isTrue(isInstalledInModule(module.getModuleName()),
+        "ERROR: Spring Security is not installed in module '%s'. Use 'security setup' first.",
+        module.getModuleName());
+
+    // The users are cached using the cache manager of the cache support
+    Validate.isTrue(
+        !getTypeLocationService().findTypesWithAnnotation(SpringJavaType.ENABLE_CACHING).isEmpty(),
+        "ERROR: The cache of the users requires the cache support. Use 'cache setup' first.");
+
+    // Spring Data extension to use the authenticated user in the queries
+    getProjectOperations().addDependency(module.getModuleName(), SPRING_SECURITY_DATA);
+
+    // Include the cache properties
+    getApplicationConfigService().addProperty(module.getModuleName(), "security.user-cache.name",
+        userCacheName, profile, true);
+    getApplicationConfigService().addProperty(module.getModuleName(),
+        "security.user-cache.time-to-live", userCacheTimeToLive.toString(), profile, true);
+
+    // Ehcache only provides the caches declared in its configuration file
+    getCacheOperations().declareEhCacheCache(module.getModuleName(), userCacheName,
+        userCacheTimeToLive);
+
+    // Generate the configuration class and its test, if not exist
+    final String packageName =
+        getTypeLocationService().getTopLevelPackageForModule(module).concat(".config");
+    createClassFromTemplate(module.getModuleName(), packageName,
+        SECURITY_PERFORMANCE_CONFIGURATION, Path.SRC_MAIN_JAVA);
+    createClassFromTemplate(module.getModuleName(), packageName,
+        SECURITY_PERFORMANCE_CONFIGURATION.concat("Test"), Path.SRC_TEST_JAVA);
+    getProjectOperations().addDependency(module.getModuleName(), SPRING_BOOT_STARTER_TEST);
+  }
+
+  /**
+   * Creates a class from its template, if not exists.
+   * 
+   * @param moduleName the module of the class
+   * @param packageName the package of the class
+   * @param className the name of the class and its template
+   * @param path the source path of the class
+   */
+  private void createClassFromTemplate(String moduleName, String packageName, String className,
+      Path path) {
+    final JavaType type =
+        new JavaType(String.format("%s.%s", packageName, className), moduleName);
+    final String identifier = getPathResolver().getCanonicalPath(moduleName, path, type);
+    if (getFileManager().exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), className.concat("-template._java"));
+      String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      getFileManager().createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+
   @Override
   public List<SecurityProvider> getAllSecurityProviders() {
     if (securityProviders.isEmpty()) {
@@ -623,6 +713,75 @@ public class SecurityOperationsImpl implements SecurityOperations {
     }
   }
 
+  public FileManager getFileManager() {
+    if (fileManager == null) {
+      // Get all Services implement FileManager interface
+      try {
+        ServiceReference<?>[] references =
+            this.context.getAllServiceReferences(FileManager.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          fileManager = (FileManager) this.context.getService(ref);
+          return fileManager;
+        }
+
+        return null;
+
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load FileManager on SecurityOperationsImpl.");
+        return null;
+      }
+    } else {
+      return fileManager;
+    }
+  }
+
+  public CacheOperations getCacheOperations() {
+    if (cacheOperations == null) {
+      // Get all Services implement CacheOperations interface
+      try {
+        ServiceReference<?>[] references =
+            this.context.getAllServiceReferences(CacheOperations.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          cacheOperations = (CacheOperations) this.context.getService(ref);
+          return cacheOperations;
+        }
+
+        return null;
+
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load CacheOperations on SecurityOperationsImpl.");
+        return null;
+      }
+    } else {
+      return cacheOperations;
+    }
+  }
+
+  public ApplicationConfigService getApplicationConfigService() {
+    if (applicationConfigService == null) {
+      // Get all Services implement ApplicationConfigService interface
+      try {
+        ServiceReference<?>[] references =
+            this.context.getAllServiceReferences(ApplicationConfigService.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          applicationConfigService = (ApplicationConfigService) this.context.getService(ref);
+          return applicationConfigService;
+        }
+
+        return null;
+
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load ApplicationConfigService on SecurityOperationsImpl.");
+        return null;
+      }
+    } else {
+      return applicationConfigService;
+    }
+  }
+
   public PushInOperations getPushInOperations() {
     if (pushInOperations == null) {
       // Get all Services implement PushInOperations interface
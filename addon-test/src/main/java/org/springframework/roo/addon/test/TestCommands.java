@@ -17,6 +17,8 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.test.providers.BenchmarkCreatorProvider;
+import org.springframework.roo.addon.test.providers.LoadTestCreatorProvider;
 import org.springframework.roo.addon.test.providers.TestCreatorProvider;
 import org.springframework.roo.classpath.ModuleFeatureName;
 import org.springframework.roo.classpath.TypeLocationService;
@@ -64,6 +66,14 @@ public class TestCommands implements CommandMarker {
   // TestCreatorProvider implementations
   private List<TestCreatorProvider> testCreators = new ArrayList<TestCreatorProvider>();
 
+  // LoadTestCreatorProvider implementations
+  private List<LoadTestCreatorProvider> loadTestCreators =
+      new ArrayList<LoadTestCreatorProvider>();
+
+  // BenchmarkCreatorProvider implementations
+  private List<BenchmarkCreatorProvider> benchmarkCreators =
+      new ArrayList<BenchmarkCreatorProvider>();
+
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
   }
@@ -169,6 +179,17 @@ public class TestCommands implements CommandMarker {
     return false;
   }
 
+  @CliOptionVisibilityIndicator(command = "test data", params = {"module"},
+      help = "Module parameter is not available if there is only one application module")
+  public boolean isDataModuleVisible(ShellContext shellContext) {
+    return isModuleVisible(shellContext);
+  }
+
+  @CliOptionMandatoryIndicator(command = "test data", params = {"module"})
+  public boolean isDataModuleRequired(ShellContext shellContext) {
+    return isModuleRequired(shellContext);
+  }
+
   @CliOptionMandatoryIndicator(command = "test integration", params = {"module"})
   public boolean isModuleRequired(ShellContext shellContext) {
     Pom module = projectOperations.getFocusedModule();
@@ -256,6 +277,209 @@ public class TestCommands implements CommandMarker {
     testOperations.createIntegrationTest(klass, module);
   }
 
+  @CliAvailabilityIndicator({"test data"})
+  public boolean isTestDataCommandAvailable() {
+    return isTestIntegrationCommandAvailable();
+  }
+
+  @CliOptionAutocompleteIndicator(command = "test data", param = "entity",
+      help = "Option `--entity` must "
+          + "be a valid entity. Please, use auto-complete feature to select it.")
+  public List<String> getDataEntities(ShellContext shellContext) {
+
+    // Get current value of entity
+    String currentText = shellContext.getParameters().get("entity");
+
+    // Create results to return
+    List<String> results = new ArrayList<String>();
+
+    // Look for all valid types for all available test creators
+    for (TestCreatorProvider creator : getAllTestCreators()) {
+      if (creator.isIntegrationTestCreationAvailable()) {
+        for (JavaType annotationType : creator.getValidTypes()) {
+
+          // Look for types with this annotation type
+          Set<ClassOrInterfaceTypeDetails> types =
+              typeLocationService.findClassesOrInterfaceDetailsWithAnnotation(annotationType);
+          for (ClassOrInterfaceTypeDetails typeCid : types) {
+            String name = replaceTopLevelPackageString(typeCid.getType(), currentText);
+            if (!results.contains(name) && !typeCid.isAbstract()) {
+              results.add(name);
+            }
+          }
+        }
+      }
+    }
+
+    return results;
+  }
+
+  @CliCommand(value = "test data",
+      help = "Creates a data seeder for the specified entity, which loads a large volume of "
+          + "generated entities in the database for load and soak testing. The seeder is a test "
+          + "class which is only run when the `seed` system property is `true`, using the "
+          + "`seed` profile configuration.")
+  public void newDataSeeder(
+      @CliOption(
+          key = "entity",
+          mandatory = true,
+          optionContext = UPDATE_PROJECT,
+          help = "The name of the entity to load data for. If you consider it necessary, you can "
+              + "also specify the package. Ex.: `--entity ~.domain.MyEntity` (where `~` is the "
+              + "base package). When working with multiple modules, you should specify the name of "
+              + "the entity and the module where it is. Ex.: `--entity model:~.domain.MyEntity`. If "
+              + "the module is not specified, it is assumed that the entity is in the module which "
+              + "has the focus.") final JavaType entity,
+      @CliOption(key = "rows", mandatory = false, unspecifiedDefaultValue = "100000",
+          help = "The default number of entities to load. It can be changed when running the "
+              + "seeder with the `seed.rows` property. "
+              + "Default if option not present: `100000`.") final int rows,
+      @CliOption(key = "batchSize", mandatory = false, unspecifiedDefaultValue = "500",
+          help = "The number of entities inserted in each JDBC batch and transaction. "
+              + "Default if option not present: `500`.") final int batchSize,
+      @CliOption(key = "threads", mandatory = false, unspecifiedDefaultValue = "4",
+          help = "The number of partitions of entities loaded in parallel. "
+              + "Default if option not present: `4`.") final int threads,
+      @CliOption(
+          key = "module",
+          mandatory = true,
+          help = "The application module where generate the data seeder. "
+              + "This option is mandatory if the focus is not set in an 'application' module and there "
+              + "are more than one 'application' modules, that is, a module containing an "
+              + "`@SpringBootApplication` class. "
+              + "This option is available only if there are more than one application module and none of"
+              + " them is focused. "
+              + "Default if option not present: the unique 'application' module, or focused 'application'"
+              + " module.", unspecifiedDefaultValue = ".",
+          optionContext = APPLICATION_FEATURE_INCLUDE_CURRENT_MODULE) Pom module) {
+
+    Validate.isTrue(rows > 0, "Option `--rows` must be greater than 0");
+    Validate.isTrue(batchSize > 0, "Option `--batchSize` must be greater than 0");
+    Validate.isTrue(threads > 0, "Option `--threads` must be greater than 0");
+
+    testOperations.createDataSeeder(entity, rows, batchSize, threads, module);
+  }
+
+  @CliAvailabilityIndicator({"test benchmark"})
+  public boolean isTestBenchmarkCommandAvailable() {
+    for (BenchmarkCreatorProvider provider : getAllBenchmarkCreators()) {
+      if (provider.isBenchmarkCreationAvailable()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @CliOptionVisibilityIndicator(command = "test benchmark", params = {"module"},
+      help = "Module parameter is not available if there is only one application module")
+  public boolean isBenchmarkModuleVisible(ShellContext shellContext) {
+    return isModuleVisible(shellContext);
+  }
+
+  @CliOptionMandatoryIndicator(command = "test benchmark", params = {"module"})
+  public boolean isBenchmarkModuleRequired(ShellContext shellContext) {
+    return isModuleRequired(shellContext);
+  }
+
+  @CliOptionAutocompleteIndicator(command = "test benchmark", param = "entity",
+      help = "Option `--entity` must "
+          + "be a valid entity. Please, use auto-complete feature to select it.")
+  public List<String> getBenchmarkEntities(ShellContext shellContext) {
+    return getDataEntities(shellContext);
+  }
+
+  @CliCommand(value = "test benchmark",
+      help = "Creates JMH micro-benchmarks for the specified entity, which measure its "
+          + "repository queries, service batch saves and JSON (de)serialization against an "
+          + "embedded H2 database. The benchmarks are only run when the `benchmark` system "
+          + "property is `true`.")
+  public void newBenchmark(
+      @CliOption(
+          key = "entity",
+          mandatory = true,
+          optionContext = UPDATE_PROJECT,
+          help = "The name of the entity to create the benchmarks for. If you consider it "
+              + "necessary, you can also specify the package. Ex.: `--entity ~.domain.MyEntity` "
+              + "(where `~` is the base package). When working with multiple modules, you should "
+              + "specify the name of the entity and the module where it is. Ex.: "
+              + "`--entity model:~.domain.MyEntity`. If the module is not specified, it is assumed "
+              + "that the entity is in the module which has the focus.") final JavaType entity,
+      @CliOption(
+          key = "module",
+          mandatory = true,
+          help = "The application module where generate the benchmarks. "
+              + "This option is mandatory if the focus is not set in an 'application' module and there "
+              + "are more than one 'application' modules, that is, a module containing an "
+              + "`@SpringBootApplication` class. "
+              + "This option is available only if there are more than one application module and none of"
+              + " them is focused. "
+              + "Default if option not present: the unique 'application' module, or focused 'application'"
+              + " module.", unspecifiedDefaultValue = ".",
+          optionContext = APPLICATION_FEATURE_INCLUDE_CURRENT_MODULE) Pom module) {
+
+    testOperations.createBenchmark(entity, module);
+  }
+
+  @CliAvailabilityIndicator({"test load"})
+  public boolean isTestLoadCommandAvailable() {
+    for (LoadTestCreatorProvider provider : getAllLoadTestCreators()) {
+      if (provider.isLoadTestCreationAvailable()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @CliOptionVisibilityIndicator(command = "test load", params = {"module"},
+      help = "Module parameter is not available if there is only one application module")
+  public boolean isLoadModuleVisible(ShellContext shellContext) {
+    return isModuleVisible(shellContext);
+  }
+
+  @CliOptionMandatoryIndicator(command = "test load", params = {"module"})
+  public boolean isLoadModuleRequired(ShellContext shellContext) {
+    return isModuleRequired(shellContext);
+  }
+
+  @CliOptionAutocompleteIndicator(command = "test load", param = "entity",
+      help = "Option `--entity` must "
+          + "be a valid entity. Please, use auto-complete feature to select it.")
+  public List<String> getLoadEntities(ShellContext shellContext) {
+    return getDataEntities(shellContext);
+  }
+
+  @CliCommand(value = "test load",
+      help = "Creates HTTP load test scenarios for the JSON and Thymeleaf controllers of the "
+          + "specified entity, which cover its list, show, create and finder endpoints and "
+          + "report the latency percentiles of the responses. The scenarios are only run when "
+          + "the `load` system property is `true`.")
+  public void newLoadTest(
+      @CliOption(
+          key = "entity",
+          mandatory = true,
+          optionContext = UPDATE_PROJECT,
+          help = "The name of the entity whose controllers are load tested. If you consider it "
+              + "necessary, you can also specify the package. Ex.: `--entity ~.domain.MyEntity` "
+              + "(where `~` is the base package). When working with multiple modules, you should "
+              + "specify the name of the entity and the module where it is. Ex.: "
+              + "`--entity model:~.domain.MyEntity`. If the module is not specified, it is assumed "
+              + "that the entity is in the module which has the focus.") final JavaType entity,
+      @CliOption(
+          key = "module",
+          mandatory = true,
+          help = "The application module where generate the load test. "
+              + "This option is mandatory if the focus is not set in an 'application' module and there "
+              + "are more than one 'application' modules, that is, a module containing an "
+              + "`@SpringBootApplication` class. "
+              + "This option is available only if there are more than one application module and none of"
+              + " them is focused. "
+              + "Default if option not present: the unique 'application' module, or focused 'application'"
+              + " module.", unspecifiedDefaultValue = ".",
+          optionContext = APPLICATION_FEATURE_INCLUDE_CURRENT_MODULE) Pom module) {
+
+    testOperations.createLoadTest(entity, module);
+  }
+
   /**
    * Replaces a JavaType fullyQualifiedName for a shorter name using '~' for
    * TopLevelPackage
@@ -378,6 +602,62 @@ public class TestCommands implements CommandMarker {
     return this.testCreators;
   }
 
+  /**
+   * Gets all the implementations of LoadTestCreatorProvider
+   *
+   * @return a `List` with the {@link LoadTestCreatorProvider} 
+   *            implementations. Never `null`.
+   */
+  private List<LoadTestCreatorProvider> getAllLoadTestCreators() {
+
+    // Get all Services implement LoadTestCreatorProvider interface
+    if (this.loadTestCreators.isEmpty()) {
+      try {
+        ServiceReference<?>[] references =
+            this.context.getAllServiceReferences(LoadTestCreatorProvider.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          LoadTestCreatorProvider loadTestCreatorProvider =
+              (LoadTestCreatorProvider) this.context.getService(ref);
+          this.loadTestCreators.add(loadTestCreatorProvider);
+        }
+
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load LoadTestCreatorProvider on TestCommands.");
+      }
+    }
+
+    return this.loadTestCreators;
+  }
+
+  /**
+   * Gets all the implementations of BenchmarkCreatorProvider
+   *
+   * @return a `List` with the {@link BenchmarkCreatorProvider} 
+   *            implementations. Never `null`.
+   */
+  private List<BenchmarkCreatorProvider> getAllBenchmarkCreators() {
+
+    // Get all Services implement BenchmarkCreatorProvider interface
+    if (this.benchmarkCreators.isEmpty()) {
+      try {
+        ServiceReference<?>[] references =
+            this.context.getAllServiceReferences(BenchmarkCreatorProvider.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          BenchmarkCreatorProvider benchmarkCreatorProvider =
+              (BenchmarkCreatorProvider) this.context.getService(ref);
+          this.benchmarkCreators.add(benchmarkCreatorProvider);
+        }
+
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load BenchmarkCreatorProvider on TestCommands.");
+      }
+    }
+
+    return this.benchmarkCreators;
+  }
+
   /**
    * Checks all {@link TestCreatorProvider} implementations looking for any 
    * available for 'test unit' command.
@@ -30,4 +30,39 @@ public interface TestOperations {
    */
   void createIntegrationTest(JavaType type, Pom module);
 
+  /**
+   * Creates a data seeder for the given persistent type, which loads a large 
+   * volume of generated instances for load and soak testing. Automatically 
+   * produces data-on-demand (DoD) if needed.
+   * 
+   * @param type the {@link JavaType} to load data for.
+   * @param rows the default number of instances to load.
+   * @param batchSize the number of instances inserted in each batch.
+   * @param threads the number of partitions loaded in parallel.
+   * @param module the @SpringBootApplication module where the seeder should 
+   *            be created.
+   */
+  void createDataSeeder(JavaType type, int rows, int batchSize, int threads, Pom module);
+
+  /**
+   * Creates the micro-benchmarks for the given type, with the dependencies 
+   * needed to run them with JMH. Automatically produces data-on-demand (DoD) 
+   * if needed.
+   * 
+   * @param type the {@link JavaType} to produce the benchmarks for.
+   * @param module the @SpringBootApplication module where the benchmarks 
+   *            should be created.
+   */
+  void createBenchmark(JavaType type, Pom module);
+
+  /**
+   * Creates the HTTP load test scenarios of the endpoints published for the 
+   * given type. Automatically produces data-on-demand (DoD) if needed.
+   * 
+   * @param type the {@link JavaType} to produce the load test for.
+   * @param module the @SpringBootApplication module where the load test 
+   *            should be created.
+   */
+  void createLoadTest(JavaType type, Pom module);
+
 }
@@ -11,6 +11,10 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.test.providers.BenchmarkCreatorProvider;
+import org.springframework.roo.addon.test.providers.DataOnDemandCreatorProvider;
+import org.springframework.roo.addon.test.providers.DataOnDemandCreatorProviders;
+import org.springframework.roo.addon.test.providers.LoadTestCreatorProvider;
 import org.springframework.roo.addon.test.providers.TestCreatorProvider;
 import org.springframework.roo.classpath.TypeLocationService;
 import org.springframework.roo.model.JavaType;
@@ -48,6 +52,10 @@ public class TestOperationsImpl implements TestOperations {
   private static final Dependency SPRING_BOOT_TEST_DEPENDENCY = new Dependency(
       "org.springframework.boot", "spring-boot-test", null, DependencyType.JAR,
       DependencyScope.TEST);
+  private static final Dependency JMH_CORE_DEPENDENCY = new Dependency("org.openjdk.jmh",
+      "jmh-core", "1.19", DependencyType.JAR, DependencyScope.TEST);
+  private static final Dependency JMH_GENERATOR_DEPENDENCY = new Dependency("org.openjdk.jmh",
+      "jmh-generator-annprocess", "1.19", DependencyType.JAR, DependencyScope.TEST);
 
   private BundleContext context;
 
@@ -59,6 +67,14 @@ public class TestOperationsImpl implements TestOperations {
   // TestCreatorProvider implementations
   private List<TestCreatorProvider> testCreators = new ArrayList<TestCreatorProvider>();
 
+  // BenchmarkCreatorProvider implementations
+  private List<BenchmarkCreatorProvider> benchmarkCreators =
+      new ArrayList<BenchmarkCreatorProvider>();
+
+  // LoadTestCreatorProvider implementations
+  private List<LoadTestCreatorProvider> loadTestCreators =
+      new ArrayList<LoadTestCreatorProvider>();
+
   protected void activate(final ComponentContext cContext) {
     this.context = cContext.getBundleContext();
   }
@@ -123,6 +139,88 @@ public class TestOperationsImpl implements TestOperations {
     }
   }
 
+  @Override
+  public void createDataSeeder(JavaType type, int rows, int batchSize, int threads, Pom module) {
+
+    // Check if specified type exists in the project
+    String physicalTypeIdentifier = typeLocationService.getPhysicalTypeIdentifier(type);
+    if (physicalTypeIdentifier == null) {
+      throw new IllegalArgumentException(String.format(
+          "The class '%s' doesn't exists in the project. Please, specify an existing class", type));
+    }
+
+    List<DataOnDemandCreatorProvider> validDodCreators =
+        DataOnDemandCreatorProviders.getValidProvidersForType(this.context, type);
+    if (validDodCreators.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Unable to find a valid data on demand creator for this type of class. "
+              + "Please, select another type of class to load data for, such as an entity.");
+    }
+
+    // The seeder is run as a Spring Boot test
+    addUnitTestDependencies(module.getModuleName());
+    projectOperations.addDependency(module.getModuleName(), SPRING_BOOT_TEST_DEPENDENCY);
+
+    for (DataOnDemandCreatorProvider dodCreator : validDodCreators) {
+      dodCreator.createDataSeeder(type, rows, batchSize, threads, module.getModuleName());
+    }
+  }
+
+  @Override
+  public void createBenchmark(JavaType type, Pom module) {
+
+    // Check if specified type exists in the project
+    String physicalTypeIdentifier = typeLocationService.getPhysicalTypeIdentifier(type);
+    if (physicalTypeIdentifier == null) {
+      throw new IllegalArgumentException(String.format(
+          "The class '%s' doesn't exists in the project. Please, specify an existing class", type));
+    }
+
+    List<BenchmarkCreatorProvider> validBenchmarkCreators =
+        getValidBenchmarkCreatorsForType(type);
+    if (validBenchmarkCreators.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Unable to find a valid benchmark creator for this type of class. "
+              + "Please, select another type of class to generate the benchmarks, such as an entity.");
+    }
+
+    // The benchmarks are launched from a JUnit test
+    addUnitTestDependencies(module.getModuleName());
+    projectOperations.addDependency(module.getModuleName(), SPRING_BOOT_TEST_DEPENDENCY);
+    projectOperations.addDependency(module.getModuleName(), JMH_CORE_DEPENDENCY);
+    projectOperations.addDependency(module.getModuleName(), JMH_GENERATOR_DEPENDENCY);
+
+    for (BenchmarkCreatorProvider creator : validBenchmarkCreators) {
+      creator.createBenchmark(type, module);
+    }
+  }
+
+  @Override
+  public void createLoadTest(JavaType type, Pom module) {
+
+    // Check if specified type exists in the project
+    String physicalTypeIdentifier = typeLocationService.getPhysicalTypeIdentifier(type);
+    if (physicalTypeIdentifier == null) {
+      throw new IllegalArgumentException(String.format(
+          "The class '%s' doesn't exists in the project. Please, specify an existing class", type));
+    }
+
+    List<LoadTestCreatorProvider> validLoadTestCreators = getValidLoadTestCreatorsForType(type);
+    if (validLoadTestCreators.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Unable to find a valid load test creator for this type of class. "
+              + "Please, select another type of class to generate the load test, such as an entity.");
+    }
+
+    // The load test is run as a Spring Boot test
+    addUnitTestDependencies(module.getModuleName());
+    projectOperations.addDependency(module.getModuleName(), SPRING_BOOT_TEST_DEPENDENCY);
+
+    for (LoadTestCreatorProvider creator : validLoadTestCreators) {
+      creator.createLoadTest(type, module);
+    }
+  }
+
   /**
    * Add needed dependencies and plugins to run created integration tests.
    * 
@@ -207,4 +305,82 @@ public class TestOperationsImpl implements TestOperations {
     return validTestCreators;
   }
 
+  /**
+   * Gets all the valid implementations of LoadTestCreatorProvider for a 
+   * JavaType.
+   *
+   * @param type the JavaType to get the valid implementations.
+   * @return a `List` with the {@link LoadTestCreatorProvider} valid 
+   *            implementations. Never `null`.
+   */
+  private List<LoadTestCreatorProvider> getValidLoadTestCreatorsForType(JavaType type) {
+
+    // Get all Services implement LoadTestCreatorProvider interface
+    if (this.loadTestCreators.isEmpty()) {
+      try {
+        ServiceReference<?>[] references =
+            this.context.getAllServiceReferences(LoadTestCreatorProvider.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          LoadTestCreatorProvider loadTestCreatorProvider =
+              (LoadTestCreatorProvider) this.context.getService(ref);
+          this.loadTestCreators.add(loadTestCreatorProvider);
+        }
+
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load LoadTestCreatorProvider on TestOperationsImpl.");
+        return new ArrayList<LoadTestCreatorProvider>();
+      }
+    }
+
+    List<LoadTestCreatorProvider> validLoadTestCreators =
+        new ArrayList<LoadTestCreatorProvider>();
+    for (LoadTestCreatorProvider provider : this.loadTestCreators) {
+      if (provider.isValid(type)) {
+        validLoadTestCreators.add(provider);
+      }
+    }
+
+    return validLoadTestCreators;
+  }
+
+  /**
+   * Gets all the valid implementations of BenchmarkCreatorProvider for a 
+   * JavaType.
+   *
+   * @param type the JavaType to get the valid implementations.
+   * @return a `List` with the {@link BenchmarkCreatorProvider} valid 
+   *            implementations. Never `null`.
+   */
+  private List<BenchmarkCreatorProvider> getValidBenchmarkCreatorsForType(JavaType type) {
+
+    // Get all Services implement BenchmarkCreatorProvider interface
+    if (this.benchmarkCreators.isEmpty()) {
+      try {
+        ServiceReference<?>[] references =
+            this.context.getAllServiceReferences(BenchmarkCreatorProvider.class.getName(), null);
+
+        for (ServiceReference<?> ref : references) {
+          BenchmarkCreatorProvider benchmarkCreatorProvider =
+              (BenchmarkCreatorProvider) this.context.getService(ref);
+          this.benchmarkCreators.add(benchmarkCreatorProvider);
+        }
+
+      } catch (InvalidSyntaxException e) {
+        LOGGER.warning("Cannot load BenchmarkCreatorProvider on TestOperationsImpl.");
+        return new ArrayList<BenchmarkCreatorProvider>();
+      }
+    }
+
+    List<BenchmarkCreatorProvider> validBenchmarkCreators =
+        new ArrayList<BenchmarkCreatorProvider>();
+    for (BenchmarkCreatorProvider provider : this.benchmarkCreators) {
+      if (provider.isValid(type)) {
+        validBenchmarkCreators.add(provider);
+      }
+    }
+
+    return validBenchmarkCreators;
+  }
+
 }
@@ -0,0 +1,40 @@
+package org.springframework.roo.addon.test.providers;
+
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.project.maven.Pom;
+
+/**
+ * Provides a micro-benchmark creation API which can be implemented by each
+ * add-on that knows how to measure the performance of its generated code.
+ *
+ * @since 2.0
+ */
+public interface BenchmarkCreatorProvider {
+
+  /**
+   * Whether an implementation of this interface is valid for the class type
+   * which the benchmarks are going to be created for.
+   *
+   * @return `true` if the implementation is valid, `false` otherwise.
+   */
+  boolean isValid(JavaType javaType);
+
+  /**
+   * Check if 'test benchmark' command is available.
+   *
+   * @return `true` if 'test benchmark' command is available, `false`
+   *            otherwise.
+   */
+  boolean isBenchmarkCreationAvailable();
+
+  /**
+   * Creates the micro-benchmarks for the given type, with all the needed
+   * setup to run them. Silently returns if the benchmarks already exist.
+   *
+   * @param type the {@link JavaType} to produce the benchmarks for.
+   * @param module the @SpringBootApplication module where the benchmarks
+   *            should be created.
+   */
+  void createBenchmark(JavaType type, Pom module);
+
+}
@@ -56,6 +56,23 @@ public interface DataOnDemandCreatorProvider {
    */
   JavaType createEntityFactory(JavaType persistentType);
 
+  /**
+   * Creates a data seeder class for a persistent class, which loads a large 
+   * volume of generated instances for load and soak testing. The 
+   * data-on-demand class of the persistent type is created if needed.
+   * 
+   * @param persistentType the {@link JavaType} to produce a data seeder for.
+   * @param rows the default number of instances to load.
+   * @param batchSize the number of instances inserted in each JDBC batch and 
+   *            transaction.
+   * @param threads the number of partitions loaded in parallel.
+   * @param moduleName the application module where the seeder is created.
+   * @return {@link JavaType} the data seeder class created for the provided 
+   *            persistent type.
+   */
+  JavaType createDataSeeder(JavaType persistentType, int rows, int batchSize, int threads,
+      String moduleName);
+
   /**
    * Seeks the project for the data-on-demand class for the provided persistent 
    * type and retrieves it if exists.
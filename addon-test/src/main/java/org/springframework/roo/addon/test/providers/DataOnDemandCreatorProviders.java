@@ -0,0 +1,62 @@
+package org.springframework.roo.addon.test.providers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang3.Validate;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.support.logging.HandlerUtils;
+
+/**
+ * Looks up the {@link DataOnDemandCreatorProvider} implementations
+ * registered in the OSGi container, for the creators of test classes which
+ * need the data on demand of an entity.
+ *
+ * @since 2.0
+ */
+public final class DataOnDemandCreatorProviders {
+
+  private static final Logger LOGGER = HandlerUtils.getLogger(DataOnDemandCreatorProviders.class);
+
+  /**
+   * Gets all the valid implementations of DataOnDemandCreatorProvider for a
+   * JavaType.
+   *
+   * @param context the bundle context used to look up the implementations
+   * @param type the JavaType to get the valid implementations.
+   * @return a `List` with the {@link DataOnDemandCreatorProvider} valid
+   *            implementations. Never `null`.
+   */
+  public static List<DataOnDemandCreatorProvider> getValidProvidersForType(
+      final BundleContext context, final JavaType type) {
+    Validate.notNull(context, "Bundle context required");
+    final List<DataOnDemandCreatorProvider> validDoDCreators =
+        new ArrayList<DataOnDemandCreatorProvider>();
+    try {
+      final ServiceReference<?>[] references =
+          context.getAllServiceReferences(DataOnDemandCreatorProvider.class.getName(), null);
+      if (references == null) {
+        return validDoDCreators;
+      }
+      for (ServiceReference<?> ref : references) {
+        final DataOnDemandCreatorProvider provider =
+            (DataOnDemandCreatorProvider) context.getService(ref);
+        if (provider.isValid(type)) {
+          validDoDCreators.add(provider);
+        }
+      }
+    } catch (InvalidSyntaxException e) {
+      LOGGER.warning("Cannot load DataOnDemandCreatorProvider implementations.");
+    }
+    return validDoDCreators;
+  }
+
+  /**
+   * Constructor is private to prevent instantiation
+   */
+  private DataOnDemandCreatorProviders() {}
+}
@@ -0,0 +1,39 @@
+package org.springframework.roo.addon.test.providers;
+
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.project.maven.Pom;
+
+/**
+ * Provides an HTTP load test creation API which can be implemented by each
+ * add-on that generates web endpoints.
+ *
+ * @since 2.0
+ */
+public interface LoadTestCreatorProvider {
+
+  /**
+   * Whether an implementation of this interface is valid for the class type
+   * which the load test is going to be created for.
+   *
+   * @return `true` if the implementation is valid, `false` otherwise.
+   */
+  boolean isValid(JavaType javaType);
+
+  /**
+   * Check if 'test load' command is available.
+   *
+   * @return `true` if 'test load' command is available, `false` otherwise.
+   */
+  boolean isLoadTestCreationAvailable();
+
+  /**
+   * Creates the HTTP load test scenarios of the endpoints published for the
+   * given type. Silently returns if the load test already exists.
+   *
+   * @param type the {@link JavaType} to produce the load test for.
+   * @param module the @SpringBootApplication module where the load test
+   *            should be created.
+   */
+  void createLoadTest(JavaType type, Pom module);
+
+}
@@ -30,6 +30,9 @@ public class ControllerAnnotationValues extends AbstractAnnotationValues {
   @AutoPopulate
   private ControllerType type;
 
+  @AutoPopulate
+  private boolean httpCaching;
+
 
   public ControllerAnnotationValues(final PhysicalTypeMetadata governorPhysicalTypeMetadata) {
     super(governorPhysicalTypeMetadata, RooJavaType.ROO_CONTROLLER);
@@ -57,5 +60,10 @@ public class ControllerAnnotationValues extends AbstractAnnotationValues {
   }
 
 
+  public boolean isHttpCaching() {
+    return httpCaching;
+  }
+
+
 
 }
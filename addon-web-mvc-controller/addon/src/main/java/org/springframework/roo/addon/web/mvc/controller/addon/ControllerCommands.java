@@ -207,18 +207,19 @@ public class ControllerCommands implements CommandMarker {
   }
 
   /**
-   * This indicator says if --package, --pathPrefix and --responseType
-   * parameters should be visible or not
+   * This indicator says if --package, --pathPrefix, --responseType and
+   * --httpCaching parameters should be visible or not
    *
    * If --all or --entity parameters have not been specified, --package,
-   * --pathPrefix and --responseType parameters will not be visible.
+   * --pathPrefix, --responseType and --httpCaching parameters will not be
+   * visible.
    *
    * @return
    */
   @CliOptionVisibilityIndicator(
-      params = {"package", "pathPrefix", "responseType"},
+      params = {"package", "pathPrefix", "responseType", "httpCaching"},
       command = "web mvc controller",
-      help = "--package, --pathPrefix and --responseType parameters are not visible if --all parameter or --entity parameter has not been specified before.")
+      help = "--package, --pathPrefix, --responseType and --httpCaching parameters are not visible if --all parameter or --entity parameter has not been specified before.")
   public boolean areParametersVisibles(ShellContext context) {
     if (context.getParameters().containsKey("all") || context.getParameters().containsKey("entity")) {
       return true;
@@ -316,6 +317,7 @@ public class ControllerCommands implements CommandMarker {
    * @param responseType
    * @param package
    * @param pathPrefix
+   * @param httpCaching
    */
   @CliCommand(
       value = "web mvc controller",
@@ -373,7 +375,18 @@ public class ControllerCommands implements CommandMarker {
           unspecifiedDefaultValue = "",
           help = "Indicates `@RequestMapping` prefix to be used on this controller. It is not necessary "
               + "to specify '/' as Spring Roo shell will include it automatically. "
-              + "This option is available only if `--all` or `--entity` option has been specified.") String pathPrefix) {
+              + "This option is available only if `--all` or `--entity` option has been specified.") String pathPrefix,
+      @CliOption(
+          key = "httpCaching",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Indicates if generated controllers should support conditional GET requests. Show "
+              + "endpoints will include an ETag based on the entity `@Version` field and list "
+              + "endpoints will be wrapped by a shallow ETag filter, so unchanged resources are "
+              + "answered with a 304 (Not Modified) response. "
+              + "This option is available only if `--all` or `--entity` option has been specified. "
+              + "Default if option present: `true`; default if option not present: `false`.") boolean httpCaching) {
 
     // Getting --responseType service
     Map<String, ControllerMVCResponseService> responseTypeServices =
@@ -393,10 +406,10 @@ public class ControllerCommands implements CommandMarker {
     // Check --all parameter
     if (all) {
       getControllerOperations().createOrUpdateControllerForAllEntities(
-          responseTypeServices.get(responseType), controllersPackage, pathPrefix);
+          responseTypeServices.get(responseType), controllersPackage, pathPrefix, httpCaching);
     } else {
       getControllerOperations().createOrUpdateControllerForEntity(entity,
-          responseTypeServices.get(responseType), controllersPackage, pathPrefix);
+          responseTypeServices.get(responseType), controllersPackage, pathPrefix, httpCaching);
     }
   }
 
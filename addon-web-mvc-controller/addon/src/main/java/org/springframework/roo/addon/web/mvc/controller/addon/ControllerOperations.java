@@ -76,9 +76,11 @@ public interface ControllerOperations extends Feature {
    *            Package where is situated the controller
    * @param pathPrefix
    *            Prefix to use in RequestMapping
+   * @param httpCaching
+   *            Indicates if controllers should support conditional GET
    */
   void createOrUpdateControllerForAllEntities(ControllerMVCResponseService responseType,
-      JavaPackage controllerPackage, String pathPrefix);
+      JavaPackage controllerPackage, String pathPrefix, boolean httpCaching);
 
   /**
    * This operation will generate or update a controller for a specified
@@ -92,9 +94,12 @@ public interface ControllerOperations extends Feature {
    *            Package where is situated the controller
    * @param pathPrefix
    *            Prefix to use in RequestMapping
+   * @param httpCaching
+   *            Indicates if controllers should support conditional GET
    */
   void createOrUpdateControllerForEntity(JavaType entity,
-      ControllerMVCResponseService responseType, JavaPackage controllerPackage, String pathPrefix);
+      ControllerMVCResponseService responseType, JavaPackage controllerPackage, String pathPrefix,
+      boolean httpCaching);
 
   /**
    * This operation will generate or update a first level detail controller
@@ -2,6 +2,8 @@ package org.springframework.roo.addon.web.mvc.controller.addon;
 
 import static java.lang.reflect.Modifier.PUBLIC;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,6 +16,7 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Pair;
@@ -51,6 +54,7 @@ import org.springframework.roo.classpath.details.annotations.AnnotationAttribute
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
 import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.BooleanAttributeValue;
 import org.springframework.roo.classpath.details.annotations.ClassAttributeValue;
 import org.springframework.roo.classpath.details.annotations.EnumAttributeValue;
 import org.springframework.roo.classpath.details.annotations.StringAttributeValue;
@@ -74,6 +78,7 @@ import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.project.Property;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.util.FileUtils;
 import org.springframework.roo.support.osgi.ServiceInstaceManager;
 
 /**
@@ -100,6 +105,8 @@ public class ControllerOperationsImpl implements ControllerOperations {
   private Map<String, ControllerMVCResponseService> responseTypes =
       new HashMap<String, ControllerMVCResponseService>();
 
+  private static final String ENTITY_REFERENCES_PRELOADING_ADVICE =
+      "EntityReferencesPreloadingAdvice";
   private static final JavaType JSON_OBJECT_DESERIALIZER = new JavaType(
       "org.springframework.boot.jackson.JsonObjectDeserializer");
 
@@ -303,6 +310,42 @@ public class ControllerOperationsImpl implements ControllerOperations {
       // Write new class disk
       getTypeManagementService().createOrUpdateTypeOnDisk(typeBuilder.build());
     }
+
+    // Advice which collects the entity ids referenced by collection request
+    // bodies, so the entity deserializers can load them in a single query
+    createEntityReferencesPreloadingAdvice(domainModelModule.getPackage()
+        .getFullyQualifiedPackageName(), module.getModuleName());
+  }
+
+  /**
+   * Creates the EntityReferencesPreloadingAdvice class from its template, if
+   * it doesn't exist yet.
+   *
+   * @param packageName the package where the class is created
+   * @param moduleName the module where the class is created
+   */
+  private void createEntityReferencesPreloadingAdvice(String packageName, String moduleName) {
+    final JavaType adviceType =
+        new JavaType(String.format("%s.%s", packageName, ENTITY_REFERENCES_PRELOADING_ADVICE),
+            moduleName);
+    final String identifier =
+        getPathResolver().getCanonicalPath(moduleName, Path.SRC_MAIN_JAVA, adviceType);
+    if (getFileManager().exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream =
+          FileUtils.getInputStream(getClass(),
+              ENTITY_REFERENCES_PRELOADING_ADVICE.concat("-template._java"));
+      final String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      getFileManager().createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
   }
 
   /**
@@ -318,7 +361,7 @@ public class ControllerOperationsImpl implements ControllerOperations {
    */
   @Override
   public void createOrUpdateControllerForAllEntities(ControllerMVCResponseService responseType,
-      JavaPackage controllerPackage, String pathPrefix) {
+      JavaPackage controllerPackage, String pathPrefix, boolean httpCaching) {
 
     // Getting all entities annotated with @RooJpaEntity
     Set<ClassOrInterfaceTypeDetails> entities =
@@ -327,7 +370,7 @@ public class ControllerOperationsImpl implements ControllerOperations {
     for (ClassOrInterfaceTypeDetails entity : entities) {
       if (!entity.isAbstract()) {
         createOrUpdateControllerForEntity(entity.getType(), responseType, controllerPackage,
-            pathPrefix);
+            pathPrefix, httpCaching);
       }
     }
 
@@ -335,7 +378,8 @@ public class ControllerOperationsImpl implements ControllerOperations {
 
   @Override
   public void createOrUpdateControllerForEntity(JavaType entity,
-      ControllerMVCResponseService responseType, JavaPackage controllerPackage, String pathPrefix) {
+      ControllerMVCResponseService responseType, JavaPackage controllerPackage, String pathPrefix,
+      boolean httpCaching) {
 
     // Getting entity details to obtain information about it
     ClassOrInterfaceTypeDetails entityDetails = getTypeLocationService().getTypeDetails(entity);
@@ -419,7 +463,8 @@ public class ControllerOperationsImpl implements ControllerOperations {
         getTypeLocationService().getTypeDetails(collectionController);
     if (collectionControllerDetails == null) {
       List<AnnotationMetadataBuilder> annotations = new ArrayList<AnnotationMetadataBuilder>();
-      annotations.add(getRooControllerAnnotation(entity, pathPrefix, ControllerType.COLLECTION));
+      annotations.add(getRooControllerAnnotation(entity, pathPrefix, ControllerType.COLLECTION,
+          httpCaching));
 
       // Add responseType annotation. Don't use responseTypeService
       // annotate to
@@ -469,7 +514,8 @@ public class ControllerOperationsImpl implements ControllerOperations {
     if (itemControllerDetails == null) {
       List<AnnotationMetadataBuilder> annotations = new ArrayList<AnnotationMetadataBuilder>();
       annotations = new ArrayList<AnnotationMetadataBuilder>();
-      annotations.add(getRooControllerAnnotation(entity, pathPrefix, ControllerType.ITEM));
+      annotations.add(getRooControllerAnnotation(entity, pathPrefix, ControllerType.ITEM,
+          httpCaching));
 
       // Add responseType annotation. Don't use responseTypeService
       // annotate to
@@ -728,10 +774,12 @@ public class ControllerOperationsImpl implements ControllerOperations {
    *            Prefix to use in RequestMapping
    * @param controllerType
    *            Indicates the controller type
+   * @param httpCaching
+   *            Indicates if controller should support conditional GET
    * @return
    */
   private AnnotationMetadataBuilder getRooControllerAnnotation(final JavaType entity,
-      final String pathPrefix, final ControllerType controllerType) {
+      final String pathPrefix, final ControllerType controllerType, final boolean httpCaching) {
     final List<AnnotationAttributeValue<?>> rooControllerAttributes =
         new ArrayList<AnnotationAttributeValue<?>>();
     rooControllerAttributes.add(new ClassAttributeValue(new JavaSymbolName("entity"), entity));
@@ -741,6 +789,10 @@ public class ControllerOperationsImpl implements ControllerOperations {
     }
     rooControllerAttributes.add(new EnumAttributeValue(new JavaSymbolName("type"), new EnumDetails(
         RooJavaType.ROO_ENUM_CONTROLLER_TYPE, new JavaSymbolName(controllerType.name()))));
+    if (httpCaching) {
+      rooControllerAttributes.add(new BooleanAttributeValue(new JavaSymbolName("httpCaching"),
+          true));
+    }
     return new AnnotationMetadataBuilder(RooJavaType.ROO_CONTROLLER, rooControllerAttributes);
   }
 
@@ -1033,7 +1085,7 @@ public class ControllerOperationsImpl implements ControllerOperations {
     }
 
     List<AnnotationMetadataBuilder> annotations = new ArrayList<AnnotationMetadataBuilder>();
-    annotations.add(getRooControllerAnnotation(entity, pathPrefixController, type));
+    annotations.add(getRooControllerAnnotation(entity, pathPrefixController, type, false));
     annotations.add(getRooDetailAnnotation(field, viewsList));
 
     // Add responseType annotation. Don't use responseTypeService
@@ -2,6 +2,7 @@ package org.springframework.roo.addon.web.mvc.controller.addon.config;
 
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
@@ -24,8 +25,10 @@ import org.springframework.roo.classpath.details.annotations.AnnotationMetadataB
 import org.springframework.roo.classpath.itd.AbstractItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.classpath.itd.InvocableMemberBodyBuilder;
 import org.springframework.roo.metadata.MetadataIdentificationUtils;
+import org.springframework.roo.model.DataType;
 import org.springframework.roo.model.JavaSymbolName;
 import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.JdkJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.model.SpringletsJavaType;
 import org.springframework.roo.project.LogicalPath;
@@ -51,6 +54,22 @@ public class EntityDeserializerMetadata extends AbstractItdTypeDetailsProvidingM
       "com.fasterxml.jackson.core.ObjectCodec");
   private static final JavaType JSON_NODE = new JavaType("com.fasterxml.jackson.databind.JsonNode");
   private static final JavaType IO_EXCEPTION = new JavaType("java.io.IOException");
+  private static final JavaSymbolName GET_LOADED_ENTITIES_METHOD_NAME = new JavaSymbolName(
+      "getLoadedEntities");
+  private static final JavaSymbolName LOAD_PENDING_ENTITIES_METHOD_NAME = new JavaSymbolName(
+      "loadPendingEntities");
+
+  /**
+   * Prefix of the request attribute with the entities loaded by the request
+   */
+  public static final String LOADED_ENTITIES_ATTRIBUTE_PREFIX = "entityReferences.loaded.";
+
+  /**
+   * Prefix of the request attribute with the ids referenced by the request
+   * body which haven't been loaded yet. It is filled by the generated
+   * `EntityReferencesPreloadingAdvice`.
+   */
+  public static final String PENDING_IDS_ATTRIBUTE_PREFIX = "entityReferences.pending.";
 
 
   public static String createIdentifier(final JavaType javaType, final LogicalPath path) {
@@ -134,6 +153,10 @@ public class EntityDeserializerMetadata extends AbstractItdTypeDetailsProvidingM
     this.deserializeObjectMethod = getDeserializeMethod();
     ensureGovernorHasMethod(new MethodMetadataBuilder(this.deserializeObjectMethod));
 
+    // Per request identity map of the referenced entities
+    ensureGovernorHasMethod(new MethodMetadataBuilder(getLoadedEntitiesMethod()));
+    ensureGovernorHasMethod(new MethodMetadataBuilder(getLoadPendingEntitiesMethod()));
+
 
     // Build the ITD
     itdTypeDetails = builder.build();
@@ -174,39 +197,66 @@ public class EntityDeserializerMetadata extends AbstractItdTypeDetailsProvidingM
     final JavaType idType =
         getTypeToUseAsIdentifier(entityMetadata.getCurrentIndentifierField().getFieldType());
 
+    final String entityName = getNameOfJavaType(entityMetadata.getDestination());
+    final JavaSymbolName idName = entityMetadata.getCurrentIndentifierField().getFieldName();
+
     // String idText = tree.asText();
     bodyBuilder.appendFormalLine("String idText = tree.asText();");
 
     // Long id = conversionService.convert(idText, Long.class);
     bodyBuilder.appendFormalLine("%s %s = %s.convert(idText, %s.class);",
-        getNameOfJavaType(idType), entityMetadata.getCurrentIndentifierField().getFieldName(),
-        conversionServiceField.getFieldName(), getNameOfJavaType(idType));
+        getNameOfJavaType(idType), idName, conversionServiceField.getFieldName(),
+        getNameOfJavaType(idType));
 
     final String entityItemName =
         StringUtils.uncapitalize(entityMetadata.getDestination().getSimpleTypeName());
-    // Product product = productSercie.findOne(id);
-    bodyBuilder.appendFormalLine("%s %s = %s.%s(%s);",
-        getNameOfJavaType(entityMetadata.getDestination()), entityItemName,
-        serviceField.getFieldName(), serviceMetadata.getCurrentFindOneMethod().getMethodName(),
-        entityMetadata.getCurrentIndentifierField().getFieldName());
+
+    // Map<Long, Product> loaded = getLoadedEntities();
+    // Product product = loaded.get(id);
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("// Entities already loaded by the current request");
+    bodyBuilder.appendFormalLine("%s<%s, %s> loaded = %s();", getNameOfJavaType(JdkJavaType.MAP),
+        getNameOfJavaType(idType), entityName, GET_LOADED_ENTITIES_METHOD_NAME);
+    bodyBuilder.appendFormalLine("%s %s = loaded.get(%s);", entityName, entityItemName, idName);
 
     // if (product == null) {
+    //   loadPendingEntities(loaded);
+    //   product = loaded.get(id);
+    // }
     bodyBuilder.appendFormalLine("if (%s == null) {", entityItemName);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("%s(loaded);", LOAD_PENDING_ENTITIES_METHOD_NAME);
+    bodyBuilder.appendFormalLine("%s = loaded.get(%s);", entityItemName, idName);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
 
-    // throw new NotFoundException("Product not found");
+    // if (product == null) {
+    //   product = productService.findOne(id);
+    bodyBuilder.appendFormalLine("if (%s == null) {", entityItemName);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("%s = %s.%s(%s);", entityItemName, serviceField.getFieldName(),
+        serviceMetadata.getCurrentFindOneMethod().getMethodName(), idName);
+
+    //   if (product == null) {
+    //     throw new NotFoundException("Product not found");
+    //   }
+    bodyBuilder.appendFormalLine("if (%s == null) {", entityItemName);
     bodyBuilder.indent();
     bodyBuilder.appendFormalLine("throw new %s(\"%s not found\");",
         getNameOfJavaType(SpringletsJavaType.SPRINGLETS_NOT_FOUND_EXCEPTION), entityMetadata
             .getDestination().getSimpleTypeName());
     bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
 
+    //   loaded.put(id, product);
     // }
+    bodyBuilder.appendFormalLine("loaded.put(%s, %s);", idName, entityItemName);
+    bodyBuilder.indentRemove();
     bodyBuilder.appendFormalLine("}");
 
     // return product;
     bodyBuilder.appendFormalLine("return %s;", entityItemName);
 
-
     MethodMetadataBuilder methodBuilder =
         new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName,
             entityMetadata.getDestination(), parameterTypes, parameterNames, bodyBuilder);
@@ -217,6 +267,187 @@ public class EntityDeserializerMetadata extends AbstractItdTypeDetailsProvidingM
     return methodBuilder.build();
   }
 
+  /**
+   * Builds the method which returns the identity map of the entities loaded
+   * by the current request, so each entity is loaded only once per request.
+   *
+   * @return {@link MethodMetadata}
+   */
+  private MethodMetadata getLoadedEntitiesMethod() {
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    MethodMetadata existingMethod =
+        getGovernorMethod(GET_LOADED_ENTITIES_METHOD_NAME,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    final JavaType idType =
+        getTypeToUseAsIdentifier(entityMetadata.getCurrentIndentifierField().getFieldType());
+    final JavaType mapType = new JavaType(JdkJavaType.MAP.getFullyQualifiedTypeName(), 0,
+        DataType.TYPE, null, Arrays.asList(idType, entityMetadata.getDestination()));
+    final String mapTypeName = getNameOfJavaType(mapType);
+    final String requestAttributes = getNameOfJavaType(SpringJavaType.REQUEST_ATTRIBUTES);
+
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    // if (attributes == null) {
+    //   return new HashMap<Long, Product>();
+    // }
+    bodyBuilder.appendFormalLine("%s attributes = %s.getRequestAttributes();", requestAttributes,
+        getNameOfJavaType(SpringJavaType.REQUEST_CONTEXT_HOLDER));
+    bodyBuilder.appendFormalLine("if (attributes == null) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("return new %s();", getNameOfJavaType(new JavaType(
+        JavaType.HASH_MAP.getFullyQualifiedTypeName(), 0, DataType.TYPE, null, mapType
+            .getParameters())));
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // String attributeName = "entityReferences.loaded." + Product.class.getName();
+    // Map<Long, Product> loaded =
+    //     (Map<Long, Product>) attributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+    bodyBuilder.appendFormalLine("String attributeName = \"%s\" + %s.class.getName();",
+        LOADED_ENTITIES_ATTRIBUTE_PREFIX, getNameOfJavaType(entityMetadata.getDestination()));
+    bodyBuilder.appendFormalLine("%s loaded =", mapTypeName);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("(%s) attributes.getAttribute(attributeName, %s.SCOPE_REQUEST);",
+        mapTypeName, requestAttributes);
+    bodyBuilder.indentRemove();
+
+    // if (loaded == null) {
+    //   loaded = new HashMap<Long, Product>();
+    //   attributes.setAttribute(attributeName, loaded, RequestAttributes.SCOPE_REQUEST);
+    // }
+    bodyBuilder.appendFormalLine("if (loaded == null) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("loaded = new %s();", getNameOfJavaType(new JavaType(
+        JavaType.HASH_MAP.getFullyQualifiedTypeName(), 0, DataType.TYPE, null, mapType
+            .getParameters())));
+    bodyBuilder.appendFormalLine(
+        "attributes.setAttribute(attributeName, loaded, %s.SCOPE_REQUEST);", requestAttributes);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.appendFormalLine("return loaded;");
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PRIVATE, GET_LOADED_ENTITIES_METHOD_NAME,
+            mapType, parameterTypes, new ArrayList<JavaSymbolName>(), bodyBuilder);
+    methodBuilder.addAnnotation(getUncheckedWarningsAnnotation());
+    return methodBuilder.build();
+  }
+
+  /**
+   * Builds the method which loads in one query the entities whose ids have
+   * been collected from the request body by the generated
+   * `EntityReferencesPreloadingAdvice`, instead of loading them one by one
+   * while the body is read.
+   *
+   * @return {@link MethodMetadata}
+   */
+  private MethodMetadata getLoadPendingEntitiesMethod() {
+    final JavaType idType =
+        getTypeToUseAsIdentifier(entityMetadata.getCurrentIndentifierField().getFieldType());
+    final JavaType mapType = new JavaType(JdkJavaType.MAP.getFullyQualifiedTypeName(), 0,
+        DataType.TYPE, null, Arrays.asList(idType, entityMetadata.getDestination()));
+
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    parameterTypes.add(AnnotatedJavaType.convertFromJavaType(mapType));
+    MethodMetadata existingMethod =
+        getGovernorMethod(LOAD_PENDING_ENTITIES_METHOD_NAME,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    final String entityName = getNameOfJavaType(entityMetadata.getDestination());
+    final String idTypeName = getNameOfJavaType(idType);
+    final String requestAttributes = getNameOfJavaType(SpringJavaType.REQUEST_ATTRIBUTES);
+    final String entityItemName =
+        StringUtils.uncapitalize(entityMetadata.getDestination().getSimpleTypeName());
+
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    // if (attributes == null) {
+    //   return;
+    // }
+    bodyBuilder.appendFormalLine("%s attributes = %s.getRequestAttributes();", requestAttributes,
+        getNameOfJavaType(SpringJavaType.REQUEST_CONTEXT_HOLDER));
+    bodyBuilder.appendFormalLine("if (attributes == null) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("return;");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // String attributeName = "entityReferences.pending." + Product.class.getName();
+    // Collection<String> pendingIds =
+    //     (Collection<String>) attributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+    // if (pendingIds == null) {
+    //   return;
+    // }
+    // attributes.removeAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+    final String pendingIdsType =
+        getNameOfJavaType(JavaType.collectionOf(JavaType.STRING));
+    bodyBuilder.appendFormalLine("String attributeName = \"%s\" + %s.class.getName();",
+        PENDING_IDS_ATTRIBUTE_PREFIX, entityName);
+    bodyBuilder.appendFormalLine("%s pendingIds =", pendingIdsType);
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("(%s) attributes.getAttribute(attributeName, %s.SCOPE_REQUEST);",
+        pendingIdsType, requestAttributes);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("if (pendingIds == null) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("return;");
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+    bodyBuilder.appendFormalLine("attributes.removeAttribute(attributeName, %s.SCOPE_REQUEST);",
+        requestAttributes);
+    bodyBuilder.newLine();
+
+    // List<Long> ids = new ArrayList<Long>();
+    // for (String pendingId : pendingIds) {
+    //   ids.add(conversionService.convert(pendingId, Long.class));
+    // }
+    bodyBuilder.appendFormalLine("// Load all the entities referenced by the request in one query");
+    bodyBuilder.appendFormalLine("%s<%s> ids = new %s<%s>();", getNameOfJavaType(JavaType.LIST),
+        idTypeName, getNameOfJavaType(JavaType.ARRAY_LIST), idTypeName);
+    bodyBuilder.appendFormalLine("for (String pendingId : pendingIds) {");
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("ids.add(%s.convert(pendingId, %s.class));",
+        conversionServiceField.getFieldName(), idTypeName);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // for (Product product : productService.findAll(ids)) {
+    //   loaded.put(product.getId(), product);
+    // }
+    bodyBuilder.appendFormalLine("for (%s %s : %s.%s(ids)) {", entityName, entityItemName,
+        serviceField.getFieldName(), serviceMetadata.getCurrentFindAllIterableMethod()
+            .getMethodName());
+    bodyBuilder.indent();
+    bodyBuilder.appendFormalLine("loaded.put(%s.%s(), %s);", entityItemName, entityMetadata
+        .getCurrentIdentifierAccessor().getMethodName(), entityItemName);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+    parameterNames.add(new JavaSymbolName("loaded"));
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PRIVATE, LOAD_PENDING_ENTITIES_METHOD_NAME,
+            JavaType.VOID_PRIMITIVE, parameterTypes, parameterNames, bodyBuilder);
+    methodBuilder.addAnnotation(getUncheckedWarningsAnnotation());
+    return methodBuilder.build();
+  }
+
+  private AnnotationMetadataBuilder getUncheckedWarningsAnnotation() {
+    AnnotationMetadataBuilder suppressWarnings =
+        new AnnotationMetadataBuilder(JdkJavaType.SUPPRESS_WARNINGS);
+    suppressWarnings.addStringAttribute("value", "unchecked");
+    return suppressWarnings;
+  }
+
   private JavaType getTypeToUseAsIdentifier(JavaType type) {
     if (type.isPrimitive()) {
       if (JavaType.INT_PRIMITIVE.equals(type)) {
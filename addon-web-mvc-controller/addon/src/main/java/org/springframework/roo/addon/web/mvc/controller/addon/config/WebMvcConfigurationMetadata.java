@@ -36,6 +36,10 @@ public class WebMvcConfigurationMetadata extends AbstractItdTypeDetailsProviding
       .create(PROVIDES_TYPE_STRING);
   private static final JavaType TRACEE_INTERCEPTOR_JAVATYPE = new JavaType(
       "io.tracee.binding.springmvc.TraceeInterceptor");
+  private static final JavaType FILTER_REGISTRATION_BEAN = new JavaType(
+      "org.springframework.boot.web.servlet.FilterRegistrationBean");
+  private static final JavaType SHALLOW_ETAG_HEADER_FILTER = new JavaType(
+      "org.springframework.web.filter.ShallowEtagHeaderFilter");
 
 
   public static String createIdentifier(final JavaType javaType, final LogicalPath path) {
@@ -68,10 +72,14 @@ public class WebMvcConfigurationMetadata extends AbstractItdTypeDetailsProviding
    * @param aspectName the Java type of the ITD (required)
    * @param governorPhysicalTypeMetadata the governor, which is expected to
    *            contain a {@link ClassOrInterfaceTypeDetails} (required)
+   * @param defaultLanguage the default language of the application
+   * @param shallowEtagPaths the list paths which must be served with a
+   *            shallow ETag
    *
    */
   public WebMvcConfigurationMetadata(final String identifier, final JavaType aspectName,
-      final PhysicalTypeMetadata governorPhysicalTypeMetadata, final String defaultLanguage) {
+      final PhysicalTypeMetadata governorPhysicalTypeMetadata, final String defaultLanguage,
+      final List<String> shallowEtagPaths) {
     super(identifier, aspectName, governorPhysicalTypeMetadata);
 
     // Add @Configuration
@@ -92,6 +100,12 @@ public class WebMvcConfigurationMetadata extends AbstractItdTypeDetailsProviding
     // Add addInterceptors
     ensureGovernorHasMethod(new MethodMetadataBuilder(getAddInterceptors()));
 
+    // Add shallowEtagHeaderFilter
+    if (!shallowEtagPaths.isEmpty()) {
+      ensureGovernorHasMethod(new MethodMetadataBuilder(
+          getShallowEtagHeaderFilter(shallowEtagPaths)));
+    }
+
     // Build the ITD
     itdTypeDetails = builder.build();
   }
@@ -291,6 +305,56 @@ public class WebMvcConfigurationMetadata extends AbstractItdTypeDetailsProviding
     // instance
   }
 
+  /**
+   * Method that generates "shallowEtagHeaderFilter" method.
+   *
+   * The filter computes the ETag of the rendered list views, so unchanged
+   * pages are answered with a 304 (Not Modified) response without sending
+   * the body to the client.
+   *
+   * @param shallowEtagPaths the URL patterns to filter
+   * @return MethodMetadata
+   */
+  private MethodMetadata getShallowEtagHeaderFilter(List<String> shallowEtagPaths) {
+
+    // Define method name
+    JavaSymbolName methodName = new JavaSymbolName("shallowEtagHeaderFilter");
+
+    // Define method parameter types
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+
+    // Define method parameter names
+    List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+
+    if (governorHasMethod(methodName,
+        AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes))) {
+      return getGovernorMethod(methodName,
+          AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    }
+
+    // Generate body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    // FilterRegistrationBean registration = new FilterRegistrationBean(new ShallowEtagHeaderFilter());
+    bodyBuilder.appendFormalLine("%1$s registration = new %1$s(new %2$s());",
+        getNameOfJavaType(FILTER_REGISTRATION_BEAN), getNameOfJavaType(SHALLOW_ETAG_HEADER_FILTER));
+
+    // registration.addUrlPatterns("/customers", "/customers/dt");
+    bodyBuilder.appendFormalLine("registration.addUrlPatterns(\"%s\");",
+        StringUtils.join(shallowEtagPaths, "\", \""));
+    bodyBuilder.appendFormalLine("return registration;");
+
+    // Use the MethodMetadataBuilder for easy creation of MethodMetadata
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, FILTER_REGISTRATION_BEAN,
+            parameterTypes, parameterNames, bodyBuilder);
+
+    // Add Bean annotation
+    methodBuilder.addAnnotation(new AnnotationMetadataBuilder(SpringJavaType.BEAN));
+
+    return methodBuilder.build();
+  }
+
   @Override
   public String toString() {
     final ToStringBuilder builder = new ToStringBuilder(this);
@@ -1,12 +1,17 @@
 package org.springframework.roo.addon.web.mvc.controller.addon.config;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.web.mvc.controller.addon.ControllerAnnotationValues;
+import org.springframework.roo.addon.web.mvc.controller.addon.ControllerMetadata;
+import org.springframework.roo.addon.web.mvc.controller.annotations.ControllerType;
 import org.springframework.roo.classpath.PhysicalTypeIdentifier;
 import org.springframework.roo.classpath.PhysicalTypeMetadata;
 import org.springframework.roo.classpath.customdata.taggers.CustomDataKeyDecorator;
 import org.springframework.roo.classpath.customdata.taggers.CustomDataKeyDecoratorTracker;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.classpath.details.ItdTypeDetails;
 import org.springframework.roo.classpath.details.MemberHoldingTypeDetails;
 import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
@@ -14,13 +19,16 @@ import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.itd.AbstractMemberDiscoveringItdMetadataProvider;
 import org.springframework.roo.classpath.itd.ItdTypeDetailsProvidingMetadataItem;
 import org.springframework.roo.metadata.MetadataDependencyRegistry;
+import org.springframework.roo.metadata.MetadataIdentificationUtils;
 import org.springframework.roo.metadata.internal.MetadataDependencyRegistryTracker;
 import org.springframework.roo.model.JavaType;
 import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.project.LogicalPath;
 import org.springframework.roo.support.logging.HandlerUtils;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -115,6 +123,12 @@ public class WebMvcConfigurationMetadataProviderImpl extends
     final MemberHoldingTypeDetails memberHoldingTypeDetails =
         getTypeLocationService().getTypeDetails(governor);
     if (memberHoldingTypeDetails != null) {
+
+      // Collection controllers could add or remove the paths which use the
+      // shallow ETag filter
+      if (memberHoldingTypeDetails.getAnnotation(RooJavaType.ROO_CONTROLLER) != null) {
+        return getConfigurationMidForModule(governor.getModule());
+      }
       for (final JavaType type : memberHoldingTypeDetails.getLayerEntities()) {
         final String localMidType = domainTypeToServiceMidMap.get(type);
         if (localMidType != null) {
@@ -142,8 +156,66 @@ public class WebMvcConfigurationMetadataProviderImpl extends
       defaultLanguage = defaultLanguageAttr.getValue();
     }
 
+    // Getting list paths of the controllers which support HTTP caching
+    final List<String> shallowEtagPaths = new ArrayList<String>();
+    final String module = governorPhysicalTypeMetadata.getType().getModule();
+    for (ClassOrInterfaceTypeDetails controller : getTypeLocationService()
+        .findClassesOrInterfaceDetailsWithAnnotation(RooJavaType.ROO_CONTROLLER)) {
+      if (!StringUtils.equals(module, controller.getType().getModule())) {
+        continue;
+      }
+      ControllerAnnotationValues values = new ControllerAnnotationValues(controller);
+      if (values.getType() != ControllerType.COLLECTION || !values.isHttpCaching()) {
+        continue;
+      }
+      final String controllerMetadataKey = ControllerMetadata.createIdentifier(controller);
+      registerDependency(controllerMetadataKey, metadataIdentificationString);
+      final ControllerMetadata controllerMetadata =
+          (ControllerMetadata) getMetadataService().get(controllerMetadataKey);
+      if (controllerMetadata == null) {
+        continue;
+      }
+
+      // Only list views are buffered, so exports are still streamed
+      final String path = controllerMetadata.getRequestMappingValue();
+      shallowEtagPaths.add(path);
+      if (controller.getAnnotation(RooJavaType.ROO_THYMELEAF) != null) {
+        shallowEtagPaths.add(path.concat("/dt"));
+      }
+    }
+
     return new WebMvcConfigurationMetadata(metadataIdentificationString, aspectName,
-        governorPhysicalTypeMetadata, defaultLanguage);
+        governorPhysicalTypeMetadata, defaultLanguage, shallowEtagPaths);
+  }
+
+  /**
+   * Gets the metadata identifier of the {@link RooJavaType#ROO_WEB_MVC_CONFIGURATION}
+   * class of a module
+   *
+   * @param module the module name
+   * @return the metadata identifier or null if module has no configuration class
+   */
+  private String getConfigurationMidForModule(final String module) {
+    for (ClassOrInterfaceTypeDetails configuration : getTypeLocationService()
+        .findClassesOrInterfaceDetailsWithAnnotation(RooJavaType.ROO_WEB_MVC_CONFIGURATION)) {
+      if (StringUtils.equals(module, configuration.getType().getModule())) {
+        return WebMvcConfigurationMetadata.createIdentifier(configuration.getType(),
+            PhysicalTypeIdentifier.getPath(configuration.getDeclaredByMetadataId()));
+      }
+    }
+    return null;
+  }
+
+  private void registerDependency(final String upstreamDependency, final String downStreamDependency) {
+
+    if (getMetadataDependencyRegistry() != null
+        && StringUtils.isNotBlank(upstreamDependency)
+        && StringUtils.isNotBlank(downStreamDependency)
+        && !upstreamDependency.equals(downStreamDependency)
+        && !MetadataIdentificationUtils.getMetadataClass(downStreamDependency).equals(
+            MetadataIdentificationUtils.getMetadataClass(upstreamDependency))) {
+      getMetadataDependencyRegistry().registerDependency(upstreamDependency, downStreamDependency);
+    }
   }
 
   public String getProvidesType() {
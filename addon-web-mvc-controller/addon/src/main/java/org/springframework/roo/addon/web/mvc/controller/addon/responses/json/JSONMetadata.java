@@ -75,6 +75,12 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
   private static final JavaSymbolName GLOBAL_SEARCH_NAME = new JavaSymbolName("globalSearch");
   private static final JavaSymbolName GLOBAL_SEARCH_PARAM_NAME = new JavaSymbolName("search");
 
+  /**
+   * Maximum size of the keyset pagination slices. Same limit that Spring Data 
+   * applies to the size of the requested pages.
+   */
+  private static final int MAX_SLICE_SIZE = 2000;
+
   private static final String PROVIDES_TYPE_STRING = JSONMetadata.class.getName();
   private static final String PROVIDES_TYPE = MetadataIdentificationUtils
       .create(PROVIDES_TYPE_STRING);
@@ -105,6 +111,7 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
   private final Map<RelationInfo, MethodMetadata> modelAttributeDetailsMethod;
 
   private final MethodMetadata listMethod;
+  private final MethodMetadata listAfterMethod;
   private final MethodMetadata showMethod;
   private final MethodMetadata createMethod;
   private final MethodMetadata updateMethod;
@@ -211,6 +218,13 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
         this.listMethod = addAndGet(getListMethod(), allMethods);
         this.listURIMethod = addAndGet(getListURIMethod(), allMethods);
 
+        // Keyset pagination list, if service provides it
+        if (serviceMetadata.getCurrentFindAllAfterWithGlobalSearchMethod() != null) {
+          this.listAfterMethod = addAndGet(getListAfterMethod(), allMethods);
+        } else {
+          this.listAfterMethod = null;
+        }
+
         if (readOnly) {
           this.createMethod = null;
           this.createBatchMethod = null;
@@ -254,6 +268,7 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
 
 
         this.listMethod = null;
+        this.listAfterMethod = null;
         this.listURIMethod = null;
         this.createMethod = null;
         this.createBatchMethod = null;
@@ -282,6 +297,7 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
         this.finderMethods = Collections.unmodifiableMap(tmpFinders);
 
         this.listMethod = null;
+        this.listAfterMethod = null;
         this.listURIMethod = null;
         this.createMethod = null;
         this.createBatchMethod = null;
@@ -339,6 +355,7 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
         }
 
         this.listMethod = null;
+        this.listAfterMethod = null;
         this.listURIMethod = null;
         this.createMethod = null;
         this.createBatchMethod = null;
@@ -378,6 +395,7 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
         this.addToDetailsBatchMethod = null;
         this.removeFromDetailsBatchMethod = null;
         this.listMethod = null;
+        this.listAfterMethod = null;
         this.listURIMethod = null;
         this.createMethod = null;
         this.createBatchMethod = null;
@@ -607,9 +625,13 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
     JavaType datatablesDataReturnType =
         serviceReturnType.getParameters().isEmpty() ? serviceReturnType.getBaseType()
             : serviceReturnType.getParameters().get(0);
+    JavaType resultsType =
+        SpringJavaType.SLICE.getFullyQualifiedTypeName().equals(
+            serviceReturnType.getFullyQualifiedTypeName()) ? SpringJavaType.SLICE
+            : SpringJavaType.PAGE;
     JavaType returnType =
         JavaType.wrapperOf(RESPONSE_ENTITY,
-            JavaType.wrapperOf(SpringJavaType.PAGE, datatablesDataReturnType));
+            JavaType.wrapperOf(resultsType, datatablesDataReturnType));
 
     // Generate body
     InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
@@ -1416,6 +1438,96 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
     return methodBuilder.build();
   }
 
+  /**
+   * This method provides the "listAfter" method using JSON response type. It
+   * uses keyset pagination: it returns the slice of elements which follows
+   * the provided cursor, without any count query.
+   *
+   * @return MethodMetadata
+   */
+  private MethodMetadata getListAfterMethod() {
+
+    // Define methodName
+    final JavaSymbolName methodName = new JavaSymbolName("listAfter");
+
+    final MethodMetadata findAllAfterMethod =
+        serviceMetadata.getCurrentFindAllAfterWithGlobalSearchMethod();
+    final JavaSymbolName cursorParamName = findAllAfterMethod.getParameterNames().get(1);
+    final JavaSymbolName sizeParamName = findAllAfterMethod.getParameterNames().get(2);
+
+    List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
+    parameterTypes.add(new AnnotatedJavaType(SpringletsJavaType.SPRINGLETS_GLOBAL_SEARCH));
+
+    // @RequestParam(value = "cursor", required = false)
+    AnnotationMetadataBuilder cursorParamAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.REQUEST_PARAM);
+    cursorParamAnnotation.addStringAttribute("value", cursorParamName.getSymbolName());
+    cursorParamAnnotation.addBooleanAttribute("required", false);
+    parameterTypes.add(new AnnotatedJavaType(findAllAfterMethod.getParameterTypes().get(1)
+        .getJavaType(), cursorParamAnnotation.build()));
+
+    // @RequestParam(value = "size", defaultValue = "20")
+    AnnotationMetadataBuilder sizeParamAnnotation =
+        new AnnotationMetadataBuilder(SpringJavaType.REQUEST_PARAM);
+    sizeParamAnnotation.addStringAttribute("value", sizeParamName.getSymbolName());
+    sizeParamAnnotation.addStringAttribute("defaultValue", "20");
+    parameterTypes.add(new AnnotatedJavaType(JavaType.INT_PRIMITIVE, sizeParamAnnotation.build()));
+
+    MethodMetadata existingMethod =
+        getGovernorMethod(methodName,
+            AnnotatedJavaType.convertFromAnnotatedJavaTypes(parameterTypes));
+    if (existingMethod != null) {
+      return existingMethod;
+    }
+
+    final List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
+    parameterNames.add(GLOBAL_SEARCH_NAME);
+    parameterNames.add(cursorParamName);
+    parameterNames.add(sizeParamName);
+
+    // Adding annotations
+    final List<AnnotationMetadataBuilder> annotations = new ArrayList<AnnotationMetadataBuilder>();
+
+    // Adding @GetMapping annotation
+    AnnotationMetadataBuilder getMappingAnnotation = new AnnotationMetadataBuilder(GET_MAPPING);
+    getMappingAnnotation.addStringAttribute("name", methodName.getSymbolName());
+    getMappingAnnotation.addStringAttribute("value", "/after");
+    annotations.add(getMappingAnnotation);
+
+    // Generating returnType
+    JavaType serviceReturnType = findAllAfterMethod.getReturnType();
+    JavaType returnType = JavaType.wrapperOf(RESPONSE_ENTITY, serviceReturnType);
+
+    // Generate body
+    InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
+
+    final String itemNames = StringUtils.uncapitalize(this.entityPlural);
+
+    // // Limit the slice size, as Spring Data limits the page size
+    // size = Math.max(1, Math.min(size, 2000));
+    bodyBuilder.appendFormalLine("// Limit the slice size, as Spring Data limits the page size");
+    bodyBuilder.appendFormalLine("%1$s = Math.max(1, Math.min(%1$s, %2$d));", sizeParamName,
+        MAX_SLICE_SIZE);
+
+    // Slice<Customer> customers = customerService.findAllAfter(globalSearch, cursor, size);
+    bodyBuilder.newLine();
+    bodyBuilder.appendFormalLine("%s %s = %s().%s(%s, %s, %s);",
+        getNameOfJavaType(serviceReturnType), itemNames,
+        getAccessorMethod(controllerMetadata.getServiceField()).getMethodName(),
+        findAllAfterMethod.getMethodName(), GLOBAL_SEARCH_NAME, cursorParamName, sizeParamName);
+
+    // return ResponseEntity.ok(customers);
+    bodyBuilder.appendFormalLine(String.format("return %s.ok(%s);",
+        getNameOfJavaType(RESPONSE_ENTITY), itemNames));
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, returnType, parameterTypes,
+            parameterNames, bodyBuilder);
+    methodBuilder.setAnnotations(annotations);
+
+    return methodBuilder.build();
+  }
+
   /**
    * This method provides the "show" method using JSON response type
    *
@@ -1450,9 +1562,19 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
     // Generate body
     InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
 
-    // return ResponseEntity.ok(customer);
-    bodyBuilder.appendFormalLine("return %s.ok(%s);", getNameOfJavaType(RESPONSE_ENTITY),
-        entityItemName);
+    final MethodMetadata versionAccessor = entityMetadata.getCurrentVersionAccessor();
+    if (controllerMetadata.getAnnotationValues().isHttpCaching() && versionAccessor != null) {
+      // Entity version is used as ETag, so Spring MVC answers with a
+      // 304 (Not Modified) without serializing the entity when it matches
+      // return ResponseEntity.ok().eTag(String.valueOf(customer.getVersion())).body(customer);
+      bodyBuilder.appendFormalLine("return %s.ok().eTag(%s.valueOf(%s.%s())).body(%s);",
+          getNameOfJavaType(RESPONSE_ENTITY), getNameOfJavaType(JavaType.STRING), entityItemName,
+          versionAccessor.getMethodName(), entityItemName);
+    } else {
+      // return ResponseEntity.ok(customer);
+      bodyBuilder.appendFormalLine("return %s.ok(%s);", getNameOfJavaType(RESPONSE_ENTITY),
+          entityItemName);
+    }
 
     MethodMetadataBuilder methodBuilder =
         new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName,
@@ -1831,6 +1953,15 @@ public class JSONMetadata extends AbstractItdTypeDetailsProvidingMetadataItem {
     return this.listMethod;
   }
 
+  /**
+   * Method that returns the keyset pagination list JSON method
+   *
+   * @return {@link MethodMetadata}, or null if not available
+   */
+  public MethodMetadata getCurrentListAfterMethod() {
+    return this.listAfterMethod;
+  }
+
   /**
    * Method that returns create JSON method
    *
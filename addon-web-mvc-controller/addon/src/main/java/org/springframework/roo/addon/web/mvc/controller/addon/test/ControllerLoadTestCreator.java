@@ -0,0 +1,280 @@
+package org.springframework.roo.addon.web.mvc.controller.addon.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.Service;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.addon.test.providers.DataOnDemandCreatorProvider;
+import org.springframework.roo.addon.test.providers.DataOnDemandCreatorProviders;
+import org.springframework.roo.addon.test.providers.LoadTestCreatorProvider;
+import org.springframework.roo.addon.web.mvc.controller.addon.ControllerMetadata;
+import org.springframework.roo.addon.web.mvc.controller.addon.responses.json.JSONMetadata;
+import org.springframework.roo.classpath.TypeLocationService;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.classpath.details.MethodMetadata;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
+import org.springframework.roo.metadata.MetadataService;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.model.RooJavaType;
+import org.springframework.roo.process.manager.FileManager;
+import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.DependencyScope;
+import org.springframework.roo.project.DependencyType;
+import org.springframework.roo.project.FeatureNames;
+import org.springframework.roo.project.Path;
+import org.springframework.roo.project.PathResolver;
+import org.springframework.roo.project.ProjectOperations;
+import org.springframework.roo.project.maven.Pom;
+import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.util.FileUtils;
+
+/**
+ * Creates HTTP load test scenarios for the JSON and Thymeleaf controllers of
+ * an entity. A scenario is created for each endpoint which can be requested
+ * without user input: list, show and create for the JSON controllers, the
+ * list and show pages for the Thymeleaf ones and the JSON finders.
+ *
+ * @since 2.0
+ */
+@Component
+@Service
+public class ControllerLoadTestCreator implements LoadTestCreatorProvider {
+
+  protected final static Logger LOGGER = HandlerUtils.getLogger(ControllerLoadTestCreator.class);
+
+  private static final String LOAD_TEST_RUNNER = "LoadTestRunner";
+
+  private BundleContext context;
+
+  @Reference
+  private FileManager fileManager;
+  @Reference
+  private MetadataService metadataService;
+  @Reference
+  private PathResolver pathResolver;
+  @Reference
+  private ProjectOperations projectOperations;
+  @Reference
+  private TypeLocationService typeLocationService;
+
+  protected void activate(final ComponentContext cContext) {
+    this.context = cContext.getBundleContext();
+  }
+
+  protected void deactivate(final ComponentContext context) {
+    this.context = null;
+  }
+
+  @Override
+  public boolean isValid(JavaType javaType) {
+    ClassOrInterfaceTypeDetails cid = typeLocationService.getTypeDetails(javaType);
+    return cid != null && cid.getAnnotation(RooJavaType.ROO_JPA_ENTITY) != null
+        && !getControllers(javaType).isEmpty();
+  }
+
+  @Override
+  public boolean isLoadTestCreationAvailable() {
+    return projectOperations.isFocusedProjectAvailable()
+        && projectOperations.isFeatureInstalled(FeatureNames.MVC)
+        && !typeLocationService.findTypesWithAnnotation(RooJavaType.ROO_CONTROLLER).isEmpty();
+  }
+
+  @Override
+  public void createLoadTest(JavaType entity, Pom module) {
+    Validate.notNull(entity, "Entity to produce the load test for is required");
+    Validate.notNull(module, "Module to create the load test in is required");
+    final String moduleName = module.getModuleName();
+
+    // Build a scenario for each endpoint of the entity controllers
+    StringBuilder scenarios = new StringBuilder();
+    String identifierField = null;
+    for (ClassOrInterfaceTypeDetails controller : getControllers(entity)) {
+      ControllerMetadata controllerMetadata =
+          metadataService.get(ControllerMetadata.createIdentifier(controller));
+      if (controllerMetadata == null) {
+        continue;
+      }
+      identifierField =
+          controllerMetadata.getEntityMetadata().getCurrentIndentifierField().getFieldName()
+              .getSymbolName();
+      final String path = controllerMetadata.getRequestMappingValue();
+      final boolean json = controller.getAnnotation(RooJavaType.ROO_JSON) != null;
+      final boolean html = controller.getAnnotation(RooJavaType.ROO_THYMELEAF) != null;
+
+      switch (controllerMetadata.getType()) {
+        case COLLECTION:
+          if (json) {
+            addScenario(scenarios, "jsonList",
+                String.format("restTemplate.getForEntity(\"%s\", String.class)", path));
+            addScenario(scenarios, "jsonCreate", String.format(
+                "restTemplate.postForEntity(\"%s\", newEntity(index), String.class)", path));
+          }
+          if (html) {
+            addScenario(scenarios, "htmlList", String.format(
+                "restTemplate.exchange(\"%s\", HttpMethod.GET, htmlRequest, String.class)", path));
+          }
+          break;
+        case ITEM:
+          if (json) {
+            addScenario(scenarios, "jsonShow",
+                String.format("restTemplate.getForEntity(\"%s\", String.class, id(index))", path));
+          }
+          if (html) {
+            addScenario(scenarios, "htmlShow", String.format(
+                "restTemplate.exchange(\"%s\", HttpMethod.GET, htmlRequest, String.class, "
+                    + "id(index))", path));
+          }
+          break;
+        case SEARCH:
+
+          // Finders are requested without criteria, so they return the
+          // first page of all the entities
+          if (json) {
+            JSONMetadata jsonMetadata =
+                metadataService.get(JSONMetadata.createIdentifier(controller));
+            if (jsonMetadata == null) {
+              break;
+            }
+            for (MethodMetadata finder : jsonMetadata.getCurrentFinderMethods().values()) {
+              final String finderName = finder.getMethodName().getSymbolName();
+              addScenario(scenarios, "json".concat(StringUtils.capitalize(finderName)),
+                  String.format("restTemplate.getForEntity(\"%s/%s\", String.class)", path,
+                      finderName));
+            }
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    Validate.isTrue(scenarios.length() > 0,
+        "Entity '%s' doesn't have any JSON or Thymeleaf controller endpoint to load test. "
+            + "Please, generate them with 'web mvc controller' command",
+        entity.getSimpleTypeName());
+
+    // The requested entities are created through the data on demand
+    JavaType dataOnDemand = null;
+    JavaType entityFactory = null;
+    for (DataOnDemandCreatorProvider dodCreator : DataOnDemandCreatorProviders
+        .getValidProvidersForType(this.context, entity)) {
+      dataOnDemand = dodCreator.createDataOnDemand(entity);
+      entityFactory = dodCreator.getEntityFactory(entity);
+      if (entityFactory == null) {
+        entityFactory = dodCreator.createEntityFactory(entity);
+      }
+    }
+    Validate.notNull(dataOnDemand, "Unable to create the data on demand of '%s'",
+        entity.getSimpleTypeName());
+    Validate.notNull(entityFactory, "Unable to create the entity factory of '%s'",
+        entity.getSimpleTypeName());
+
+    // Add module dependency with test-jar dependency
+    if (projectOperations.isMultimoduleProject()
+        && !moduleName.equals(entity.getModule())) {
+      Pom entityModule = projectOperations.getPomFromModuleName(entity.getModule());
+      projectOperations.addDependency(moduleName, new Dependency(entityModule.getGroupId(),
+          entityModule.getArtifactId(), "${project.version}",
+          DependencyType.valueOfTypeCode("test-jar"), DependencyScope.TEST), true, true);
+    }
+
+    final String packageName =
+        typeLocationService.getTopLevelPackageForModule(module).concat(".load");
+    createClassFromTemplate(moduleName, packageName, LOAD_TEST_RUNNER,
+        LOAD_TEST_RUNNER.concat("-template._java"), new String[][] {});
+    createClassFromTemplate(moduleName, packageName,
+        entity.getSimpleTypeName().concat("LoadTest"), "EntityLoadTest-template._java",
+        new String[][] { {"__ENTITY_TYPE__", entity.getFullyQualifiedTypeName()},
+            {"__DOD_TYPE__", dataOnDemand.getFullyQualifiedTypeName()},
+            {"__DOD__", dataOnDemand.getSimpleTypeName()},
+            {"__FACTORY_TYPE__", entityFactory.getFullyQualifiedTypeName()},
+            {"__ENTITY__", entity.getSimpleTypeName()},
+            {"__FACTORY__", entityFactory.getSimpleTypeName()},
+            {"__ID_FIELD__", identifierField}, {"__SCENARIOS__", scenarios.toString()}});
+  }
+
+  /**
+   * Adds a load test scenario, which runs the given request and checks that
+   * none of them fails.
+   *
+   * @param scenarios the source of the scenarios
+   * @param name the name of the scenario test method
+   * @param request the expression which executes a request of the scenario
+   */
+  private void addScenario(StringBuilder scenarios, String name, String request) {
+    scenarios.append("\n");
+    scenarios.append("  @Test\n");
+    scenarios.append(String.format("  public void %s() throws Exception {\n", name));
+    scenarios.append(String.format(
+        "    int errors = runner.run(\"%s\", new LoadTestRunner.Request() {\n\n", name));
+    scenarios.append("      @Override\n");
+    scenarios.append("      public ResponseEntity<?> execute(int index) throws Exception {\n");
+    scenarios.append(String.format("        return %s;\n", request));
+    scenarios.append("      }\n");
+    scenarios.append("    });\n");
+    scenarios.append("    assertThat(errors).isEqualTo(0);\n");
+    scenarios.append("  }\n");
+  }
+
+  /**
+   * Gets the Roo controllers which manage an entity.
+   *
+   * @param entity the entity
+   * @return a `List` with the controllers. Never `null`.
+   */
+  private List<ClassOrInterfaceTypeDetails> getControllers(JavaType entity) {
+    List<ClassOrInterfaceTypeDetails> controllers = new ArrayList<ClassOrInterfaceTypeDetails>();
+    for (ClassOrInterfaceTypeDetails cid : typeLocationService
+        .findClassesOrInterfaceDetailsWithAnnotation(RooJavaType.ROO_CONTROLLER)) {
+      AnnotationAttributeValue<?> entityAttribute =
+          cid.getAnnotation(RooJavaType.ROO_CONTROLLER).getAttribute("entity");
+      if (entityAttribute != null && entity.equals(entityAttribute.getValue())) {
+        controllers.add(cid);
+      }
+    }
+    return controllers;
+  }
+
+  /**
+   * Creates a test class from a template, if it doesn't exist yet.
+   *
+   * @param moduleName the module where the class is created
+   * @param packageName the package of the class
+   * @param className the simple name of the class
+   * @param templateName the name of the template
+   * @param replacements the pairs of placeholder and value to replace in
+   *            the template, besides the package
+   */
+  private void createClassFromTemplate(String moduleName, String packageName, String className,
+      String templateName, String[][] replacements) {
+    final JavaType type =
+        new JavaType(String.format("%s.%s", packageName, className), moduleName);
+    final String identifier = pathResolver.getCanonicalPath(moduleName, Path.SRC_TEST_JAVA, type);
+    if (fileManager.exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), templateName);
+      String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      for (String[] replacement : replacements) {
+        input = input.replace(replacement[0], replacement[1]);
+      }
+      fileManager.createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+}
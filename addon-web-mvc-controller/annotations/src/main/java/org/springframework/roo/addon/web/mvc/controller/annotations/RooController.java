@@ -40,4 +40,14 @@ public @interface RooController {
    */
   ControllerType type();
 
+  /**
+   * This parameter enables conditional GET support on the controller
+   * endpoints: item views answer with an ETag based on the entity version
+   * and list views are wrapped by a shallow ETag filter, so unchanged
+   * resources return 304 (Not Modified) without rendering the view.
+   *
+   * @return true if HTTP caching headers must be generated
+   */
+  boolean httpCaching() default false;
+
 }
@@ -328,6 +328,10 @@ public class ThymeleafMVCViewResponseService extends AbstractOperations implemen
     createJasperReportsClassFromTemplate(module, "JasperReportsXlsExporter-template._java",
         "JasperReportsXlsExporter");
 
+    // Create the data source which reads the elements while filling reports
+    createJasperReportsClassFromTemplate(module,
+        "JasperReportsIteratorDataSource-template._java", "JasperReportsIteratorDataSource");
+
     // Add ExportingErrorException
     createJasperReportsClassFromTemplate(module, "ExportingErrorException-template._java",
         "ExportingErrorException");
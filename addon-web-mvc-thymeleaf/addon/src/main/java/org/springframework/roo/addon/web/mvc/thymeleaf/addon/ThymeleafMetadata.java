@@ -158,6 +158,12 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
       "net.sf.jasperreports.engine.data.JRBeanCollectionDataSource");
   private static final JavaType JASPER_PRINT = new JavaType(
       "net.sf.jasperreports.engine.JasperPrint");
+  private static final JavaType JR_PARAMETER = new JavaType(
+      "net.sf.jasperreports.engine.JRParameter");
+  private static final JavaType JR_SWAP_FILE = new JavaType(
+      "net.sf.jasperreports.engine.util.JRSwapFile");
+  private static final JavaType JR_SWAP_FILE_VIRTUALIZER = new JavaType(
+      "net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer");
   private static final JavaType DYNAMIC_JASPER_HELPER = new JavaType(
       "ar.com.fdvs.dj.core.DynamicJasperHelper");
   private static final JavaType CLASSIC_LAYOUT_MANAGER = new JavaType(
@@ -173,6 +179,7 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
   private static final String LINK_BUILDER_ARGUMENT_NAME = "linkBuilder";
 
   private final boolean readOnly;
+  private final boolean lightweightAudit;
   private final ControllerMetadata controllerMetadata;
   private final ControllerType type;
   private final ConstructorMetadata constructor;
@@ -307,6 +314,10 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
    * @param formBeansDateTimeFields
    * @param detailsCollectionController
    * @param relatedCollectionController
+   * @param lightweightAudit whether the entity is audited in lightweight mode,
+   *            so its version isn't bound from the form and the update
+   *            compares it with the submitted one instead of reading the
+   *            entity before saving it
    * 
    */
   public ThymeleafMetadata(final String identifier, final JavaType aspectName,
@@ -322,12 +333,14 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
       final JavaType detailItemController, JavaType detailsCollectionController,
       final JavaType relatedCollectionController, final JavaType relatedItemController,
       final List<FieldMetadata> validFields, final Map<String, JavaType> jasperReportsMap,
-      final JavaType relatedCollectionLinkFactory, final JavaType relatedItemLinkFactory) {
+      final JavaType relatedCollectionLinkFactory, final JavaType relatedItemLinkFactory,
+      final boolean lightweightAudit) {
     super(identifier, aspectName, governorPhysicalTypeMetadata);
 
     this.jasperReportsMap = jasperReportsMap;
     this.entityValidFields = validFields;
     this.readOnly = entityMetadata.isReadOnly();
+    this.lightweightAudit = lightweightAudit;
     this.controllerMetadata = controllerMetadata;
     this.type = this.controllerMetadata.getType();
     this.serviceMetadata = serviceMetadata;
@@ -1066,24 +1079,67 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
 
     // Get findAll method
     MethodMetadata findAllMethod = this.serviceMetadata.getCurrentFindAllWithGlobalSearchMethod();
+    final boolean streaming = isStreamingExport();
 
-    // Getting the default return type
-    JavaType defaultReturnType = findAllMethod.getReturnType();
+    if (streaming) {
 
-    // Obtain the filtered and ordered elements
-    // Page<Owner> owners = ownerService.findAll(search, pageable);
-    bodyBuilder.appendFormalLine("// Obtain the filtered and ordered elements");
-    bodyBuilder.appendFormalLine("%s %s = %s().%s(%s, %s);", getNameOfJavaType(defaultReturnType),
-        this.entityPluralUncapitalized,
-        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(), findAllMethod
-            .getMethodName().getSymbolName(), GLOBAL_SEARCH_PARAM_NAME, PAGEABLE_PARAM_NAME);
-    bodyBuilder.newLine();
+      // Get streamAll method
+      MethodMetadata streamAllMethod =
+          this.serviceMetadata.getCurrentStreamAllWithGlobalSearchMethod();
+
+      // // Obtain an iterator over the filtered and ordered elements. They are
+      // // read while the report is filled, instead of loading all of them
+      // CloseableIterator<Owner> owners = ownerService.streamAll(search, pageable.getSort());
+      bodyBuilder
+          .appendFormalLine("// Obtain an iterator over the filtered and ordered elements. They are");
+      bodyBuilder
+          .appendFormalLine("// read while the report is filled, instead of loading all of them");
+      bodyBuilder.appendFormalLine("%s %s = %s().%s(%s, %s.getSort());",
+          getNameOfJavaType(streamAllMethod.getReturnType()), this.entityPluralUncapitalized,
+          getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
+          streamAllMethod.getMethodName(), GLOBAL_SEARCH_PARAM_NAME, PAGEABLE_PARAM_NAME);
+      bodyBuilder.newLine();
+
+      // // Filled pages are swapped to a temporary file instead of being kept in memory
+      // JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(10,
+      //     new JRSwapFile(System.getProperty("java.io.tmpdir"), 2048, 1024), true);
+      bodyBuilder.appendFormalLine(
+          "// Filled pages are swapped to a temporary file instead of being kept in memory");
+      bodyBuilder.appendFormalLine("%1$s virtualizer = new %1$s(10,",
+          getNameOfJavaType(JR_SWAP_FILE_VIRTUALIZER));
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine(
+          "new %s(System.getProperty(\"java.io.tmpdir\"), 2048, 1024), true);",
+          getNameOfJavaType(JR_SWAP_FILE));
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("try {");
+      bodyBuilder.indent();
 
-    // // Prevent generation of reports with empty data
-    bodyBuilder.appendFormalLine("// Prevent generation of reports with empty data");
-    // if (owners == null || owners.getContent().isEmpty()) {
-    bodyBuilder.appendFormalLine("if (%1$s == null || %s.getContent().isEmpty()) {",
-        this.entityPluralUncapitalized);
+      // // Prevent generation of reports with empty data
+      bodyBuilder.appendFormalLine("// Prevent generation of reports with empty data");
+      // if (!owners.hasNext()) {
+      bodyBuilder.appendFormalLine("if (!%s.hasNext()) {", this.entityPluralUncapitalized);
+    } else {
+
+      // Getting the default return type
+      JavaType defaultReturnType = findAllMethod.getReturnType();
+
+      // Obtain the filtered and ordered elements
+      // Page<Owner> owners = ownerService.findAll(search, pageable);
+      bodyBuilder.appendFormalLine("// Obtain the filtered and ordered elements");
+      bodyBuilder.appendFormalLine("%s %s = %s().%s(%s, %s);",
+          getNameOfJavaType(defaultReturnType), this.entityPluralUncapitalized,
+          getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
+          findAllMethod.getMethodName().getSymbolName(), GLOBAL_SEARCH_PARAM_NAME,
+          PAGEABLE_PARAM_NAME);
+      bodyBuilder.newLine();
+
+      // // Prevent generation of reports with empty data
+      bodyBuilder.appendFormalLine("// Prevent generation of reports with empty data");
+      // if (owners == null || owners.getContent().isEmpty()) {
+      bodyBuilder.appendFormalLine("if (%1$s == null || %s.getContent().isEmpty()) {",
+          this.entityPluralUncapitalized);
+    }
     // return;
     bodyBuilder.indent();
     bodyBuilder.appendFormalLine("return;");
@@ -1163,15 +1219,35 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     bodyBuilder.appendFormalLine("builder.setUseFullPageWidth(true);");
     bodyBuilder.newLine();
 
-    // // Creates a new Jasper Reports Datasource using the obtained
-    // elements
-    bodyBuilder
-        .appendFormalLine("// Creates a new Jasper Reports Datasource using the obtained elements");
-    // JRDataSource ds = new
-    // JRBeanCollectionDataSource(owners.getContent());
-    bodyBuilder.appendFormalLine("%s ds = new %s(%s.getContent());",
-        getNameOfJavaType(JR_DATA_SOURCE), getNameOfJavaType(JR_BEAN_COLLECTION_DATA_SOURCE),
-        this.entityPluralUncapitalized);
+    if (streaming) {
+
+      // // Creates a new Jasper Reports Datasource which reads the elements
+      // // while the report is filled
+      bodyBuilder
+          .appendFormalLine("// Creates a new Jasper Reports Datasource which reads the elements");
+      bodyBuilder.appendFormalLine("// while the report is filled");
+      // JRDataSource ds = new JasperReportsIteratorDataSource(owners);
+      bodyBuilder.appendFormalLine("%s ds = new %s(%s);", getNameOfJavaType(JR_DATA_SOURCE),
+          getNameOfJavaType(this.jasperReportsMap.get("JasperReportsIteratorDataSource")),
+          this.entityPluralUncapitalized);
+      // Map<String, Object> params = new HashMap<String, Object>();
+      bodyBuilder.appendFormalLine("%1$s<String, Object> params = new %2$s<String, Object>();",
+          getNameOfJavaType(JdkJavaType.MAP), getNameOfJavaType(JavaType.HASH_MAP));
+      // params.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+      bodyBuilder.appendFormalLine("params.put(%s.REPORT_VIRTUALIZER, virtualizer);",
+          getNameOfJavaType(JR_PARAMETER));
+    } else {
+
+      // // Creates a new Jasper Reports Datasource using the obtained
+      // elements
+      bodyBuilder
+          .appendFormalLine("// Creates a new Jasper Reports Datasource using the obtained elements");
+      // JRDataSource ds = new
+      // JRBeanCollectionDataSource(owners.getContent());
+      bodyBuilder.appendFormalLine("%s ds = new %s(%s.getContent());",
+          getNameOfJavaType(JR_DATA_SOURCE), getNameOfJavaType(JR_BEAN_COLLECTION_DATA_SOURCE),
+          this.entityPluralUncapitalized);
+    }
     bodyBuilder.newLine();
 
     // // Generates the JasperReport
@@ -1181,10 +1257,20 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // try {
     bodyBuilder.appendFormalLine("try {");
     bodyBuilder.indent();
-    // jp = DynamicJasperHelper.generateJasperPrint(builder.build(), new
-    // ClassicLayoutManager(), ds);
-    bodyBuilder.appendFormalLine("jp = %s.generateJasperPrint(builder.build(), new %s(), ds);",
-        getNameOfJavaType(DYNAMIC_JASPER_HELPER), getNameOfJavaType(CLASSIC_LAYOUT_MANAGER));
+    if (streaming) {
+      // jp = DynamicJasperHelper.generateJasperPrint(builder.build(), new
+      // ClassicLayoutManager(), ds, params);
+      bodyBuilder.appendFormalLine(
+          "jp = %s.generateJasperPrint(builder.build(), new %s(), ds, params);",
+          getNameOfJavaType(DYNAMIC_JASPER_HELPER), getNameOfJavaType(CLASSIC_LAYOUT_MANAGER));
+      // virtualizer.setReadOnly(true);
+      bodyBuilder.appendFormalLine("virtualizer.setReadOnly(true);");
+    } else {
+      // jp = DynamicJasperHelper.generateJasperPrint(builder.build(), new
+      // ClassicLayoutManager(), ds);
+      bodyBuilder.appendFormalLine("jp = %s.generateJasperPrint(builder.build(), new %s(), ds);",
+          getNameOfJavaType(DYNAMIC_JASPER_HELPER), getNameOfJavaType(CLASSIC_LAYOUT_MANAGER));
+    }
     bodyBuilder.indentRemove();
     // "}"
     bodyBuilder.appendFormalLine("}");
@@ -1210,6 +1296,20 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     bodyBuilder.appendFormalLine("}");
     buildExportCatchBlock(bodyBuilder, JR_EXCEPTION);
     buildExportCatchBlock(bodyBuilder, IO_EXCEPTION);
+
+    if (streaming) {
+      bodyBuilder.indentRemove();
+      // } finally {
+      bodyBuilder.appendFormalLine("}");
+      bodyBuilder.appendFormalLine("finally {");
+      bodyBuilder.indent();
+      // owners.close();
+      bodyBuilder.appendFormalLine("%s.close();", this.entityPluralUncapitalized);
+      // virtualizer.cleanup();
+      bodyBuilder.appendFormalLine("virtualizer.cleanup();");
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+    }
     bodyBuilder.reset();
 
     // Build method
@@ -1317,7 +1417,7 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
           String.format("new %s()",
               getNameOfJavaType(jasperReportsMap.get("JasperReportsXlsExporter")));
       final String fileName =
-          String.format("%s_report.xls", StringUtils.uncapitalize(this.entityPlural));
+          String.format("%s_report.xlsx", StringUtils.uncapitalize(this.entityPlural));
       final JavaSymbolName methodName = EXPORT_XLS_METHOD_NAME;
 
       return buildExportTypeMethod(exporterMethodInvocation, fileName, methodName, "exportXls",
@@ -1326,6 +1426,19 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     return null;
   }
 
+  /**
+   * Checks if export methods can read the elements while the report is
+   * filled, which requires the streamAll service method and the
+   * `JasperReportsIteratorDataSource` class. Otherwise, all the elements are
+   * loaded before filling the report.
+   *
+   * @return true if the export can be streamed
+   */
+  private boolean isStreamingExport() {
+    return this.jasperReportsMap.get("JasperReportsIteratorDataSource") != null
+        && this.serviceMetadata.getCurrentStreamAllWithGlobalSearchMethod() != null;
+  }
+
   /**
    * Builds a `catch` block which throws an exception with a localized message
    * for export method.
@@ -1423,6 +1536,15 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     annotations.add(getMappingBuilder);
     annotations.add(RESPONSE_BODY_ANNOTATION);
 
+    // The elements are read thru a database cursor while the report is
+    // filled, so the export must be done inside a transaction
+    if (isStreamingExport()) {
+      AnnotationMetadataBuilder transactionalAnnotation =
+          new AnnotationMetadataBuilder(SpringJavaType.TRANSACTIONAL);
+      transactionalAnnotation.addBooleanAttribute("readOnly", true);
+      annotations.add(transactionalAnnotation);
+    }
+
     // Add throws types
     final List<JavaType> throwTypes = new ArrayList<JavaType>();
     throwTypes.add(JR_EXCEPTION);
@@ -1738,12 +1860,28 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // Page<Customer> customers = customerService.findAll(formBean,
     // globalSearch, pageable);
     bodyBuilder.newLine();
+    String totalItemNamesCount = String.format("total%sCount", StringUtils.capitalize(itemNames));
+    if (isSlice(serviceReturnType)) {
+      String sliceName = itemNames.concat("Slice");
+      bodyBuilder.appendFormalLine("%s %s = %s().%s(%s);", getNameOfJavaType(serviceReturnType),
+          sliceName, getAccessorMethod(controllerMetadata.getServiceField()).getMethodName(),
+          serviceFinderMethod.getMethodName(), StringUtils.join(parameterStrings, ","));
+      buildPageFromSlice(bodyBuilder, datatablesDataReturnType, sliceName, itemNames,
+          totalItemNamesCount, DATATABLES_PAGEABLE_PARAM_NAME.getSymbolName());
+      buildFinderDatatablesDataResult(bodyBuilder, datatablesDataReturnType, itemNames,
+          totalItemNamesCount);
+
+      MethodMetadataBuilder methodBuilder =
+          new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, returnType,
+              parameterTypes, parameterNames, bodyBuilder);
+      methodBuilder.setAnnotations(annotations);
+      return methodBuilder.build();
+    }
     bodyBuilder.appendFormalLine("%s %s = %s().%s(%s);", getNameOfJavaType(serviceReturnType),
         itemNames, getAccessorMethod(controllerMetadata.getServiceField()).getMethodName(),
         serviceFinderMethod.getMethodName(), StringUtils.join(parameterStrings, ","));
 
     // long totalProductsCount = products.getTotalElements();
-    String totalItemNamesCount = String.format("total%sCount", StringUtils.capitalize(itemNames));
     bodyBuilder.appendFormalLine(String.format("long %s = %s.getTotalElements();",
         totalItemNamesCount, itemNames));
 
@@ -1781,6 +1919,28 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     bodyBuilder.indentRemove();
     bodyBuilder.appendFormalLine("}");
 
+    buildFinderDatatablesDataResult(bodyBuilder, datatablesDataReturnType, itemNames,
+        totalItemNamesCount);
+
+    MethodMetadataBuilder methodBuilder =
+        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, returnType, parameterTypes,
+            parameterNames, bodyBuilder);
+    methodBuilder.setAnnotations(annotations);
+
+    return methodBuilder.build();
+  }
+
+  /**
+   * Builds the sentences which return the datatables data of a finder
+   *
+   * @param bodyBuilder
+   * @param datatablesDataReturnType the type of the finder results
+   * @param itemNames the name of the variable with the page of results
+   * @param totalItemNamesCount the name of the variable with the total count
+   */
+  private void buildFinderDatatablesDataResult(InvocableMemberBodyBuilder bodyBuilder,
+      JavaType datatablesDataReturnType, String itemNames, String totalItemNamesCount) {
+
     // DatatablesData<Product> datatablesData = new
     // DatatablesData<Product>(products, totalProductsCount, draw);
     bodyBuilder.appendFormalLine(String.format(
@@ -1792,13 +1952,43 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // return ResponseEntity.ok(datatablesData);
     bodyBuilder.appendFormalLine(String.format("return %s.ok(datatablesData);",
         getNameOfJavaType(RESPONSE_ENTITY)));
+  }
 
-    MethodMetadataBuilder methodBuilder =
-        new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName, returnType, parameterTypes,
-            parameterNames, bodyBuilder);
-    methodBuilder.setAnnotations(annotations);
+  /**
+   * Builds the sentences which wrap a slice of results in a page, as
+   * datatables and select2 data require. Slices are never counted, so the
+   * total of the page only includes the next element when there is a next
+   * slice, which is enough to paginate to it.
+   *
+   * @param bodyBuilder
+   * @param elementType the type of the slice elements
+   * @param sliceName the name of the variable with the slice
+   * @param pageName the name of the page variable to declare
+   * @param totalVarName the name of the total count variable to declare
+   * @param pageable the name of the Pageable variable
+   */
+  private void buildPageFromSlice(InvocableMemberBodyBuilder bodyBuilder, JavaType elementType,
+      String sliceName, String pageName, String totalVarName, String pageable) {
+
+    // long totalCustomersCount = pageable.getOffset() + customersSlice.getNumberOfElements()
+    //    + (customersSlice.hasNext() ? 1 : 0);
+    bodyBuilder.appendFormalLine("long %s = %s.getOffset() + %s.getNumberOfElements() "
+        + "+ (%s.hasNext() ? 1 : 0);", totalVarName, pageable, sliceName, sliceName);
+
+    // Page<Customer> customers =
+    //    new PageImpl<Customer>(customersSlice.getContent(), pageable, totalCustomersCount);
+    bodyBuilder.appendFormalLine("%1$s<%2$s> %3$s = new %4$s<%2$s>(%5$s.getContent(), %6$s, %7$s);",
+        getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(elementType), pageName,
+        getNameOfJavaType(SpringJavaType.PAGE_IMPL), sliceName, pageable, totalVarName);
+  }
 
-    return methodBuilder.build();
+  /**
+   * @param type a method return type
+   * @return true if the type is a Slice
+   */
+  private boolean isSlice(JavaType type) {
+    return SpringJavaType.SLICE.getFullyQualifiedTypeName().equals(
+        type.getFullyQualifiedTypeName());
   }
 
   /**
@@ -1826,8 +2016,20 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
 
     InvocableMemberBodyBuilder body = new InvocableMemberBodyBuilder();
 
-    // dataBinder.setDisallowedFields("id");
-    body.appendFormalLine("dataBinder.setDisallowedFields(\"%s\");", entityIdentifier);
+    // The version of the lightweight audited entities isn't bound, so the
+    // update can compare the submitted one with the version the entity was
+    // read with
+    final FieldMetadata versionField = this.entityMetadata.getCurrentVersionField();
+    if (this.lightweightAudit && entity.equals(this.entity) && versionField != null) {
+
+      // dataBinder.setDisallowedFields("id", "version");
+      body.appendFormalLine("dataBinder.setDisallowedFields(\"%s\", \"%s\");",
+          entityIdentifier, versionField.getFieldName());
+    } else {
+
+      // dataBinder.setDisallowedFields("id");
+      body.appendFormalLine("dataBinder.setDisallowedFields(\"%s\");", entityIdentifier);
+    }
 
     for (Pair<RelationInfo, JpaEntityMetadata> item : compositionRelationOneToOne) {
       body.appendFormalLine("dataBinder.setDisallowedFields(\"%s.%s\");", item.getKey().fieldName,
@@ -1924,7 +2126,10 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // Generate body
     InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
 
-    if (this.entityMetadata.isReadOnly()) {
+    // Lightweight audited entities don't lock the entity to update it, as the
+    // update compares the submitted version with the one read here, and the
+    // update statement checks it again
+    if (this.entityMetadata.isReadOnly() || this.lightweightAudit) {
 
       // Customer customer = customerService.findOne(id);
       bodyBuilder.appendFormalLine("%s %s = %s.%s(%s);", getNameOfJavaType(entityType),
@@ -2269,6 +2474,15 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // }
     bodyBuilder.appendFormalLine("}");
 
+    if (this.lightweightAudit) {
+      addLightweightUpdateBody(bodyBuilder);
+      MethodMetadataBuilder methodBuilder =
+          new MethodMetadataBuilder(getId(), Modifier.PUBLIC, methodName,
+              SpringJavaType.MODEL_AND_VIEW, parameterTypes, parameterNames, bodyBuilder);
+      methodBuilder.setAnnotations(annotations);
+      return methodBuilder.build();
+    }
+
     // // Concurrency control
     bodyBuilder.appendFormalLine("// Concurrency control");
 
@@ -2375,6 +2589,128 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     return methodBuilder.build();
   }
 
+  /**
+   * Generates the body of the "update" method for the entities audited in
+   * lightweight mode. The entity isn't read again before saving it: its
+   * version isn't bound from the form, so it keeps the version it was read
+   * with, which is compared with the submitted one. The modifications done
+   * between the read and the update are detected by the version check of the
+   * update statement.
+   *
+   * @param bodyBuilder the builder of the method body
+   */
+  private void addLightweightUpdateBody(InvocableMemberBodyBuilder bodyBuilder) {
+    final String serviceAccessor =
+        getAccessorMethod(controllerMetadata.getServiceField()).getMethodName().getSymbolName();
+    final String findOneMethod =
+        serviceMetadata.getCurrentFindOneMethod().getMethodName().getSymbolName();
+    final String idAccessor =
+        getAccessorMethod(this.entityMetadata.getCurrentIndentifierField()).getMethodName()
+            .getSymbolName();
+    final String versionAccessor =
+        getAccessorMethod(this.entityMetadata.getCurrentVersionField()).getMethodName()
+            .getSymbolName();
+    final String versionParam =
+        this.entityMetadata.getCurrentVersionField().getFieldName().getSymbolName();
+    final String modelAndView = getNameOfJavaType(SpringJavaType.MODEL_AND_VIEW);
+    final String objectUtils =
+        getNameOfJavaType(new JavaType("org.apache.commons.lang3.ObjectUtils"));
+
+    // // Concurrency control: the entity keeps the version it was read with
+    bodyBuilder
+        .appendFormalLine("// Concurrency control: the entity keeps the version it was read with");
+
+    // if ("discard".equals(concurrencyControl)) {
+    bodyBuilder.appendFormalLine("if (\"discard\".equals(concurrencyControl)) {");
+    bodyBuilder.indent();
+
+    // populateForm(model);
+    bodyBuilder.appendFormalLine("populateForm(model);");
+
+    // model.addAttribute("pet", getPetService().findOne(pet.getId()));
+    bodyBuilder.appendFormalLine("model.addAttribute(\"%s\", %s().%s(%s.%s()));", entityItemName,
+        serviceAccessor, findOneMethod, entityItemName, idAccessor);
+
+    // model.addAttribute("concurrency", false);
+    bodyBuilder.appendFormalLine("model.addAttribute(\"concurrency\", false);");
+
+    // return new ModelAndView("pets/edit");
+    bodyBuilder.appendFormalLine("return new %s(\"%s/edit\");", modelAndView, viewsPath);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // if (ObjectUtils.notEqual(version, pet.getVersion())
+    // && StringUtils.isEmpty(concurrencyControl)) {
+    bodyBuilder.appendFormalLine(
+        "if (%s.notEqual(%s, %s.%s()) && %s.isEmpty(concurrencyControl)) {", objectUtils, versionParam, entityItemName, versionAccessor,
+        getNameOfJavaType(new JavaType("org.apache.commons.lang3.StringUtils")));
+    bodyBuilder.indent();
+
+    // populateForm(model);
+    bodyBuilder.appendFormalLine("populateForm(model);");
+
+    // model.addAttribute("pet", pet);
+    bodyBuilder.appendFormalLine("model.addAttribute(\"%s\", %s);", entityItemName, entityItemName);
+
+    // model.addAttribute("concurrency", true);
+    bodyBuilder.appendFormalLine("model.addAttribute(\"concurrency\", true);");
+
+    // return new ModelAndView("pets/edit");
+    bodyBuilder.appendFormalLine("return new %s(\"%s/edit\");", modelAndView, viewsPath);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // // When applied, the changes override the values of the version read
+    bodyBuilder
+        .appendFormalLine("// When applied, the changes override the values of the version read");
+    String savedVarName = "saved" + entity.getSimpleTypeName();
+
+    // Pet savedPet;
+    bodyBuilder.appendFormalLine("%s %s;", getNameOfJavaType(entity), savedVarName);
+
+    // try {
+    bodyBuilder.appendFormalLine("try {");
+    bodyBuilder.indent();
+
+    // savedPet = getPetService().save(pet);
+    bodyBuilder.appendFormalLine("%s = %s().%s(%s);", savedVarName, serviceAccessor,
+        serviceMetadata.getCurrentSaveMethod().getMethodName(), entityItemName);
+    bodyBuilder.indentRemove();
+
+    // } catch (OptimisticLockingFailureException e) {
+    bodyBuilder.appendFormalLine("} catch (%s e) {",
+        getNameOfJavaType(SpringJavaType.OPTIMISTIC_LOCKING_FAILURE_EXCEPTION));
+    bodyBuilder.indent();
+
+    // // Modified after the entity was read
+    bodyBuilder.appendFormalLine("// Modified after the entity was read");
+
+    // populateForm(model);
+    bodyBuilder.appendFormalLine("populateForm(model);");
+
+    // model.addAttribute("pet", pet);
+    bodyBuilder.appendFormalLine("model.addAttribute(\"%s\", %s);", entityItemName, entityItemName);
+
+    // model.addAttribute("concurrency", true);
+    bodyBuilder.appendFormalLine("model.addAttribute(\"concurrency\", true);");
+
+    // return new ModelAndView("pets/edit");
+    bodyBuilder.appendFormalLine("return new %s(\"%s/edit\");", modelAndView, viewsPath);
+    bodyBuilder.indentRemove();
+    bodyBuilder.appendFormalLine("}");
+
+    // UriComponents showURI = itemLink.to(PetItemThymeleafLinkFactory.SHOW).with("pet",
+    // savedPet.getId()).toUri();
+    bodyBuilder.appendFormalLine("%s showURI = %s().to(%s.SHOW).with(\"%s\", %s.getId()).toUri();",
+        getNameOfJavaType(SpringJavaType.URI_COMPONENTS),
+        getAccessorMethod(this.methodLinkBuilderFactoryField).getMethodName(),
+        getNameOfJavaType(relatedItemLinkFactory), this.entityItemName, savedVarName);
+
+    // return new ModelAndView("redirect:" + showURI.toUriString());
+    bodyBuilder.appendFormalLine("return new %s(\"redirect:\" + showURI.toUriString());",
+        modelAndView);
+  }
+
   /**
    * This method provides the "update" method using Thymeleaf view response
    * type
@@ -3200,27 +3536,39 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // Getting the findAll return type
     JavaType defaultReturnType = findAllMethod.getReturnType().getParameters().get(0);
 
-    // Page<Customer> customers = customerService.findAll(search, pageable);
-    bodyBuilder.appendFormalLine("%s<%s> %s = %s().%s(search, pageable);",
-        getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(defaultReturnType), itemNames,
-        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
-        findAllMethod.getMethodName());
-
     final String totalVarName = "total" + StringUtils.capitalize(this.entityPlural) + "Count";
-    // long totalCustomersCount = customers.getTotalElements();
-    bodyBuilder.appendFormalLine("long %s = %s.getTotalElements();", totalVarName, itemNames);
+    if (isSlice(findAllMethod.getReturnType())) {
+
+      // Slice<Customer> customersSlice = customerService.findAll(search, pageable);
+      bodyBuilder.appendFormalLine("%s<%s> %sSlice = %s().%s(search, pageable);",
+          getNameOfJavaType(SpringJavaType.SLICE), getNameOfJavaType(defaultReturnType),
+          itemNames, getAccessorMethod(this.controllerMetadata.getServiceField())
+              .getMethodName(), findAllMethod.getMethodName());
+      buildPageFromSlice(bodyBuilder, defaultReturnType, itemNames.concat("Slice"), itemNames,
+          totalVarName, "pageable");
+    } else {
 
-    // if (search != null && StringUtils.hasText(search.getText())) {
-    // totalCustomersCount = customerService.count();
-    // }
-    bodyBuilder.appendFormalLine("if (search != null && %s.isNotBlank(search.getText())) {",
-        getNameOfJavaType(STRING_UTILS_APACHE));
-    bodyBuilder.indent();
-    bodyBuilder.appendFormalLine("%s = %s().%s();", totalVarName,
-        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
-        serviceMetadata.getCurrentCountMethod().getMethodName());
-    bodyBuilder.indentRemove();
-    bodyBuilder.appendFormalLine("}");
+      // Page<Customer> customers = customerService.findAll(search, pageable);
+      bodyBuilder.appendFormalLine("%s<%s> %s = %s().%s(search, pageable);",
+          getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(defaultReturnType),
+          itemNames, getAccessorMethod(this.controllerMetadata.getServiceField())
+              .getMethodName(), findAllMethod.getMethodName());
+
+      // long totalCustomersCount = customers.getTotalElements();
+      bodyBuilder.appendFormalLine("long %s = %s.getTotalElements();", totalVarName, itemNames);
+
+      // if (search != null && StringUtils.hasText(search.getText())) {
+      // totalCustomersCount = customerService.count();
+      // }
+      bodyBuilder.appendFormalLine("if (search != null && %s.isNotBlank(search.getText())) {",
+          getNameOfJavaType(STRING_UTILS_APACHE));
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine("%s = %s().%s();", totalVarName,
+          getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
+          serviceMetadata.getCurrentCountMethod().getMethodName());
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+    }
 
     // ConvertedDatatablesData<Owner> datatablesData = new
     // ConvertedDatatablesData<Owner>(owners,
@@ -3416,11 +3764,23 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // Getting the findAll return type
     JavaType defaultReturnType = findAllMethod.getReturnType().getParameters().get(0);
 
-    // Page<Customer> customers = customerService.findAll(search, pageable);
-    bodyBuilder.appendFormalLine("%s<%s> %s = %s().%s(search, pageable);",
-        getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(defaultReturnType), itemsName,
-        getAccessorMethod(this.controllerMetadata.getServiceField()).getMethodName(),
-        findAllMethod.getMethodName());
+    if (isSlice(findAllMethod.getReturnType())) {
+
+      // Slice<Customer> customersSlice = customerService.findAll(search, pageable);
+      bodyBuilder.appendFormalLine("%s<%s> %sSlice = %s().%s(search, pageable);",
+          getNameOfJavaType(SpringJavaType.SLICE), getNameOfJavaType(defaultReturnType),
+          itemsName, getAccessorMethod(this.controllerMetadata.getServiceField())
+              .getMethodName(), findAllMethod.getMethodName());
+      buildPageFromSlice(bodyBuilder, defaultReturnType, itemsName.concat("Slice"), itemsName,
+          "total" + StringUtils.capitalize(this.entityPlural) + "Count", "pageable");
+    } else {
+
+      // Page<Customer> customers = customerService.findAll(search, pageable);
+      bodyBuilder.appendFormalLine("%s<%s> %s = %s().%s(search, pageable);",
+          getNameOfJavaType(SpringJavaType.PAGE), getNameOfJavaType(defaultReturnType),
+          itemsName, getAccessorMethod(this.controllerMetadata.getServiceField())
+              .getMethodName(), findAllMethod.getMethodName());
+    }
 
     // String idExpression = "#{id}";
     bodyBuilder.appendFormalLine("String idExpression = \"#{%s}\";", this.entityIdentifier);
@@ -3583,8 +3943,16 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // Define methodName
     final JavaSymbolName methodName = SHOW_METHOD_NAME;
 
+    // Entity version is used as ETag when HTTP caching is enabled
+    final MethodMetadata versionAccessor = entityMetadata.getCurrentVersionAccessor();
+    final boolean httpCaching =
+        controllerMetadata.getAnnotationValues().isHttpCaching() && versionAccessor != null;
+
     List<AnnotatedJavaType> parameterTypes = new ArrayList<AnnotatedJavaType>();
     parameterTypes.add(new AnnotatedJavaType(this.entity, ANN_METADATA_MODEL_ATTRIBUTE));
+    if (httpCaching) {
+      parameterTypes.add(AnnotatedJavaType.convertFromJavaType(SpringJavaType.WEB_REQUEST));
+    }
     parameterTypes.add(MODEL_PARAM);
 
     MethodMetadata existingMethod =
@@ -3596,6 +3964,9 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
 
     final List<JavaSymbolName> parameterNames = new ArrayList<JavaSymbolName>();
     parameterNames.add(new JavaSymbolName(entityItemName));
+    if (httpCaching) {
+      parameterNames.add(new JavaSymbolName("request"));
+    }
     parameterNames.add(MODEL_PARAM_NAME);
 
     // Adding annotations
@@ -3609,6 +3980,17 @@ public class ThymeleafMetadata extends AbstractViewMetadata {
     // Generate body
     InvocableMemberBodyBuilder bodyBuilder = new InvocableMemberBodyBuilder();
 
+    if (httpCaching) {
+      // Answer with a 304 (Not Modified) without rendering the view
+      // if (request.checkNotModified(String.valueOf(customer.getVersion()))) {
+      bodyBuilder.appendFormalLine("if (request.checkNotModified(%s.valueOf(%s.%s()))) {",
+          getNameOfJavaType(JavaType.STRING), entityItemName, versionAccessor.getMethodName());
+      bodyBuilder.indent();
+      bodyBuilder.appendFormalLine("return null;");
+      bodyBuilder.indentRemove();
+      bodyBuilder.appendFormalLine("}");
+    }
+
     // model.addAttribute("entity", entityParam)
     bodyBuilder.appendFormalLine("model.addAttribute(\"%s\", %s);", entityItemName, entityItemName);
 
@@ -28,6 +28,8 @@ import org.springframework.roo.classpath.details.FieldMetadata;
 import org.springframework.roo.classpath.details.ItdTypeDetails;
 import org.springframework.roo.classpath.details.MemberHoldingTypeDetails;
 import org.springframework.roo.classpath.details.MethodMetadata;
+import org.springframework.roo.classpath.details.annotations.AnnotationAttributeValue;
+import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.metadata.MetadataDependencyRegistry;
 import org.springframework.roo.metadata.internal.MetadataDependencyRegistryTracker;
 import org.springframework.roo.model.JavaType;
@@ -261,11 +263,32 @@ public class ThymeleafMetadataProviderImpl extends
             formBeansDateTimeFields, formBeansEnumFields, detailsItemController,
             detailsCollectionController, relatedCollectionController, relatedItemController,
             entityFields, getJasperReportsMap(), relatedCollectionLinkFactory,
-            relatedItemLinkFactory);
+            relatedItemLinkFactory, isLightweightAudit(serviceMetadata.getEntity()));
 
     return metadata;
   }
 
+  /**
+   * Checks if the entity is audited in lightweight mode
+   * 
+   * @param entity
+   * @return true if the entity has `@RooJpaAudit(lightweight = true)`
+   */
+  private boolean isLightweightAudit(JavaType entity) {
+    final ClassOrInterfaceTypeDetails entityDetails =
+        getTypeLocationService().getTypeDetails(entity);
+    if (entityDetails == null) {
+      return false;
+    }
+    final AnnotationMetadata auditAnnotation =
+        entityDetails.getAnnotation(RooJavaType.ROO_JPA_AUDIT);
+    if (auditAnnotation == null) {
+      return false;
+    }
+    final AnnotationAttributeValue<?> lightweight = auditAnnotation.getAttribute("lightweight");
+    return lightweight != null && Boolean.TRUE.equals(lightweight.getValue());
+  }
+
   public String getProvidesType() {
     return ThymeleafMetadata.getMetadataIdentiferType();
   }
@@ -291,6 +314,8 @@ public class ThymeleafMetadataProviderImpl extends
             jasperReportsExporterMap.put("JasperReportsPdfExporter", type);
           } else if (type.getSimpleTypeName().equals("JasperReportsXlsExporter")) {
             jasperReportsExporterMap.put("JasperReportsXlsExporter", type);
+          } else if (type.getSimpleTypeName().equals("JasperReportsIteratorDataSource")) {
+            jasperReportsExporterMap.put("JasperReportsIteratorDataSource", type);
           } else if (type.getSimpleTypeName().equals("ExportingErrorException")) {
             // Get ExportingErrorException
             jasperReportsExporterMap.put("ExportingErrorException", type);
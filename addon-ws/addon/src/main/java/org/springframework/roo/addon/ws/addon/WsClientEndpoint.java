@@ -30,10 +30,33 @@ public class WsClientEndpoint {
    */
   private final EnumDetails bindingType;
 
+  /**
+   * Whether the client has asynchronous operations
+   */
+  private final boolean async;
+
+  /**
+   * Whether the client messages are compressed with GZIP
+   */
+  private final boolean gzip;
+
+  /**
+   * Whether the client sends binary content as MTOM attachments
+   */
+  private final boolean mtom;
+
   public WsClientEndpoint(String name, String targetNameSpace, EnumDetails bindingType) {
+    this(name, targetNameSpace, bindingType, false, false, false);
+  }
+
+  public WsClientEndpoint(String name, String targetNameSpace, EnumDetails bindingType,
+      boolean async, boolean gzip, boolean mtom) {
     this.name = name;
     this.targetNameSpace = targetNameSpace;
     this.bindingType = bindingType;
+    this.async = async;
+    this.gzip = gzip;
+    this.mtom = mtom;
   }
 
   public String getName() {
@@ -48,4 +71,16 @@ public class WsClientEndpoint {
     return bindingType;
   }
 
+  public boolean isAsync() {
+    return async;
+  }
+
+  public boolean isGzip() {
+    return gzip;
+  }
+
+  public boolean isMtom() {
+    return mtom;
+  }
+
 }
@@ -41,6 +41,19 @@ public class WsClientsMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
   private static final String PROVIDES_TYPE = MetadataIdentificationUtils
       .create(PROVIDES_TYPE_STRING);
 
+  public static final String CONNECTION_TIMEOUT = "ConnectionTimeout";
+  public static final String RECEIVE_TIMEOUT = "ReceiveTimeout";
+  public static final String MAX_CONNECTIONS_PROPERTY = "ws.clients.max-connections";
+  public static final String MAX_PER_HOST_CONNECTIONS_PROPERTY =
+      "ws.clients.max-per-host-connections";
+  public static final String DEFAULT_CONNECTION_TIMEOUT = "30000";
+  public static final String DEFAULT_RECEIVE_TIMEOUT = "60000";
+  public static final String DEFAULT_MAX_CONNECTIONS = "5000";
+  public static final String DEFAULT_MAX_PER_HOST_CONNECTIONS = "1000";
+
+  private static final JavaType ASYNC_HTTP_CONDUIT_FACTORY = new JavaType(
+      "org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduitFactory");
+
   private JavaType governor;
   private String profile;
   private List<WsClientEndpoint> endPoints;
@@ -49,6 +62,8 @@ public class WsClientsMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
   private Map<String, FieldMetadataBuilder> endPointFields =
       new HashMap<String, FieldMetadataBuilder>();
   private FieldMetadataBuilder loggerField;
+  private FieldMetadataBuilder maxConnectionsField;
+  private FieldMetadataBuilder maxPerHostConnectionsField;
 
 
   public static String createIdentifier(final JavaType javaType, final LogicalPath path) {
@@ -126,6 +141,14 @@ public class WsClientsMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     // Include new field and new method for each registered endpoint
     for (WsClientEndpoint endPoint : endPoints) {
       ensureGovernorHasField(getEndPointField(endPoint));
+      ensureGovernorHasField(getEndPointTimeoutField(endPoint, CONNECTION_TIMEOUT));
+      ensureGovernorHasField(getEndPointTimeoutField(endPoint, RECEIVE_TIMEOUT));
+
+      // The connection pool is shared by all the asynchronous clients
+      if (endPoint.isAsync()) {
+        ensureGovernorHasField(getMaxConnectionsField());
+        ensureGovernorHasField(getMaxPerHostConnectionsField());
+      }
       // Create method
       ensureGovernorHasMethod(getEndpointMethod(endPoint));
     }
@@ -193,6 +216,100 @@ public class WsClientsMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     return endPointField;
   }
 
+  /**
+   * This method provides a timeout field for the provided endPoint
+   * 
+   * @param endPoint to obtain the related field
+   * @param timeout the name of the timeout, used as suffix of the field 
+   *            name and property
+   * 
+   * @return FieldMetadataBuilder that contains all information about the field
+   */
+  public FieldMetadataBuilder getEndPointTimeoutField(WsClientEndpoint endPoint, String timeout) {
+
+    // Checking if already exists the timeout field to 
+    // prevent to generate it again
+    String key = endPoint.getName().concat(timeout);
+    if (endPointFields.get(key) != null) {
+      return endPointFields.get(key);
+    }
+
+    // Calculate the field name
+    JavaSymbolName fieldName =
+        new JavaSymbolName(StringUtils.uncapitalize(endPoint.getName()).concat(timeout));
+
+    // Create the field
+    FieldMetadataBuilder timeoutField =
+        new FieldMetadataBuilder(getId(), Modifier.PRIVATE, fieldName,
+            JavaType.LONG_PRIMITIVE, null);
+
+    // Include @Value annotation. The default values are the CXF ones
+    AnnotationMetadataBuilder valueAnnotation = new AnnotationMetadataBuilder(SpringJavaType.VALUE);
+    valueAnnotation.addStringAttribute("value", String.format("${%s:%s}",
+        getTimeoutPropertyName(endPoint.getName(), timeout),
+        CONNECTION_TIMEOUT.equals(timeout) ? DEFAULT_CONNECTION_TIMEOUT : DEFAULT_RECEIVE_TIMEOUT));
+    timeoutField.addAnnotation(valueAnnotation);
+
+    // Cache generated fields
+    endPointFields.put(key, timeoutField);
+
+    return timeoutField;
+  }
+
+  /**
+   * This method obtains the field with the maximum number of pooled 
+   * connections of the asynchronous clients
+   * 
+   * @return FieldMetadataBuilder that contains all information about the field
+   */
+  public FieldMetadataBuilder getMaxConnectionsField() {
+
+    if (maxConnectionsField == null) {
+      maxConnectionsField =
+          getPoolField("maxConnections", MAX_CONNECTIONS_PROPERTY, DEFAULT_MAX_CONNECTIONS);
+    }
+    return maxConnectionsField;
+  }
+
+  /**
+   * This method obtains the field with the maximum number of pooled 
+   * connections to the same host of the asynchronous clients
+   * 
+   * @return FieldMetadataBuilder that contains all information about the field
+   */
+  public FieldMetadataBuilder getMaxPerHostConnectionsField() {
+
+    if (maxPerHostConnectionsField == null) {
+      maxPerHostConnectionsField =
+          getPoolField("maxPerHostConnections", MAX_PER_HOST_CONNECTIONS_PROPERTY,
+              DEFAULT_MAX_PER_HOST_CONNECTIONS);
+    }
+    return maxPerHostConnectionsField;
+  }
+
+  private FieldMetadataBuilder getPoolField(String name, String property, String defaultValue) {
+    FieldMetadataBuilder poolField =
+        new FieldMetadataBuilder(getId(), Modifier.PRIVATE, new JavaSymbolName(name),
+            JavaType.INT_PRIMITIVE, null);
+    AnnotationMetadataBuilder valueAnnotation = new AnnotationMetadataBuilder(SpringJavaType.VALUE);
+    valueAnnotation.addStringAttribute("value", String.format("${%s:%s}", property, defaultValue));
+    poolField.addAnnotation(valueAnnotation);
+    return poolField;
+  }
+
+  /**
+   * This method obtains the name of the property that configures a timeout 
+   * of an endpoint
+   * 
+   * @param endPointName the endpoint name
+   * @param timeout the timeout name
+   * @return String with the property name
+   */
+  public static String getTimeoutPropertyName(String endPointName, String timeout) {
+    return String.format("ws.client.%s.%s", endPointName,
+        CONNECTION_TIMEOUT.equals(timeout) ? "connection-timeout" : "receive-timeout");
+  }
+
   /**
    * This method provides the related method for the provided endPoint
    * 
@@ -248,10 +365,76 @@ public class WsClientsMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
     }
 
     // jaxWsFactory.setFeatures(Arrays.asList(new TraceeCxfFeature(), new LoggingFeature()));
-    bodyBuilder.appendFormalLine("jaxWsFactory.setFeatures(%s.asList(new %s(), new %s()));",
+    // If GZIP is enabled, the GZIPFeature is included too
+    String gzipFeature = "";
+    if (endPoint.isGzip()) {
+      gzipFeature =
+          String.format(", new %s()", getNameOfJavaType(new JavaType(
+              "org.apache.cxf.transport.common.gzip.GZIPFeature")));
+    }
+    bodyBuilder.appendFormalLine("jaxWsFactory.setFeatures(%s.asList(new %s(), new %s()%s));",
         getNameOfJavaType(JavaType.ARRAYS), getNameOfJavaType(new JavaType(
             "io.tracee.binding.cxf.TraceeCxfFeature")), getNameOfJavaType(new JavaType(
-            "org.apache.cxf.feature.LoggingFeature")));
+            "org.apache.cxf.feature.LoggingFeature")), gzipFeature);
+
+    // Check MTOM. If enabled, the binary content is sent as attachments
+    if (endPoint.isMtom()) {
+      // Map<String, Object> properties = new HashMap<String, Object>();
+      bodyBuilder.appendFormalLine("%s<String, Object> properties = new %s<String, Object>();",
+          getNameOfJavaType(new JavaType("java.util.Map")),
+          getNameOfJavaType(new JavaType("java.util.HashMap")));
+
+      // properties.put(Message.MTOM_ENABLED, Boolean.TRUE);
+      bodyBuilder.appendFormalLine("properties.put(%s.MTOM_ENABLED, Boolean.TRUE);",
+          getNameOfJavaType(new JavaType("org.apache.cxf.message.Message")));
+
+      // jaxWsFactory.setProperties(properties);
+      bodyBuilder.appendFormalLine("jaxWsFactory.setProperties(properties);");
+    }
+
+    // Check async. If enabled, the asynchronous operations are sent through the 
+    // pooled connections of the non-blocking HTTP conduit
+    if (endPoint.isAsync()) {
+      // Bus bus = jaxWsFactory.getBus();
+      bodyBuilder.appendFormalLine("%s bus = jaxWsFactory.getBus();",
+          getNameOfJavaType(new JavaType("org.apache.cxf.Bus")));
+
+      // bus.setProperty(AsyncHTTPConduitFactory.MAX_CONNECTIONS, this.maxConnections);
+      bodyBuilder.appendFormalLine("bus.setProperty(%s.MAX_CONNECTIONS, this.%s);",
+          getNameOfJavaType(ASYNC_HTTP_CONDUIT_FACTORY), getMaxConnectionsField().getFieldName());
+
+      // bus.setProperty(AsyncHTTPConduitFactory.MAX_PER_HOST_CONNECTIONS, this.maxPerHostConnections);
+      bodyBuilder.appendFormalLine("bus.setProperty(%s.MAX_PER_HOST_CONNECTIONS, this.%s);",
+          getNameOfJavaType(ASYNC_HTTP_CONDUIT_FACTORY), getMaxPerHostConnectionsField()
+              .getFieldName());
+    }
+
+    // ENDPOINT client = (ENDPOINT) jaxWsFactory.create();
+    bodyBuilder.appendFormalLine("%s client = (%s) jaxWsFactory.create();",
+        getNameOfJavaType(endPointType), getNameOfJavaType(endPointType));
+
+    // Reuse the connections and limit the time waiting for the service
+    // HTTPClientPolicy policy = new HTTPClientPolicy();
+    bodyBuilder.appendFormalLine("%1$s policy = new %1$s();", getNameOfJavaType(new JavaType(
+        "org.apache.cxf.transports.http.configuration.HTTPClientPolicy")));
+
+    // policy.setConnection(ConnectionType.KEEP_ALIVE);
+    bodyBuilder.appendFormalLine("policy.setConnection(%s.KEEP_ALIVE);",
+        getNameOfJavaType(new JavaType(
+            "org.apache.cxf.transports.http.configuration.ConnectionType")));
+
+    // policy.setConnectionTimeout(this.ENDPOINTConnectionTimeout);
+    bodyBuilder.appendFormalLine("policy.setConnectionTimeout(this.%s);",
+        getEndPointTimeoutField(endPoint, CONNECTION_TIMEOUT).getFieldName());
+
+    // policy.setReceiveTimeout(this.ENDPOINTReceiveTimeout);
+    bodyBuilder.appendFormalLine("policy.setReceiveTimeout(this.%s);",
+        getEndPointTimeoutField(endPoint, RECEIVE_TIMEOUT).getFieldName());
+
+    // ((HTTPConduit) ClientProxy.getClient(client).getConduit()).setClient(policy);
+    bodyBuilder.appendFormalLine("((%s) %s.getClient(client).getConduit()).setClient(policy);",
+        getNameOfJavaType(new JavaType("org.apache.cxf.transport.http.HTTPConduit")),
+        getNameOfJavaType(new JavaType("org.apache.cxf.frontend.ClientProxy")));
 
     // LOGGER.info("Web Service client ENDPOINTFIELD has been created. URL: '{}'", this.ENDPOINTFIELD);
     bodyBuilder.appendFormalLine(
@@ -259,9 +442,8 @@ public class WsClientsMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
         getLoggerField().getFieldName(), getEndPointField(endPoint).getFieldName()
             .getSymbolNameCapitalisedFirstLetter(), getEndPointField(endPoint).getFieldName());
 
-    // return (ENDPOINT) jaxWsFactory.create();
-    bodyBuilder.appendFormalLine("return (%s) jaxWsFactory.create();",
-        getNameOfJavaType(endPointType));
+    // return client;
+    bodyBuilder.appendFormalLine("return client;");
 
     // Generate new method related with the provided endpoint
     MethodMetadataBuilder method =
@@ -283,7 +465,7 @@ public class WsClientsMetadata extends AbstractItdTypeDetailsProvidingMetadataIt
    * @param targetNameSpace
    * @return String with the calculated package name
    */
-  public String getPackageNameFromTargetNameSpace(String targetNameSpace) {
+  public static String getPackageNameFromTargetNameSpace(String targetNameSpace) {
     Validate.notEmpty(targetNameSpace,
         "ERROR: You must provide valid targetNameSpace to the package name.");
     // Remove protocols and unecessary elements
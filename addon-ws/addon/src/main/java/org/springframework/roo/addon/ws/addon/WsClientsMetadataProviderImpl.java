@@ -194,7 +194,13 @@ public class WsClientsMetadataProviderImpl extends AbstractMemberDiscoveringItdM
           Validate.notNull(endpointBindingType,
               "'binding' attribute in @RooWsClient must be a SoapBindingType");
 
-          endpoints.add(new WsClientEndpoint(endpointName, endpointNameSpace, endpointBindingType));
+          // Get endpoint throughput options
+          boolean async = getBooleanAttribute(wsClientAnnotation.getValue(), "async");
+          boolean gzip = getBooleanAttribute(wsClientAnnotation.getValue(), "gzip");
+          boolean mtom = getBooleanAttribute(wsClientAnnotation.getValue(), "mtom");
+
+          endpoints.add(new WsClientEndpoint(endpointName, endpointNameSpace, endpointBindingType,
+              async, gzip, mtom));
         }
 
       }
@@ -205,6 +211,19 @@ public class WsClientsMetadataProviderImpl extends AbstractMemberDiscoveringItdM
         governorPhysicalTypeMetadata, endpoints, profile);
   }
 
+  /**
+   * This method obtains the value of a boolean attribute of the provided
+   * annotation
+   * 
+   * @param annotation the annotation that contains the attribute
+   * @param attributeName the name of the attribute
+   * @return the attribute value, or false if it is not defined
+   */
+  private boolean getBooleanAttribute(AnnotationMetadata annotation, String attributeName) {
+    AnnotationAttributeValue<?> attribute = annotation.getAttribute(attributeName);
+    return attribute != null && Boolean.TRUE.equals(attribute.getValue());
+  }
+
   public String getProvidesType() {
     return WsClientsMetadata.getMetadataIdentiferType();
   }
@@ -190,8 +190,8 @@ public class WsCommands implements CommandMarker {
    */
   @CliOptionVisibilityIndicator(
       command = "ws client",
-      params = {"binding", "serviceUrl"},
-      help = "`--binding` and `--serviceUrl` parameters are not available if `--class` parameter has not been specified")
+      params = {"binding", "serviceUrl", "async", "gzip", "mtom"},
+      help = "`--binding`, `--serviceUrl`, `--async`, `--gzip` and `--mtom` parameters are not available if `--class` parameter has not been specified")
   public boolean areBindingAndServiceUrlParameterVisibleForClient(ShellContext context) {
     // Getting value of class
     String classParameter = context.getParameters().get("class");
@@ -214,6 +214,9 @@ public class WsCommands implements CommandMarker {
    * 		the Web Service client
    * @param binding the binding type to be used.
    * @param serviceUrl the service URL to be used.
+   * @param async generates the asynchronous operations
+   * @param gzip compresses the messages
+   * @param mtom sends the binary content as attachments
    * @param context provides the default global parameters --force and --profile
    */
   @CliCommand(value = "ws client",
@@ -242,11 +245,29 @@ public class WsCommands implements CommandMarker {
           help = "The service URL to be used. If This option is not specified, "
               + "default location provided by the .wsdl file will be used. This default location will be obtained from the 'location' "
               + "attribute of the 'address' element located inside the 'port' element provided in the '--endpoint' parameter.") String serviceUrl,
+      @CliOption(
+          key = "async",
+          mandatory = false,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Generates the asynchronous variants of the service operations, which are sent through "
+              + "a pool of non-blocking connections. The size of the pool is configured with the "
+              + "'ws.clients.max-connections' and 'ws.clients.max-per-host-connections' properties. "
+              + "Default if option present: 'true'; default if option not present: 'false'.") boolean async,
+      @CliOption(key = "gzip", mandatory = false, specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Compresses the requests and accepts compressed responses. "
+              + "Default if option present: 'true'; default if option not present: 'false'.") boolean gzip,
+      @CliOption(key = "mtom", mandatory = false, specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = "Sends the binary content of the messages as MTOM attachments instead of "
+              + "base64 encoded text. "
+              + "Default if option present: 'true'; default if option not present: 'false'.") boolean mtom,
       ShellContext context) {
 
     // Delegates on WsOperations to create new client
     getWsOperations().addWsClient(wsdlLocation, endPoint, configClass, bindingType, serviceUrl,
-        context.getProfile());
+        context.getProfile(), async, gzip, mtom);
 
   }
 
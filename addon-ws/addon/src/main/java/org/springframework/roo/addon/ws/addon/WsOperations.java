@@ -38,9 +38,14 @@ public interface WsOperations {
    * @param bindingType the binding type to be used.
    * @param serviceUrl the service URL to be used.
    * @param profile the profile to be used
+   * @param async generates the asynchronous variants of the operations, sent through 
+   * 		a pool of non-blocking connections
+   * @param gzip compresses the requests and responses
+   * @param mtom sends the binary content as MTOM attachments
    */
   void addWsClient(String wsdlLocation, String endPoint, JavaType configClass,
-      SoapBindingType bindingType, String serviceUrl, String profile);
+      SoapBindingType bindingType, String serviceUrl, String profile, boolean async, boolean gzip,
+      boolean mtom);
 
   /**
    * This method includes new Service Endpoint Interface and its implementation in
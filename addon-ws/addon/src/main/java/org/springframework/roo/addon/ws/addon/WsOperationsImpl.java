@@ -4,6 +4,7 @@ package org.springframework.roo.addon.ws.addon;
 import static org.apache.commons.io.IOUtils.LINE_SEPARATOR;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -15,6 +16,7 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
@@ -39,6 +41,7 @@ import org.springframework.roo.classpath.details.annotations.AnnotationAttribute
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadata;
 import org.springframework.roo.classpath.details.annotations.AnnotationMetadataBuilder;
 import org.springframework.roo.classpath.details.annotations.ArrayAttributeValue;
+import org.springframework.roo.classpath.details.annotations.BooleanAttributeValue;
 import org.springframework.roo.classpath.details.annotations.ClassAttributeValue;
 import org.springframework.roo.classpath.details.annotations.EnumAttributeValue;
 import org.springframework.roo.classpath.details.annotations.NestedAnnotationAttributeValue;
@@ -53,6 +56,8 @@ import org.springframework.roo.model.RooJavaType;
 import org.springframework.roo.model.SpringJavaType;
 import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.Dependency;
+import org.springframework.roo.project.DependencyScope;
+import org.springframework.roo.project.DependencyType;
 import org.springframework.roo.project.MavenOperations;
 import org.springframework.roo.project.Path;
 import org.springframework.roo.project.PathResolver;
@@ -62,6 +67,7 @@ import org.springframework.roo.project.Property;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.ServiceInstaceManager;
+import org.springframework.roo.support.util.FileUtils;
 import org.springframework.roo.support.util.XmlUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -95,6 +101,18 @@ public class WsOperationsImpl implements WsOperations {
   private static final Dependency TRACEE_CXF_DEPENDENCY = new Dependency("io.tracee.binding",
       "tracee-cxf", "${tracee.version}");
 
+  private static final Dependency CXF_RT_TRANSPORTS_HTTP_HC_DEPENDENCY = new Dependency(
+      "org.apache.cxf", "cxf-rt-transports-http-hc", "${cxf.version}");
+  private static final Dependency CXF_RT_TRANSPORTS_HTTP_JETTY_DEPENDENCY = new Dependency(
+      "org.apache.cxf", "cxf-rt-transports-http-jetty", "${cxf.version}", DependencyType.JAR,
+      DependencyScope.TEST);
+  private static final Dependency JUNIT_DEPENDENCY = new Dependency("junit", "junit", null,
+      DependencyType.JAR, DependencyScope.TEST);
+  private static final Dependency SPRING_BOOT_STARTER_TEST_DEPENDENCY = new Dependency(
+      "org.springframework.boot", "spring-boot-starter-test", null, DependencyType.JAR,
+      DependencyScope.TEST);
+  private static final String ASYNC_THROUGHPUT_TEST = "WsClientsAsyncThroughputTest";
+
 
   // ------------ OSGi component attributes ----------------
   private BundleContext context;
@@ -113,7 +131,8 @@ public class WsOperationsImpl implements WsOperations {
 
   @Override
   public void addWsClient(String wsdlLocation, String endPoint, JavaType configClass,
-      SoapBindingType bindingType, String serviceUrl, String profile) {
+      SoapBindingType bindingType, String serviceUrl, String profile, boolean async, boolean gzip,
+      boolean mtom) {
 
     Validate.notEmpty(wsdlLocation, "ERROR: Provide a valid wsdlLocation");
     Validate.notEmpty(endPoint, "ERROR: Provide a valid endPoint");
@@ -223,10 +242,29 @@ public class WsOperationsImpl implements WsOperations {
 
     // Include necessary dependencies and plugins
     includeDependenciesAndPluginsForWsClient(wsdlName, wsdlModuleName);
+    if (async) {
+      includeDependenciesAndPluginsForAsyncWsClient(wsdlModuleName);
+    }
 
     // Include the necessary properties using the provided profile
     getApplicationConfigService().addProperty(configClass.getModule(), "url/".concat(endPoint),
         serviceUrl, profile, true);
+    getApplicationConfigService().addProperty(configClass.getModule(),
+        WsClientsMetadata.getTimeoutPropertyName(endPoint, WsClientsMetadata.CONNECTION_TIMEOUT),
+        WsClientsMetadata.DEFAULT_CONNECTION_TIMEOUT, profile, false);
+    getApplicationConfigService().addProperty(configClass.getModule(),
+        WsClientsMetadata.getTimeoutPropertyName(endPoint, WsClientsMetadata.RECEIVE_TIMEOUT),
+        WsClientsMetadata.DEFAULT_RECEIVE_TIMEOUT, profile, false);
+    if (async) {
+      getApplicationConfigService().addProperty(configClass.getModule(),
+          WsClientsMetadata.MAX_CONNECTIONS_PROPERTY, WsClientsMetadata.DEFAULT_MAX_CONNECTIONS,
+          profile, false);
+      getApplicationConfigService().addProperty(configClass.getModule(),
+          WsClientsMetadata.MAX_PER_HOST_CONNECTIONS_PROPERTY,
+          WsClientsMetadata.DEFAULT_MAX_PER_HOST_CONNECTIONS, profile, false);
+      createAsyncThroughputTest(configClass);
+    }
+    createClientTests(configClass, endPoint, targetNameSpace, profile, async, gzip, mtom);
 
     // Generating the new configuration class if not exists
     // If provided class already exists, update it
@@ -280,18 +318,21 @@ public class WsOperationsImpl implements WsOperations {
               EnumDetails existingType =
                   (EnumDetails) existingEndPoint.getValue().getAttribute("binding").getValue();
 
-              // Create @RooWsClient annotation
+              // Create @RooWsClient annotation keeping its existing options
               NestedAnnotationAttributeValue existingEndpoint =
                   new NestedAnnotationAttributeValue(new JavaSymbolName("value"),
                       getWsClientAnnotation(existingEndpointName, existingEndpointNameSpace,
-                          existingType).build());
+                          existingType, getBooleanAttribute(existingEndPoint, "async"),
+                          getBooleanAttribute(existingEndPoint, "gzip"),
+                          getBooleanAttribute(existingEndPoint, "mtom")).build());
               endpoints.add(existingEndpoint);
             }
 
             // Create @RooWsClient annotation
             NestedAnnotationAttributeValue newEndpoint =
                 new NestedAnnotationAttributeValue(new JavaSymbolName("value"),
-                    getWsClientAnnotation(endPoint, targetNameSpace, bindingType).build());
+                    getWsClientAnnotation(endPoint, targetNameSpace, bindingType, async, gzip,
+                        mtom).build());
             endpoints.add(newEndpoint);
 
             ArrayAttributeValue<AnnotationAttributeValue<?>> newEndpoints =
@@ -311,7 +352,7 @@ public class WsOperationsImpl implements WsOperations {
 
         NestedAnnotationAttributeValue newEndpoint =
             new NestedAnnotationAttributeValue(new JavaSymbolName("value"), getWsClientAnnotation(
-                endPoint, targetNameSpace, bindingType).build());
+                endPoint, targetNameSpace, bindingType, async, gzip, mtom).build());
         endpoints.add(newEndpoint);
         ArrayAttributeValue<AnnotationAttributeValue<?>> newEndpoints =
             new ArrayAttributeValue<AnnotationAttributeValue<?>>(new JavaSymbolName("endpoints"),
@@ -347,7 +388,7 @@ public class WsOperationsImpl implements WsOperations {
 
       NestedAnnotationAttributeValue newEndpoint =
           new NestedAnnotationAttributeValue(new JavaSymbolName("value"), getWsClientAnnotation(
-              endPoint, targetNameSpace, bindingType).build());
+              endPoint, targetNameSpace, bindingType, async, gzip, mtom).build());
       endpoints.add(newEndpoint);
       ArrayAttributeValue<AnnotationAttributeValue<?>> newEndpoints =
           new ArrayAttributeValue<AnnotationAttributeValue<?>>(new JavaSymbolName("endpoints"),
@@ -954,18 +995,17 @@ public class WsOperationsImpl implements WsOperations {
    * @param endpoint
    * @param targetNamespace
    * @param bindingType
+   * @param async
+   * @param gzip
+   * @param mtom
    * @return
    */
   private AnnotationMetadataBuilder getWsClientAnnotation(final String endpoint,
-      final String targetNamespace, final SoapBindingType bindingType) {
-    final List<AnnotationAttributeValue<?>> wsClientAttributes =
-        new ArrayList<AnnotationAttributeValue<?>>();
-    wsClientAttributes.add(new StringAttributeValue(new JavaSymbolName("endpoint"), endpoint));
-    wsClientAttributes.add(new StringAttributeValue(new JavaSymbolName("targetNamespace"),
-        targetNamespace));
-    wsClientAttributes.add(new EnumAttributeValue(new JavaSymbolName("binding"), new EnumDetails(
-        RooJavaType.ROO_ENUM_SOAP_BINDING_TYPE, new JavaSymbolName(bindingType.name()))));
-    return new AnnotationMetadataBuilder(RooJavaType.ROO_WS_CLIENT, wsClientAttributes);
+      final String targetNamespace, final SoapBindingType bindingType, final boolean async,
+      final boolean gzip, final boolean mtom) {
+    return getWsClientAnnotation(endpoint, targetNamespace, new EnumDetails(
+        RooJavaType.ROO_ENUM_SOAP_BINDING_TYPE, new JavaSymbolName(bindingType.name())), async,
+        gzip, mtom);
   }
 
   /**
@@ -974,19 +1014,199 @@ public class WsOperationsImpl implements WsOperations {
    * @param endpoint
    * @param targetNamespace
    * @param bindingType
+   * @param async
+   * @param gzip
+   * @param mtom
    * @return
    */
   private AnnotationMetadataBuilder getWsClientAnnotation(final String endpoint,
-      final String targetNamespace, final EnumDetails bindingType) {
+      final String targetNamespace, final EnumDetails bindingType, final boolean async,
+      final boolean gzip, final boolean mtom) {
     final List<AnnotationAttributeValue<?>> wsClientAttributes =
         new ArrayList<AnnotationAttributeValue<?>>();
     wsClientAttributes.add(new StringAttributeValue(new JavaSymbolName("endpoint"), endpoint));
     wsClientAttributes.add(new StringAttributeValue(new JavaSymbolName("targetNamespace"),
         targetNamespace));
     wsClientAttributes.add(new EnumAttributeValue(new JavaSymbolName("binding"), bindingType));
+
+    // Only the enabled options are included, as the rest are the default ones
+    if (async) {
+      wsClientAttributes.add(new BooleanAttributeValue(new JavaSymbolName("async"), true));
+    }
+    if (gzip) {
+      wsClientAttributes.add(new BooleanAttributeValue(new JavaSymbolName("gzip"), true));
+    }
+    if (mtom) {
+      wsClientAttributes.add(new BooleanAttributeValue(new JavaSymbolName("mtom"), true));
+    }
     return new AnnotationMetadataBuilder(RooJavaType.ROO_WS_CLIENT, wsClientAttributes);
   }
 
+  /**
+   * This method obtains the value of a boolean attribute of an existing 
+   * @RooWsClient annotation
+   * 
+   * @param wsClient the @RooWsClient annotation
+   * @param attributeName the attribute name
+   * @return the attribute value or false if not defined
+   */
+  private boolean getBooleanAttribute(final NestedAnnotationAttributeValue wsClient,
+      final String attributeName) {
+    AnnotationAttributeValue<?> attribute = wsClient.getValue().getAttribute(attributeName);
+    return attribute != null && Boolean.TRUE.equals(attribute.getValue());
+  }
+
+  /**
+   * This method includes the CXF asynchronous HTTP transport, whose conduit sends 
+   * the requests through a pool of non-blocking connections, and configures the 
+   * CXF CodeGen Plugin to generate the asynchronous variants of the operations.
+   * 
+   * @param wsdlModuleName
+   *            the module where the wsdl is located
+   */
+  private void includeDependenciesAndPluginsForAsyncWsClient(String wsdlModuleName) {
+    getProjectOperations().addDependency(wsdlModuleName, CXF_RT_TRANSPORTS_HTTP_HC_DEPENDENCY);
+
+    // Obtain the CXF plugin included before
+    final Element configuration = XmlUtils.getConfiguration(getClass());
+    final Element pluginElement =
+        XmlUtils.findFirstElement("/configuration/plugins/plugin", configuration);
+    Plugin cxfPlugin = new Plugin(pluginElement);
+
+    // Generate the asynchronous operations for all the wsdl files of the module
+    Map<String, String> asyncMethodsProperties = new HashMap<String, String>();
+    asyncMethodsProperties.put("extraarg", "-asyncMethods");
+    getProjectOperations().addElementToPluginExecution(wsdlModuleName, cxfPlugin,
+        "generate-sources", "defaultOptions", "extraargs", asyncMethodsProperties);
+  }
+
+  /**
+   * This method creates a test in the module of the configuration class which 
+   * compares the throughput of sequential synchronous calls against concurrent 
+   * asynchronous calls through the pooled CXF conduit.
+   * 
+   * @param configClass
+   *            the configuration class of the Web Service clients
+   */
+  private void createAsyncThroughputTest(JavaType configClass) {
+
+    // The test publishes a local endpoint using the embedded Jetty transport
+    getProjectOperations().addDependency(configClass.getModule(),
+        CXF_RT_TRANSPORTS_HTTP_HC_DEPENDENCY);
+    getProjectOperations().addDependency(configClass.getModule(),
+        CXF_RT_TRANSPORTS_HTTP_JETTY_DEPENDENCY);
+    getProjectOperations().addDependency(configClass.getModule(), JUNIT_DEPENDENCY);
+
+    createClassFromTemplate(configClass, ASYNC_THROUGHPUT_TEST, ASYNC_THROUGHPUT_TEST,
+        new String[][] {});
+  }
+
+  /**
+   * This method creates the tests which check the client of an endpoint 
+   * created by the configuration class: the keep alive policy and the 
+   * timeouts of its conduit, its GZIP and MTOM options and, if the client is 
+   * asynchronous, the connection pool of its conduit.
+   * 
+   * @param configClass
+   *            the configuration class of the Web Service clients
+   * @param endPoint
+   *            the endpoint of the client
+   * @param targetNameSpace
+   *            the target namespace of the endpoint
+   * @param profile
+   *            the profile where the configuration class is active, if any
+   * @param async
+   *            whether the client is asynchronous
+   * @param gzip
+   *            whether the client compresses the messages
+   * @param mtom
+   *            whether the client sends the binary content as attachments
+   */
+  private void createClientTests(JavaType configClass, String endPoint, String targetNameSpace,
+      String profile, boolean async, boolean gzip, boolean mtom) {
+    getProjectOperations().addDependency(configClass.getModule(),
+        SPRING_BOOT_STARTER_TEST_DEPENDENCY);
+
+    final String endPointName = StringUtils.capitalize(endPoint);
+    final String[][] replacements =
+        new String[][] {
+            {"__ENDPOINT_TYPE__",
+                String.format("%s.%s",
+                    WsClientsMetadata.getPackageNameFromTargetNameSpace(targetNameSpace),
+                    endPointName)},
+            {"__ENDPOINT__", endPointName},
+            {"__CONFIG__", configClass.getSimpleTypeName()},
+            {"__PROFILE_IMPORT__",
+                StringUtils.isEmpty(profile) ? ""
+                    : "import org.springframework.test.context.ActiveProfiles;\n"},
+            {"__PROFILE_ANNOTATION__",
+                StringUtils.isEmpty(profile) ? "" : String.format("@ActiveProfiles(\"%s\")\n",
+                    profile)},
+            {"__GZIP__", String.valueOf(gzip)},
+            {"__MTOM__", String.valueOf(mtom)},
+            {"__CONNECTION_TIMEOUT_PROPERTY__",
+                WsClientsMetadata.getTimeoutPropertyName(endPoint,
+                    WsClientsMetadata.CONNECTION_TIMEOUT)},
+            {"__DEFAULT_CONNECTION_TIMEOUT__", WsClientsMetadata.DEFAULT_CONNECTION_TIMEOUT},
+            {"__RECEIVE_TIMEOUT_PROPERTY__",
+                WsClientsMetadata.getTimeoutPropertyName(endPoint,
+                    WsClientsMetadata.RECEIVE_TIMEOUT)},
+            {"__DEFAULT_RECEIVE_TIMEOUT__", WsClientsMetadata.DEFAULT_RECEIVE_TIMEOUT},
+            {"__MAX_CONNECTIONS_PROPERTY__", WsClientsMetadata.MAX_CONNECTIONS_PROPERTY},
+            {"__DEFAULT_MAX_CONNECTIONS__", WsClientsMetadata.DEFAULT_MAX_CONNECTIONS},
+            {"__MAX_PER_HOST_CONNECTIONS_PROPERTY__",
+                WsClientsMetadata.MAX_PER_HOST_CONNECTIONS_PROPERTY},
+            {"__DEFAULT_MAX_PER_HOST_CONNECTIONS__",
+                WsClientsMetadata.DEFAULT_MAX_PER_HOST_CONNECTIONS}};
+    createClassFromTemplate(configClass, endPointName.concat("ClientTest"), "WsClientTest",
+        replacements);
+    if (async) {
+      createClassFromTemplate(configClass, endPointName.concat("AsyncClientTest"),
+          "WsAsyncClientTest", replacements);
+    }
+  }
+
+  /**
+   * This method creates a test class in the package of the configuration 
+   * class from a template, if not exists.
+   * 
+   * @param configClass
+   *            the configuration class of the Web Service clients
+   * @param className
+   *            the name of the test class
+   * @param templateName
+   *            the name of the template, without its suffix
+   * @param replacements
+   *            the pairs of placeholders and values to replace in the 
+   *            template
+   */
+  private void createClassFromTemplate(JavaType configClass, String className,
+      String templateName, String[][] replacements) {
+    final String moduleName = configClass.getModule();
+    final String packageName = configClass.getPackage().getFullyQualifiedPackageName();
+    final JavaType testClass =
+        new JavaType(String.format("%s.%s", packageName, className), moduleName);
+    final String identifier =
+        getPathResolver().getCanonicalPath(moduleName, Path.SRC_TEST_JAVA, testClass);
+    if (getFileManager().exists(identifier)) {
+      return;
+    }
+
+    InputStream inputStream = null;
+    try {
+      inputStream = FileUtils.getInputStream(getClass(), templateName.concat("-template._java"));
+      String input = IOUtils.toString(inputStream).replace("__PACKAGE__", packageName);
+      for (String[] replacement : replacements) {
+        input = input.replace(replacement[0], replacement[1]);
+      }
+      getFileManager().createOrUpdateTextFileIfRequired(identifier, input, true);
+    } catch (final IOException e) {
+      throw new IllegalStateException(String.format("Unable to create '%s'", identifier), e);
+    } finally {
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+
   /**
    * This method includes the TracEE and CXF dependencies and includes the CXF
    * CodeGen Plugin with the necessary configuration for the new WsClient.
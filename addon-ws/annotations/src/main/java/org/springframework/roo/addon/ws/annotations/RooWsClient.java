@@ -41,4 +41,29 @@ public @interface RooWsClient {
    */
   SoapBindingType binding();
 
+  /**
+   * Indicates if the client operations have asynchronous variants, based on 
+   * Future and AsyncHandler, which are sent through a pooled non-blocking 
+   * HTTP conduit
+   * 
+   * @return true if the asynchronous variants are generated
+   */
+  boolean async() default false;
+
+  /**
+   * Indicates if the messages exchanged by the client are compressed with 
+   * GZIP
+   * 
+   * @return true if GZIP compression is enabled
+   */
+  boolean gzip() default false;
+
+  /**
+   * Indicates if the binary content of the messages is sent as MTOM 
+   * attachments
+   * 
+   * @return true if MTOM is enabled
+   */
+  boolean mtom() default false;
+
 }
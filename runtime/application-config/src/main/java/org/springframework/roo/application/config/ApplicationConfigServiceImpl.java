@@ -1,6 +1,9 @@
 package org.springframework.roo.application.config;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
@@ -14,6 +17,9 @@ import org.apache.felix.scr.annotations.Service;
 import org.springframework.roo.classpath.ModuleFeatureName;
 import org.springframework.roo.classpath.TypeLocationService;
 import org.springframework.roo.file.monitor.event.FileDetails;
+import org.springframework.roo.file.monitor.event.FileEvent;
+import org.springframework.roo.file.monitor.event.FileEventListener;
+import org.springframework.roo.file.monitor.event.FileOperation;
 import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.project.LogicalPath;
 import org.springframework.roo.project.Path;
@@ -21,10 +27,16 @@ import org.springframework.roo.project.PathResolver;
 import org.springframework.roo.project.maven.Pom;
 import org.springframework.roo.propfiles.manager.PropFilesManagerService;
 import org.springframework.roo.settings.project.ProjectSettingsService;
+import org.springframework.roo.support.util.FileUtils;
 
 /**
  * Provides a service to manage all necessary properties located on application
  * configuration files.
+ * <p>
+ * Reads and changes are delegated to {@link PropFilesManagerService}, which
+ * keeps the parsed configuration file of each module and profile and writes
+ * all the changes of a command at once. The list of profiles of each module
+ * is cached until a configuration file is created, deleted or renamed.
  * 
  * @author Juan Carlos García
  * @author Paula Navarro
@@ -32,7 +44,7 @@ import org.springframework.roo.settings.project.ProjectSettingsService;
  */
 @Component
 @Service
-public class ApplicationConfigServiceImpl implements ApplicationConfigService {
+public class ApplicationConfigServiceImpl implements ApplicationConfigService, FileEventListener {
 
   private static final Path DEFAULT_APPLICATION_CONFIG_FILE_LOCATION = Path.SRC_MAIN_RESOURCES;
   private static final String DEFAULT_APPLICATION_CONFIG_FILE_NAME = "application";
@@ -54,6 +66,9 @@ public class ApplicationConfigServiceImpl implements ApplicationConfigService {
   @Reference
   private TypeLocationService typeLocationService;
 
+  /** key: config file path without extension, value: its profiles */
+  private final Map<String, List<String>> profilesCache = new HashMap<String, List<String>>();
+
   @Override
   public void addProperty(final String moduleName, final String key, final String value,
       String profile, boolean force) {
@@ -118,12 +133,30 @@ public class ApplicationConfigServiceImpl implements ApplicationConfigService {
   @Override
   public List<String> getApplicationProfiles(String moduleName) {
 
-    List<String> profiles = new ArrayList<String>();
-
     final String applicationConfigFilename =
         StringUtils.removeEnd(getSpringConfigLocation(moduleName),
             DEFAULT_APPLICATION_CONFIG_FILE_EXTENSION);
 
+    synchronized (profilesCache) {
+      List<String> profiles = profilesCache.get(applicationConfigFilename);
+      if (profiles == null) {
+        profiles = Collections.unmodifiableList(findApplicationProfiles(applicationConfigFilename));
+        profilesCache.put(applicationConfigFilename, profiles);
+      }
+      return new ArrayList<String>(profiles);
+    }
+  }
+
+  /**
+   * Looks for the application config files of all profiles
+   * 
+   * @param applicationConfigFilename the config file path without extension
+   * @return the found profiles (never null)
+   */
+  private List<String> findApplicationProfiles(final String applicationConfigFilename) {
+
+    List<String> profiles = new ArrayList<String>();
+
     // Find application config files
     for (final FileDetails applicationConfig : fileManager
         .findMatchingAntPath(applicationConfigFilename + "*"
@@ -144,6 +177,37 @@ public class ApplicationConfigServiceImpl implements ApplicationConfigService {
     return profiles;
   }
 
+  @Override
+  public void onFileEvent(final FileEvent fileEvent) {
+    final FileOperation operation = fileEvent.getOperation();
+    if (operation != FileOperation.CREATED && operation != FileOperation.DELETED
+        && operation != FileOperation.RENAMED) {
+      return;
+    }
+    evictApplicationProfiles(fileEvent.getFileDetails().getCanonicalPath());
+    if (fileEvent.getPreviousName() != null) {
+      evictApplicationProfiles(FileUtils.getCanonicalPath(fileEvent.getPreviousName()));
+    }
+  }
+
+  /**
+   * Removes the cached profiles which could include the given file
+   * 
+   * @param path the canonical path of a created, deleted or renamed file
+   */
+  private void evictApplicationProfiles(final String path) {
+    if (!path.endsWith(DEFAULT_APPLICATION_CONFIG_FILE_EXTENSION)) {
+      return;
+    }
+    synchronized (profilesCache) {
+      for (final Iterator<String> it = profilesCache.keySet().iterator(); it.hasNext();) {
+        if (path.startsWith(it.next())) {
+          it.remove();
+        }
+      }
+    }
+  }
+
   @Override
   public Map<String, String> getProperties(String moduleName, String profile) {
     return propFilesManager.getProperties(getApplicationConfigFileLocation(moduleName),
@@ -32,9 +32,8 @@ import org.springframework.roo.project.LogicalPath;
 import org.springframework.roo.project.ProjectOperations;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.InvalidSyntaxException;
-import org.osgi.framework.ServiceReference;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.osgi.TrackedServiceInstanceManager;
 
 /**
  * Monitors for *.java files and produces a {@link PhysicalTypeMetadata} for
@@ -61,8 +60,15 @@ public class DefaultPhysicalTypeMetadataProvider implements PhysicalTypeMetadata
   // ------------ OSGi component attributes ----------------
   private BundleContext context;
 
+  private final TrackedServiceInstanceManager serviceManager = new TrackedServiceInstanceManager();
+
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
+    serviceManager.activate(this.context);
+  }
+
+  protected void deactivate(final ComponentContext context) {
+    serviceManager.deactivate();
   }
 
   private final SortedSet<MemberDetailsDecorator> decorators = new TreeSet<MemberDetailsDecorator>(
@@ -241,119 +247,27 @@ public class DefaultPhysicalTypeMetadataProvider implements PhysicalTypeMetadata
   }
 
   public FileManager getFileManager() {
-    // Get all Services implement FileManager interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(FileManager.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (FileManager) this.context.getService(ref);
-      }
-
-      LOGGER.warning("Cannot load FileManager on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load FileManager on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, FileManager.class);
   }
 
   public MetadataDependencyRegistry getMetadataDependencyRegistry() {
-    // Get all Services implement MetadataDependencyRegistry interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(MetadataDependencyRegistry.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (MetadataDependencyRegistry) this.context.getService(ref);
-      }
-
-      LOGGER
-          .warning("Cannot load MetadataDependencyRegistry on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER
-          .warning("Cannot load MetadataDependencyRegistry on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, MetadataDependencyRegistry.class);
   }
 
   public MetadataService getMetadataService() {
-    // Get all Services implement MetadataService interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(MetadataService.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (MetadataService) this.context.getService(ref);
-      }
-
-      LOGGER.warning("Cannot load MetadataService on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load MetadataService on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, MetadataService.class);
   }
 
   public ProjectOperations getProjectOperations() {
-    // Get all Services implement ProjectOperations interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(ProjectOperations.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (ProjectOperations) this.context.getService(ref);
-      }
-
-      LOGGER.warning("Cannot load ProjectOperations on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load ProjectOperations on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, ProjectOperations.class);
   }
 
   public TypeLocationService getTypeLocationService() {
-    // Get all Services implement TypeLocationService interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(TypeLocationService.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (TypeLocationService) this.context.getService(ref);
-      }
-
-      LOGGER.warning("Cannot load TypeLocationService on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load TypeLocationService on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, TypeLocationService.class);
   }
 
   public TypeParsingService getTypeParsingService() {
-    // Get all Services implement TypeParsingService interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(TypeParsingService.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (TypeParsingService) this.context.getService(ref);
-      }
-
-      LOGGER.warning("Cannot load TypeParsingService on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load TypeParsingService on DefaultPhysicalTypeMetadataProvider.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, TypeParsingService.class);
   }
 
 
@@ -1,6 +1,7 @@
 package org.springframework.roo.classpath;
 
 import java.util.Set;
+import java.util.SortedSet;
 
 import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
 import org.springframework.roo.model.JavaType;
@@ -24,5 +25,16 @@ public interface TypeCache {
 
   Set<String> getTypeNamesForModuleFilePath(String moduleFilePath);
 
+  /**
+   * Returns the names of the types of a module which start with the given
+   * prefix, looked up in a sorted index of the module types.
+   * 
+   * @param moduleFilePath the path of the module's pom (required)
+   * @param prefix the type name prefix; blank for every type of the module
+   * @return a sorted copy of the matching type names (never null)
+   * @since 2.0
+   */
+  SortedSet<String> getTypeNamesForModuleFilePath(String moduleFilePath, String prefix);
+
   void removeType(String typeIdentifier);
 }
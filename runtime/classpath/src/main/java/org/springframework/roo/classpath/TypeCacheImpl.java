@@ -4,6 +4,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
@@ -18,8 +20,9 @@ public class TypeCacheImpl implements TypeCache {
 
   private final Map<String, ClassOrInterfaceTypeDetails> midToTypeDetailsMap =
       new HashMap<String, ClassOrInterfaceTypeDetails>();
-  private final Map<String, Set<String>> moduleFilePathToTypeNamesMap =
-      new HashMap<String, Set<String>>();
+  // Type names are kept sorted to look them up by prefix
+  private final Map<String, SortedSet<String>> moduleFilePathToTypeNamesMap =
+      new HashMap<String, SortedSet<String>>();
   private final Map<String, Set<String>> simpleTypeNameTypesMap =
       new HashMap<String, Set<String>>();
   private final Map<String, String> typeFilePathToMidMap = new HashMap<String, String>();
@@ -56,10 +59,15 @@ public class TypeCacheImpl implements TypeCache {
   public void cacheTypeAgainstModule(final Pom pom, final JavaType javaType) {
     Validate.notNull(pom, "Pom cannot be null");
     Validate.notNull(javaType, "Java type cannot be null");
-    typeNameToModuleFilePathMap.put(javaType.getFullyQualifiedTypeName(), pom.getPath());
+    final String previousModuleFilePath =
+        typeNameToModuleFilePathMap.put(javaType.getFullyQualifiedTypeName(), pom.getPath());
+    if (previousModuleFilePath != null && !previousModuleFilePath.equals(pom.getPath())) {
+      // Type has been moved to other module
+      removeTypeNameFromModule(previousModuleFilePath, javaType.getFullyQualifiedTypeName());
+    }
     typeNameToModuleNameMap.put(javaType.getFullyQualifiedTypeName(), pom.getModuleName());
     if (!moduleFilePathToTypeNamesMap.containsKey(pom.getPath())) {
-      moduleFilePathToTypeNamesMap.put(pom.getPath(), new HashSet<String>());
+      moduleFilePathToTypeNamesMap.put(pom.getPath(), new TreeSet<String>());
     }
     moduleFilePathToTypeNamesMap.get(pom.getPath()).add(javaType.getFullyQualifiedTypeName());
   }
@@ -90,11 +98,25 @@ public class TypeCacheImpl implements TypeCache {
   public Set<String> getTypeNamesForModuleFilePath(final String moduleFilePath) {
     Validate.notBlank(moduleFilePath, "Pom file path required");
     if (!moduleFilePathToTypeNamesMap.containsKey(moduleFilePath)) {
-      moduleFilePathToTypeNamesMap.put(moduleFilePath, new HashSet<String>());
+      moduleFilePathToTypeNamesMap.put(moduleFilePath, new TreeSet<String>());
     }
     return new HashSet<String>(moduleFilePathToTypeNamesMap.get(moduleFilePath));
   }
 
+  public SortedSet<String> getTypeNamesForModuleFilePath(final String moduleFilePath,
+      final String prefix) {
+    Validate.notBlank(moduleFilePath, "Pom file path required");
+    final SortedSet<String> typeNames = moduleFilePathToTypeNamesMap.get(moduleFilePath);
+    if (typeNames == null) {
+      return new TreeSet<String>();
+    }
+    if (prefix == null || prefix.isEmpty()) {
+      return new TreeSet<String>(typeNames);
+    }
+    // Every name starting with the prefix sorts between both bounds
+    return new TreeSet<String>(typeNames.subSet(prefix, prefix + Character.MAX_VALUE));
+  }
+
   public Set<String> getTypesForSimpleTypeName(final String simpleTypeName) {
     if (!simpleTypeNameTypesMap.containsKey(simpleTypeName)) {
       return new HashSet<String>();
@@ -106,9 +128,13 @@ public class TypeCacheImpl implements TypeCache {
     Validate.notBlank(typeIdentifier, "Physical type identifier required");
     final ClassOrInterfaceTypeDetails cid = midToTypeDetailsMap.get(typeIdentifier);
     if (cid != null) {
-      typeNameToMidMap.remove(cid.getName().getFullyQualifiedTypeName());
-      typeNameToModuleFilePathMap.remove(cid.getName().getFullyQualifiedTypeName());
-      typeNameToModuleNameMap.remove(cid.getName().getFullyQualifiedTypeName());
+      final String typeName = cid.getName().getFullyQualifiedTypeName();
+      typeNameToMidMap.remove(typeName);
+      final String moduleFilePath = typeNameToModuleFilePathMap.remove(typeName);
+      if (moduleFilePath != null) {
+        removeTypeNameFromModule(moduleFilePath, typeName);
+      }
+      typeNameToModuleNameMap.remove(typeName);
     }
     final String filePath = typeIdentifierToFilePathMap.get(typeIdentifier);
     if (filePath != null) {
@@ -117,4 +143,11 @@ public class TypeCacheImpl implements TypeCache {
     }
 
   }
+
+  private void removeTypeNameFromModule(final String moduleFilePath, final String typeName) {
+    final Set<String> typeNames = moduleFilePathToTypeNamesMap.get(moduleFilePath);
+    if (typeNames != null) {
+      typeNames.remove(typeName);
+    }
+  }
 }
@@ -236,6 +236,18 @@ public interface TypeLocationService {
    */
   Collection<JavaType> getTypesForModule(Pom module);
 
+  /**
+   * Returns the Java types that belong to the given module whose
+   * fully-qualified name starts with the given prefix, sorted by name.
+   * 
+   * @param module
+   * @param typeNamePrefix the fully-qualified name prefix; blank for every
+   *            type of the module
+   * @return a non-<code>null</code> collection
+   * @since 2.0
+   */
+  Collection<JavaType> getTypesForModule(Pom module, String typeNamePrefix);
+
   /**
    * Returns the Java types that belong to the given module.
    * 
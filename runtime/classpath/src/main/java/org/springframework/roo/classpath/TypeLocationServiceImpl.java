@@ -529,6 +529,19 @@ public class TypeLocationServiceImpl implements TypeLocationService {
     return javaTypes;
   }
 
+  public Collection<JavaType> getTypesForModule(final Pom module, final String typeNamePrefix) {
+    if ("pom".equals(module.getPackaging())) {
+      return Collections.emptySet();
+    }
+    final Set<String> typeNames =
+        getTypeCache().getTypeNamesForModuleFilePath(module.getPath(), typeNamePrefix);
+    final Collection<JavaType> javaTypes = new ArrayList<JavaType>(typeNames.size());
+    for (final String typeName : typeNames) {
+      javaTypes.add(new JavaType(typeName, module.getModuleName()));
+    }
+    return javaTypes;
+  }
+
   public Set<String> getTypesForModule(final String modulePath) {
     Validate.notNull(modulePath, "Module path required");
     return getTypeCache().getTypeNamesForModuleFilePath(modulePath);
@@ -28,6 +28,7 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.osgi.TrackedServiceInstanceManager;
 
 /**
  * Default implementation of {@link MemberDetailsScanner}.
@@ -57,8 +58,11 @@ public class MemberDetailsScannerImpl implements MemberDetailsScanner {
 
   protected MetadataService metadataService;
 
+  private final TrackedServiceInstanceManager serviceManager = new TrackedServiceInstanceManager();
+
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
+    serviceManager.activate(this.context);
   }
 
   private final SortedSet<MemberDetailsDecorator> decorators = new TreeSet<MemberDetailsDecorator>(
@@ -117,7 +121,7 @@ public class MemberDetailsScannerImpl implements MemberDetailsScanner {
   }
 
   protected void deactivate(final ComponentContext componentContext) {
-    // Empty
+    serviceManager.deactivate();
   }
 
   public final MemberDetails getMemberDetails(final String requestingClass,
@@ -220,20 +224,6 @@ public class MemberDetailsScannerImpl implements MemberDetailsScanner {
   }
 
   public MetadataService getMetadataService() {
-    // Get all Services implement MetadataService interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(MetadataService.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (MetadataService) this.context.getService(ref);
-      }
-
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load MetadataService on MemberDetailsScannerImpl.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, MetadataService.class);
   }
 }
@@ -0,0 +1,70 @@
+package org.springframework.roo.classpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.roo.classpath.details.ClassOrInterfaceTypeDetails;
+import org.springframework.roo.model.JavaType;
+import org.springframework.roo.project.maven.Pom;
+
+/**
+ * Unit test of {@link TypeCacheImpl}
+ *
+ * @since 2.0
+ */
+public class TypeCacheImplTest {
+
+  private static final String MODULE_PATH = "/path/to/pom.xml";
+
+  private TypeCacheImpl typeCache;
+  private Pom mockModule;
+
+  @Before
+  public void setUp() {
+    typeCache = new TypeCacheImpl();
+    mockModule = mock(Pom.class);
+    when(mockModule.getPath()).thenReturn(MODULE_PATH);
+    when(mockModule.getModuleName()).thenReturn("");
+  }
+
+  private void cacheType(final String typeName) {
+    final JavaType javaType = new JavaType(typeName);
+    final ClassOrInterfaceTypeDetails mockCid = mock(ClassOrInterfaceTypeDetails.class);
+    when(mockCid.getName()).thenReturn(javaType);
+    when(mockCid.getDeclaredByMetadataId()).thenReturn("MID:" + typeName);
+    typeCache.cacheType("/src/" + typeName, mockCid);
+    typeCache.cacheTypeAgainstModule(mockModule, javaType);
+  }
+
+  @Test
+  public void testGetTypeNamesByPrefixAreSorted() {
+    cacheType("com.example.web.FooController");
+    cacheType("com.example.domain.Foo");
+    cacheType("com.example.domain.Bar");
+    cacheType("com.example.domainx.Baz");
+
+    assertEquals(Arrays.asList("com.example.domain.Bar", "com.example.domain.Foo"),
+        Arrays.asList(typeCache.getTypeNamesForModuleFilePath(MODULE_PATH, "com.example.domain.")
+            .toArray()));
+    assertEquals(4, typeCache.getTypeNamesForModuleFilePath(MODULE_PATH, "").size());
+    assertTrue(typeCache.getTypeNamesForModuleFilePath("/other/pom.xml", "com").isEmpty());
+  }
+
+  @Test
+  public void testRemoveTypeUpdatesModuleIndex() {
+    cacheType("com.example.domain.Foo");
+    cacheType("com.example.domain.Bar");
+
+    typeCache.removeType("MID:com.example.domain.Foo");
+
+    assertEquals(Arrays.asList("com.example.domain.Bar"),
+        Arrays.asList(typeCache.getTypeNamesForModuleFilePath(MODULE_PATH, "com.example")
+            .toArray()));
+  }
+}
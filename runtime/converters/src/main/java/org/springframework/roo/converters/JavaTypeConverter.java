@@ -14,7 +14,6 @@ import static org.springframework.roo.support.util.AnsiEscapeCode.decorate;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
@@ -60,6 +59,12 @@ public class JavaTypeConverter implements Converter<JavaType> {
    */
   static final String LAST_USED_INDICATOR = "*";
 
+  /**
+   * The maximum number of project types offered as completions; the user can
+   * type more of the name to narrow them.
+   */
+  static final int MAX_TYPE_COMPLETIONS = 200;
+
   private static final List<String> NUMBER_PRIMITIVES = Arrays.asList("byte", "short", "int",
       "long", "float", "double");
 
@@ -198,39 +203,38 @@ public class JavaTypeConverter implements Converter<JavaType> {
       final String optionContext, final Pom targetModule, final String heading,
       final String prefix, final String formattedPrefix, final String topLevelPackage,
       final String basePackage) {
-    final Collection<JavaType> typesInModule = getTypesForModule(optionContext, targetModule);
+    // Only the types matching the typed text are read from the module index
+    final Collection<JavaType> typesInModule =
+        typeLocationService.getTypesForModule(targetModule, basePackage);
     completions.add(new Completion(prefix + topLevelPackage, formattedPrefix + topLevelPackage,
         heading, 1));
 
+    int typeCompletions = 0;
     for (final JavaType javaType : typesInModule) {
-      String type = javaType.getFullyQualifiedTypeName();
-      if (type.startsWith(basePackage)) {
-        type = StringUtils.replace(type, topLevelPackage, TOP_LEVEL_PACKAGE_SYMBOL, 1);
-        completions.add(new Completion(prefix + type, formattedPrefix + type, heading, 1));
+      if (typeCompletions == MAX_TYPE_COMPLETIONS) {
+        break;
       }
-
+      if (!isAllowedType(optionContext, javaType)) {
+        continue;
+      }
+      final String type =
+          StringUtils.replace(javaType.getFullyQualifiedTypeName(), topLevelPackage,
+              TOP_LEVEL_PACKAGE_SYMBOL, 1);
+      completions.add(new Completion(prefix + type, formattedPrefix + type, heading, 1));
+      typeCompletions++;
     }
   }
 
-  private Collection<JavaType> getTypesForModule(final String optionContext, final Pom targetModule) {
-    final Collection<JavaType> typesForModule = typeLocationService.getTypesForModule(targetModule);
+  private boolean isAllowedType(final String optionContext, final JavaType javaType) {
     if (!(optionContext.contains(SUPERCLASS) || optionContext.contains(INTERFACE) || optionContext
         .contains(ENUMERATION))) {
-      return typesForModule;
-    }
-
-    final Collection<JavaType> types = new ArrayList<JavaType>();
-    for (final JavaType javaType : typesForModule) {
-      final ClassOrInterfaceTypeDetails typeDetails = typeLocationService.getTypeDetails(javaType);
-      if ((optionContext.contains(SUPERCLASS) && (Modifier.isFinal(typeDetails.getModifier()) || typeDetails
-          .getPhysicalTypeCategory() == PhysicalTypeCategory.INTERFACE))
-          || (optionContext.contains(INTERFACE) && typeDetails.getPhysicalTypeCategory() != PhysicalTypeCategory.INTERFACE)
-          || (optionContext.contains(ENUMERATION) && typeDetails.getPhysicalTypeCategory() != PhysicalTypeCategory.ENUMERATION)) {
-        continue;
-      }
-      types.add(javaType);
+      return true;
     }
-    return types;
+    final ClassOrInterfaceTypeDetails typeDetails = typeLocationService.getTypeDetails(javaType);
+    return !((optionContext.contains(SUPERCLASS) && (Modifier.isFinal(typeDetails.getModifier()) || typeDetails
+        .getPhysicalTypeCategory() == PhysicalTypeCategory.INTERFACE))
+        || (optionContext.contains(INTERFACE) && typeDetails.getPhysicalTypeCategory() != PhysicalTypeCategory.INTERFACE) || (optionContext
+        .contains(ENUMERATION) && typeDetails.getPhysicalTypeCategory() != PhysicalTypeCategory.ENUMERATION));
   }
 
   /**
@@ -3,7 +3,10 @@ package org.springframework.roo.converters;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -11,6 +14,7 @@ import static org.springframework.roo.project.LogicalPath.MODULE_PATH_SEPARATOR;
 import static org.springframework.roo.support.util.AnsiEscapeCode.FG_CYAN;
 import static org.springframework.roo.support.util.AnsiEscapeCode.decorate;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -173,9 +177,8 @@ public class JavaTypeConverterTest {
     final String modulePath = "/path/to/it";
     when(mockOtherModule.getPath()).thenReturn(modulePath);
     final JavaType type1 = new JavaType("com.example.web.ShouldBeFound");
-    final JavaType type2 = new JavaType("com.example.foo.ShouldNotBeFound");
-    when(mockTypeLocationService.getTypesForModule(mockOtherModule)).thenReturn(
-        Arrays.asList(type1, type2));
+    when(mockTypeLocationService.getTypesForModule(mockOtherModule, "com.example.web"))
+        .thenReturn(Arrays.asList(type1));
 
     // Invoke
     converter.getAllPossibleValues(mockCompletions, JavaType.class, otherModuleName
@@ -230,7 +233,7 @@ public class JavaTypeConverterTest {
         Arrays.asList(focusedModuleName, otherModuleName));
     final JavaType type1 = new JavaType("com.example.Foo");
     final JavaType type2 = new JavaType("com.example.sub.Bar");
-    when(mockTypeLocationService.getTypesForModule(mockFocusedModule)).thenReturn(
+    when(mockTypeLocationService.getTypesForModule(mockFocusedModule, "")).thenReturn(
         Arrays.asList(type1, type2));
 
     // Invoke
@@ -248,6 +251,38 @@ public class JavaTypeConverterTest {
     verifyNoMoreInteractions(mockCompletions);
   }
 
+  @Test
+  public void testGetAllPossibleValuesInProjectIsCapped() {
+    // Set up
+    @SuppressWarnings("unchecked")
+    final List<Completion> mockCompletions = mock(List.class);
+    when(mockProjectOperations.isFocusedProjectAvailable()).thenReturn(true);
+    final Pom mockFocusedModule = mock(Pom.class);
+    when(mockProjectOperations.getFocusedModule()).thenReturn(mockFocusedModule);
+    final String topLevelPackage = "com.example";
+    when(mockTypeLocationService.getTopLevelPackageForModule(mockFocusedModule)).thenReturn(
+        topLevelPackage);
+    when(mockFocusedModule.getModuleName()).thenReturn("");
+    final List<JavaType> types = new ArrayList<JavaType>();
+    for (int i = 0; i <= JavaTypeConverter.MAX_TYPE_COMPLETIONS; i++) {
+      types.add(new JavaType("com.example.Type" + i));
+    }
+    when(mockTypeLocationService.getTypesForModule(mockFocusedModule, "com.example."))
+        .thenReturn(types);
+
+    // Invoke
+    converter.getAllPossibleValues(mockCompletions, JavaType.class, "~", OptionContexts.PROJECT,
+        null);
+
+    // Check
+    verify(mockCompletions).add(new Completion(topLevelPackage, topLevelPackage, "", 1));
+    verify(mockCompletions, times(JavaTypeConverter.MAX_TYPE_COMPLETIONS + 1)).add(
+        any(Completion.class));
+    verify(mockCompletions, never()).add(
+        new Completion("~.Type" + JavaTypeConverter.MAX_TYPE_COMPLETIONS, "~.Type"
+            + JavaTypeConverter.MAX_TYPE_COMPLETIONS, "", 1));
+  }
+
   @Test
   public void testSupportsJavaType() {
     assertTrue(converter.supports(JavaType.class, null));
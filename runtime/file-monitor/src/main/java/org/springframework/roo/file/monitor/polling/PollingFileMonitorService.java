@@ -38,8 +38,6 @@ import org.springframework.roo.shell.AbstractShell;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.util.FileUtils;
 import org.springframework.roo.support.util.XmlUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  * A simple polling-based {@link FileMonitorService}.
@@ -651,10 +649,10 @@ public class PollingFileMonitorService implements NotifiableFileMonitorService {
     try {
       if (pom.exists()) {
         InputStream is = new FileInputStream(pom);
-        Document docXml = XmlUtils.readXml(is);
-        Element document = docXml.getDocumentElement();
-        Element rooVersionElement = XmlUtils.findFirstElement("properties/roo.version", document);
-        String rooVersion = rooVersionElement.getTextContent();
+        String rooVersion = XmlUtils.findFirstElementText("properties/roo.version", is);
+        if (rooVersion == null) {
+          return "UNKNOWN";
+        }
 
         return rooVersion;
       }
@@ -9,6 +9,22 @@ package org.springframework.roo.model;
  */
 public final class HibernateJavaType {
 
+  public static final JavaType CACHE = new JavaType("org.hibernate.annotations.Cache");
+  public static final JavaType CACHE_CONCURRENCY_STRATEGY = new JavaType(
+      "org.hibernate.annotations.CacheConcurrencyStrategy");
+  public static final JavaType DYNAMIC_UPDATE = new JavaType(
+      "org.hibernate.annotations.DynamicUpdate");
+  public static final JavaType SEARCH = new JavaType("org.hibernate.search.jpa.Search");
+  public static final JavaType SEARCH_FIELD = new JavaType(
+      "org.hibernate.search.annotations.Field");
+  public static final JavaType SEARCH_FULL_TEXT_ENTITY_MANAGER = new JavaType(
+      "org.hibernate.search.jpa.FullTextEntityManager");
+  public static final JavaType SEARCH_INDEXED = new JavaType(
+      "org.hibernate.search.annotations.Indexed");
+  public static final JavaType SEARCH_PROJECTION_CONSTANTS = new JavaType(
+      "org.hibernate.search.engine.ProjectionConstants");
+  public static final JavaType SEARCH_QUERY_BUILDER = new JavaType(
+      "org.hibernate.search.query.dsl.QueryBuilder");
   public static final JavaType VALIDATOR_CONSTRAINTS_EMAIL = new JavaType(
       "org.hibernate.validator.constraints.Email");
 
@@ -10,6 +10,7 @@ package org.springframework.roo.model;
 public final class JpaJavaType {
 
   // javax.persistence
+  public static final JavaType CACHEABLE = new JavaType("javax.persistence.Cacheable");
   public static final JavaType CASCADE_TYPE = new JavaType("javax.persistence.CascadeType");
   public static final JavaType COLUMN = new JavaType("javax.persistence.Column");
   public static final JavaType CRITERIA_BUILDER = new JavaType(
@@ -42,6 +43,12 @@ public final class JpaJavaType {
   public static final JavaType MANY_TO_ONE = new JavaType("javax.persistence.ManyToOne");
   public static final JavaType MAPPED_SUPERCLASS = new JavaType(
       "javax.persistence.MappedSuperclass");
+  public static final JavaType NAMED_ATTRIBUTE_NODE = new JavaType(
+      "javax.persistence.NamedAttributeNode");
+  public static final JavaType NAMED_ENTITY_GRAPH = new JavaType(
+      "javax.persistence.NamedEntityGraph");
+  public static final JavaType NAMED_ENTITY_GRAPHS = new JavaType(
+      "javax.persistence.NamedEntityGraphs");
   public static final JavaType ONE_TO_MANY = new JavaType("javax.persistence.OneToMany");
   public static final JavaType ONE_TO_ONE = new JavaType("javax.persistence.OneToOne");
   public static final JavaType PERSISTENCE_CONTEXT = new JavaType(
@@ -50,6 +57,7 @@ public final class JpaJavaType {
   public static final JavaType POST_UPDATE = new JavaType("javax.persistence.PostUpdate");
   public static final JavaType PRE_REMOVE = new JavaType("javax.persistence.PreRemove");
   public static final JavaType QUERY = new JavaType("javax.persistence.Query");
+  public static final JavaType QUERY_HINT = new JavaType("javax.persistence.QueryHint");
   public static final JavaType ROOT = new JavaType("javax.persistence.criteria.Root");
   public static final JavaType SEQUENCE_GENERATOR = new JavaType(
       "javax.persistence.SequenceGenerator");
@@ -44,8 +44,14 @@ public final class SpringJavaType {
       "org.springframework.validation.BindingResult");
   public static final JavaType BEAN = new JavaType("org.springframework.context.annotation.Bean");
   public static final JavaType LAZY = new JavaType("org.springframework.context.annotation.Lazy");
+  public static final JavaType CACHE_EVICT = new JavaType(
+      "org.springframework.cache.annotation.CacheEvict");
+  public static final JavaType CACHEABLE = new JavaType(
+      "org.springframework.cache.annotation.Cacheable");
   public static final JavaType CHARACTER_ENCODING_FILTER = new JavaType(
       "org.springframework.web.filter.CharacterEncodingFilter");
+  public static final JavaType CLOSEABLE_ITERATOR = new JavaType(
+      "org.springframework.data.util.CloseableIterator");
   public static final JavaType COMPONENT = new JavaType("org.springframework.stereotype.Component");
   public static final JavaType CONFIGURABLE = new JavaType(
       "org.springframework.beans.factory.annotation.Configurable");
@@ -82,6 +88,8 @@ public final class SpringJavaType {
       "org.springframework.jms.annotation.EnableJms");
   public static final JavaType ENABLE_JPA_REPOSITORIES = new JavaType(
       "org.springframework.data.jpa.repository.config.EnableJpaRepositories");
+  public static final JavaType ENTITY_GRAPH = new JavaType(
+      "org.springframework.data.jpa.repository.EntityGraph");
   public static final JavaType ENTITY_SCAN = new JavaType(
       "org.springframework.boot.autoconfigure.domain.EntityScan");
   public static final JavaType EXCEPTION_HANDLER = new JavaType(
@@ -150,7 +158,10 @@ public final class SpringJavaType {
       "org.springframework.format.annotation.NumberFormat");
   public static final JavaType OPEN_ENTITY_MANAGER_IN_VIEW_FILTER = new JavaType(
       "org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter");
+  public static final JavaType OPTIMISTIC_LOCKING_FAILURE_EXCEPTION = new JavaType(
+      "org.springframework.dao.OptimisticLockingFailureException");
   public static final JavaType PAGE = new JavaType("org.springframework.data.domain.Page");
+  public static final JavaType PAGE_IMPL = new JavaType("org.springframework.data.domain.PageImpl");
   public static final JavaType PAGE_REQUEST = new JavaType(
       "org.springframework.data.domain.PageRequest");
   public static final JavaType PAGEABLE = new JavaType("org.springframework.data.domain.Pageable");
@@ -184,12 +195,18 @@ public final class SpringJavaType {
       "org.springframework.context.annotation.Profile");
   public static final JavaType PUT_MAPPING = new JavaType(
       "org.springframework.web.bind.annotation.PutMapping");
+  public static final JavaType QUERY_HINTS = new JavaType(
+      "org.springframework.data.jpa.repository.QueryHints");
   public static final JavaType REDIRECT_ATTRIBUTES = new JavaType(
       "org.springframework.web.servlet.mvc.support.RedirectAttributes");
   public static final JavaType REPOSITORY = new JavaType(
       "org.springframework.stereotype.Repository");
+  public static final JavaType REQUEST_ATTRIBUTES = new JavaType(
+      "org.springframework.web.context.request.RequestAttributes");
   public static final JavaType REQUEST_BODY = new JavaType(
       "org.springframework.web.bind.annotation.RequestBody");
+  public static final JavaType REQUEST_CONTEXT_HOLDER = new JavaType(
+      "org.springframework.web.context.request.RequestContextHolder");
   public static final JavaType REQUEST_MAPPING = new JavaType(
       "org.springframework.web.bind.annotation.RequestMapping");
   public static final JavaType REQUEST_METHOD = new JavaType(
@@ -215,6 +232,10 @@ public final class SpringJavaType {
       "org.springframework.mail.SimpleMailMessage");
   public static final JavaType SIMPLE_TYPE_CONVERTER = new JavaType(
       "org.springframework.beans.SimpleTypeConverter");
+  public static final JavaType SLICE = new JavaType("org.springframework.data.domain.Slice");
+  public static final JavaType SLICE_IMPL = new JavaType(
+      "org.springframework.data.domain.SliceImpl");
+  public static final JavaType SORT = new JavaType("org.springframework.data.domain.Sort");
   public static final JavaType SPRING_BOOT_TEST = new JavaType(
       "org.springframework.boot.test.context.SpringBootTest");
   public static final JavaType SPRING_RUNNER = new JavaType(
@@ -235,6 +256,8 @@ public final class SpringJavaType {
       "org.springframework.web.bind.WebDataBinder");
   public static final JavaType WEB_MVC_CONFIGURER_ADAPTER = new JavaType(
       "org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter");
+  public static final JavaType WEB_REQUEST = new JavaType(
+      "org.springframework.web.context.request.WebRequest");
   public static final JavaType WEB_UTILS = new JavaType("org.springframework.web.util.WebUtils");
   public static final JavaType WEB_APP_CONFIGURATION = new JavaType(
       "org.springframework.test.context.web.WebAppConfiguration");
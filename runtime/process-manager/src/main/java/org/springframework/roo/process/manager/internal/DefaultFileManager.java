@@ -20,8 +20,6 @@ import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.InvalidSyntaxException;
-import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.file.monitor.NotifiableFileMonitorService;
 import org.springframework.roo.file.monitor.event.FileDetails;
@@ -38,6 +36,7 @@ import org.springframework.roo.process.manager.FileManager;
 import org.springframework.roo.process.manager.MutableFile;
 import org.springframework.roo.process.manager.ProcessManager;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.osgi.TrackedServiceInstanceManager;
 
 /**
  * Default implementation of {@link FileManager}.
@@ -65,8 +64,11 @@ public class DefaultFileManager implements FileManager, UndoListener {
   private ProcessManager processManager;
   private UndoManager undoManager;
 
+  private final TrackedServiceInstanceManager serviceManager = new TrackedServiceInstanceManager();
+
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
+    serviceManager.activate(this.context);
     if (undoManager == null) {
       undoManager = getUndoManager();
     }
@@ -224,6 +226,7 @@ public class DefaultFileManager implements FileManager, UndoListener {
     }
     Validate.notNull(undoManager, "UndoManager is required");
     undoManager.removeUndoListener(this);
+    serviceManager.deactivate();
   }
 
   public void delete(final String fileIdentifier) {
@@ -344,74 +347,18 @@ public class DefaultFileManager implements FileManager, UndoListener {
   }
 
   public NotifiableFileMonitorService getFileMonitorService() {
-    // Get all Services implement NotifiableFileMonitorService interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(NotifiableFileMonitorService.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (NotifiableFileMonitorService) this.context.getService(ref);
-      }
-
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load NotifiableFileMonitorService on DefaultFileManager.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, NotifiableFileMonitorService.class);
   }
 
   public ProcessManager getProcessManager() {
-    // Get all Services implement ProcessManager interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(ProcessManager.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (ProcessManager) this.context.getService(ref);
-      }
-
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load ProcessManager on DefaultFileManager.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, ProcessManager.class);
   }
 
   public FilenameResolver getFileNameResolver() {
-    // Get all Services implement FilenameResolver interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(FilenameResolver.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (FilenameResolver) this.context.getService(ref);
-      }
-
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load FilenameResolver on DefaultFileManager.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, FilenameResolver.class);
   }
 
   public UndoManager getUndoManager() {
-    // Get all Services implement UndoManager interface
-    try {
-      ServiceReference<?>[] references =
-          this.context.getAllServiceReferences(UndoManager.class.getName(), null);
-
-      for (ServiceReference<?> ref : references) {
-        return (UndoManager) this.context.getService(ref);
-      }
-
-      return null;
-
-    } catch (InvalidSyntaxException e) {
-      LOGGER.warning("Cannot load UndoManager on DefaultFileManager.");
-      return null;
-    }
+    return serviceManager.getServiceInstance(this, UndoManager.class);
   }
 }
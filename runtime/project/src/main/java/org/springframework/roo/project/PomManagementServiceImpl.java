@@ -22,8 +22,6 @@ import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.InvalidSyntaxException;
-import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
 import org.springframework.roo.file.monitor.FileMonitorService;
 import org.springframework.roo.metadata.MetadataDependencyRegistry;
@@ -34,6 +32,7 @@ import org.springframework.roo.project.maven.PomFactory;
 import org.springframework.roo.shell.Shell;
 import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.osgi.OSGiUtils;
+import org.springframework.roo.support.osgi.TrackedServiceInstanceManager;
 import org.springframework.roo.support.util.FileUtils;
 import org.springframework.roo.support.util.XmlUtils;
 import org.w3c.dom.Document;
@@ -46,14 +45,21 @@ public class PomManagementServiceImpl implements PomManagementService {
   private BundleContext context;
   private static final Logger LOGGER = HandlerUtils.getLogger(PomManagementServiceImpl.class);
 
+  private final TrackedServiceInstanceManager serviceManager = new TrackedServiceInstanceManager();
+
   protected void activate(final ComponentContext cContext) {
     context = cContext.getBundleContext();
+    serviceManager.activate(context);
     final File projectDirectory =
         new File(StringUtils.defaultIfEmpty(OSGiUtils.getRooWorkingDirectory(cContext),
             FileUtils.CURRENT_DIRECTORY));
     projectRootDirectory = FileUtils.getCanonicalPath(projectDirectory);
   }
 
+  protected void deactivate(final ComponentContext cContext) {
+    serviceManager.deactivate();
+  }
+
   private static class PomComparator implements Comparator<String> {
     private final Map<String, Pom> pomMap;
 
@@ -344,26 +350,10 @@ public class PomManagementServiceImpl implements PomManagementService {
    * @return
    */
   public FileMonitorService getFileMonitorService() {
-    if (fileMonitorService == null) {
-      // Get all Services implement FileMonitorService interface
-      try {
-        ServiceReference<?>[] references =
-            context.getAllServiceReferences(FileMonitorService.class.getName(), null);
-
-        for (ServiceReference<?> ref : references) {
-          fileMonitorService = (FileMonitorService) context.getService(ref);
-          return fileMonitorService;
-        }
-
-        return null;
-
-      } catch (InvalidSyntaxException e) {
-        LOGGER.warning("Cannot load FileMonitorService on PomManagementServiceImpl.");
-        return null;
-      }
-    } else {
+    if (fileMonitorService != null) {
       return fileMonitorService;
     }
+    return serviceManager.getServiceInstance(this, FileMonitorService.class);
   }
 
   /**
@@ -372,26 +362,10 @@ public class PomManagementServiceImpl implements PomManagementService {
    * @return
    */
   public PomFactory getPomFactory() {
-    if (pomFactory == null) {
-      // Get all Services implement PomFactory interface
-      try {
-        ServiceReference<?>[] references =
-            context.getAllServiceReferences(PomFactory.class.getName(), null);
-
-        for (ServiceReference<?> ref : references) {
-          pomFactory = (PomFactory) context.getService(ref);
-          return pomFactory;
-        }
-
-        return null;
-
-      } catch (InvalidSyntaxException e) {
-        LOGGER.warning("Cannot load PomFactory on PomManagementServiceImpl.");
-        return null;
-      }
-    } else {
+    if (pomFactory != null) {
       return pomFactory;
     }
+    return serviceManager.getServiceInstance(this, PomFactory.class);
   }
 
   /**
@@ -400,26 +374,10 @@ public class PomManagementServiceImpl implements PomManagementService {
    * @return
    */
   public FileManager getFileManager() {
-    if (fileManager == null) {
-      // Get all Services implement FileManager interface
-      try {
-        ServiceReference<?>[] references =
-            context.getAllServiceReferences(FileManager.class.getName(), null);
-
-        for (ServiceReference<?> ref : references) {
-          fileManager = (FileManager) context.getService(ref);
-          return fileManager;
-        }
-
-        return null;
-
-      } catch (InvalidSyntaxException e) {
-        LOGGER.warning("Cannot load FileManager on PomManagementServiceImpl.");
-        return null;
-      }
-    } else {
+    if (fileManager != null) {
       return fileManager;
     }
+    return serviceManager.getServiceInstance(this, FileManager.class);
   }
 
   /**
@@ -428,26 +386,10 @@ public class PomManagementServiceImpl implements PomManagementService {
    * @return
    */
   public MetadataService getMetadataService() {
-    if (metadataService == null) {
-      // Get all Services implement MetadataService interface
-      try {
-        ServiceReference<?>[] references =
-            context.getAllServiceReferences(MetadataService.class.getName(), null);
-
-        for (ServiceReference<?> ref : references) {
-          metadataService = (MetadataService) context.getService(ref);
-          return metadataService;
-        }
-
-        return null;
-
-      } catch (InvalidSyntaxException e) {
-        LOGGER.warning("Cannot load MetadataService on PomManagementServiceImpl.");
-        return null;
-      }
-    } else {
+    if (metadataService != null) {
       return metadataService;
     }
+    return serviceManager.getServiceInstance(this, MetadataService.class);
   }
 
   /**
@@ -456,26 +398,10 @@ public class PomManagementServiceImpl implements PomManagementService {
    * @return
    */
   public MetadataDependencyRegistry getMetadataDependencyRegistry() {
-    if (metadataDependencyRegistry == null) {
-      // Get all Services implement MetadataDependencyRegistry interface
-      try {
-        ServiceReference<?>[] references =
-            context.getAllServiceReferences(MetadataDependencyRegistry.class.getName(), null);
-
-        for (ServiceReference<?> ref : references) {
-          metadataDependencyRegistry = (MetadataDependencyRegistry) context.getService(ref);
-          return metadataDependencyRegistry;
-        }
-
-        return null;
-
-      } catch (InvalidSyntaxException e) {
-        LOGGER.warning("Cannot load MetadataDependencyRegistry on PomManagementServiceImpl.");
-        return null;
-      }
-    } else {
+    if (metadataDependencyRegistry != null) {
       return metadataDependencyRegistry;
     }
+    return serviceManager.getServiceInstance(this, MetadataDependencyRegistry.class);
   }
 
 
@@ -485,25 +411,9 @@ public class PomManagementServiceImpl implements PomManagementService {
    * @return
    */
   public Shell getShell() {
-    if (shell == null) {
-      // Get all Services implement Shell interface
-      try {
-        ServiceReference<?>[] references =
-            context.getAllServiceReferences(Shell.class.getName(), null);
-
-        for (ServiceReference<?> ref : references) {
-          shell = (Shell) context.getService(ref);
-          return shell;
-        }
-
-        return null;
-
-      } catch (InvalidSyntaxException e) {
-        LOGGER.warning("Cannot load Shell on PomManagementServiceImpl.");
-        return null;
-      }
-    } else {
+    if (shell != null) {
       return shell;
     }
+    return serviceManager.getServiceInstance(this, Shell.class);
   }
 }
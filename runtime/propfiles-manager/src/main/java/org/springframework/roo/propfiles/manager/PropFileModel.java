@@ -0,0 +1,327 @@
+package org.springframework.roo.propfiles.manager;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Parsed model of a .properties file which keeps the original layout of the
+ * file: comments, blank lines and untouched entries are written back as they
+ * were read, so updating a property only changes its own line.
+ * <p>
+ * Values are parsed and formatted following the {@link Properties} rules, so
+ * the written file can be read by {@link Properties#load(InputStream)}.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @since 2.0
+ */
+class PropFileModel {
+
+  private static final String ISO_8859_1 = "ISO-8859-1";
+
+  private static final String LINE_SEPARATOR = IOUtils.LINE_SEPARATOR;
+
+  /**
+   * A property of the file with the comments and blank lines preceding it
+   */
+  private static class PropEntry {
+    private final List<String> leadingLines;
+    private final String key;
+    private String value;
+
+    /** Raw lines of the entry, or null if it must be formatted */
+    private List<String> rawLines;
+
+    private PropEntry(final List<String> leadingLines, final String key, final String value,
+        final List<String> rawLines) {
+      this.leadingLines = leadingLines;
+      this.key = key;
+      this.value = value;
+      this.rawLines = rawLines;
+    }
+  }
+
+  private static final Comparator<PropEntry> KEY_COMPARATOR = new Comparator<PropEntry>() {
+    public int compare(final PropEntry o1, final PropEntry o2) {
+      return o1.key.compareTo(o2.key);
+    }
+  };
+
+  /**
+   * Reads the model of a .properties file
+   *
+   * @param inputStream the file contents (required). The stream is closed
+   *            upon completion.
+   * @return a non-<code>null</code> model
+   */
+  public static PropFileModel load(final InputStream inputStream) {
+    Validate.notNull(inputStream, "InputStream required");
+    final PropFileModel model = new PropFileModel();
+    BufferedReader reader = null;
+    try {
+      reader = new BufferedReader(new InputStreamReader(inputStream, ISO_8859_1));
+      List<String> pendingLines = new ArrayList<String>();
+      List<String> entryLines = null;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (entryLines != null) {
+          // Continuation of a multi-line entry
+          entryLines.add(line);
+        } else if (isBlankOrComment(line)) {
+          pendingLines.add(line);
+          continue;
+        } else {
+          entryLines = new ArrayList<String>();
+          entryLines.add(line);
+        }
+        if (!isContinued(line)) {
+          model.addParsedEntry(pendingLines, entryLines);
+          pendingLines = new ArrayList<String>();
+          entryLines = null;
+        }
+      }
+      if (entryLines != null) {
+        model.addParsedEntry(pendingLines, entryLines);
+      } else {
+        model.trailingLines.addAll(pendingLines);
+      }
+    } catch (final IOException e) {
+      throw new IllegalStateException("Could not load properties", e);
+    } finally {
+      IOUtils.closeQuietly(reader);
+      IOUtils.closeQuietly(inputStream);
+    }
+    return model;
+  }
+
+  private static boolean isBlankOrComment(final String line) {
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+      if (c == '#' || c == '!') {
+        return true;
+      }
+      if (c != ' ' && c != '\t' && c != '\f') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return true if the line ends with an odd number of backslashes
+   */
+  private static boolean isContinued(final String line) {
+    int slashes = 0;
+    for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+      slashes++;
+    }
+    return slashes % 2 == 1;
+  }
+
+  /**
+   * Escapes every non printable ASCII character as {@link Properties#store}
+   * does, so the written file only contains ISO-8859-1 safe characters.
+   */
+  private static String escapeNonAscii(final String line) {
+    StringBuilder sb = null;
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+      if (c > '~') {
+        if (sb == null) {
+          sb = new StringBuilder(line.length() + 16);
+          sb.append(line, 0, i);
+        }
+        sb.append(String.format("\\u%04X", (int) c));
+      } else if (sb != null) {
+        sb.append(c);
+      }
+    }
+    return sb == null ? line : sb.toString();
+  }
+
+  /**
+   * Formats an entry using {@link Properties#store} escaping rules
+   */
+  private static String format(final String key, final String value) {
+    final Properties props = new Properties();
+    props.setProperty(key, value);
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try {
+      props.store(outputStream, null);
+      final BufferedReader reader =
+          new BufferedReader(new StringReader(new String(outputStream.toByteArray(), ISO_8859_1)));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        // Skip the timestamp comment written by Properties#store
+        if (!line.startsWith("#")) {
+          return line;
+        }
+      }
+    } catch (final IOException e) {
+      throw new IllegalStateException("Could not format property '" + key + "'", e);
+    }
+    throw new IllegalStateException("Could not format property '" + key + "'");
+  }
+
+  private final List<PropEntry> entries = new ArrayList<PropEntry>();
+  private final Map<String, PropEntry> entriesByKey = new LinkedHashMap<String, PropEntry>();
+  private final List<String> trailingLines = new ArrayList<String>();
+  private boolean sorted;
+
+  private void addParsedEntry(final List<String> leadingLines, final List<String> rawLines) {
+    final StringBuilder text = new StringBuilder();
+    for (final String rawLine : rawLines) {
+      text.append(rawLine).append('\n');
+    }
+    final Properties props = new Properties();
+    try {
+      props.load(new StringReader(text.toString()));
+    } catch (final IOException e) {
+      throw new IllegalStateException("Could not load properties", e);
+    }
+    // Each logical line defines a single property
+    final String key = props.stringPropertyNames().iterator().next();
+    final PropEntry entry = new PropEntry(leadingLines, key, props.getProperty(key), rawLines);
+    entries.add(entry);
+    // As Properties does, last occurrence of a key wins
+    entriesByKey.remove(key);
+    entriesByKey.put(key, entry);
+  }
+
+  /**
+   * @param key the property key (required)
+   * @return the property value, or <code>null</code> if not found
+   */
+  public String getProperty(final String key) {
+    final PropEntry entry = entriesByKey.get(key);
+    return entry == null ? null : entry.value;
+  }
+
+  /**
+   * @return the properties of the file in file order (never null)
+   */
+  public Map<String, String> getProperties() {
+    final Map<String, String> result = new LinkedHashMap<String, String>();
+    for (final PropEntry entry : entriesByKey.values()) {
+      result.put(entry.key, entry.value);
+    }
+    return result;
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty() && trailingLines.isEmpty();
+  }
+
+  /**
+   * Sets a property, replacing its value if it already exists or appending
+   * it to the end of the file otherwise.
+   *
+   * @param key the property key (required)
+   * @param value the property value (required)
+   * @return true if the model has been changed
+   */
+  public boolean setProperty(final String key, final String value) {
+    Validate.notNull(key, "Key required");
+    Validate.notNull(value, "Value required");
+    final PropEntry entry = entriesByKey.get(key);
+    if (entry == null) {
+      final PropEntry newEntry = new PropEntry(new ArrayList<String>(), key, value, null);
+      entries.add(newEntry);
+      entriesByKey.put(key, newEntry);
+      return true;
+    }
+    if (value.equals(entry.value)) {
+      return false;
+    }
+    entry.value = value;
+    entry.rawLines = null;
+    return true;
+  }
+
+  /**
+   * Removes a property, with its preceding comments
+   *
+   * @param key the property key (required)
+   * @return true if the model has been changed
+   */
+  public boolean removeProperty(final String key) {
+    if (entriesByKey.remove(key) == null) {
+      return false;
+    }
+    for (final Iterator<PropEntry> it = entries.iterator(); it.hasNext();) {
+      if (it.next().key.equals(key)) {
+        it.remove();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Removes all properties whose key starts with the given prefix
+   *
+   * @param prefix the key prefix (required)
+   * @return true if the model has been changed
+   */
+  public boolean removePropertiesByPrefix(final String prefix) {
+    final List<String> keys = new ArrayList<String>();
+    for (final String key : entriesByKey.keySet()) {
+      if (key.startsWith(prefix)) {
+        keys.add(key);
+      }
+    }
+    for (final String key : keys) {
+      removeProperty(key);
+    }
+    return !keys.isEmpty();
+  }
+
+  /**
+   * Writes entries ordered by key from now on
+   */
+  public void setSorted() {
+    this.sorted = true;
+  }
+
+  /**
+   * @return the file contents for the current state of the model
+   */
+  public String getContents() {
+    List<PropEntry> toWrite = entries;
+    if (sorted) {
+      toWrite = new ArrayList<PropEntry>(entries);
+      Collections.sort(toWrite, KEY_COMPARATOR);
+    }
+    final StringBuilder sb = new StringBuilder();
+    for (final PropEntry entry : toWrite) {
+      for (final String line : entry.leadingLines) {
+        sb.append(escapeNonAscii(line)).append(LINE_SEPARATOR);
+      }
+      if (entry.rawLines == null) {
+        sb.append(format(entry.key, entry.value)).append(LINE_SEPARATOR);
+      } else {
+        for (final String line : entry.rawLines) {
+          sb.append(escapeNonAscii(line)).append(LINE_SEPARATOR);
+        }
+      }
+    }
+    for (final String line : trailingLines) {
+      sb.append(escapeNonAscii(line)).append(LINE_SEPARATOR);
+    }
+    return sb.toString();
+  }
+}
@@ -1,23 +1,18 @@
 package org.springframework.roo.propfiles.manager;
 
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
-import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.commons.io.IOUtils;
@@ -26,14 +21,17 @@ import org.apache.commons.lang3.Validate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.InvalidSyntaxException;
-import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
+import org.springframework.roo.file.monitor.event.FileEvent;
+import org.springframework.roo.file.monitor.event.FileEventListener;
+import org.springframework.roo.file.undo.UndoEvent;
+import org.springframework.roo.file.undo.UndoListener;
+import org.springframework.roo.file.undo.UndoManager;
 import org.springframework.roo.process.manager.FileManager;
-import org.springframework.roo.process.manager.MutableFile;
 import org.springframework.roo.project.LogicalPath;
 import org.springframework.roo.project.ProjectOperations;
 import org.springframework.roo.support.logging.HandlerUtils;
+import org.springframework.roo.support.osgi.TrackedServiceInstanceManager;
 import org.springframework.roo.support.util.FileUtils;
 
 /**
@@ -45,20 +43,64 @@ import org.springframework.roo.support.util.FileUtils;
  */
 @Component
 @Service
-public class PropFilesManagerServiceImpl implements PropFilesManagerService {
+public class PropFilesManagerServiceImpl implements PropFilesManagerService, FileEventListener,
+    UndoListener {
 
   protected final static Logger LOGGER = HandlerUtils.getLogger(PropFilesManagerServiceImpl.class);
 
   private static final boolean SORTED = true;
 
-  private FileManager fileManager;
-  private ProjectOperations projectOperations;
+  /**
+   * Cached model of a .properties file
+   */
+  private static class CachedPropFile {
+    private final PropFileModel model;
+    private final File file;
+    private final long lastModified;
+    private final long length;
+
+    /** Whether the model has changes not committed to disk yet */
+    private boolean pendingWrite;
+
+    private CachedPropFile(final PropFileModel model, final File file) {
+      this.model = model;
+      this.file = file;
+      this.lastModified = file.lastModified();
+      this.length = file.length();
+    }
+
+    private boolean isValid() {
+      // Guard against changes not notified by the file monitor yet
+      return pendingWrite || file.lastModified() == lastModified && file.length() == length;
+    }
+  }
+
+  /** key: canonical path of the file, value: its parsed model */
+  private final Map<String, CachedPropFile> cache = new HashMap<String, CachedPropFile>();
 
   // ------------ OSGi component attributes ----------------
   private BundleContext context;
 
+  private final TrackedServiceInstanceManager serviceManager = new TrackedServiceInstanceManager();
+
   protected void activate(final ComponentContext context) {
     this.context = context.getBundleContext();
+    serviceManager.activate(this.context);
+    final UndoManager undoManager = getUndoManager();
+    if (undoManager != null) {
+      undoManager.addUndoListener(this);
+    }
+  }
+
+  protected void deactivate(final ComponentContext context) {
+    final UndoManager undoManager = getUndoManager();
+    if (undoManager != null) {
+      undoManager.removeUndoListener(this);
+    }
+    serviceManager.deactivate();
+    synchronized (this) {
+      cache.clear();
+    }
   }
 
   @Override
@@ -181,24 +223,9 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
 
     final String filePath =
         getProjectOperations().getPathResolver().getIdentifier(propertyFilePath, propertyFilename);
-    final Properties props = new Properties();
+    final PropFileModel propFile = getRequiredPropFile(filePath);
 
-    try {
-      if (getFileManager().exists(filePath)) {
-        loadProperties(props, new BufferedInputStream(new FileInputStream(filePath)));
-      } else {
-        throw new IllegalStateException(String.format(
-            "ERROR: '%s' properties file doesn't exists.", filePath));
-      }
-    } catch (final IOException ioe) {
-      throw new IllegalStateException(ioe);
-    }
-
-    final Map<String, String> result = new HashMap<String, String>();
-    for (final Object key : props.keySet()) {
-      result.put(key.toString(), props.getProperty(key.toString()));
-    }
-    return Collections.unmodifiableMap(result);
+    return Collections.unmodifiableMap(propFile.getProperties());
   }
 
   @Override
@@ -217,13 +244,8 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
 
     final String filePath =
         getProjectOperations().getPathResolver().getIdentifier(propertyFilePath, propertyFilename);
-    MutableFile mutableFile = null;
-    final Properties props = new Properties();
-
-    if (getFileManager().exists(filePath)) {
-      mutableFile = getFileManager().updateFile(filePath);
-      loadProperties(props, mutableFile.getInputStream());
-    } else {
+    final PropFileModel propFile = getPropFile(filePath);
+    if (propFile == null) {
       return null;
     }
 
@@ -232,7 +254,7 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
       key = prefix.concat(".").concat(key);
     }
 
-    return props.getProperty(key);
+    return propFile.getProperty(key);
   }
 
   @Override
@@ -250,30 +272,18 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
 
     final String filePath =
         getProjectOperations().getPathResolver().getIdentifier(propertyFilePath, propertyFilename);
-    final Properties props = new Properties();
-
-    try {
-      if (getFileManager().exists(filePath)) {
-        loadProperties(props, new BufferedInputStream(new FileInputStream(filePath)));
-      } else {
-        throw new IllegalStateException(String.format(
-            "ERROR: '%s' properties file doesn't exists.", filePath));
-      }
-    } catch (final IOException ioe) {
-      throw new IllegalStateException(ioe);
-    }
+    final PropFileModel propFile = getRequiredPropFile(filePath);
 
     final SortedSet<String> result = new TreeSet<String>();
-    for (final Object key : props.keySet()) {
-      String info = key.toString();
+    for (final Entry<String, String> property : propFile.getProperties().entrySet()) {
+      String info = property.getKey();
       if (StringUtils.isNotBlank(prefix)) {
         if (info.startsWith(prefix)) {
-          result.add(includeValues ? info.concat(" = ").concat(props.getProperty(key.toString()))
-              : info);
+          result.add(includeValues ? info.concat(" = ").concat(property.getValue()) : info);
         }
       } else {
         if (includeValues) {
-          info += " = " + props.getProperty(key.toString());
+          info += " = " + property.getValue();
         }
         result.add(info);
       }
@@ -311,25 +321,15 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
 
     final String filePath =
         getProjectOperations().getPathResolver().getIdentifier(propertyFilePath, propertyFilename);
-    MutableFile mutableFile = null;
-    final Properties props = new Properties();
-
-    if (getFileManager().exists(filePath)) {
-      mutableFile = getFileManager().updateFile(filePath);
-      loadProperties(props, mutableFile.getInputStream());
-    } else {
-      throw new IllegalStateException(String.format("ERROR: '%s' properties file doesn't exists.",
-          filePath));
-    }
+    final PropFileModel propFile = getRequiredPropFile(filePath);
 
     // Including prefix if needed
     if (StringUtils.isNotBlank(prefix)) {
       key = prefix.concat(".").concat(key);
     }
 
-    if (props.containsKey(key)) {
-      props.remove(key);
-      storeProps(props, mutableFile.getOutputStream(), "Updated at " + new Date());
+    if (propFile.removeProperty(key)) {
+      writePropFile(filePath, propFile);
     }
 
   }
@@ -343,26 +343,34 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
 
     final String filePath =
         getProjectOperations().getPathResolver().getIdentifier(propertyFilePath, propertyFilename);
-    MutableFile mutableFile = null;
-    final Properties props = new Properties();
+    final PropFileModel propFile = getRequiredPropFile(filePath);
 
-    if (getFileManager().exists(filePath)) {
-      mutableFile = getFileManager().updateFile(filePath);
-      loadProperties(props, mutableFile.getInputStream());
-    } else {
-      throw new IllegalStateException(String.format("ERROR: '%s' properties file doesn't exists.",
-          filePath));
+    if (propFile.removePropertiesByPrefix(prefix)) {
+      writePropFile(filePath, propFile);
     }
 
-    for (Entry property : props.entrySet()) {
-      String key = (String) property.getKey();
-      if (key != null && key.startsWith(prefix)) {
-        props.remove(key);
-      }
-    }
+  }
 
-    storeProps(props, mutableFile.getOutputStream(), "Updated at " + new Date());
+  @Override
+  public synchronized void onFileEvent(final FileEvent fileEvent) {
+    // Changes made by this service are already cached until they are
+    // written, so only external changes evict a cached file
+    final String fileIdentifier = fileEvent.getFileDetails().getCanonicalPath();
+    final CachedPropFile cached = cache.get(fileIdentifier);
+    if (cached != null && !cached.pendingWrite) {
+      cache.remove(fileIdentifier);
+    }
+  }
 
+  @Override
+  public synchronized void onUndoEvent(final UndoEvent event) {
+    // Pending writes are either committed to disk or discarded by the
+    // FileManager, so the cached model of those files is no longer valid
+    for (final Iterator<CachedPropFile> it = cache.values().iterator(); it.hasNext();) {
+      if (it.next().pendingWrite) {
+        it.remove();
+      }
+    }
   }
 
   // Util methods
@@ -373,6 +381,60 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
     return properties;
   }
 
+  /**
+   * Returns the parsed model of a .properties file, parsing it only if it
+   * isn't cached yet or the file has changed since it was parsed.
+   * 
+   * @param filePath the canonical path of the file
+   * @return the model, or <code>null</code> if the file doesn't exist
+   */
+  private synchronized PropFileModel getPropFile(final String filePath) {
+    final CachedPropFile cached = cache.get(filePath);
+    if (cached != null && cached.isValid()) {
+      return cached.model;
+    }
+    if (!getFileManager().exists(filePath)) {
+      cache.remove(filePath);
+      return null;
+    }
+    final PropFileModel model = PropFileModel.load(getFileManager().getInputStream(filePath));
+    cache.put(filePath, new CachedPropFile(model, new File(filePath)));
+    return model;
+  }
+
+  private PropFileModel getRequiredPropFile(final String filePath) {
+    final PropFileModel propFile = getPropFile(filePath);
+    if (propFile == null) {
+      throw new IllegalStateException(String.format("ERROR: '%s' properties file doesn't exists.",
+          filePath));
+    }
+    return propFile;
+  }
+
+  /**
+   * Schedules the write of the current state of a model. Writes are deferred
+   * until the {@link FileManager} commits, so all changes done during a
+   * command are written at once.
+   * 
+   * @param filePath the canonical path of the file
+   * @param propFile the model to write
+   */
+  private synchronized void writePropFile(final String filePath, final PropFileModel propFile) {
+    CachedPropFile cached = cache.get(filePath);
+    if (cached == null || cached.model != propFile) {
+      cached = new CachedPropFile(propFile, new File(filePath));
+      cache.put(filePath, cached);
+    }
+    cached.pendingWrite = true;
+
+    String contents = propFile.getContents();
+    if (StringUtils.isBlank(contents)) {
+      // FileManager deletes files committed without contents
+      contents = "#Updated at " + new Date() + IOUtils.LINE_SEPARATOR;
+    }
+    getFileManager().createOrUpdateTextFileIfRequired(filePath, contents, false);
+  }
+
   private void loadProperties(final Properties props, final InputStream inputStream) {
     try {
       props.load(inputStream);
@@ -400,46 +462,21 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
 
     final String filePath =
         getProjectOperations().getPathResolver().getIdentifier(propertyFilePath, propertyFilename);
-    MutableFile mutableFile = null;
 
-    Properties props;
-    if (sorted) {
-      props = new Properties() {
-        private static final long serialVersionUID = 1L;
-
-        // Override the keys() method to order the keys alphabetically
-        @SuppressWarnings("all")
-        public synchronized Enumeration keys() {
-          final Object[] keys = keySet().toArray();
-          Arrays.sort(keys);
-          return new Enumeration() {
-            int i = 0;
-
-            public boolean hasMoreElements() {
-              return i < keys.length;
-            }
-
-            public Object nextElement() {
-              return keys[i++];
-            }
-          };
-        }
-      };
-    } else {
-      props = new Properties();
-    }
-
-    if (getFileManager().exists(filePath)) {
-      mutableFile = getFileManager().updateFile(filePath);
-      loadProperties(props, mutableFile.getInputStream());
-    } else {
+    PropFileModel propFile = getPropFile(filePath);
+    boolean saveNeeded = false;
+    if (propFile == null) {
       // Unable to find the file, so let's create it
-      mutableFile = getFileManager().createFile(filePath);
+      propFile = new PropFileModel();
+      saveNeeded = true;
+    }
+    if (sorted) {
+      propFile.setSorted();
     }
 
-    boolean saveNeeded = false;
     boolean needForce = false;
     Map<String, String> overwriteProperties = new HashMap<String, String>();
+    Map<String, String> changedProperties = new LinkedHashMap<String, String>();
 
     for (final Entry<String, String> entry : properties.entrySet()) {
       String key = entry.getKey();
@@ -450,13 +487,12 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
       }
 
       final String newValue = entry.getValue();
-      final String existingValue = props.getProperty(key);
+      final String existingValue = propFile.getProperty(key);
       if (existingValue != null && !newValue.equals(existingValue) && preventChangesIfAlreadyExists) {
         // Ignore this label if already exists
         continue;
       } else if (existingValue == null || !existingValue.equals(newValue) && force) {
-        props.setProperty(key, newValue);
-        saveNeeded = true;
+        changedProperties.put(key, newValue);
       } else if (!existingValue.equals(newValue) && !force) {
         // ROO-3702: Show error when tries to update some properties that
         // already exists and --force global param is false. 
@@ -485,81 +521,25 @@ public class PropFilesManagerServiceImpl implements PropFilesManagerService {
       throw new RuntimeException(msg);
     }
 
-    if (saveNeeded) {
-      storeProps(props, mutableFile.getOutputStream(), "Updated at " + new Date());
-
-      String propertyCount = props.size() > 1 ? "Properties" : "Property";
-      String haveCount = props.size() > 1 ? "have" : "has";
-      String propertyLists = "";
-      for (Entry<Object, Object> property : props.entrySet()) {
-        String key = (String) property.getKey();
-        String value = (String) property.getValue();
-
-        propertyLists =
-            propertyLists.concat("'").concat(key).concat(" = ").concat(value).concat("', ");
-      }
-
+    for (final Entry<String, String> property : changedProperties.entrySet()) {
+      saveNeeded |= propFile.setProperty(property.getKey(), property.getValue());
     }
-  }
 
-  private void storeProps(final Properties props, final OutputStream outputStream,
-      final String comment) {
-    Validate.notNull(outputStream, "OutputStream required");
-    try {
-      props.store(outputStream, comment);
-    } catch (final IOException e) {
-      throw new IllegalStateException("Could not store properties", e);
-    } finally {
-      IOUtils.closeQuietly(outputStream);
+    if (saveNeeded) {
+      writePropFile(filePath, propFile);
     }
   }
 
   public FileManager getFileManager() {
-    if (fileManager == null) {
-      // Get all Services implement FileManager interface
-      try {
-        ServiceReference<?>[] references =
-            this.context.getAllServiceReferences(FileManager.class.getName(), null);
-
-        for (ServiceReference<?> ref : references) {
-          fileManager = (FileManager) this.context.getService(ref);
-          return fileManager;
-        }
-
-        return null;
-
-      } catch (InvalidSyntaxException e) {
-        LOGGER.warning("Cannot load FileManager on PropFilesManagerServiceImpl.");
-        return null;
-      }
-    } else {
-      return fileManager;
-    }
-
+    return serviceManager.getServiceInstance(this, FileManager.class);
   }
 
   public ProjectOperations getProjectOperations() {
-    if (projectOperations == null) {
-      // Get all Services implement ProjectOperations interface
-      try {
-        ServiceReference<?>[] references =
-            this.context.getAllServiceReferences(ProjectOperations.class.getName(), null);
-
-        for (ServiceReference<?> ref : references) {
-          projectOperations = (ProjectOperations) this.context.getService(ref);
-          return projectOperations;
-        }
-
-        return null;
-
-      } catch (InvalidSyntaxException e) {
-        LOGGER.warning("Cannot load ProjectOperations on PropFilesManagerServiceImpl.");
-        return null;
-      }
-    } else {
-      return projectOperations;
-    }
+    return serviceManager.getServiceInstance(this, ProjectOperations.class);
+  }
 
+  public UndoManager getUndoManager() {
+    return serviceManager.getServiceInstance(this, UndoManager.class);
   }
 
 }
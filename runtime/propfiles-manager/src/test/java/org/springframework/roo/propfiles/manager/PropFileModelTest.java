@@ -0,0 +1,105 @@
+package org.springframework.roo.propfiles.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Properties;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+/**
+ * Unit test of {@link PropFileModel}
+ *
+ * @since 2.0
+ */
+public class PropFileModelTest {
+
+  private static final String NL = IOUtils.LINE_SEPARATOR;
+
+  private static final String FILE = "# Application messages" + NL + NL + "label_name=Name" + NL
+      + "! Long text" + NL + "label_description=A long \\" + NL + "    description" + NL
+      + "label_city = Val\\u00E8ncia" + NL + "# End" + NL;
+
+  private static PropFileModel load(final String contents) throws Exception {
+    return PropFileModel.load(new ByteArrayInputStream(contents.getBytes("ISO-8859-1")));
+  }
+
+  private static Properties asProperties(final PropFileModel model) throws Exception {
+    final Properties props = new Properties();
+    props.load(new StringReader(model.getContents()));
+    return props;
+  }
+
+  @Test
+  public void testLoadParsesValues() throws Exception {
+    final PropFileModel model = load(FILE);
+
+    assertEquals("Name", model.getProperty("label_name"));
+    assertEquals("A long description", model.getProperty("label_description"));
+    assertEquals("València", model.getProperty("label_city"));
+    assertNull(model.getProperty("label_missing"));
+  }
+
+  @Test
+  public void testUnchangedModelKeepsContents() throws Exception {
+    assertEquals(FILE, load(FILE).getContents());
+  }
+
+  @Test
+  public void testSetPropertyOnlyChangesItsLine() throws Exception {
+    final PropFileModel model = load(FILE);
+
+    assertTrue(model.setProperty("label_name", "Full name"));
+    assertFalse(model.setProperty("label_city", "València"));
+
+    assertEquals(FILE.replace("label_name=Name", "label_name=Full name"), model.getContents());
+  }
+
+  @Test
+  public void testSetPropertyAppendsNewProperty() throws Exception {
+    final PropFileModel model = load(FILE);
+
+    assertTrue(model.setProperty("label_country", "España"));
+
+    // Trailing comments are kept at the end of the file
+    assertEquals(FILE.replace("# End", "label_country=Espa\\u00F1a" + NL + "# End"),
+        model.getContents());
+    assertEquals("España", asProperties(model).getProperty("label_country"));
+  }
+
+  @Test
+  public void testRemoveProperty() throws Exception {
+    final PropFileModel model = load(FILE);
+
+    assertTrue(model.removeProperty("label_description"));
+    assertFalse(model.removeProperty("label_description"));
+
+    final Properties props = asProperties(model);
+    assertEquals(2, props.size());
+    assertNull(props.getProperty("label_description"));
+  }
+
+  @Test
+  public void testRemovePropertiesByPrefix() throws Exception {
+    final PropFileModel model = load(FILE);
+
+    assertTrue(model.removePropertiesByPrefix("label_"));
+
+    assertTrue(asProperties(model).isEmpty());
+    assertEquals("# End" + NL, model.getContents());
+  }
+
+  @Test
+  public void testSortedContents() throws Exception {
+    final PropFileModel model = load("b=2" + NL + "# first" + NL + "a=1" + NL);
+
+    model.setSorted();
+
+    assertEquals("# first" + NL + "a=1" + NL + "b=2" + NL, model.getContents());
+  }
+}
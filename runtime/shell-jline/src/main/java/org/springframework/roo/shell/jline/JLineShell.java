@@ -595,10 +595,10 @@ public abstract class JLineShell extends AbstractShell implements CommandMarker,
     try {
       if (pom.exists()) {
         InputStream is = new FileInputStream(pom);
-        Document docXml = XmlUtils.readXml(is);
-        Element document = docXml.getDocumentElement();
-        Element rooVersionElement = XmlUtils.findFirstElement("properties/roo.version", document);
-        String rooVersion = rooVersionElement.getTextContent();
+        String rooVersion = XmlUtils.findFirstElementText("properties/roo.version", is);
+        if (rooVersion == null) {
+          return "UNKNOWN";
+        }
 
         return rooVersion;
       }
@@ -42,8 +42,6 @@ import org.springframework.roo.support.logging.HandlerUtils;
 import org.springframework.roo.support.util.AnsiEscapeCode;
 import org.springframework.roo.support.util.CollectionUtils;
 import org.springframework.roo.support.util.XmlUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  * Default implementation of {@link Parser}.
@@ -1796,10 +1794,10 @@ public class SimpleParser implements Parser {
     try {
       if (pom.exists()) {
         InputStream is = new FileInputStream(pom);
-        Document docXml = XmlUtils.readXml(is);
-        Element document = docXml.getDocumentElement();
-        Element rooVersionElement = XmlUtils.findFirstElement("properties/roo.version", document);
-        String rooVersion = rooVersionElement.getTextContent();
+        String rooVersion = XmlUtils.findFirstElementText("properties/roo.version", is);
+        if (rooVersion == null) {
+          return "UNKNOWN";
+        }
 
         return rooVersion;
       }
@@ -0,0 +1,147 @@
+package org.springframework.roo.support.osgi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.util.tracker.ServiceTracker;
+
+/**
+ * = _TrackedServiceInstanceManager_
+ *
+ * {@link ServiceInstaceManager} which resolves services thru a
+ * {@link ServiceTracker} per requested service class instead of querying
+ * the OSGi service registry on every request.
+ *
+ * Trackers are opened lazily on first request and are kept up to date by the
+ * framework, so returned instances follow services registration and
+ * unregistration without any extra registry lookup.
+ *
+ * *Warning*: This class requires to set {@link BundleContext} thru calling
+ * {@link #activate(BundleContext)} before return service instances and
+ * {@link #deactivate()} to close all opened trackers.
+ *
+ * @since 2.0.0
+ */
+public class TrackedServiceInstanceManager extends ServiceInstaceManager {
+
+  @SuppressWarnings("rawtypes")
+  private final ConcurrentMap<Class, ServiceTracker<?, ?>> trackers =
+      new ConcurrentHashMap<Class, ServiceTracker<?, ?>>(8);
+
+  /** Number of times the OSGi service registry has been queried */
+  private final AtomicLong registryLookups = new AtomicLong();
+
+  /** Number of requests served by an already opened tracker */
+  private final AtomicLong lookupsAvoided = new AtomicLong();
+
+  private volatile BundleContext context;
+
+  public TrackedServiceInstanceManager() {}
+
+  @Override
+  public void activate(BundleContext context) {
+    super.activate(context);
+    this.context = context;
+  }
+
+  @Override
+  @SuppressWarnings({"unchecked"})
+  public <SERVICE> SERVICE getServiceInstance(Object requester, Class<SERVICE> serviceClass) {
+    ServiceTracker<?, ?> tracker = getTracker(requester, serviceClass);
+    SERVICE service = (SERVICE) tracker.getService();
+    if (service == null) {
+      LOGGER.warning("Cannot load " + serviceClass.getName() + " on "
+          + requester.getClass().getName() + ": no service registered");
+    }
+    return service;
+  }
+
+  @Override
+  @SuppressWarnings({"unchecked"})
+  public <SERVICE> List<SERVICE> getServiceInstance(Object requester, Class<SERVICE> serviceClass,
+      Matcher<SERVICE> matcher) {
+    ServiceTracker<?, ?> tracker = getTracker(requester, serviceClass);
+    Object[] services = tracker.getServices();
+    if (services == null) {
+      LOGGER.warning("Cannot load " + serviceClass.getName() + " on "
+          + requester.getClass().getName() + ": no service registered");
+      return null;
+    }
+
+    List<SERVICE> matches = new ArrayList<SERVICE>();
+    for (Object service : services) {
+      if (matcher.match((SERVICE) service)) {
+        matches.add((SERVICE) service);
+      }
+    }
+
+    if (!matches.isEmpty()) {
+      return matches;
+    }
+    return null;
+  }
+
+  /**
+   * Returns the opened {@link ServiceTracker} of the given service class,
+   * creating and opening it on first request.
+   *
+   * @param requester component which requests the service
+   * @param serviceClass service interface
+   * @return opened tracker
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private ServiceTracker<?, ?> getTracker(Object requester, Class serviceClass) {
+    ServiceTracker<?, ?> tracker = trackers.get(serviceClass);
+    if (tracker != null) {
+      lookupsAvoided.incrementAndGet();
+      return tracker;
+    }
+    if (context == null) {
+      throw new IllegalStateException("Tried to get service '" + serviceClass.getName()
+          + "' without activation in " + requester.getClass().getCanonicalName());
+    }
+    synchronized (trackers) {
+      tracker = trackers.get(serviceClass);
+      if (tracker != null) {
+        // Other thread has opened its tracker before
+        lookupsAvoided.incrementAndGet();
+        return tracker;
+      }
+      tracker = new ServiceTracker(context, serviceClass.getName(), null);
+      tracker.open();
+      registryLookups.incrementAndGet();
+      trackers.put(serviceClass, tracker);
+      return tracker;
+    }
+  }
+
+  /**
+   * @return number of times the OSGi service registry has been queried
+   */
+  public long getRegistryLookups() {
+    return registryLookups.get();
+  }
+
+  /**
+   * @return number of service requests which didn't need to query the OSGi
+   *         service registry
+   */
+  public long getLookupsAvoided() {
+    return lookupsAvoided.get();
+  }
+
+  @Override
+  public void deactivate() {
+    LOGGER.fine("Service trackers closed: " + registryLookups.get() + " registry lookups, "
+        + lookupsAvoided.get() + " lookups avoided");
+    for (ServiceTracker<?, ?> tracker : trackers.values()) {
+      tracker.close();
+    }
+    trackers.clear();
+    super.deactivate();
+  }
+}
@@ -11,13 +11,17 @@ import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -57,11 +61,78 @@ import org.xml.sax.SAXException;
  */
 public final class XmlUtils {
 
-  private static final Map<String, XPathExpression> COMPILED_EXPRESSION_CACHE =
-      new HashMap<String, XPathExpression>();
-  private static final DocumentBuilderFactory FACTORY = DocumentBuilderFactory.newInstance();
-  private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
-  private static final XPath XPATH = XPathFactory.newInstance().newXPath();
+  /**
+   * Maximum number of compiled XPath expressions cached by each thread
+   */
+  private static final int COMPILED_EXPRESSION_CACHE_SIZE = 512;
+
+  /**
+   * JAXP factories, builders, transformers, XPath evaluators and compiled
+   * expressions are not thread-safe, so each thread uses its own instances.
+   */
+  private static final ThreadLocal<Map<String, XPathExpression>> COMPILED_EXPRESSION_CACHE =
+      new ThreadLocal<Map<String, XPathExpression>>() {
+        @Override
+        protected Map<String, XPathExpression> initialValue() {
+          return new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, XPathExpression> eldest) {
+              return size() > COMPILED_EXPRESSION_CACHE_SIZE;
+            }
+          };
+        }
+      };
+
+  private static final ThreadLocal<DocumentBuilderFactory> FACTORY =
+      new ThreadLocal<DocumentBuilderFactory>() {
+        @Override
+        protected DocumentBuilderFactory initialValue() {
+          return DocumentBuilderFactory.newInstance();
+        }
+      };
+
+  private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER =
+      new ThreadLocal<DocumentBuilder>() {
+        @Override
+        protected DocumentBuilder initialValue() {
+          return getDocumentBuilder();
+        }
+      };
+
+  private static final ThreadLocal<TransformerFactory> TRANSFORMER_FACTORY =
+      new ThreadLocal<TransformerFactory>() {
+        @Override
+        protected TransformerFactory initialValue() {
+          return TransformerFactory.newInstance();
+        }
+      };
+
+  private static final ThreadLocal<Transformer> INDENTING_TRANSFORMER =
+      new ThreadLocal<Transformer>() {
+        @Override
+        protected Transformer initialValue() {
+          return createIndentingTransformer();
+        }
+      };
+
+  private static final ThreadLocal<XPath> XPATH = new ThreadLocal<XPath>() {
+    @Override
+    protected XPath initialValue() {
+      return XPathFactory.newInstance().newXPath();
+    }
+  };
+
+  /**
+   * {@link XMLInputFactory} is thread-safe once configured
+   */
+  private static final XMLInputFactory STAX_FACTORY = XMLInputFactory.newInstance();
+
+  static {
+    STAX_FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+    STAX_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+  }
 
   /**
    * Checks the presented element for illegal characters that could cause
@@ -132,8 +203,9 @@ public final class XmlUtils {
   public static Transformer createIndentingTransformer() {
     Transformer transformer;
     try {
-      TRANSFORMER_FACTORY.setAttribute("indent-number", 4);
-      transformer = TRANSFORMER_FACTORY.newTransformer();
+      final TransformerFactory transformerFactory = TRANSFORMER_FACTORY.get();
+      transformerFactory.setAttribute("indent-number", 4);
+      transformer = transformerFactory.newTransformer();
     } catch (final Exception e) {
       throw new IllegalStateException(e);
     }
@@ -207,6 +279,25 @@ public final class XmlUtils {
     return new StreamResult(writer);
   }
 
+  /**
+   * Returns the compiled form of the given XPath expression, compiling and
+   * caching it in the current thread's cache on first use.
+   * 
+   * @param xPathExpression the XPath expression (required)
+   * @return a compiled expression only usable by the current thread
+   * @throws XPathExpressionException if the expression cannot be compiled
+   */
+  private static XPathExpression compile(final String xPathExpression)
+      throws XPathExpressionException {
+    final Map<String, XPathExpression> cache = COMPILED_EXPRESSION_CACHE.get();
+    XPathExpression expr = cache.get(xPathExpression);
+    if (expr == null) {
+      expr = XPATH.get().compile(xPathExpression);
+      cache.put(xPathExpression, expr);
+    }
+    return expr;
+  }
+
   /**
    * Checks in under a given root element whether it can find a child elements
    * which match the XPath expression supplied. Returns a {@link List} of
@@ -224,11 +315,7 @@ public final class XmlUtils {
     NodeList nodes = null;
 
     try {
-      XPathExpression expr = COMPILED_EXPRESSION_CACHE.get(xPathExpression);
-      if (expr == null) {
-        expr = XPATH.compile(xPathExpression);
-        COMPILED_EXPRESSION_CACHE.put(xPathExpression, expr);
-      }
+      final XPathExpression expr = compile(xPathExpression);
       nodes = (NodeList) expr.evaluate(root, XPathConstants.NODESET);
     } catch (final XPathExpressionException e) {
       throw new IllegalArgumentException("Unable evaluate xpath expression", e);
@@ -251,11 +338,7 @@ public final class XmlUtils {
   public static Node findFirstAttribute(final String xPathExpression, final Element element) {
     Node attr = null;
     try {
-      XPathExpression expr = COMPILED_EXPRESSION_CACHE.get(xPathExpression);
-      if (expr == null) {
-        expr = XPATH.compile(xPathExpression);
-        COMPILED_EXPRESSION_CACHE.put(xPathExpression, expr);
-      }
+      final XPathExpression expr = compile(xPathExpression);
       attr = (Node) expr.evaluate(element, XPathConstants.NODE);
     } catch (final XPathExpressionException e) {
       throw new IllegalArgumentException("Unable evaluate xpath expression", e);
@@ -282,6 +365,66 @@ public final class XmlUtils {
     return null;
   }
 
+  /**
+   * Reads the given XML stream looking for the first element matching the
+   * given slash separated path of element names, relative to the root
+   * element (eg. <code>properties/roo.version</code>), and returns its text.
+   * <p>
+   * The document is streamed thru StAX, so no DOM is built and reading stops
+   * as soon as the element is found. Only plain element names are supported,
+   * so use {@link #findFirstElement(String, Node)} for other XPath
+   * expressions. Namespace prefixes are ignored.
+   * 
+   * @param path the element path relative to the root element (required)
+   * @param inputStream the input stream to read from (required). The stream
+   *            is closed upon completion.
+   * @return the text of the element, or <code>null</code> if not found
+   * @throws IllegalStateException if the stream could not be read or parsed
+   * @since 2.0.0
+   */
+  public static String findFirstElementText(final String path, final InputStream inputStream) {
+    Validate.notBlank(path, "Element path required");
+    Validate.notNull(inputStream, "InputStream required");
+    final String[] names = StringUtils.split(path, '/');
+    XMLStreamReader reader = null;
+    try {
+      reader = STAX_FACTORY.createXMLStreamReader(new BufferedInputStream(inputStream));
+      // Depth of the current element (root element is 0) and number of
+      // path names matched by the current element ancestors
+      int depth = -1;
+      int matched = 0;
+      while (reader.hasNext()) {
+        final int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+          if (depth > 0 && depth == matched + 1
+              && names[matched].equals(reader.getLocalName())) {
+            matched++;
+            if (matched == names.length) {
+              return reader.getElementText();
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if (depth > 0 && depth == matched) {
+            matched--;
+          }
+          depth--;
+        }
+      }
+      return null;
+    } catch (final XMLStreamException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (final XMLStreamException ignored) {
+        }
+      }
+      IOUtils.closeQuietly(inputStream);
+    }
+  }
+
   /**
    * Checks in under a given root element whether it can find a child element
    * which matches the name supplied. Returns {@link Element} if exists.
@@ -313,11 +456,7 @@ public final class XmlUtils {
     Validate.notNull(root, "Root element required");
     Node node = null;
     try {
-      XPathExpression expr = COMPILED_EXPRESSION_CACHE.get(xPathExpression);
-      if (expr == null) {
-        expr = XPATH.compile(xPathExpression);
-        COMPILED_EXPRESSION_CACHE.put(xPathExpression, expr);
-      }
+      final XPathExpression expr = compile(xPathExpression);
       node = (Node) expr.evaluate(root, XPathConstants.NODE);
     } catch (final XPathExpressionException e) {
       throw new IllegalArgumentException("Unable evaluate XPath expression '" + xPathExpression
@@ -364,12 +503,24 @@ public final class XmlUtils {
   public static DocumentBuilder getDocumentBuilder() {
     // factory.setNamespaceAware(true);
     try {
-      return FACTORY.newDocumentBuilder();
+      return FACTORY.get().newDocumentBuilder();
     } catch (final ParserConfigurationException e) {
       throw new IllegalStateException(e);
     }
   }
 
+  /**
+   * Returns the document builder of the current thread, reset to its
+   * original configuration. It must not be shared with other threads.
+   * 
+   * @return a document builder (never null)
+   */
+  private static DocumentBuilder getPooledDocumentBuilder() {
+    final DocumentBuilder documentBuilder = DOCUMENT_BUILDER.get();
+    documentBuilder.reset();
+    return documentBuilder;
+  }
+
   /**
    * Returns the root element of the given XML file.
    * 
@@ -407,7 +558,7 @@ public final class XmlUtils {
   public static String nodeToString(final Node node) {
     try {
       final StringWriter writer = new StringWriter();
-      createIndentingTransformer().transform(new DOMSource(node), new StreamResult(writer));
+      INDENTING_TRANSFORMER.get().transform(new DOMSource(node), new StreamResult(writer));
       return writer.toString();
     } catch (final TransformerException e) {
       throw new IllegalStateException(e);
@@ -429,7 +580,7 @@ public final class XmlUtils {
       if (!(inputStream instanceof BufferedInputStream)) {
         inputStream = new BufferedInputStream(inputStream);
       }
-      return getDocumentBuilder().parse(inputStream);
+      return getPooledDocumentBuilder().parse(inputStream);
     } catch (final Exception e) {
       throw new IllegalStateException(e);
     } finally {
@@ -461,12 +612,10 @@ public final class XmlUtils {
       return null;
     }
     try {
-      return FACTORY.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes()))
+      return getPooledDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes()))
           .getDocumentElement();
     } catch (final IOException e) {
       throw new IllegalStateException(e);
-    } catch (final ParserConfigurationException e) {
-      throw new IllegalStateException(e);
     } catch (final SAXException e) {
       throw new IllegalStateException(e);
     }
@@ -0,0 +1,78 @@
+package org.springframework.roo.support.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+/**
+ * Unit test of {@link XmlUtils}
+ *
+ * @since 2.0.0
+ */
+public class XmlUtilsTest {
+
+  private static final String POM =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?><project xmlns=\"http://maven.apache.org/POM/4.0.0\">"
+          + "<parent><properties><roo.version>1.0</roo.version></properties></parent>"
+          + "<properties><java.version>1.7</java.version><roo.version>2.0.0</roo.version></properties>"
+          + "</project>";
+
+  private static InputStream getPomStream() throws Exception {
+    return new ByteArrayInputStream(POM.getBytes("UTF-8"));
+  }
+
+  @Test
+  public void testFindFirstElementTextOfExistingElement() throws Exception {
+    assertEquals("2.0.0", XmlUtils.findFirstElementText("properties/roo.version", getPomStream()));
+  }
+
+  @Test
+  public void testFindFirstElementTextOfNestedElement() throws Exception {
+    assertEquals("1.0",
+        XmlUtils.findFirstElementText("parent/properties/roo.version", getPomStream()));
+  }
+
+  @Test
+  public void testFindFirstElementTextOfMissingElement() throws Exception {
+    assertNull(XmlUtils.findFirstElementText("properties/spring.version", getPomStream()));
+  }
+
+  @Test
+  public void testFindFirstElementTextMatchesXPath() throws Exception {
+    final Element root = XmlUtils.readXml(getPomStream()).getDocumentElement();
+    assertEquals(XmlUtils.findFirstElement("properties/roo.version", root).getTextContent(),
+        XmlUtils.findFirstElementText("properties/roo.version", getPomStream()));
+  }
+
+  @Test
+  public void testConcurrentReadAndFind() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<String>> results = new ArrayList<Future<String>>();
+      for (int i = 0; i < 200; i++) {
+        results.add(executor.submit(new Callable<String>() {
+          public String call() throws Exception {
+            final Element root = XmlUtils.readXml(getPomStream()).getDocumentElement();
+            return XmlUtils.findFirstElement("properties/roo.version", root).getTextContent();
+          }
+        }));
+      }
+      for (final Future<String> result : results) {
+        assertEquals("2.0.0", result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}